@@ -0,0 +1,278 @@
+package Chess.AI;
+
+import Chess.ChessGame;
+import Chess.Move;
+
+import java.util.ArrayList;
+
+/**
+ * Iterative deepening alpha-beta search with a capture-only quiescence search at the leaves.  Lines that repeat a
+ * position or reach the fifty move rule are scored as draws without searching further.  Captures are ordered by
+ * static exchange (see StaticExchange): those that win or keep material are searched first, and those that lose it
+ * come last in the main search and are left out of the quiescence search.  Leaves are scored by the
+ * evaluation the searched game is set to, NnueEvaluator or ClassicalEvaluator, as SearchBoard describes.
+ *
+ * Everything the search touches is allocated up front, one searcher per thread: the board it makes and unmakes moves
+ * on, a move list and ordering scores per ply, the triangular principal variation table and two killer moves per ply.
+ * Once {@link #search(int)} is running it allocates nothing, so searching does not add to garbage collection pauses.
+ */
+public class AlphaBetaSearcher {
+
+    public static final int MAX_PLY = 64;
+    public static final int MAX_MOVES = 256;
+    public static final int MATE = 100000;
+
+    private static final int INFINITY = MATE + 1;
+    private static final ThreadLocal<AlphaBetaSearcher> SEARCHERS = ThreadLocal.withInitial(AlphaBetaSearcher::new);
+
+    private final SearchBoard board = new SearchBoard();
+    private final int[][] moves = new int[MAX_PLY][MAX_MOVES];
+    private final int[][] orderScores = new int[MAX_PLY][MAX_MOVES];
+    private final int[][] pv = new int[MAX_PLY][MAX_PLY];
+    private final int[] pvLength = new int[MAX_PLY];
+    private final int[] previousPv = new int[MAX_PLY];
+    private final int[][] killers = new int[MAX_PLY][2];
+    private long nodes;
+    private int score;
+
+    /**
+     * @return the searcher belonging to the calling thread
+     */
+    public static AlphaBetaSearcher forCurrentThread() {
+        return SEARCHERS.get();
+    }
+
+    /**
+     * Searches a game and finds the matching move among the game's valid moves.  When the search finds no move but
+     * the game has valid moves, which only happens with no depth to search or with moves ChessGame allows outside the
+     * rules the search plays by, the valid move leaving the opponent worst off by the game's evaluation is played.
+     * @param game
+     * @param depth plies to search before the quiescence search, below MAX_PLY
+     * @return the best move, or null when the player to move has none
+     * @throws IllegalStateException if the move found is not one of the game's valid moves, which means the search
+     * and ChessGame disagree about the rules
+     */
+    public Move bestMove(ChessGame game, int depth) {
+        board.load(game);
+        int best = search(depth);
+        ArrayList<Move> validMoves = game.getAllValidMoves(game.getCurrentPlayer());
+        for (Move move : validMoves) {
+            if (move.getPiece().getLocation().index() == SearchBoard.from(best) &&
+                    move.getTo().index() == SearchBoard.to(best)) {
+                move.setValue(score / 100.0);
+                return move;
+            }
+        }
+        if (validMoves.isEmpty()) {
+            return null;
+        }
+        if (best == 0) {
+            return bestByEvaluation(game, validMoves);
+        }
+        throw new IllegalStateException("The search found " + SearchBoard.from(best) + "-" + SearchBoard.to(best) +
+                ", which is not a valid move in\n" + game);
+    }
+
+    private static Move bestByEvaluation(ChessGame game, ArrayList<Move> validMoves) {
+        Move best = null;
+        for (Move move : validMoves) {
+            ChessGame clone = (ChessGame) game.clone();
+            clone.playMove(move);
+            move.setValue(-clone.differenceInAdvantage());
+            if (best == null || move.getValue() > best.getValue()) {
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Searches the position on the board, one ply deeper each iteration
+     * @param depth plies to search before the quiescence search, below MAX_PLY
+     * @return the best move as encoded by SearchBoard, or 0 when there is no legal move
+     */
+    public int search(int depth) {
+        nodes = 0;
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            killers[ply][0] = killers[ply][1] = 0;
+            previousPv[ply] = 0;
+        }
+        int best = 0;
+        for (int iteration = 1; iteration <= Math.min(depth, MAX_PLY - 1); iteration++) {
+            score = negamax(iteration, 0, -INFINITY, INFINITY);
+            best = pvLength[0] > 0 ? pv[0][0] : 0;
+            for (int ply = 0; ply < MAX_PLY; ply++) {
+                previousPv[ply] = ply < pvLength[0] ? pv[0][ply] : 0;
+            }
+        }
+        return best;
+    }
+
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        pvLength[ply] = ply;
+        if (ply > 0 && board.isDraw()) {
+            return 0;
+        }
+        if (depth <= 0 || ply >= MAX_PLY - 1) {
+            return quiescence(ply, alpha, beta);
+        }
+        nodes++;
+        int[] list = moves[ply];
+        int count = board.generate(list, 0, false);
+        order(ply, count);
+
+        int best = -INFINITY;
+        int legal = 0;
+        for (int i = 0; i < count; i++) {
+            int move = next(ply, i, count);
+            board.make(move);
+            if (board.isInCheck(board.getSideToMove() ^ 1)) {
+                board.unmake(move);
+                continue;
+            }
+            legal++;
+            int value = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            board.unmake(move);
+
+            if (value > best) {
+                best = value;
+                if (value > alpha) {
+                    alpha = value;
+                    pv[ply][ply] = move;
+                    for (int j = ply + 1; j < pvLength[ply + 1]; j++) {
+                        pv[ply][j] = pv[ply + 1][j];
+                    }
+                    pvLength[ply] = Math.max(pvLength[ply + 1], ply + 1);
+                    if (alpha >= beta) {
+                        if (board.typeAt(SearchBoard.to(move)) < 0 && SearchBoard.flag(move) != SearchBoard.EN_PASSANT &&
+                                killers[ply][0] != move) {
+                            killers[ply][1] = killers[ply][0];
+                            killers[ply][0] = move;
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        if (legal == 0) {
+            return board.isInCheck(board.getSideToMove()) ? -MATE + ply : 0;
+        }
+        return best;
+    }
+
+    private int quiescence(int ply, int alpha, int beta) {
+        nodes++;
+        int standPat = board.evaluate();
+        if (standPat >= beta || ply >= MAX_PLY - 1) {
+            return standPat;
+        }
+        if (standPat > alpha) {
+            alpha = standPat;
+        }
+        int[] list = moves[ply];
+        int count = board.generate(list, 0, true);
+        order(ply, count);
+        for (int i = 0; i < count; i++) {
+            int move = next(ply, i, count);
+            if (orderScores[ply][i] < 0) {
+                // only captures that lose material by exchange are left
+                break;
+            }
+            board.make(move);
+            if (board.isInCheck(board.getSideToMove() ^ 1)) {
+                board.unmake(move);
+                continue;
+            }
+            int value = -quiescence(ply + 1, -beta, -alpha);
+            board.unmake(move);
+            if (value >= beta) {
+                return value;
+            }
+            if (value > alpha) {
+                alpha = value;
+            }
+        }
+        return alpha;
+    }
+
+    /**
+     * Scores the moves at a ply: the previous iteration's best line first, then captures that do not lose material by
+     * exchange, the most valuable victim by the least valuable piece first, promotions, killer moves, everything else,
+     * and last the captures that lose material, which are the only moves scored below zero
+     */
+    private void order(int ply, int count) {
+        int[] list = moves[ply];
+        int[] scores = orderScores[ply];
+        for (int i = 0; i < count; i++) {
+            int move = list[i];
+            int victim = board.typeAt(SearchBoard.to(move));
+            int exchange = victim >= 0 ? board.staticExchange(move) : 0;
+            int value = 0;
+            if (move == previousPv[ply]) {
+                value = 1 << 20;
+            } else if (victim >= 0 && exchange >= 0) {
+                value = (1 << 16) + 16 * SearchBoard.MATERIAL[victim] -
+                        SearchBoard.MATERIAL[board.typeAt(SearchBoard.from(move))] / 100;
+            } else if (SearchBoard.flag(move) == SearchBoard.PROMOTION) {
+                value = 1 << 15;
+            } else if (move == killers[ply][0]) {
+                value = 2;
+            } else if (move == killers[ply][1]) {
+                value = 1;
+            } else if (victim >= 0) {
+                value = exchange;
+            }
+            scores[i] = value;
+        }
+    }
+
+    /**
+     * Swaps the best scored of the remaining moves into place
+     * @return the move at index i
+     */
+    private int next(int ply, int i, int count) {
+        int[] list = moves[ply];
+        int[] scores = orderScores[ply];
+        int best = i;
+        for (int j = i + 1; j < count; j++) {
+            if (scores[j] > scores[best]) {
+                best = j;
+            }
+        }
+        int move = list[best];
+        list[best] = list[i];
+        list[i] = move;
+        int value = scores[best];
+        scores[best] = scores[i];
+        scores[i] = value;
+        return move;
+    }
+
+    public SearchBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * @return positions visited by the last search
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return the score of the last search for the player to move, in hundredths of a pawn
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return the length of the best line found by the last search
+     */
+    public int getPrincipalVariation(int[] line) {
+        for (int ply = 0; ply < pvLength[0]; ply++) {
+            line[ply] = pv[0][ply];
+        }
+        return pvLength[0];
+    }
+}
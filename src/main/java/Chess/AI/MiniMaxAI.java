@@ -7,6 +7,8 @@ import Chess.Move;
  * Created by konzy on 3/29/2017.
  */
 public class MiniMaxAI extends BaseAI {
+    public static final int DEPTH = 4;
+
     public MiniMaxAI(ChessGame game) {
         super(game);
     }
@@ -17,7 +19,6 @@ public class MiniMaxAI extends BaseAI {
 
     @Override
     public Move getNextMove() {
-        MinMaxNode node = new MinMaxNode(clonedGame, 3);
-        return node.bestMove();
+        return AlphaBetaSearcher.forCurrentThread().bestMove(clonedGame, DEPTH);
     }
 }
@@ -0,0 +1,638 @@
+package Chess.AI;
+
+import Chess.ChessBoard;
+import Chess.ChessGame;
+import Chess.Move;
+import Chess.Evaluation.AttackMap;
+import Chess.Evaluation.EvalCache;
+import Chess.Evaluation.EvaluationWeights;
+import Chess.Evaluation.Evaluator;
+import Chess.Evaluation.GamePhase;
+import Chess.Evaluation.NnueAccumulator;
+import Chess.Evaluation.NnueEvaluator;
+import Chess.Evaluation.NnueNetwork;
+import Chess.Evaluation.PawnHashTable;
+import Chess.Evaluation.PawnStructure;
+import Chess.Evaluation.PieceSquareTables;
+import Chess.Evaluation.StaticExchange;
+import Chess.Pieces.ChessPiece;
+import Chess.Pieces.ChessPiece.PieceColor;
+import Chess.Pieces.ChessPiece.PieceType;
+import Chess.PositionHistory;
+import Chess.Zobrist;
+
+/**
+ * A compact copy of a game for the searcher to play moves on and take them back without allocating anything.  Pieces
+ * are kept both as a code per tile and as bitboards, and moves are ints, see {@link #move(int, int, int)}.
+ *
+ * The search follows the same rules as ChessGame and only ever generates moves ChessGame also accepts.  Castling may
+ * start in or pass through check, as ChessGame allows, but not land in it; en passant is generated for the pawns next
+ * to one that has just made a double step, the board keeping the tile it passed over through make and unmake; a
+ * pawn's double step must start from its home row and promotion is always to a queen.
+ *
+ * Leaves are scored by the evaluation the loaded game is set to.  For an NnueEvaluator the board keeps the network's
+ * accumulator up to date on every move and only the output layer is left for the leaf.  For ClassicalEvaluator, and
+ * any other evaluator, which the board cannot call without a ChessGame, it scores the same terms ClassicalEvaluator
+ * does: material and the piece-square tables, kept up to date on every move, and mobility and threats counted from
+ * the bitboards at the leaf, plus pawn structure through the shared PawnHashTable.  Classical scores go through the
+ * shared EvalCache under the same keys ChessGame uses, so the search and the game's own evaluation answer each other's
+ * positions.
+ *
+ * The board also keeps the same position keys as ChessGame's history, on a stack that starts with the game's own
+ * history, so repetitions and the fifty move rule are seen both inside the search and with the moves played before.
+ */
+public class SearchBoard {
+
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    public static final int NORMAL = 0;
+    public static final int PROMOTION = 1;
+    public static final int CASTLE_KING_SIDE = 2;
+    public static final int CASTLE_QUEEN_SIDE = 3;
+
+    /**
+     * A pawn taking one that has just made a double step, moving to the tile the other passed over
+     */
+    public static final int EN_PASSANT = 4;
+
+    static final PieceType[] TYPES = PieceType.values();
+    static final PieceColor[] COLORS = PieceColor.values();
+    private static final int PAWN = PieceType.Pawn.ordinal();
+    private static final int KING = PieceType.King.ordinal();
+    private static final int QUEEN = PieceType.Queen.ordinal();
+
+    /**
+     * Material in hundredths of a pawn, the same as the pieces' materialValue apart from the king
+     */
+    static final int[] MATERIAL = new int[TYPES.length];
+
+    /**
+     * Material for static exchanges, where the king is worth the pieces' materialValue of 100 pawns
+     */
+    private static final int[] EXCHANGE = new int[TYPES.length];
+
+    static {
+        MATERIAL[PieceType.Pawn.ordinal()] = 100;
+        MATERIAL[PieceType.Knight.ordinal()] = 300;
+        MATERIAL[PieceType.Bishop.ordinal()] = 300;
+        MATERIAL[PieceType.Rook.ordinal()] = 500;
+        MATERIAL[PieceType.Queen.ordinal()] = 900;
+        System.arraycopy(MATERIAL, 0, EXCHANGE, 0, MATERIAL.length);
+        EXCHANGE[KING] = 10000;
+    }
+
+    /**
+     * 0 for an empty tile, else 1 + type + 8 * color
+     */
+    private final int[] squares = new int[64];
+    private final long[] colors = new long[2];
+    private final long[] types = new long[TYPES.length];
+    private long moved;
+    private int sideToMove;
+    private int phase;
+    private int middlegame;
+    private int endgame;
+
+    private final int[] undoCaptured = new int[AlphaBetaSearcher.MAX_PLY];
+    private final long[] undoMoved = new long[AlphaBetaSearcher.MAX_PLY];
+    private final int[] undoEnPassant = new int[AlphaBetaSearcher.MAX_PLY];
+    private int ply;
+
+    /**
+     * The tile a pawn passed over with a double step on the last move, or -1
+     */
+    private int enPassant;
+
+    /**
+     * Keys of the positions since the last capture or pawn move, with the halfmove clock of each, the current position
+     * on top
+     */
+    private final long[] keys = new long[PositionHistory.FIFTY_MOVES + AlphaBetaSearcher.MAX_PLY + 1];
+    private final int[] clocks = new int[keys.length];
+    private int top;
+    private long pieceKey;
+    private long pawnKey;
+
+    private PieceSquareTables tables;
+    private EvaluationWeights weights;
+
+    /**
+     * Kept between loads and only used while the loaded game evaluates with a network
+     */
+    private NnueAccumulator accumulator;
+    private boolean nnue;
+
+    private final int[] exchange = new int[StaticExchange.MAX_EXCHANGE];
+
+    /**
+     * Copies the pieces and player to move of a game, and takes the evaluation the game is set to
+     * @param game
+     */
+    public void load(ChessGame game) {
+        tables = PieceSquareTables.getInstance();
+        weights = EvaluationWeights.getInstance();
+        Evaluator evaluator = game.getEvaluator();
+        nnue = evaluator instanceof NnueEvaluator;
+        if (nnue) {
+            NnueNetwork network = ((NnueEvaluator) evaluator).getNetwork();
+            if (accumulator == null || accumulator.getNetwork() != network) {
+                accumulator = network.newAccumulator();
+            } else {
+                accumulator.clear();
+            }
+        }
+        for (int square = 0; square < 64; square++) {
+            squares[square] = 0;
+        }
+        colors[WHITE] = colors[BLACK] = 0;
+        for (int type = 0; type < types.length; type++) {
+            types[type] = 0;
+        }
+        moved = 0;
+        pieceKey = pawnKey = 0;
+        phase = middlegame = endgame = ply = 0;
+        for (ChessPiece piece : game.getBoard().getBoardArrayList()) {
+            if (ChessBoard.isInsideBoard(piece.getLocation())) {
+                int square = piece.getLocation().index();
+                put(piece.getType().ordinal(), piece.getColor().ordinal(), square);
+                if (piece.hasMoved()) {
+                    moved |= 1L << square;
+                }
+            }
+        }
+        sideToMove = game.getCurrentPlayer().ordinal();
+        enPassant = -1;
+        Move previous = game.getPreviousMove();
+        if (previous != null && previous.getPiece().getType() == PieceType.Pawn && !previous.getPiece().hasMoved() &&
+                Math.abs(previous.getPiece().getLocation().y - previous.getTo().y) == 2) {
+            enPassant = (previous.getPiece().getLocation().index() + previous.getTo().index()) / 2;
+        }
+        loadHistory(game.getHistory());
+    }
+
+    /**
+     * Copies the positions since the game's last capture or pawn move onto the key stack
+     */
+    private void loadHistory(PositionHistory history) {
+        int clock = Math.min(history.getHalfmoveClock(), PositionHistory.FIFTY_MOVES);
+        top = clock;
+        keys[top] = getKey();
+        clocks[top] = history.getHalfmoveClock();
+        PositionHistory entry = history.getPrevious();
+        int index = top - 1;
+        for (; index >= 0 && entry != null; index--) {
+            keys[index] = entry.getKey();
+            clocks[index] = entry.getHalfmoveClock();
+            entry = entry.getPrevious();
+        }
+        if (index >= 0) {
+            int missing = index + 1;
+            System.arraycopy(keys, missing, keys, 0, top + 1 - missing);
+            System.arraycopy(clocks, missing, clocks, 0, top + 1 - missing);
+            top -= missing;
+        }
+    }
+
+    /**
+     * @param from tile index
+     * @param to tile index
+     * @param flag NORMAL, PROMOTION, CASTLE_KING_SIDE, CASTLE_QUEEN_SIDE or EN_PASSANT
+     * @return the move as an int
+     */
+    public static int move(int from, int to, int flag) {
+        return from | to << 6 | flag << 12;
+    }
+
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    public static int to(int move) {
+        return move >>> 6 & 63;
+    }
+
+    public static int flag(int move) {
+        return move >>> 12;
+    }
+
+    private void put(int type, int color, int square) {
+        long bit = 1L << square;
+        squares[square] = 1 + type + 8 * color;
+        colors[color] |= bit;
+        types[type] |= bit;
+        hash(type, color, square);
+        phase += GamePhase.weight(TYPES[type]);
+        score(type, color, square, 1);
+        if (nnue) {
+            accumulator.update(COLORS[color], TYPES[type], square, 1);
+        }
+    }
+
+    private void remove(int square) {
+        int code = squares[square];
+        int type = (code & 7) - 1;
+        int color = code >>> 3;
+        long bit = 1L << square;
+        squares[square] = 0;
+        colors[color] &= ~bit;
+        types[type] &= ~bit;
+        hash(type, color, square);
+        phase -= GamePhase.weight(TYPES[type]);
+        score(type, color, square, -1);
+        if (nnue) {
+            accumulator.update(COLORS[color], TYPES[type], square, -1);
+        }
+    }
+
+    private void hash(int type, int color, int square) {
+        long key = Zobrist.pieceKey(COLORS[color], TYPES[type], square);
+        pieceKey ^= key;
+        if (type == PAWN) {
+            pawnKey ^= key;
+        }
+    }
+
+    private void score(int type, int color, int square, int sign) {
+        if (color == BLACK) {
+            sign = -sign;
+        }
+        PieceType pieceType = TYPES[type];
+        PieceColor pieceColor = COLORS[color];
+        middlegame += sign * (MATERIAL[type] + tables.value(pieceType, pieceColor, square, PieceSquareTables.MIDDLEGAME));
+        endgame += sign * (MATERIAL[type] + tables.value(pieceType, pieceColor, square, PieceSquareTables.ENDGAME));
+    }
+
+    /**
+     * Plays a move generated for the player to move
+     * @param move
+     */
+    public void make(int move) {
+        int from = from(move);
+        int to = to(move);
+        int code = squares[from];
+        int taken = capturedSquare(move);
+        boolean irreversible = squares[taken] != 0 || (code & 7) - 1 == PAWN;
+        undoCaptured[ply] = squares[taken];
+        undoMoved[ply] = moved;
+        undoEnPassant[ply] = enPassant;
+        ply++;
+        enPassant = (code & 7) - 1 == PAWN && Math.abs(to - from) == 16 ? (from + to) / 2 : -1;
+
+        if (squares[taken] != 0) {
+            remove(taken);
+        }
+        remove(from);
+        int type = flag(move) == PROMOTION ? QUEEN : (code & 7) - 1;
+        put(type, sideToMove, to);
+        moved |= 1L << from | 1L << to;
+
+        if (flag(move) == CASTLE_KING_SIDE) {
+            remove(from + 3);
+            put(PieceType.Rook.ordinal(), sideToMove, from + 1);
+            moved |= 1L << from + 1;
+        } else if (flag(move) == CASTLE_QUEEN_SIDE) {
+            remove(from - 4);
+            put(PieceType.Rook.ordinal(), sideToMove, from - 1);
+            moved |= 1L << from - 1;
+        }
+        sideToMove ^= 1;
+        top++;
+        keys[top] = getKey();
+        clocks[top] = irreversible ? 0 : clocks[top - 1] + 1;
+    }
+
+    /**
+     * Takes back the last move played with {@link #make(int)}
+     * @param move the same move
+     */
+    public void unmake(int move) {
+        sideToMove ^= 1;
+        ply--;
+        top--;
+        int from = from(move);
+        int to = to(move);
+        int type = flag(move) == PROMOTION ? PAWN : (squares[to] & 7) - 1;
+
+        if (flag(move) == CASTLE_KING_SIDE) {
+            remove(from + 1);
+            put(PieceType.Rook.ordinal(), sideToMove, from + 3);
+        } else if (flag(move) == CASTLE_QUEEN_SIDE) {
+            remove(from - 1);
+            put(PieceType.Rook.ordinal(), sideToMove, from - 4);
+        }
+        remove(to);
+        put(type, sideToMove, from);
+        int captured = undoCaptured[ply];
+        if (captured != 0) {
+            put((captured & 7) - 1, captured >>> 3, capturedSquare(move));
+        }
+        moved = undoMoved[ply];
+        enPassant = undoEnPassant[ply];
+    }
+
+    /**
+     * @return the tile of the piece the player to move takes with the move, the one behind the tile moved to for en
+     * passant
+     */
+    private int capturedSquare(int move) {
+        if (flag(move) == EN_PASSANT) {
+            return to(move) + (sideToMove == WHITE ? 8 : -8);
+        }
+        return to(move);
+    }
+
+    /**
+     * Plays a move for good, as when replaying a game.  Unlike {@link #make(int)} it cannot be taken back, so it never
+     * runs out of room however long the game is; only the keys the repetition and fifty move checks need are kept.
+     * @param move a legal move of the player to move
+     */
+    public void play(int move) {
+        make(move);
+        ply = 0;
+        if (clocks[top] == 0) {
+            keys[0] = keys[top];
+            clocks[0] = 0;
+            top = 0;
+        } else if (top > PositionHistory.FIFTY_MOVES) {
+            System.arraycopy(keys, 1, keys, 0, top);
+            System.arraycopy(clocks, 1, clocks, 0, top);
+            top--;
+        }
+    }
+
+    /**
+     * Writes the legal moves of the player to move in a fixed order: the moves of generate that do not leave the king
+     * in check, in the order generate gives them, with any en passant captures last.
+     * @param moves
+     * @return the number of moves written
+     */
+    public int generateLegal(int[] moves) {
+        int count = generate(moves, 0, false);
+        int legal = 0;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            make(move);
+            if (!isInCheck(sideToMove ^ 1)) {
+                moves[legal++] = move;
+            }
+            unmake(move);
+        }
+        return legal;
+    }
+
+    /**
+     * Writes every move of the player to move into the array, including ones that leave its own king in check
+     * @param moves
+     * @param start first index to write at
+     * @param capturesOnly only captures, en passant included, and promotions
+     * @return the index after the last move written
+     */
+    public int generate(int[] moves, int start, boolean capturesOnly) {
+        int count = start;
+        long own = colors[sideToMove];
+        long enemy = colors[sideToMove ^ 1];
+        long occupied = own | enemy;
+        PieceColor color = COLORS[sideToMove];
+
+        long pieces = own;
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            int type = (squares[from] & 7) - 1;
+            if (type == PAWN) {
+                count = pawnMoves(moves, count, from, enemy, occupied, capturesOnly);
+                continue;
+            }
+            long targets = AttackMap.attacks(TYPES[type], color, from, occupied) & ~own;
+            if (capturesOnly) {
+                targets &= enemy;
+            }
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                moves[count++] = move(from, to, NORMAL);
+            }
+            if (type == KING && !capturesOnly) {
+                count = castlingMoves(moves, count, from, occupied);
+            }
+        }
+        if (enPassant >= 0) {
+            long pawns = AttackMap.attacks(PieceType.Pawn, COLORS[sideToMove ^ 1], enPassant, 0) &
+                    types[PAWN] & own;
+            while (pawns != 0) {
+                int from = Long.numberOfTrailingZeros(pawns);
+                pawns &= pawns - 1;
+                moves[count++] = move(from, enPassant, EN_PASSANT);
+            }
+        }
+        return count;
+    }
+
+    private int pawnMoves(int[] moves, int count, int from, long enemy, long occupied, boolean capturesOnly) {
+        int step = sideToMove == WHITE ? -8 : 8;
+        int homeRow = sideToMove == WHITE ? 6 : 1;
+        long targets = AttackMap.attacks(PieceType.Pawn, COLORS[sideToMove], from, occupied) & enemy;
+        int one = from + step;
+        if ((occupied & 1L << one) == 0) {
+            if (!capturesOnly || isLastRow(one)) {
+                targets |= 1L << one;
+            }
+            int two = one + step;
+            if (!capturesOnly && from / 8 == homeRow && (moved & 1L << from) == 0 && (occupied & 1L << two) == 0) {
+                targets |= 1L << two;
+            }
+        }
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            moves[count++] = move(from, to, isLastRow(to) ? PROMOTION : NORMAL);
+        }
+        return count;
+    }
+
+    private static boolean isLastRow(int square) {
+        return square < 8 || square >= 56;
+    }
+
+    /**
+     * Castling as King.canCastleKingSide and canCastleQueenSide allow it: the king and rook unmoved and the tiles
+     * between them empty, whether or not the king is in check or passes through it
+     */
+    private int castlingMoves(int[] moves, int count, int from, long occupied) {
+        int home = sideToMove == WHITE ? 60 : 4;
+        if (from != home || (moved & 1L << from) != 0) {
+            return count;
+        }
+        int rook = 1 + PieceType.Rook.ordinal() + 8 * sideToMove;
+        if (squares[from + 3] == rook && (moved & 1L << from + 3) == 0 &&
+                (occupied & (1L << from + 1 | 1L << from + 2)) == 0) {
+            moves[count++] = move(from, from + 2, CASTLE_KING_SIDE);
+        }
+        if (squares[from - 4] == rook && (moved & 1L << from - 4) == 0 &&
+                (occupied & (1L << from - 1 | 1L << from - 2 | 1L << from - 3)) == 0) {
+            moves[count++] = move(from, from - 2, CASTLE_QUEEN_SIDE);
+        }
+        return count;
+    }
+
+    /**
+     * @param square
+     * @param byColor WHITE or BLACK
+     * @return whether a piece of the color attacks the tile
+     */
+    public boolean isAttacked(int square, int byColor) {
+        long occupied = colors[WHITE] | colors[BLACK];
+        long attackers = colors[byColor];
+        long queens = types[QUEEN];
+        PieceColor defender = COLORS[byColor ^ 1];
+        return (AttackMap.attacks(PieceType.Pawn, defender, square, occupied) & types[PAWN] & attackers) != 0 ||
+                (AttackMap.attacks(PieceType.Knight, defender, square, occupied) &
+                        types[PieceType.Knight.ordinal()] & attackers) != 0 ||
+                (AttackMap.attacks(PieceType.King, defender, square, occupied) & types[KING] & attackers) != 0 ||
+                (AttackMap.attacks(PieceType.Bishop, defender, square, occupied) &
+                        (types[PieceType.Bishop.ordinal()] | queens) & attackers) != 0 ||
+                (AttackMap.attacks(PieceType.Rook, defender, square, occupied) &
+                        (types[PieceType.Rook.ordinal()] | queens) & attackers) != 0;
+    }
+
+    /**
+     * @param color WHITE or BLACK
+     * @return whether the color's king is attacked, or true if it has no king
+     */
+    public boolean isInCheck(int color) {
+        long king = types[KING] & colors[color];
+        return king == 0 || isAttacked(Long.numberOfTrailingZeros(king), color ^ 1);
+    }
+
+    /**
+     * @return the same key as ChessGame.getPositionKey for the position on the board
+     */
+    public long getKey() {
+        long key = pieceKey ^ Zobrist.castlingKey(castlingRights());
+        return sideToMove == BLACK ? key ^ Zobrist.sideKey() : key;
+    }
+
+    private int castlingRights() {
+        int rights = 0;
+        if (isUnmoved(60, KING, WHITE)) {
+            if (isUnmoved(63, PieceType.Rook.ordinal(), WHITE)) rights |= Zobrist.WHITE_KING_SIDE;
+            if (isUnmoved(56, PieceType.Rook.ordinal(), WHITE)) rights |= Zobrist.WHITE_QUEEN_SIDE;
+        }
+        if (isUnmoved(4, KING, BLACK)) {
+            if (isUnmoved(7, PieceType.Rook.ordinal(), BLACK)) rights |= Zobrist.BLACK_KING_SIDE;
+            if (isUnmoved(0, PieceType.Rook.ordinal(), BLACK)) rights |= Zobrist.BLACK_QUEEN_SIDE;
+        }
+        return rights;
+    }
+
+    private boolean isUnmoved(int square, int type, int color) {
+        return squares[square] == 1 + type + 8 * color && (moved & 1L << square) == 0;
+    }
+
+    /**
+     * The search counts a position as drawn as soon as it repeats once: whatever the player could do from it they
+     * could have done the first time.
+     * @return whether the position repeats one since the last capture or pawn move, or the fifty move rule applies
+     */
+    public boolean isDraw() {
+        int clock = clocks[top];
+        if (clock >= PositionHistory.FIFTY_MOVES) {
+            return true;
+        }
+        long key = keys[top];
+        for (int index = top - 2; index >= 0 && index >= top - clock; index -= 2) {
+            if (keys[index] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the halfmove clock of the position on the board
+     */
+    public int getHalfmoveClock() {
+        return clocks[top];
+    }
+
+    /**
+     * @return the score of the player to move in hundredths of a pawn, by the evaluation of the loaded game
+     */
+    public int evaluate() {
+        if (nnue) {
+            return accumulator.getNetwork().evaluate(accumulator, COLORS[sideToMove]);
+        }
+        long key = sideToMove == BLACK ? pieceKey ^ Zobrist.sideKey() : pieceKey;
+        EvalCache cache = EvalCache.getShared();
+        double score = cache.probe(key);
+        if (Double.isNaN(score)) {
+            score = classical();
+            cache.store(key, score);
+        }
+        return (int) Math.round(100 * score);
+    }
+
+    /**
+     * The terms of ClassicalEvaluator, which gives the same score for the same position
+     * @return the score of the player to move in pawns
+     */
+    private double classical() {
+        int gamePhase = Math.min(phase, GamePhase.MAX);
+        long occupied = colors[WHITE] | colors[BLACK];
+        double activityMiddlegame = 0;
+        double activityEndgame = 0;
+        for (int color = WHITE; color <= BLACK; color++) {
+            long own = colors[color];
+            long enemy = colors[color ^ 1];
+            int sign = color == WHITE ? 1 : -1;
+            long pieces = own;
+            while (pieces != 0) {
+                int square = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                PieceType type = TYPES[(squares[square] & 7) - 1];
+                long attacks = AttackMap.attacks(type, COLORS[color], square, occupied);
+                int mobility = Long.bitCount(attacks & ~own);
+                int threats = Long.bitCount(attacks & enemy);
+                activityMiddlegame += sign * (mobility * weights.getMobility(type, PieceSquareTables.MIDDLEGAME) +
+                        threats * weights.getThreat(type, PieceSquareTables.MIDDLEGAME));
+                activityEndgame += sign * (mobility * weights.getMobility(type, PieceSquareTables.ENDGAME) +
+                        threats * weights.getThreat(type, PieceSquareTables.ENDGAME));
+            }
+        }
+        double score = GamePhase.taper(middlegame, endgame, gamePhase) / 100.0 +
+                GamePhase.taper(activityMiddlegame, activityEndgame, gamePhase);
+        long pawns = PawnHashTable.getShared().probe(pawnKey, types[PAWN] & colors[WHITE], types[PAWN] & colors[BLACK]);
+        score += PawnStructure.score(pawns, weights, gamePhase);
+        return sideToMove == WHITE ? score : -score;
+    }
+
+    /**
+     * @return whether leaves are scored by a network rather than the classical evaluation
+     */
+    public boolean isNnue() {
+        return nnue;
+    }
+
+    /**
+     * @param move
+     * @return the material the move wins once both sides have traded on its target tile, in hundredths of a pawn,
+     * negative if it loses material, see StaticExchange
+     */
+    public int staticExchange(int move) {
+        int from = from(move);
+        return StaticExchange.evaluate(types, colors, typeAt(from), squares[from] >> 3, from, to(move), EXCHANGE,
+                exchange);
+    }
+
+    /**
+     * @return the piece type ordinal on the tile, or -1 if it is empty
+     */
+    public int typeAt(int square) {
+        return (squares[square] & 7) - 1;
+    }
+
+    public int getSideToMove() {
+        return sideToMove;
+    }
+}
@@ -0,0 +1,279 @@
+package Chess;
+
+import Chess.Pieces.*;
+import Chess.Pieces.ChessPiece.PieceColor;
+import Chess.Pieces.ChessPiece.PieceType;
+
+import java.util.ArrayList;
+
+/**
+ * An immutable picture of the pieces on a board.  The tiles are stored as eight rows of eight, and changing a tile
+ * returns a new snapshot that copies only the list of rows and the one row that changed, sharing every other row with
+ * the snapshot it came from.  ChessBoard keeps its snapshot up to date as pieces move, so taking one is free, and as
+ * nothing in a snapshot ever changes it can be handed to other threads as is.
+ */
+public final class BoardSnapshot {
+
+    private static final Tile[] EMPTY_ROW = new Tile[8];
+
+    public static final BoardSnapshot EMPTY = new BoardSnapshot(new Tile[][]{
+            EMPTY_ROW, EMPTY_ROW, EMPTY_ROW, EMPTY_ROW, EMPTY_ROW, EMPTY_ROW, EMPTY_ROW, EMPTY_ROW}, 0);
+
+    private final Tile[][] rows;
+    private final int size;
+
+    private BoardSnapshot(Tile[][] rows, int size) {
+        this.rows = rows;
+        this.size = size;
+    }
+
+    /**
+     * @param tiles what stands on each of the 64 tiles, null for empty ones; the array is not kept
+     * @return a snapshot with those tiles, built in one go instead of a tile at a time
+     */
+    public static BoardSnapshot of(Tile[] tiles) {
+        Tile[][] rows = new Tile[8][];
+        int size = 0;
+        for (int y = 0; y < 8; y++) {
+            rows[y] = new Tile[8];
+            for (int x = 0; x < 8; x++) {
+                Tile tile = tiles[y * 8 + x];
+                rows[y][x] = tile;
+                if (tile != null) {
+                    size++;
+                }
+            }
+        }
+        return new BoardSnapshot(rows, size);
+    }
+
+    /**
+     * @param square tile index
+     * @return what stands on the tile, or null if it is empty
+     */
+    public Tile tileAt(int square) {
+        return rows[square / 8][square % 8];
+    }
+
+    public Tile tileAt(Location location) {
+        return tileAt(location.index());
+    }
+
+    /**
+     * @param square tile index
+     * @param tile what to put on the tile, or null to empty it
+     * @return a snapshot with the tile changed, sharing the other seven rows with this one
+     */
+    public BoardSnapshot with(int square, Tile tile) {
+        int y = square / 8;
+        int x = square % 8;
+        Tile old = rows[y][x];
+        if (old == tile) {
+            return this;
+        }
+        Tile[][] newRows = rows.clone();
+        newRows[y] = rows[y].clone();
+        newRows[y][x] = tile;
+        return new BoardSnapshot(newRows, size + (tile == null ? 0 : 1) - (old == null ? 0 : 1));
+    }
+
+    public BoardSnapshot without(int square) {
+        return with(square, null);
+    }
+
+    /**
+     * @return a snapshot with the piece on from moved to to, capturing whatever was there
+     */
+    public BoardSnapshot move(int from, int to) {
+        Tile tile = tileAt(from);
+        return without(from).with(to, tile == null ? null : tile.moved());
+    }
+
+    /**
+     * A side keeps the right to castle on a side while its king and that side's rook have not moved from where they
+     * started.
+     * @return the rights still open, as the Zobrist castling bits
+     */
+    public int castlingRights() {
+        int rights = 0;
+        if (isUnmoved(60, PieceType.King, PieceColor.White)) {
+            if (isUnmoved(63, PieceType.Rook, PieceColor.White)) rights |= Zobrist.WHITE_KING_SIDE;
+            if (isUnmoved(56, PieceType.Rook, PieceColor.White)) rights |= Zobrist.WHITE_QUEEN_SIDE;
+        }
+        if (isUnmoved(4, PieceType.King, PieceColor.Black)) {
+            if (isUnmoved(7, PieceType.Rook, PieceColor.Black)) rights |= Zobrist.BLACK_KING_SIDE;
+            if (isUnmoved(0, PieceType.Rook, PieceColor.Black)) rights |= Zobrist.BLACK_QUEEN_SIDE;
+        }
+        return rights;
+    }
+
+    private boolean isUnmoved(int square, PieceType type, PieceColor color) {
+        return tileAt(square) == Tile.of(type, color, false);
+    }
+
+    /**
+     * @return the row of tiles at y, shared between snapshots that did not change it
+     */
+    Tile[] row(int y) {
+        return rows[y];
+    }
+
+    /**
+     * @return the number of pieces on the board
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return new pieces for every occupied tile
+     */
+    public ArrayList<ChessPiece> toPieces() {
+        ArrayList<ChessPiece> pieces = new ArrayList<>(size);
+        for (int square = 0; square < 64; square++) {
+            Tile tile = tileAt(square);
+            if (tile != null) {
+                pieces.add(tile.toPiece(Location.of(square)));
+            }
+        }
+        return pieces;
+    }
+
+    /**
+     * @return a new board with the snapshot's pieces
+     */
+    public ChessBoard toBoard() {
+        return new ChessBoard(toPieces());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BoardSnapshot snapshot = (BoardSnapshot) o;
+        for (int y = 0; y < 8; y++) {
+            if (rows[y] != snapshot.rows[y]) {
+                for (int x = 0; x < 8; x++) {
+                    if (rows[y][x] != snapshot.rows[y][x]) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (int square = 0; square < 64; square++) {
+            Tile tile = tileAt(square);
+            result = 31 * result + (tile == null ? 0 : tile.hashCode());
+        }
+        return result;
+    }
+
+    /**
+     * What can stand on a tile: a piece type and color and whether the piece has moved.  There are only 24 of these,
+     * so they are shared and can be compared with ==.
+     */
+    public static final class Tile {
+
+        /**
+         * The highest {@link #code()}
+         */
+        public static final int CODES = PieceType.values().length * PieceColor.values().length * 2;
+
+        private static final Tile[] TILES = new Tile[CODES];
+
+        static {
+            for (PieceType type : PieceType.values()) {
+                for (PieceColor color : PieceColor.values()) {
+                    TILES[index(type, color, false)] = new Tile(type, color, false);
+                    TILES[index(type, color, true)] = new Tile(type, color, true);
+                }
+            }
+        }
+
+        private final PieceType type;
+        private final PieceColor color;
+        private final boolean hasMoved;
+
+        private Tile(PieceType type, PieceColor color, boolean hasMoved) {
+            this.type = type;
+            this.color = color;
+            this.hasMoved = hasMoved;
+        }
+
+        private static int index(PieceType type, PieceColor color, boolean hasMoved) {
+            return (type.ordinal() * 2 + color.ordinal()) * 2 + (hasMoved ? 1 : 0);
+        }
+
+        public static Tile of(PieceType type, PieceColor color, boolean hasMoved) {
+            return TILES[index(type, color, hasMoved)];
+        }
+
+        public static Tile of(ChessPiece piece) {
+            return of(piece.getType(), piece.getColor(), piece.hasMoved());
+        }
+
+        /**
+         * @param code from {@link #code()}, or 0 for an empty tile
+         * @return the tile with the code, or null for 0
+         */
+        public static Tile ofCode(int code) {
+            return code == 0 ? null : TILES[code - 1];
+        }
+
+        /**
+         * @return a number from 1 to 24 that stands for the tile when writing it out, leaving 0 for an empty tile
+         */
+        public int code() {
+            return index(type, color, hasMoved) + 1;
+        }
+
+        public PieceType getType() {
+            return type;
+        }
+
+        public PieceColor getColor() {
+            return color;
+        }
+
+        public boolean hasMoved() {
+            return hasMoved;
+        }
+
+        /**
+         * @return the same piece after it has moved
+         */
+        public Tile moved() {
+            return of(type, color, true);
+        }
+
+        /**
+         * @return a new piece of this kind standing on the location
+         */
+        public ChessPiece toPiece(Location location) {
+            switch (type) {
+                case Pawn:
+                    return new Pawn(color, location, hasMoved);
+                case Rook:
+                    return new Rook(color, location, hasMoved);
+                case Knight:
+                    return new Knight(color, location, hasMoved);
+                case Bishop:
+                    return new Bishop(color, location, hasMoved);
+                case Queen:
+                    return new Queen(color, location, hasMoved);
+                default:
+                    return new King(color, location, hasMoved);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return color + " " + type + (hasMoved ? " (moved)" : "");
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package Chess;
+
+import Chess.BoardSnapshot.Tile;
+import Chess.Pieces.ChessPiece.PieceColor;
+import Chess.Pieces.ChessPiece.PieceType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes the bracket format of save files and of ChessBoard.toString: eight rows of eight tiles, each
+ * written as [ then the piece's letter, lower case for White and upper case for Black, then 1 if it has moved or 0 if
+ * not, then ], with [  ] for an empty tile.  A game adds a line with the side to move and a line saying whether it is
+ * a two player game, and each game written to a save file is followed by a blank line.
+ *
+ * Writing goes a character at a time from the board snapshot into an Appendable or a ByteBuffer, leaving the board
+ * alone.  Reading walks the characters once, straight from a CharSequence or the bytes of a ByteBuffer, without
+ * splitting, regular expressions or substrings.  Files written before this class are read the same as before:
+ * carriage returns are ignored, an unknown letter is an empty tile, and reading stops at the first row that is cut
+ * short.
+ */
+public final class BoardText {
+
+    /**
+     * Characters in a row of tiles, with its line break
+     */
+    public static final int ROW_LENGTH = 8 * 4 + 1;
+
+    public static final int BOARD_LENGTH = 8 * ROW_LENGTH;
+
+    private BoardText() {
+    }
+
+    /**
+     * @param board
+     * @return the board's eight rows, each ending in a line break
+     */
+    public static String toString(BoardSnapshot board) {
+        StringBuilder builder = new StringBuilder(BOARD_LENGTH);
+        write(board, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Appends the board's eight rows, a StringBuilder never throwing
+     * @param board
+     * @param builder
+     */
+    public static void write(BoardSnapshot board, StringBuilder builder) {
+        try {
+            write(board, (Appendable) builder);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param board
+     * @param out
+     * @throws IOException
+     */
+    public static void write(BoardSnapshot board, Appendable out) throws IOException {
+        for (int square = 0; square < 64; square++) {
+            Tile tile = board.tileAt(square);
+            out.append('[');
+            if (tile == null) {
+                out.append(' ').append(' ');
+            } else {
+                out.append(letter(tile)).append(tile.hasMoved() ? '1' : '0');
+            }
+            out.append(']');
+            if (square % 8 == 7) {
+                out.append('\n');
+            }
+        }
+    }
+
+    /**
+     * Puts the board's eight rows in the buffer as ASCII
+     * @param board
+     * @param out needs BOARD_LENGTH bytes left
+     */
+    public static void write(BoardSnapshot board, ByteBuffer out) {
+        for (int square = 0; square < 64; square++) {
+            Tile tile = board.tileAt(square);
+            out.put((byte) '[');
+            if (tile == null) {
+                out.put((byte) ' ').put((byte) ' ');
+            } else {
+                out.put((byte) letter(tile)).put((byte) (tile.hasMoved() ? '1' : '0'));
+            }
+            out.put((byte) ']');
+            if (square % 8 == 7) {
+                out.put((byte) '\n');
+            }
+        }
+    }
+
+    /**
+     * Appends the game as ChessGame.toString gives it: the board, the side to move and whether it is a two player
+     * game, each line ending in a line break
+     * @param game
+     * @param out
+     * @throws IOException
+     */
+    public static void write(ChessGame game, Appendable out) throws IOException {
+        write(game.getBoard().snapshot(), out);
+        out.append(game.getCurrentPlayer().name()).append('\n');
+        out.append(game.getIsTwoPlayer() ? "true" : "false").append('\n');
+    }
+
+    private static char letter(Tile tile) {
+        char letter;
+        switch (tile.getType()) {
+            case Pawn:
+                letter = 'P';
+                break;
+            case Knight:
+                letter = 'N';
+                break;
+            case Bishop:
+                letter = 'B';
+                break;
+            case Rook:
+                letter = 'R';
+                break;
+            case Queen:
+                letter = 'Q';
+                break;
+            default:
+                letter = 'K';
+        }
+        return tile.getColor() == PieceColor.White ? Character.toLowerCase(letter) : letter;
+    }
+
+    /**
+     * Reads the games of a save file one after another, keeping the last one that was read whole.  The tiles are
+     * read into an array of the decoder's own, so reading a game allocates nothing until its board is asked for.
+     */
+    public static final class Decoder {
+
+        private final CharSequence text;
+        private Tile[] tiles = new Tile[64];
+        private Tile[] reading = new Tile[64];
+        private PieceColor currentPlayer = PieceColor.White;
+        private boolean isTwoPlayer = true;
+        private int index;
+        private boolean damaged;
+
+        public Decoder(CharSequence text) {
+            this.text = text;
+        }
+
+        /**
+         * Reads the bytes from the buffer's position to its limit as ASCII, without copying them
+         * @param buffer
+         */
+        public Decoder(ByteBuffer buffer) {
+            this(new Fen.Ascii(buffer, buffer.position(), buffer.limit()));
+        }
+
+        /**
+         * Reads the next game
+         * @return whether a whole game was read; false at the end of the text or at the first row cut short, after
+         * which the text is not read any further and the game read before stays
+         */
+        public boolean next() {
+            if (damaged) {
+                return false;
+            }
+            for (int y = 0; y < 8; y++) {
+                if (!row(y)) {
+                    damaged = true;
+                    return false;
+                }
+            }
+            int playerStart = index;
+            int playerEnd = lineEnd();
+            int twoPlayerStart = index;
+            int twoPlayerEnd = lineEnd();
+            if (playerEnd < 0 || twoPlayerEnd < 0) {
+                damaged = true;
+                return false;
+            }
+            // the same tests as before: White or else Black, and true in any case or else false
+            currentPlayer = matches(playerStart, playerEnd, "White", false) ? PieceColor.White : PieceColor.Black;
+            isTwoPlayer = matches(twoPlayerStart, twoPlayerEnd, "true", true);
+            Tile[] read = reading;
+            reading = tiles;
+            tiles = read;
+            // the blank line between games
+            lineEnd();
+            return true;
+        }
+
+        /**
+         * @return the board of the last game read whole, empty if there was none
+         */
+        public BoardSnapshot getBoard() {
+            return BoardSnapshot.of(tiles);
+        }
+
+        /**
+         * @return the side to move in the last game read whole, White if there was none
+         */
+        public PieceColor getCurrentPlayer() {
+            return currentPlayer;
+        }
+
+        /**
+         * @return whether the last game read whole is a two player game, true if there was none
+         */
+        public boolean isTwoPlayer() {
+            return isTwoPlayer;
+        }
+
+        /**
+         * @return a new game from the last game read whole
+         */
+        public ChessGame toGame() {
+            ChessGame game = new ChessGame(new ChessBoard(getBoard()), isTwoPlayer);
+            game.setCurrentPlayer(currentPlayer);
+            return game;
+        }
+
+        /**
+         * Reads a row of eight tiles and its line break into the tiles being read
+         * @return whether the row was whole
+         */
+        private boolean row(int y) {
+            int start = index;
+            int end = lineEnd();
+            if (end - start < 8 * 4) {
+                return false;
+            }
+            for (int x = 0; x < 8; x++) {
+                int position = start + x * 4;
+                if (text.charAt(position) != '[' || text.charAt(position + 3) != ']') {
+                    return false;
+                }
+                reading[y * 8 + x] = tile(text.charAt(position + 1), text.charAt(position + 2));
+            }
+            return true;
+        }
+
+        /**
+         * Moves past the next line break, or to the end of the text for a last line without one
+         * @return where the line ends, before its line break and carriage return, or -1 if the text has ended
+         */
+        private int lineEnd() {
+            if (index >= text.length()) {
+                return -1;
+            }
+            int end = index;
+            while (end < text.length() && text.charAt(end) != '\n') {
+                end++;
+            }
+            index = Math.min(end + 1, text.length());
+            return end > 0 && text.charAt(end - 1) == '\r' ? end - 1 : end;
+        }
+
+        private boolean matches(int start, int end, String word, boolean ignoreCase) {
+            if (end - start != word.length()) {
+                return false;
+            }
+            for (int i = 0; i < word.length(); i++) {
+                char c = text.charAt(start + i);
+                if (c != word.charAt(i) && !(ignoreCase && Character.toLowerCase(c) == word.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Tile tile(char letter, char moved) {
+            PieceColor color = letter >= 'a' && letter <= 'z' ? PieceColor.White : PieceColor.Black;
+            PieceType type;
+            switch (Character.toUpperCase(letter)) {
+                case 'P':
+                    type = PieceType.Pawn;
+                    break;
+                case 'N':
+                    type = PieceType.Knight;
+                    break;
+                case 'B':
+                    type = PieceType.Bishop;
+                    break;
+                case 'R':
+                    type = PieceType.Rook;
+                    break;
+                case 'Q':
+                    type = PieceType.Queen;
+                    break;
+                case 'K':
+                    type = PieceType.King;
+                    break;
+                default:
+                    return null;
+            }
+            return Tile.of(type, color, moved == '1');
+        }
+    }
+}
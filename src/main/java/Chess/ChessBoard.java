@@ -1,9 +1,9 @@
 package Chess;
 
+import Chess.Evaluation.GamePhase;
+import Chess.Evaluation.NnueAccumulator;
 import Chess.Pieces.*;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
 
 /**
  * Chess Board is a class for the board that is able to set up the starting positions of the pieces for a game of chess
@@ -13,12 +13,26 @@ import java.util.Iterator;
 
 public class ChessBoard implements Cloneable {
     private ArrayList<ChessPiece> pieces;
+    private long zobristKey;
+    private long pawnKey;
+    private int phase;
+    private NnueAccumulator accumulator;
+    private BoardSnapshot snapshot = BoardSnapshot.EMPTY;
 
     /**
      * Creates the starting piece location for a typical game of chess
      */
     public ChessBoard(){
         fillBoard();
+        rehash();
+    }
+
+    /**
+     * Creates a board with new pieces matching a snapshot
+     * @param snapshot
+     */
+    public ChessBoard(BoardSnapshot snapshot) {
+        this(snapshot.toPieces());
     }
 
     /**
@@ -29,6 +43,7 @@ public class ChessBoard implements Cloneable {
 
 
         pieces = (ArrayList<ChessPiece>) board.clone();
+        rehash();
     }
 
     /**
@@ -46,9 +61,9 @@ public class ChessBoard implements Cloneable {
     }
 
     public void promote(ChessPiece piece) {
-        pieces.remove(piece);
+        removePiece(piece);
         Queen queen = new Queen(piece.getColor(), piece.getLocation(), true);
-        pieces.add(queen);
+        addPiece(queen);
     }
 
     /**
@@ -85,7 +100,94 @@ public class ChessBoard implements Cloneable {
      * @return if piece was removed
      */
     public boolean removePiece(ChessPiece pieceToRemove) {
-        return pieces.remove(pieceToRemove);
+        if (pieceToRemove != null && pieces.remove(pieceToRemove)) {
+            updateIncrementalState(pieceToRemove, -1);
+            return true;
+        }
+        return false;
+    }
+
+    private void addPiece(ChessPiece piece) {
+        pieces.add(piece);
+        updateIncrementalState(piece, 1);
+    }
+
+    /**
+     * Xors a piece's key in or out of the board's hashes, adds or takes away its share of the game phase and puts it
+     * on or takes it off the snapshot
+     * @param piece
+     * @param sign 1 when the piece is added, -1 when it is removed
+     */
+    private void updateIncrementalState(ChessPiece piece, int sign) {
+        phase += sign * GamePhase.weight(piece.getType());
+        if (accumulator != null) {
+            accumulator.update(piece, sign);
+        }
+        if (!isInsideBoard(piece.getLocation())) {
+            return;
+        }
+        int square = piece.getLocation().index();
+        snapshot = sign > 0 ? snapshot.with(square, BoardSnapshot.Tile.of(piece)) : snapshot.without(square);
+        long key = Zobrist.pieceKey(piece);
+        zobristKey ^= key;
+        if (piece instanceof Pawn) {
+            pawnKey ^= key;
+        }
+    }
+
+    /**
+     * Recomputes the hashes and game phase from every piece on the board
+     */
+    private void rehash() {
+        zobristKey = 0;
+        pawnKey = 0;
+        phase = 0;
+        snapshot = BoardSnapshot.EMPTY;
+        for (ChessPiece piece : pieces) {
+            updateIncrementalState(piece, 1);
+        }
+    }
+
+    /**
+     * @return the game phase from GamePhase.MAX with every piece on the board down to 0 with only kings and pawns
+     */
+    public int getPhase() {
+        return Math.min(phase, GamePhase.MAX);
+    }
+
+    /**
+     * @return the neural network accumulator kept up to date with this board, or null if it has none
+     */
+    public NnueAccumulator getAccumulator() {
+        return accumulator;
+    }
+
+    /**
+     * @param accumulator computed from this board's pieces, to be updated as they move
+     */
+    public void setAccumulator(NnueAccumulator accumulator) {
+        this.accumulator = accumulator;
+    }
+
+    /**
+     * @return an immutable picture of the pieces as they stand now, without copying anything
+     */
+    public BoardSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return the Zobrist hash of the pieces on the board, without side to move
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * @return the Zobrist hash of only the pawns on the board
+     */
+    public long getPawnKey() {
+        return pawnKey;
     }
 
 
@@ -100,7 +202,7 @@ public class ChessBoard implements Cloneable {
         removePiece(piece);//remove current piece
         removePiece(to);//remove piece at to location
         piece.setLocation(to);
-        pieces.add(piece);
+        addPiece(piece);
     }
 
     /**
@@ -118,6 +220,9 @@ public class ChessBoard implements Cloneable {
                 clonedPieces.add((ChessPiece)piece.clone());
             }
             clone.pieces = clonedPieces;
+            if (accumulator != null) {
+                clone.accumulator = accumulator.copy();
+            }
         } catch (CloneNotSupportedException e) {
             e.printStackTrace();
         }
@@ -165,40 +270,40 @@ public class ChessBoard implements Cloneable {
         pieces = new ArrayList<>();
         // Pawns
         for(int i = 0; i < 8; i++){
-            pieces.add(new Pawn(ChessPiece.PieceColor.Black, new Location(i, 1)));
-            pieces.add(new Pawn(ChessPiece.PieceColor.White, new Location(i, 6)));
+            pieces.add(new Pawn(ChessPiece.PieceColor.Black, Location.of(i, 1)));
+            pieces.add(new Pawn(ChessPiece.PieceColor.White, Location.of(i, 6)));
         }
 
         // Rooks
-        pieces.add(new Rook(ChessPiece.PieceColor.Black, new Location(0, 0)));
-        pieces.add(new Rook(ChessPiece.PieceColor.Black, new Location(7, 0)));
-        pieces.add(new Rook(ChessPiece.PieceColor.White, new Location(0, 7)));
-        pieces.add(new Rook(ChessPiece.PieceColor.White, new Location(7, 7)));
+        pieces.add(new Rook(ChessPiece.PieceColor.Black, Location.of(0, 0)));
+        pieces.add(new Rook(ChessPiece.PieceColor.Black, Location.of(7, 0)));
+        pieces.add(new Rook(ChessPiece.PieceColor.White, Location.of(0, 7)));
+        pieces.add(new Rook(ChessPiece.PieceColor.White, Location.of(7, 7)));
 
         // Knight
-        pieces.add(new Knight(ChessPiece.PieceColor.Black, new Location(1, 0)));
-        pieces.add(new Knight(ChessPiece.PieceColor.Black, new Location(6, 0)));
-        pieces.add(new Knight(ChessPiece.PieceColor.White, new Location(1, 7)));
-        pieces.add(new Knight(ChessPiece.PieceColor.White, new Location(6, 7)));
+        pieces.add(new Knight(ChessPiece.PieceColor.Black, Location.of(1, 0)));
+        pieces.add(new Knight(ChessPiece.PieceColor.Black, Location.of(6, 0)));
+        pieces.add(new Knight(ChessPiece.PieceColor.White, Location.of(1, 7)));
+        pieces.add(new Knight(ChessPiece.PieceColor.White, Location.of(6, 7)));
 
         // Bishop
-        pieces.add(new Bishop(ChessPiece.PieceColor.Black, new Location(2, 0)));
-        pieces.add(new Bishop(ChessPiece.PieceColor.Black, new Location(5, 0)));
-        pieces.add(new Bishop(ChessPiece.PieceColor.White, new Location(5, 7)));
-        pieces.add(new Bishop(ChessPiece.PieceColor.White, new Location(2, 7)));
+        pieces.add(new Bishop(ChessPiece.PieceColor.Black, Location.of(2, 0)));
+        pieces.add(new Bishop(ChessPiece.PieceColor.Black, Location.of(5, 0)));
+        pieces.add(new Bishop(ChessPiece.PieceColor.White, Location.of(5, 7)));
+        pieces.add(new Bishop(ChessPiece.PieceColor.White, Location.of(2, 7)));
 
         // Queens
-        pieces.add(new Queen(ChessPiece.PieceColor.Black, new Location(3, 0)));
-        pieces.add(new Queen(ChessPiece.PieceColor.White, new Location(3, 7)));
+        pieces.add(new Queen(ChessPiece.PieceColor.Black, Location.of(3, 0)));
+        pieces.add(new Queen(ChessPiece.PieceColor.White, Location.of(3, 7)));
 
         // Kings
-        pieces.add(new King(ChessPiece.PieceColor.Black, new Location(4, 0)));
-        pieces.add(new King(ChessPiece.PieceColor.White, new Location(4, 7)));
+        pieces.add(new King(ChessPiece.PieceColor.Black, Location.of(4, 0)));
+        pieces.add(new King(ChessPiece.PieceColor.White, Location.of(4, 7)));
     }
 
     /**
 
-     * A human readable representation of the board
+     * A human readable representation of the board, see {@link BoardText}
 
      * @return
 
@@ -207,42 +312,6 @@ public class ChessBoard implements Cloneable {
     @Override
 
     public String toString() {
-        Collections.sort(pieces);
-        Iterator iter = pieces.iterator();
-        ChessPiece piece = null;
-        if (iter.hasNext()) {
-            piece = (ChessPiece) iter.next();
-        }
-        String string = "";
-
-        for(int y = 0; y < 8; y++) { //8 represents height of board
-            for (int x = 0; x < 8; x++){ //8 represents width of board
-                if (piece != null && piece.getLocation().equals(new Location(x, y))) {
-
-                    //encoding for type and color
-                    String letter = piece.getLetter().toUpperCase();
-                    if (piece.getColor().equals(ChessPiece.PieceColor.White)) {
-                        letter = letter.toLowerCase();
-                    }
-
-                    //encoding for hasMoved
-                    String hasMoved = "0";
-                    if (piece.hasMoved()) {
-                        hasMoved = "1";
-                    }
-
-                    string += "[" + letter + "" + hasMoved + "]";
-                    if (iter.hasNext()) {
-                        piece = (ChessPiece) iter.next();
-                    } else {
-                        piece = null;
-                    }
-                } else {
-                    string += ("[  ]");
-                }
-            }
-            string += "\n";
-        }
-        return string;
+        return BoardText.toString(snapshot);
     }
 }
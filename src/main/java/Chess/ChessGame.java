@@ -1,12 +1,14 @@
 package Chess;
 
+import Chess.Evaluation.ClassicalEvaluator;
+import Chess.Evaluation.Evaluator;
 import Chess.Pieces.ChessPiece;
 import Chess.Pieces.ChessPiece.PieceColor;
 import Chess.Pieces.King;
 import Chess.Pieces.Pawn;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.PriorityQueue;
 
 /**
  * Methods for general play of chess.
@@ -18,11 +20,35 @@ public class ChessGame implements Cloneable {
     private boolean isTwoPlayer = true;
     private Move previousMove = null;
     private int moveCount = 0;
+    private Evaluator evaluator = ClassicalEvaluator.getInstance();
+    private PositionHistory history;
+    private GameState state;
+    private PositionHistory stateHistory;
+    private long stateKey;
+    private Undo undoStack;
+    private Undo redoStack;
 
     public enum GameState {
         PLAY,
         CHECKMATE,
-        STALEMATE
+        STALEMATE,
+        THREEFOLD_REPETITION,
+        FIFTY_MOVE_RULE
+    }
+
+    /**
+     * A stack of snapshots to go back to.  Entries never change, so clones of the game can share them.
+     */
+    private static final class Undo {
+        private final GameSnapshot snapshot;
+        private final Undo next;
+        private final int size;
+
+        private Undo(GameSnapshot snapshot, Undo next) {
+            this.snapshot = snapshot;
+            this.next = next;
+            size = next == null ? 1 : next.size + 1;
+        }
     }
 
     public Move getPreviousMove() {
@@ -34,7 +60,7 @@ public class ChessGame implements Cloneable {
     public ChessGame(){
         board = new ChessBoard();
         currentPlayer = PieceColor.White;
-
+        history = PositionHistory.start(getPositionKey());
     }
 
     public ChessGame(ChessBoard board) {
@@ -44,6 +70,7 @@ public class ChessGame implements Cloneable {
             this.board = board;
         }
         currentPlayer = PieceColor.White;
+        history = PositionHistory.start(getPositionKey());
     }
 
     public ChessGame(boolean isTwoPlayer){
@@ -56,6 +83,25 @@ public class ChessGame implements Cloneable {
         this.isTwoPlayer = isTwoPlayer;
     }
 
+    /**
+     * @param fen a position in Forsyth-Edwards Notation, see {@link Fen}
+     * @return a new two player game at the position
+     * @throws IllegalArgumentException if the record is malformed
+     */
+    public static ChessGame fromFen(CharSequence fen) {
+        GameSnapshot snapshot = Fen.parse(fen);
+        ChessGame game = new ChessGame(new ChessBoard(snapshot.getBoard()));
+        game.restore(snapshot);
+        return game;
+    }
+
+    /**
+     * @return the position in Forsyth-Edwards Notation
+     */
+    public String toFen() {
+        return Fen.write(snapshot());
+    }
+
     public ArrayList<Move> getPotentialMoves(ChessPiece.PieceColor color) {
         ArrayList<Move> potentialMoves = new ArrayList<>();
         for (ChessPiece piece : board.getBoardArrayList()) {
@@ -82,26 +128,19 @@ public class ChessGame implements Cloneable {
         return moves;
     }
 
-    public ArrayList<Move> getTopMoves(PieceColor color, int numberOfMoves) {
-        ArrayList<Move> moves = getAllValidMoves(color);
-        PriorityQueue<Move> priorityQueue = new PriorityQueue<>();
-        for (Move move : moves) {
-            ChessGame clonedGame = (ChessGame) this.clone();
-            clonedGame.playMove(move);
-            double value = clonedGame.differenceInAdvantage();
-            move.setValue(value);
-            priorityQueue.add(move);
-        }
-
-        ArrayList<Move> result = new ArrayList<>();
-        for (int i = 0; i < numberOfMoves; i++) {
-            Move goodMove = priorityQueue.poll();
-            if (goodMove != null) {
-                result.add(goodMove);
+    /**
+     * Whether the color can move at all.  Stops at the first valid move instead of validating every move, which is
+     * all getState needs to know.
+     * @param color
+     * @return whether the color has at least one valid move
+     */
+    public boolean hasAnyLegalMove(PieceColor color) {
+        for (ChessPiece chessPiece : getBoard().getAllPiecesLocationForColor(color)) {
+            if (chessPiece.hasValidMove(this)) {
+                return true;
             }
         }
-
-        return result;
+        return false;
     }
 
     @Override
@@ -116,6 +155,77 @@ public class ChessGame implements Cloneable {
         return clone;
     }
 
+    /**
+     * Takes an immutable picture of the game without copying the board
+     * @return
+     */
+    public GameSnapshot snapshot() {
+        if (previousMove == null) {
+            return new GameSnapshot(board.snapshot(), currentPlayer, moveCount, null, 0, 0, history);
+        }
+        return new GameSnapshot(board.snapshot(), currentPlayer, moveCount,
+                BoardSnapshot.Tile.of(previousMove.getPiece()),
+                previousMove.getPiece().getLocation().index(), previousMove.getTo().index(), history);
+    }
+
+    /**
+     * Puts the game back to a snapshot.  The pieces are new, so the snapshot can be restored any number of times.
+     * @param snapshot
+     */
+    public void restore(GameSnapshot snapshot) {
+        board = new ChessBoard(snapshot.getBoard());
+        currentPlayer = snapshot.getCurrentPlayer();
+        moveCount = snapshot.getMoveCount();
+        previousMove = snapshot.getPreviousMove();
+        history = snapshot.getHistory();
+        if (history == null) {
+            history = PositionHistory.start(getPositionKey());
+        }
+    }
+
+    /**
+     * Takes back the last move played.  The game keeps a snapshot from before every move, so this neither replays
+     * the game nor reads anything from disk.
+     * @return false if there was no move to take back
+     */
+    public boolean undo() {
+        if (undoStack == null) {
+            return false;
+        }
+        redoStack = new Undo(snapshot(), redoStack);
+        restore(undoStack.snapshot);
+        undoStack = undoStack.next;
+        return true;
+    }
+
+    /**
+     * Plays the last move taken back again.  Playing any other move forgets the moves taken back.
+     * @return false if there was no move to play again
+     */
+    public boolean redo() {
+        if (redoStack == null) {
+            return false;
+        }
+        undoStack = new Undo(snapshot(), undoStack);
+        restore(redoStack.snapshot);
+        redoStack = redoStack.next;
+        return true;
+    }
+
+    /**
+     * @return how many moves can be taken back
+     */
+    public int getUndoCount() {
+        return undoStack == null ? 0 : undoStack.size;
+    }
+
+    /**
+     * @return how many moves taken back can be played again
+     */
+    public int getRedoCount() {
+        return redoStack == null ? 0 : redoStack.size;
+    }
+
     public ChessBoard getBoard() {
         return board;
     }
@@ -124,8 +234,20 @@ public class ChessGame implements Cloneable {
         return currentPlayer;
     }
 
+    /**
+     * Sets the player to move.  As this starts play from a new position, the position history starts over.
+     * @param color
+     */
     public void setCurrentPlayer(PieceColor color) {
         currentPlayer = color;
+        history = PositionHistory.start(getPositionKey());
+    }
+
+    /**
+     * @return the positions played so far, newest first
+     */
+    public PositionHistory getHistory() {
+        return history;
     }
 
     public int getMoveCount(){
@@ -154,14 +276,7 @@ public class ChessGame implements Cloneable {
         ChessPiece piece = board.getPieceAtLocation(from);
         Move move = new Move(piece, to);
         if (from != null && piece != null && to != null && getAllValidMoves(currentPlayer).contains(move)) {
-
-            enPassantCheck(move);
-            castlingCheck(move);
-            previousMove = (Move) move.clone();
-            board.move(move);
-            promotionCheck();
-
-            endTurn();
+            playValidMove(move);
             return true;
         } else {
             //System.out.println("Invalid move!");
@@ -169,6 +284,26 @@ public class ChessGame implements Cloneable {
         }
     }
 
+    /**
+     * Plays a move without checking it against every valid move first, for callers that have already made sure it is
+     * one, such as a game record matched against the moving piece's valid moves.
+     * @param move a valid move of the current player, with its piece taken from this game's board
+     */
+    public void playValidMove(Move move) {
+        ChessPiece piece = move.getPiece();
+        boolean irreversible = piece instanceof Pawn || board.getPieceAtLocation(move.getTo()) != null;
+        undoStack = new Undo(snapshot(), undoStack);
+        redoStack = null;
+        enPassantCheck(move);
+        castlingCheck(move);
+        previousMove = (Move) move.clone();
+        board.move(move);
+        promotionCheck();
+
+        endTurn();
+        history = history.push(getPositionKey(), irreversible);
+    }
+
     private void enPassantCheck(Move move) {
         if (currentPlayer == PieceColor.White &&
                 previousMove != null &&
@@ -177,7 +312,7 @@ public class ChessGame implements Cloneable {
                 Math.abs(previousMove.getPiece().getLocation().y - previousMove.getTo().y) == 2 &&
                 move.getPiece().getLocation().y == 3) {
 
-            Location loc = new Location(move.getTo().x, move.getPiece().getLocation().y);
+            Location loc = Location.of(move.getTo().x, move.getPiece().getLocation().y);
             board.removePiece(loc);
         } else if (currentPlayer == PieceColor.Black &&
                 previousMove != null &&
@@ -186,7 +321,7 @@ public class ChessGame implements Cloneable {
                 Math.abs(previousMove.getPiece().getLocation().y - previousMove.getTo().y) == 2 &&
                 move.getPiece().getLocation().y == 4) {
 
-            Location loc = new Location(move.getTo().x, move.getPiece().getLocation().y);
+            Location loc = Location.of(move.getTo().x, move.getPiece().getLocation().y);
             board.removePiece(loc);
         }
 
@@ -194,18 +329,18 @@ public class ChessGame implements Cloneable {
 
     private void castlingCheck(Move move) {
         if (King.canCastleKingSide(move.getPiece(), this) &&
-                move.getTo().equals(new Location(6, move.getPiece().getLocation().y))) {
+                move.getTo().equals(Location.of(6, move.getPiece().getLocation().y))) {
 
-            ChessPiece rook = board.getPieceAtLocation(new Location(7, move.getPiece().getLocation().y));
+            ChessPiece rook = board.getPieceAtLocation(Location.of(7, move.getPiece().getLocation().y));
 
-            board.move(new Move(rook, new Location(5, rook.getLocation().y)));
+            board.move(new Move(rook, Location.of(5, rook.getLocation().y)));
 
         } else if (King.canCastleQueenSide(move.getPiece(), this) &&
-                move.getTo().equals(new Location(2, move.getPiece().getLocation().y))) {
+                move.getTo().equals(Location.of(2, move.getPiece().getLocation().y))) {
 
-            ChessPiece rook = board.getPieceAtLocation(new Location(0, move.getPiece().getLocation().y));
+            ChessPiece rook = board.getPieceAtLocation(Location.of(0, move.getPiece().getLocation().y));
 
-            board.move(new Move(rook, new Location(3, rook.getLocation().y)));
+            board.move(new Move(rook, Location.of(3, rook.getLocation().y)));
         }
     }
 
@@ -232,16 +367,30 @@ public class ChessGame implements Cloneable {
     }
 
     /**
-     * Returns the game status of the game.
+     * Returns the game status of the game.  Checkmate and stalemate come before the draws by repetition and the fifty
+     * move rule, so a move that mates on the hundredth halfmove still wins.
+     *
+     * The state is worked out once per position and kept until a move is played or the position otherwise changes,
+     * so asking again is free.
      * @return returns the game status
      */
     public GameState getState(){
-        ArrayList<Move> moves = getAllValidMoves(currentPlayer);
-        boolean inCheck = isColorInCheck(currentPlayer);
-        if (moves.size() == 0 && inCheck) {
-            return GameState.CHECKMATE;
-        } else if (moves.size() == 0 && !inCheck) {
-            return GameState.STALEMATE;
+        long key = getPositionKey();
+        if (state == null || stateHistory != history || stateKey != key) {
+            state = computeState();
+            stateHistory = history;
+            stateKey = key;
+        }
+        return state;
+    }
+
+    private GameState computeState() {
+        if (!hasAnyLegalMove(currentPlayer)) {
+            return isColorInCheck(currentPlayer) ? GameState.CHECKMATE : GameState.STALEMATE;
+        } else if (history.isThreefoldRepetition()) {
+            return GameState.THREEFOLD_REPETITION;
+        } else if (history.isFiftyMoveRule()) {
+            return GameState.FIFTY_MOVE_RULE;
         }
 
         return GameState.PLAY;
@@ -280,23 +429,53 @@ public class ChessGame implements Cloneable {
         return result;
     }
 
-    public double differenceInAdvantage() {
-        double currentPlayerScore = 0.0;
-        double opponentScore = 0.0;
-
-        for (ChessPiece chessPiece : board.getAllPiecesLocationForColor(currentPlayer)) {
-            currentPlayerScore += chessPiece.value(this);// + chessPiece.getValue();
+    /**
+     * @return the Zobrist hash of the pieces on the board and the player to move
+     */
+    public long getZobristKey() {
+        long key = board.getZobristKey();
+        if (currentPlayer == PieceColor.Black) {
+            key ^= Zobrist.sideKey();
         }
+        return key;
+    }
 
-        for (ChessPiece chessPiece : board.getAllPiecesLocationForColor(ChessPiece.opponentOf(currentPlayer))) {
-            opponentScore += chessPiece.value(this);// + chessPiece.getValue();
-        }
-        return currentPlayerScore - opponentScore;
+    /**
+     * The key positions are compared by for repetitions: the Zobrist key plus the castling rights.  En passant rights
+     * are left out, so a position right after a double pawn step can count as a repetition a move early.
+     * @return the Zobrist key of the position with its castling rights
+     */
+    public long getPositionKey() {
+        return getZobristKey() ^ Zobrist.castlingKey(board.snapshot().castlingRights());
+    }
+
+    /**
+     * How far ahead the current player is, in pawns, according to the game's evaluator.
+     * @return
+     */
+    public double differenceInAdvantage() {
+        return evaluator.evaluate(this);
     }
 
+    public Evaluator getEvaluator() {
+        return evaluator;
+    }
+
+    /**
+     * @param evaluator scores positions for differenceInAdvantage, ClassicalEvaluator by default
+     */
+    public void setEvaluator(Evaluator evaluator) {
+        this.evaluator = evaluator;
+    }
 
     @Override
     public String toString() {
-        return board + "" + currentPlayer + "\n" + isTwoPlayer + "\n";
+        StringBuilder builder = new StringBuilder(BoardText.BOARD_LENGTH + 12);
+        try {
+            BoardText.write(this, builder);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return builder.toString();
     }
 }
@@ -0,0 +1,191 @@
+package Chess.Evaluation;
+
+import Chess.ChessBoard;
+import Chess.Pieces.ChessPiece;
+import Chess.Pieces.ChessPiece.PieceColor;
+import Chess.Pieces.ChessPiece.PieceType;
+
+/**
+ * Bitboards of the tiles every piece attacks, built once from a board so that evaluation can count mobility and threats
+ * without generating and validating moves.  Bit y * 8 + x stands for the tile at (x, y).
+ *
+ * Attacks are pseudo-legal: a pinned piece still attacks through its pin, and castling and pawn pushes are not attacks.
+ */
+public class AttackMap {
+
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {0, 1}, {-1, 0}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] KNIGHT_JUMPS = {{2, 1}, {1, 2}, {2, -1}, {-1, 2}, {-2, 1}, {1, -2}, {-2, -1}, {-1, -2}};
+
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[PieceColor.values().length][64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            int x = square % 8;
+            int y = square / 8;
+            for (int[] jump : KNIGHT_JUMPS) {
+                KNIGHT_ATTACKS[square] |= bit(x + jump[0], y + jump[1]);
+            }
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    if (dx != 0 || dy != 0) {
+                        KING_ATTACKS[square] |= bit(x + dx, y + dy);
+                    }
+                }
+            }
+            PAWN_ATTACKS[PieceColor.White.ordinal()][square] = bit(x - 1, y - 1) | bit(x + 1, y - 1);
+            PAWN_ATTACKS[PieceColor.Black.ordinal()][square] = bit(x - 1, y + 1) | bit(x + 1, y + 1);
+        }
+    }
+
+    private final ChessPiece[] squares = new ChessPiece[64];
+    private final long[] pieceAttacks = new long[64];
+    private final long[] occupancy = new long[PieceColor.values().length];
+    private final long[] pieces = new long[PieceType.values().length];
+    private final long[] attacks = new long[PieceColor.values().length];
+    private long occupied;
+
+    /**
+     * Builds the attack sets of every piece on the board
+     * @param board
+     */
+    public AttackMap(ChessBoard board) {
+        for (ChessPiece piece : board.getBoardArrayList()) {
+            if (ChessBoard.isInsideBoard(piece.getLocation())) {
+                int square = piece.getLocation().index();
+                squares[square] = piece;
+                occupancy[piece.getColor().ordinal()] |= 1L << square;
+                pieces[piece.getType().ordinal()] |= 1L << square;
+            }
+        }
+        occupied = occupancy[0] | occupancy[1];
+        for (int square = 0; square < 64; square++) {
+            ChessPiece piece = squares[square];
+            if (piece != null) {
+                pieceAttacks[square] = attacks(piece.getType(), piece.getColor(), square, occupied);
+                attacks[piece.getColor().ordinal()] |= pieceAttacks[square];
+            }
+        }
+    }
+
+    /**
+     * @return the tiles the piece attacks, the piece does not need to be on the board this map was built from
+     */
+    public long attacksFrom(ChessPiece piece) {
+        int square = piece.getLocation().index();
+        if (squares[square] == piece) {
+            return pieceAttacks[square];
+        }
+        return attacks(piece.getType(), piece.getColor(), square, occupied);
+    }
+
+    /**
+     * @return the number of tiles the piece could move to, ignoring whether the move would leave its king in check
+     */
+    public int mobility(ChessPiece piece) {
+        return Long.bitCount(attacksFrom(piece) & ~occupancy[piece.getColor().ordinal()]);
+    }
+
+    /**
+     * @return the number of opponent's pieces the piece attacks
+     */
+    public int threats(ChessPiece piece) {
+        return Long.bitCount(attacksFrom(piece) & occupancy[piece.opponent().ordinal()]);
+    }
+
+    /**
+     * @return every tile attacked by at least one piece of the color
+     */
+    public long attacks(PieceColor color) {
+        return attacks[color.ordinal()];
+    }
+
+    public long occupancy(PieceColor color) {
+        return occupancy[color.ordinal()];
+    }
+
+    /**
+     * @return the tiles holding pieces of the type, of either color
+     */
+    public long pieces(PieceType type) {
+        return pieces[type.ordinal()];
+    }
+
+    public long occupied() {
+        return occupied;
+    }
+
+    /**
+     * @return the tiles holding each type of piece by ordinal, not to be changed
+     */
+    long[] pieceBoards() {
+        return pieces;
+    }
+
+    /**
+     * @return the tiles holding White's and Black's pieces, not to be changed
+     */
+    long[] occupancies() {
+        return occupancy;
+    }
+
+    /**
+     * @return the piece on a tile, or null
+     */
+    public ChessPiece pieceAt(int square) {
+        return squares[square];
+    }
+
+    /**
+     * @return whether a piece of the color attacks the tile
+     */
+    public boolean isAttacked(int square, PieceColor byColor) {
+        return (attacks[byColor.ordinal()] & (1L << square)) != 0;
+    }
+
+    /**
+     * Attack set of a piece type standing on a tile, given the occupied tiles of the board
+     */
+    public static long attacks(PieceType type, PieceColor color, int square, long occupied) {
+        switch (type) {
+            case Pawn:
+                return PAWN_ATTACKS[color.ordinal()][square];
+            case Knight:
+                return KNIGHT_ATTACKS[square];
+            case King:
+                return KING_ATTACKS[square];
+            case Bishop:
+                return slide(square, occupied, BISHOP_DIRECTIONS);
+            case Rook:
+                return slide(square, occupied, ROOK_DIRECTIONS);
+            case Queen:
+                return slide(square, occupied, BISHOP_DIRECTIONS) | slide(square, occupied, ROOK_DIRECTIONS);
+            default:
+                return 0;
+        }
+    }
+
+    private static long slide(int square, long occupied, int[][] directions) {
+        long result = 0;
+        for (int[] direction : directions) {
+            int x = square % 8 + direction[0];
+            int y = square / 8 + direction[1];
+            while (x >= 0 && x < 8 && y >= 0 && y < 8) {
+                long tile = 1L << (y * 8 + x);
+                result |= tile;
+                if ((occupied & tile) != 0) {
+                    break;
+                }
+                x += direction[0];
+                y += direction[1];
+            }
+        }
+        return result;
+    }
+
+    private static long bit(int x, int y) {
+        return x >= 0 && x < 8 && y >= 0 && y < 8 ? 1L << (y * 8 + x) : 0;
+    }
+}
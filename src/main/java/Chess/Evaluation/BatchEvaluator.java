@@ -0,0 +1,82 @@
+package Chess.Evaluation;
+
+import Chess.ChessBoard;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates many boards at once for analysis and tuning.  Each board's feature counts are written as one row of a
+ * flat matrix, and the scores are the dot products of the rows with the middlegame and endgame weights, computed by
+ * an {@link EvaluationKernel}.  Scores are from White's side in pawns and agree with the evaluation of
+ * ChessGame to float precision.
+ */
+public class BatchEvaluator {
+
+    private final EvaluationKernel kernel;
+    private final float[] middlegame = new float[EvaluationFeatures.PER_PHASE];
+    private final float[] endgame = new float[EvaluationFeatures.PER_PHASE];
+
+    /**
+     * Uses the evaluation's current tables and weights and the kernel chosen at startup
+     */
+    public BatchEvaluator() {
+        this(PieceSquareTables.getInstance(), EvaluationWeights.getInstance(), EvaluationKernel.getInstance());
+    }
+
+    public BatchEvaluator(PieceSquareTables tables, EvaluationWeights weights, EvaluationKernel kernel) {
+        this(EvaluationFeatures.toParameters(tables, weights), kernel);
+    }
+
+    /**
+     * @param parameters a parameter vector as described in EvaluationFeatures
+     * @param kernel
+     */
+    public BatchEvaluator(double[] parameters, EvaluationKernel kernel) {
+        this.kernel = kernel;
+        for (int i = 0; i < EvaluationFeatures.PER_PHASE; i++) {
+            middlegame[i] = (float) (parameters[i] * EvaluationFeatures.scale(i));
+            endgame[i] = (float) (parameters[EvaluationFeatures.PER_PHASE + i] * EvaluationFeatures.scale(i));
+        }
+    }
+
+    /**
+     * @param boards
+     * @return White's score minus Black's for every board, in pawns
+     */
+    public double[] evaluate(List<ChessBoard> boards) {
+        int size = boards.size();
+        int width = EvaluationFeatures.PER_PHASE;
+        float[] features = new float[size * width];
+        double[] scores = new double[size];
+        int[] phases = new int[size];
+        IntStream.range(0, size).parallel().forEach(i -> {
+            int[] counts = new int[width];
+            ChessBoard board = boards.get(i);
+            scores[i] = EvaluationFeatures.extract(board, counts);
+            phases[i] = board.getPhase();
+            for (int j = 0; j < width; j++) {
+                features[i * width + j] = counts[j];
+            }
+        });
+        IntStream.range(0, size).parallel().forEach(i -> scores[i] += evaluate(features, i * width, phases[i]));
+        return scores;
+    }
+
+    /**
+     * @param features feature counts as filled in by {@link EvaluationFeatures#extract(ChessBoard, int[])}
+     * @param offset start of the row in features
+     * @param phase game phase of the board
+     * @return the positional part of the score, without material
+     */
+    public double evaluate(float[] features, int offset, int phase) {
+        int width = EvaluationFeatures.PER_PHASE;
+        double middlegameScore = kernel.dot(features, offset, middlegame, 0, width);
+        double endgameScore = kernel.dot(features, offset, endgame, 0, width);
+        return (middlegameScore * phase + endgameScore * (GamePhase.MAX - phase)) / GamePhase.MAX;
+    }
+
+    public EvaluationKernel getKernel() {
+        return kernel;
+    }
+}
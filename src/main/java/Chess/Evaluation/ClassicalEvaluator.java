@@ -0,0 +1,52 @@
+package Chess.Evaluation;
+
+import Chess.ChessGame;
+import Chess.Pieces.ChessPiece;
+import Chess.Pieces.ChessPiece.PieceColor;
+
+/**
+ * The hand-written evaluation: material, piece-square tables, mobility, threats and pawn structure.  Positions seen
+ * before are answered from the shared EvalCache.
+ */
+public class ClassicalEvaluator implements Evaluator {
+
+    private static final ClassicalEvaluator INSTANCE = new ClassicalEvaluator();
+
+    public static ClassicalEvaluator getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public double evaluate(ChessGame game) {
+        long key = game.getZobristKey();
+        EvalCache cache = EvalCache.getShared();
+        double cached = cache.probe(key);
+        if (!Double.isNaN(cached)) {
+            return cached;
+        }
+        double result = compute(game);
+        cache.store(key, result);
+        return result;
+    }
+
+    private double compute(ChessGame game) {
+        PieceColor currentPlayer = game.getCurrentPlayer();
+        double currentPlayerScore = 0.0;
+        double opponentScore = 0.0;
+        AttackMap attacks = new AttackMap(game.getBoard());
+
+        for (ChessPiece chessPiece : game.getBoard().getBoardArrayList()) {
+            if (chessPiece.color() == currentPlayer) {
+                currentPlayerScore += chessPiece.value(game, attacks);
+            } else {
+                opponentScore += chessPiece.value(game, attacks);
+            }
+        }
+
+        double pawnStructure = PawnHashTable.getShared().whiteAdvantage(game.getBoard());
+        if (currentPlayer == PieceColor.Black) {
+            pawnStructure = -pawnStructure;
+        }
+        return currentPlayerScore - opponentScore + pawnStructure;
+    }
+}
@@ -0,0 +1,97 @@
+package Chess.Evaluation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers evaluation scores by position key so that a position evaluated once, whether by the AI's search or by
+ * the game itself, is a single array lookup the next time.
+ *
+ * The cache has a fixed number of slots and a newer position simply overwrites an older one.  Each slot keeps the key
+ * xor'ed with the score's bits, so the cache can be shared between threads without locking: a slot half written by
+ * another thread fails the key check and counts as a miss.
+ */
+public class EvalCache {
+
+    public static final int DEFAULT_SIZE = 1 << 16;
+
+    private static final EvalCache SHARED = new EvalCache(DEFAULT_SIZE);
+
+    private final long[] checks;
+    private final long[] scores;
+    private final int mask;
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * @param size number of slots, rounded up to a power of two
+     */
+    public EvalCache(int size) {
+        int slots = Integer.highestOneBit(Math.max(1, size - 1) << 1);
+        checks = new long[slots];
+        scores = new long[slots];
+        mask = slots - 1;
+    }
+
+    /**
+     * @return the cache used by ChessGame.differenceInAdvantage
+     */
+    public static EvalCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * @param key the position's Zobrist key
+     * @return the stored score, or NaN when the position is not in the cache
+     */
+    public double probe(long key) {
+        probes.increment();
+        int index = (int) key & mask;
+        long bits = scores[index];
+        // an empty slot holds zero bits, so a stored score of exactly 0.0 is never reported as a hit
+        if ((checks[index] ^ bits) == key && bits != 0) {
+            hits.increment();
+            return Double.longBitsToDouble(bits);
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Stores a score, replacing whatever was in the slot
+     * @param key the position's Zobrist key
+     * @param score
+     */
+    public void store(long key, double score) {
+        int index = (int) key & mask;
+        long bits = Double.doubleToRawLongBits(score);
+        scores[index] = bits;
+        checks[index] = key ^ bits;
+    }
+
+    /**
+     * Empties every slot and resets the statistics, needed whenever the evaluation itself changes
+     */
+    public void clear() {
+        for (int i = 0; i < checks.length; i++) {
+            checks[i] = 0;
+            scores[i] = 0;
+        }
+        probes.reset();
+        hits.reset();
+    }
+
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the fraction of probes that found their position, 0 when nothing was probed yet
+     */
+    public double getHitRatio() {
+        long probeCount = probes.sum();
+        return probeCount == 0 ? 0 : (double) hits.sum() / probeCount;
+    }
+}
@@ -0,0 +1,151 @@
+package Chess.Evaluation;
+
+import Chess.ChessBoard;
+import Chess.Pieces.ChessPiece;
+import Chess.Pieces.ChessPiece.PieceColor;
+import Chess.Pieces.ChessPiece.PieceType;
+
+/**
+ * The evaluation written as a linear function of its tunable parameters, which is what makes tuning it cheap.  Apart
+ * from material, White's score minus Black's is the sum over parameters of
+ * <pre>
+ *     count * scale * (middlegame * phase + endgame * (MAX - phase)) / MAX
+ * </pre>
+ * where count is how often the term occurs for White minus for Black, for example the number of tiles White's bishops
+ * attack minus Black's.
+ *
+ * The parameter vector holds every middlegame parameter followed by every endgame parameter in the same order:
+ * the 64 tiles of each piece's table (from White's side), then mobility and threat per piece type, then the pawn
+ * structure terms.  Table entries are in hundredths of a pawn, everything else in pawns.
+ */
+public class EvaluationFeatures {
+
+    public static final int TABLES = 0;
+    public static final int MOBILITY = TABLES + PieceType.values().length * 64;
+    public static final int THREAT = MOBILITY + PieceType.values().length;
+    public static final int PAWN_STRUCTURE = THREAT + PieceType.values().length;
+    public static final int PER_PHASE = PAWN_STRUCTURE + PawnStructure.TERMS;
+    public static final int COUNT = 2 * PER_PHASE;
+
+    private EvaluationFeatures() {
+    }
+
+    /**
+     * @param parameter index of a middlegame parameter
+     * @return what a parameter's value is multiplied by to be in pawns
+     */
+    public static double scale(int parameter) {
+        return parameter < MOBILITY ? 0.01 : 1;
+    }
+
+    /**
+     * Counts every term of the evaluation on a board
+     * @param board
+     * @param counts PER_PHASE entries, filled with White's count minus Black's for each middlegame parameter (the
+     *               endgame parameter of the same term has the same count)
+     * @return White's material minus Black's, in pawns
+     */
+    public static double extract(ChessBoard board, int[] counts) {
+        for (int i = 0; i < PER_PHASE; i++) {
+            counts[i] = 0;
+        }
+        AttackMap attacks = new AttackMap(board);
+        double material = 0;
+        for (ChessPiece piece : board.getBoardArrayList()) {
+            if (!ChessBoard.isInsideBoard(piece.getLocation())) {
+                continue;
+            }
+            int sign = piece.getColor() == PieceColor.White ? 1 : -1;
+            int type = piece.getType().ordinal();
+            int square = piece.getLocation().index();
+            if (piece.getColor() == PieceColor.Black) {
+                square = PieceSquareTables.mirror(square);
+            }
+            material += sign * piece.materialValue();
+            counts[TABLES + type * 64 + square] += sign;
+            counts[MOBILITY + type] += sign * attacks.mobility(piece);
+            counts[THREAT + type] += sign * attacks.threats(piece);
+        }
+        long pawns = PawnHashTable.getShared().probe(board);
+        for (int term = 0; term < PawnStructure.TERMS; term++) {
+            counts[PAWN_STRUCTURE + term] = PawnStructure.feature(pawns, term);
+        }
+        return material;
+    }
+
+    /**
+     * @param parameters COUNT entries
+     * @param counts PER_PHASE entries from {@link #extract(ChessBoard, int[])}
+     * @param material from {@link #extract(ChessBoard, int[])}
+     * @param phase game phase of the board
+     * @return White's score minus Black's, in pawns
+     */
+    public static double evaluate(double[] parameters, int[] counts, double material, int phase) {
+        double middlegame = 0;
+        double endgame = 0;
+        for (int i = 0; i < PER_PHASE; i++) {
+            if (counts[i] != 0) {
+                middlegame += counts[i] * scale(i) * parameters[i];
+                endgame += counts[i] * scale(i) * parameters[PER_PHASE + i];
+            }
+        }
+        return material + (middlegame * phase + endgame * (GamePhase.MAX - phase)) / GamePhase.MAX;
+    }
+
+    /**
+     * @return the parameter vector of a set of tables and weights
+     */
+    public static double[] toParameters(PieceSquareTables tables, EvaluationWeights weights) {
+        double[] parameters = new double[COUNT];
+        for (int phase = PieceSquareTables.MIDDLEGAME; phase <= PieceSquareTables.ENDGAME; phase++) {
+            int offset = phase * PER_PHASE;
+            for (PieceType type : PieceType.values()) {
+                int[] table = tables.getTable(type, phase);
+                for (int square = 0; square < 64; square++) {
+                    parameters[offset + TABLES + type.ordinal() * 64 + square] = table[square];
+                }
+                parameters[offset + MOBILITY + type.ordinal()] = weights.getMobility(type, phase);
+                parameters[offset + THREAT + type.ordinal()] = weights.getThreat(type, phase);
+            }
+            for (int term = 0; term < PawnStructure.TERMS; term++) {
+                parameters[offset + PAWN_STRUCTURE + term] = weights.getPawnStructure(term, phase);
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * @return piece-square tables from a parameter vector, rounded to whole hundredths of a pawn
+     */
+    public static PieceSquareTables toTables(double[] parameters) {
+        PieceSquareTables tables = new PieceSquareTables();
+        for (int phase = PieceSquareTables.MIDDLEGAME; phase <= PieceSquareTables.ENDGAME; phase++) {
+            for (PieceType type : PieceType.values()) {
+                int[] table = new int[64];
+                for (int square = 0; square < 64; square++) {
+                    table[square] = (int) Math.round(parameters[phase * PER_PHASE + TABLES + type.ordinal() * 64 + square]);
+                }
+                tables.setTable(type, phase, table);
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * @return evaluation weights from a parameter vector
+     */
+    public static EvaluationWeights toWeights(double[] parameters) {
+        EvaluationWeights weights = new EvaluationWeights();
+        for (PieceType type : PieceType.values()) {
+            weights.setMobility(type, parameters[MOBILITY + type.ordinal()],
+                    parameters[PER_PHASE + MOBILITY + type.ordinal()]);
+            weights.setThreat(type, parameters[THREAT + type.ordinal()],
+                    parameters[PER_PHASE + THREAT + type.ordinal()]);
+        }
+        for (int term = 0; term < PawnStructure.TERMS; term++) {
+            weights.setPawnStructure(term, parameters[PAWN_STRUCTURE + term],
+                    parameters[PER_PHASE + PAWN_STRUCTURE + term]);
+        }
+        return weights;
+    }
+}
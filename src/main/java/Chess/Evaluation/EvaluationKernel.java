@@ -0,0 +1,67 @@
+package Chess.Evaluation;
+
+/**
+ * The arithmetic at the bottom of the linear evaluation: dot products of feature counts with weights.  Batch
+ * evaluation spends nearly all of its time here, so the implementation is chosen once at startup by
+ * {@link #getInstance()}.
+ *
+ * The kernel is picked with the system property {@value #KERNEL_PROPERTY}: "scalar", "unrolled" (the default) or the
+ * name of a class implementing this interface with a public no-argument constructor.  Both built-in kernels are plain
+ * scalar code; a class name is the place to plug in a kernel compiled separately, for instance against a newer JDK.
+ */
+public interface EvaluationKernel {
+
+    String KERNEL_PROPERTY = "chess.evaluation.kernel";
+
+    /**
+     * @return sum of a[aOffset + i] * b[bOffset + i] for i below length
+     */
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    String name();
+
+    /**
+     * @return the kernel named by {@value #KERNEL_PROPERTY}, falling back to {@link UnrolledKernel}
+     */
+    static EvaluationKernel getInstance() {
+        return Selection.KERNEL;
+    }
+
+    /**
+     * @param name "scalar", "unrolled" or a class name
+     * @return the kernel, or null if it cannot be created
+     */
+    static EvaluationKernel forName(String name) {
+        if (name == null || name.equals("unrolled")) {
+            return new UnrolledKernel();
+        }
+        if (name.equals("scalar")) {
+            return new ScalarKernel();
+        }
+        try {
+            return (EvaluationKernel) Class.forName(name).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Holds the kernel chosen when it is first used
+     */
+    final class Selection {
+        private static final EvaluationKernel KERNEL = select();
+
+        private Selection() {
+        }
+
+        private static EvaluationKernel select() {
+            String name = System.getProperty(KERNEL_PROPERTY);
+            EvaluationKernel kernel = forName(name);
+            if (kernel == null) {
+                System.err.println("Evaluation kernel " + name + " is not available, using the unrolled kernel");
+                kernel = new UnrolledKernel();
+            }
+            return kernel;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package Chess.Evaluation;
+
+import Chess.Pieces.ChessPiece.PieceType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The weights of the evaluation terms other than the piece-square tables, in pawns, each with a middlegame and an
+ * endgame value (see {@link GamePhase}).  Mobility and threat weights are per attacked tile and per threatened piece.
+ *
+ * Like the piece-square tables, the defaults can be overridden by a text file on the classpath, which is where the
+ * tuner's output goes.  Each line of the file is a term name followed by its middlegame and endgame weight.
+ */
+public class EvaluationWeights {
+
+    public static final String WEIGHTS_FILE = "EvaluationWeights.txt";
+
+    public static final String[] PAWN_STRUCTURE_NAMES = {"connected", "doubled", "isolated", "passed"};
+
+    private static volatile EvaluationWeights instance;
+
+    private final double[][] mobility = new double[PieceType.values().length][2];
+    private final double[][] threat = new double[PieceType.values().length][2];
+    private final double[][] pawnStructure = new double[PawnStructure.TERMS][2];
+
+    /**
+     * Builds the default weights
+     */
+    public EvaluationWeights() {
+        setMobility(PieceType.Bishop, 1 / 14.0, 1 / 14.0);
+        setMobility(PieceType.Queen, 1 / 28.0, 1 / 28.0);
+
+        setThreat(PieceType.Pawn, 0.90, 0.90);
+        setThreat(PieceType.Knight, 0.50, 0.50);
+        setThreat(PieceType.Bishop, 0.90, 0.90);
+        setThreat(PieceType.Queen, 0.90, 0.90);
+
+        setPawnStructure(PawnStructure.CONNECTED, 0.50, 0.50);
+        setPawnStructure(PawnStructure.DOUBLED, -0.25, -0.40);
+        setPawnStructure(PawnStructure.ISOLATED, -0.20, -0.30);
+        setPawnStructure(PawnStructure.PASSED, 0.30, 0.60);
+    }
+
+    /**
+     * @return the weights used by the evaluation, loaded from {@link #WEIGHTS_FILE} on the classpath when it exists
+     */
+    public static EvaluationWeights getInstance() {
+        EvaluationWeights current = instance;
+        return current != null ? current : loadInstance();
+    }
+
+    /**
+     * Loads the weights the first time they are asked for.  Only that first call takes the lock; the evaluation reads
+     * the volatile field after that.
+     */
+    private static synchronized EvaluationWeights loadInstance() {
+        if (instance == null) {
+            EvaluationWeights loaded = new EvaluationWeights();
+            InputStream input = EvaluationWeights.class.getClassLoader().getResourceAsStream(WEIGHTS_FILE);
+            if (input != null) {
+                try {
+                    loaded = load(input);
+                } catch (IOException | IllegalArgumentException e) {
+                    e.printStackTrace();
+                }
+            }
+            instance = loaded;
+        }
+        return instance;
+    }
+
+    /**
+     * Replaces the weights used by the evaluation.  Cached evaluations are dropped.
+     * @param weights
+     */
+    public static synchronized void setInstance(EvaluationWeights weights) {
+        instance = weights;
+        EvalCache.getShared().clear();
+    }
+
+    public double mobility(PieceType type, int phase) {
+        return GamePhase.taper(mobility[type.ordinal()][0], mobility[type.ordinal()][1], phase);
+    }
+
+    public double threat(PieceType type, int phase) {
+        return GamePhase.taper(threat[type.ordinal()][0], threat[type.ordinal()][1], phase);
+    }
+
+    /**
+     * @param term one of the PawnStructure terms
+     */
+    public double pawnStructure(int term, int phase) {
+        return GamePhase.taper(pawnStructure[term][0], pawnStructure[term][1], phase);
+    }
+
+    /**
+     * @param phase PieceSquareTables.MIDDLEGAME or PieceSquareTables.ENDGAME
+     * @return the untapered weight
+     */
+    public double getMobility(PieceType type, int phase) {
+        return mobility[type.ordinal()][phase];
+    }
+
+    public double getThreat(PieceType type, int phase) {
+        return threat[type.ordinal()][phase];
+    }
+
+    public double getPawnStructure(int term, int phase) {
+        return pawnStructure[term][phase];
+    }
+
+    public void setMobility(PieceType type, double middlegame, double endgame) {
+        mobility[type.ordinal()][0] = middlegame;
+        mobility[type.ordinal()][1] = endgame;
+    }
+
+    public void setThreat(PieceType type, double middlegame, double endgame) {
+        threat[type.ordinal()][0] = middlegame;
+        threat[type.ordinal()][1] = endgame;
+    }
+
+    public void setPawnStructure(int term, double middlegame, double endgame) {
+        pawnStructure[term][0] = middlegame;
+        pawnStructure[term][1] = endgame;
+    }
+
+    /**
+     * Reads weights written by {@link #write(Writer)}.  Any term missing from the file keeps its default.
+     * @param input
+     * @return
+     * @throws IOException
+     */
+    public static EvaluationWeights load(InputStream input) throws IOException {
+        EvaluationWeights result = new EvaluationWeights();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] values = line.split("\\s+");
+                if (values.length != 3) {
+                    throw new IllegalArgumentException("Expected \"<term> <middlegame> <endgame>\" but found: " + line);
+                }
+                result.set(values[0], Double.parseDouble(values[1]), Double.parseDouble(values[2]));
+            }
+        } finally {
+            reader.close();
+        }
+        return result;
+    }
+
+    public static EvaluationWeights load(File file) throws IOException {
+        return load(new FileInputStream(file));
+    }
+
+    /**
+     * Writes every term in the format read by {@link #load(InputStream)}
+     * @param writer
+     * @throws IOException
+     */
+    public void write(Writer writer) throws IOException {
+        for (PieceType type : PieceType.values()) {
+            writeTerm(writer, "mobility." + type.name(), mobility[type.ordinal()]);
+        }
+        for (PieceType type : PieceType.values()) {
+            writeTerm(writer, "threat." + type.name(), threat[type.ordinal()]);
+        }
+        for (int term = 0; term < PawnStructure.TERMS; term++) {
+            writeTerm(writer, "pawn." + PAWN_STRUCTURE_NAMES[term], pawnStructure[term]);
+        }
+        writer.flush();
+    }
+
+    private static void writeTerm(Writer writer, String name, double[] weights) throws IOException {
+        writer.write(name + " " + weights[0] + " " + weights[1] + "\n");
+    }
+
+    private void set(String name, double middlegame, double endgame) {
+        int dot = name.indexOf('.');
+        String group = dot < 0 ? name : name.substring(0, dot);
+        String term = dot < 0 ? "" : name.substring(dot + 1);
+        switch (group) {
+            case "mobility":
+                setMobility(PieceType.valueOf(term), middlegame, endgame);
+                return;
+            case "threat":
+                setThreat(PieceType.valueOf(term), middlegame, endgame);
+                return;
+            case "pawn":
+                for (int i = 0; i < PAWN_STRUCTURE_NAMES.length; i++) {
+                    if (PAWN_STRUCTURE_NAMES[i].equals(term)) {
+                        setPawnStructure(i, middlegame, endgame);
+                        return;
+                    }
+                }
+                break;
+        }
+        throw new IllegalArgumentException("Unknown evaluation term: " + name);
+    }
+}
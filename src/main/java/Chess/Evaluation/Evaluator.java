@@ -0,0 +1,16 @@
+package Chess.Evaluation;
+
+import Chess.ChessGame;
+
+/**
+ * Scores positions for ChessGame.differenceInAdvantage and the AI.  Implementations must be safe to share between
+ * games and threads.
+ */
+public interface Evaluator {
+
+    /**
+     * @param game
+     * @return how far ahead the player to move is, in pawns
+     */
+    double evaluate(ChessGame game);
+}
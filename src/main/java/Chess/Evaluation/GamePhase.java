@@ -0,0 +1,43 @@
+package Chess.Evaluation;
+
+import Chess.Pieces.ChessPiece.PieceType;
+
+/**
+ * Measures how far a game has moved from the middlegame toward the endgame by the pieces left on the board.  Knights
+ * and bishops count 1, rooks 2 and queens 4, so the starting position is {@link #MAX} and bare kings and pawns are 0.
+ * Every evaluation term has a middlegame and an endgame weight, blended by the phase.
+ */
+public class GamePhase {
+
+    public static final int MAX = 24;
+
+    private static final int[] WEIGHTS = new int[PieceType.values().length];
+
+    static {
+        WEIGHTS[PieceType.Knight.ordinal()] = 1;
+        WEIGHTS[PieceType.Bishop.ordinal()] = 1;
+        WEIGHTS[PieceType.Rook.ordinal()] = 2;
+        WEIGHTS[PieceType.Queen.ordinal()] = 4;
+    }
+
+    private GamePhase() {
+    }
+
+    /**
+     * @return how much a piece of this type adds to the phase
+     */
+    public static int weight(PieceType type) {
+        return WEIGHTS[type.ordinal()];
+    }
+
+    /**
+     * Blends a middlegame and endgame weight
+     * @param middlegame weight with all pieces on the board
+     * @param endgame weight with only kings and pawns left
+     * @param phase from 0 to MAX
+     * @return
+     */
+    public static double taper(double middlegame, double endgame, int phase) {
+        return middlegame + (endgame - middlegame) * (MAX - phase) / MAX;
+    }
+}
@@ -0,0 +1,93 @@
+package Chess.Evaluation;
+
+import Chess.ChessBoard;
+import Chess.Pieces.ChessPiece;
+import Chess.Pieces.ChessPiece.PieceColor;
+import Chess.Pieces.ChessPiece.PieceType;
+
+import java.util.Arrays;
+
+/**
+ * The hidden layer of an {@link NnueNetwork} from both sides' points of view.  A board that carries an accumulator
+ * updates it as pieces are added and removed, so evaluating after a move costs the output layer only.
+ */
+public class NnueAccumulator {
+
+    private final NnueNetwork network;
+    private final short[] white;
+    private final short[] black;
+
+    NnueAccumulator(NnueNetwork network) {
+        this.network = network;
+        white = network.getHiddenBias().clone();
+        black = network.getHiddenBias().clone();
+    }
+
+    private NnueAccumulator(NnueAccumulator other) {
+        network = other.network;
+        white = other.white.clone();
+        black = other.black.clone();
+    }
+
+    /**
+     * Adds or subtracts a piece's inputs.  Pieces off the board are ignored, the same as in the board's hashes.
+     * @param piece
+     * @param sign 1 when the piece is added, -1 when it is removed
+     */
+    public void update(ChessPiece piece, int sign) {
+        if (!ChessBoard.isInsideBoard(piece.getLocation())) {
+            return;
+        }
+        update(piece.getColor(), piece.getType(), piece.getLocation().index(), sign);
+    }
+
+    /**
+     * Adds or subtracts the inputs of a piece given by its kind, for boards without ChessPiece objects
+     * @param color
+     * @param type
+     * @param square tile index
+     * @param sign 1 when the piece is added, -1 when it is removed
+     */
+    public void update(PieceColor color, PieceType type, int square, int sign) {
+        add(white, NnueNetwork.input(PieceColor.White, color, type, square), sign);
+        add(black, NnueNetwork.input(PieceColor.Black, color, type, square), sign);
+    }
+
+    /**
+     * Takes every piece off, leaving the hidden biases only
+     */
+    public void clear() {
+        System.arraycopy(network.getHiddenBias(), 0, white, 0, white.length);
+        System.arraycopy(network.getHiddenBias(), 0, black, 0, black.length);
+    }
+
+    private void add(short[] values, int input, int sign) {
+        short[] weights = network.getInputWeights();
+        int offset = input * values.length;
+        for (int i = 0; i < values.length; i++) {
+            values[i] += sign * weights[offset + i];
+        }
+    }
+
+    /**
+     * @return the hidden layer as seen by a side
+     */
+    short[] values(PieceColor perspective) {
+        return perspective == PieceColor.White ? white : black;
+    }
+
+    public NnueNetwork getNetwork() {
+        return network;
+    }
+
+    public NnueAccumulator copy() {
+        return new NnueAccumulator(this);
+    }
+
+    /**
+     * @return whether both accumulators hold the same values
+     */
+    public boolean sameValues(NnueAccumulator other) {
+        return Arrays.equals(white, other.white) && Arrays.equals(black, other.black);
+    }
+}
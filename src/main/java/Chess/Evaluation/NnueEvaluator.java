@@ -0,0 +1,33 @@
+package Chess.Evaluation;
+
+import Chess.ChessBoard;
+import Chess.ChessGame;
+
+/**
+ * Evaluates with an {@link NnueNetwork}.  The first time a board is evaluated it is given an accumulator, which the
+ * board then keeps up to date through its moves and copies when it is cloned.  The AI's search does not clone boards:
+ * for a game with this evaluator its SearchBoard keeps an accumulator of its own through make and unmake.
+ */
+public class NnueEvaluator implements Evaluator {
+
+    private final NnueNetwork network;
+
+    public NnueEvaluator(NnueNetwork network) {
+        this.network = network;
+    }
+
+    @Override
+    public double evaluate(ChessGame game) {
+        ChessBoard board = game.getBoard();
+        NnueAccumulator accumulator = board.getAccumulator();
+        if (accumulator == null || accumulator.getNetwork() != network) {
+            accumulator = network.newAccumulator(board);
+            board.setAccumulator(accumulator);
+        }
+        return network.evaluate(accumulator, game.getCurrentPlayer()) / 100.0;
+    }
+
+    public NnueNetwork getNetwork() {
+        return network;
+    }
+}
@@ -0,0 +1,212 @@
+package Chess.Evaluation;
+
+import Chess.ChessBoard;
+import Chess.Pieces.ChessPiece;
+import Chess.Pieces.ChessPiece.PieceColor;
+import Chess.Pieces.ChessPiece.PieceType;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+
+/**
+ * An efficiently updatable neural network: 768 piece-square inputs, a hidden layer computed once from each side's
+ * point of view, and one output.  Every weight is a quantized 16 bit integer.
+ *
+ * An input is one piece on one tile as seen by one side: whether the piece is that side's own or the enemy's, its
+ * type, and its tile with the board flipped for Black.  Because a move only changes two or three inputs, the hidden
+ * layer (the accumulator) is updated by adding and subtracting weight columns instead of being recomputed, see
+ * {@link NnueAccumulator}.  The output is
+ * <pre>
+ *     (bias + sum(crelu(own[i]) * w[i]) + sum(crelu(enemy[i]) * w[H + i])) * OUTPUT_SCALE / (QA * QB)
+ * </pre>
+ * in hundredths of a pawn, where crelu clamps to [0, QA].
+ *
+ * Network files are little endian: the int {@value #MAGIC}, the int hidden size H, the 768 * H input weights (the H
+ * weights of each input together), the H hidden biases, the 2 * H output weights and the int output bias.
+ */
+public class NnueNetwork {
+
+    public static final int MAGIC = 0x4E4E5545;
+    public static final int INPUTS = 2 * 6 * 64;
+    public static final int QA = 255;
+    public static final int QB = 64;
+    public static final int OUTPUT_SCALE = 400;
+    public static final String NETWORK_FILE = "Network.nnue";
+    public static final String NETWORK_PROPERTY = "chess.nnue.file";
+
+    private static NnueNetwork instance;
+    private static boolean loaded;
+
+    private final int hidden;
+    private final short[] inputWeights;
+    private final short[] hiddenBias;
+    private final short[] outputWeights;
+    private final int outputBias;
+
+    /**
+     * @param hidden size of the hidden layer
+     * @param inputWeights INPUTS * hidden weights, the weights of each input together
+     * @param hiddenBias hidden values
+     * @param outputWeights 2 * hidden weights, the side to move's half first
+     * @param outputBias
+     */
+    public NnueNetwork(int hidden, short[] inputWeights, short[] hiddenBias, short[] outputWeights, int outputBias) {
+        if (inputWeights.length != INPUTS * hidden || hiddenBias.length != hidden || outputWeights.length != 2 * hidden) {
+            throw new IllegalArgumentException("Weights do not match a hidden layer of " + hidden);
+        }
+        this.hidden = hidden;
+        this.inputWeights = inputWeights;
+        this.hiddenBias = hiddenBias;
+        this.outputWeights = outputWeights;
+        this.outputBias = outputBias;
+    }
+
+    /**
+     * @return the network in the file named by the {@value #NETWORK_PROPERTY} property, or else {@value #NETWORK_FILE}
+     * on the classpath, or null when there is neither
+     */
+    public static synchronized NnueNetwork getInstance() {
+        if (!loaded) {
+            loaded = true;
+            try {
+                String path = System.getProperty(NETWORK_PROPERTY);
+                if (path != null) {
+                    instance = load(new File(path));
+                } else {
+                    InputStream input = NnueNetwork.class.getClassLoader().getResourceAsStream(NETWORK_FILE);
+                    if (input != null) {
+                        instance = load(input);
+                    }
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                e.printStackTrace();
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @param perspective the side the board is seen from
+     * @return the input of a piece on a tile
+     */
+    public static int input(PieceColor perspective, PieceColor color, PieceType type, int square) {
+        int side = color == perspective ? 0 : 1;
+        if (perspective == PieceColor.Black) {
+            square = PieceSquareTables.mirror(square);
+        }
+        return (side * 6 + type.ordinal()) * 64 + square;
+    }
+
+    /**
+     * @return an accumulator for an empty board, for pieces to be added to one at a time
+     */
+    public NnueAccumulator newAccumulator() {
+        return new NnueAccumulator(this);
+    }
+
+    /**
+     * @return an accumulator computed from every piece on the board
+     */
+    public NnueAccumulator newAccumulator(ChessBoard board) {
+        NnueAccumulator accumulator = new NnueAccumulator(this);
+        for (ChessPiece piece : board.getBoardArrayList()) {
+            accumulator.update(piece, 1);
+        }
+        return accumulator;
+    }
+
+    /**
+     * @param accumulator
+     * @param sideToMove
+     * @return the score of the player to move in hundredths of a pawn
+     */
+    public int evaluate(NnueAccumulator accumulator, PieceColor sideToMove) {
+        short[] own = accumulator.values(sideToMove);
+        short[] enemy = accumulator.values(sideToMove == PieceColor.White ? PieceColor.Black : PieceColor.White);
+        long sum = outputBias;
+        for (int i = 0; i < hidden; i++) {
+            sum += crelu(own[i]) * outputWeights[i] + crelu(enemy[i]) * outputWeights[hidden + i];
+        }
+        return (int) (sum * OUTPUT_SCALE / (QA * QB));
+    }
+
+    private static int crelu(short value) {
+        return Math.min(Math.max(value, 0), QA);
+    }
+
+    int getHidden() {
+        return hidden;
+    }
+
+    short[] getInputWeights() {
+        return inputWeights;
+    }
+
+    short[] getHiddenBias() {
+        return hiddenBias;
+    }
+
+    public static NnueNetwork load(InputStream input) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            byte[] buffer = new byte[1 << 16];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                bytes.write(buffer, 0, read);
+            }
+        } finally {
+            input.close();
+        }
+        return read(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    public static NnueNetwork load(File file) throws IOException {
+        return read(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+    }
+
+    private static NnueNetwork read(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a network file");
+        }
+        int hidden = buffer.getInt();
+        if (hidden <= 0 || buffer.remaining() != 2 * (INPUTS * hidden + 3 * hidden) + 4) {
+            throw new IllegalArgumentException("Network file has the wrong size for a hidden layer of " + hidden);
+        }
+        short[] inputWeights = new short[INPUTS * hidden];
+        short[] hiddenBias = new short[hidden];
+        short[] outputWeights = new short[2 * hidden];
+        buffer.asShortBuffer().get(inputWeights);
+        buffer.position(buffer.position() + 2 * inputWeights.length);
+        buffer.asShortBuffer().get(hiddenBias);
+        buffer.position(buffer.position() + 2 * hiddenBias.length);
+        buffer.asShortBuffer().get(outputWeights);
+        buffer.position(buffer.position() + 2 * outputWeights.length);
+        return new NnueNetwork(hidden, inputWeights, hiddenBias, outputWeights, buffer.getInt());
+    }
+
+    /**
+     * Writes the network in the format read by {@link #load(InputStream)}
+     * @param output
+     * @throws IOException
+     */
+    public void write(OutputStream output) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(12 + 2 * (inputWeights.length + hiddenBias.length + outputWeights.length));
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(hidden);
+        for (short weight : inputWeights) {
+            buffer.putShort(weight);
+        }
+        for (short weight : hiddenBias) {
+            buffer.putShort(weight);
+        }
+        for (short weight : outputWeights) {
+            buffer.putShort(weight);
+        }
+        buffer.putInt(outputBias);
+        output.write(buffer.array());
+        output.flush();
+    }
+}
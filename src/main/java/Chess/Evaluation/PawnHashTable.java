@@ -0,0 +1,106 @@
+package Chess.Evaluation;
+
+import Chess.ChessBoard;
+import Chess.Pieces.ChessPiece;
+import Chess.Pieces.Pawn;
+
+/**
+ * Remembers pawn structure counts by the board's pawn-only Zobrist key.  Pawns rarely move between positions the AI
+ * looks at, so most lookups skip the pawn structure math entirely.  The counts are cached rather than a score so the
+ * same entry serves every game phase and survives new weights.
+ *
+ * The table has a fixed number of slots and a newer position simply overwrites an older one.  Each slot keeps the key
+ * xor'ed with its counts, so a slot half written by another thread fails the key check instead of returning wrong
+ * counts.
+ */
+public class PawnHashTable {
+
+    public static final int DEFAULT_SIZE = 1 << 14;
+
+    private static final PawnHashTable SHARED = new PawnHashTable(DEFAULT_SIZE);
+
+    private final long[] checks;
+    private final long[] features;
+    private final int mask;
+
+    /**
+     * @param size number of slots, rounded up to a power of two
+     */
+    public PawnHashTable(int size) {
+        int slots = Integer.highestOneBit(Math.max(1, size - 1) << 1);
+        checks = new long[slots];
+        features = new long[slots];
+        mask = slots - 1;
+    }
+
+    public static PawnHashTable getShared() {
+        return SHARED;
+    }
+
+    /**
+     * @param board
+     * @return White's pawn structure score minus Black's in pawns, weighted for the board's game phase
+     */
+    public double whiteAdvantage(ChessBoard board) {
+        return PawnStructure.score(probe(board), EvaluationWeights.getInstance(), board.getPhase());
+    }
+
+    /**
+     * @param board
+     * @return White's pawn structure counts minus Black's, packed as described in PawnStructure
+     */
+    public long probe(ChessBoard board) {
+        long key = board.getPawnKey();
+        int index = (int) key & mask;
+        long packed = features[index];
+        if ((checks[index] ^ packed) == key) {
+            return packed;
+        }
+
+        long whitePawns = 0;
+        long blackPawns = 0;
+        for (ChessPiece piece : board.getBoardArrayList()) {
+            if (piece instanceof Pawn && ChessBoard.isInsideBoard(piece.getLocation())) {
+                if (piece.getColor() == ChessPiece.PieceColor.White) {
+                    whitePawns |= 1L << piece.getLocation().index();
+                } else {
+                    blackPawns |= 1L << piece.getLocation().index();
+                }
+            }
+        }
+        packed = PawnStructure.features(whitePawns, blackPawns);
+
+        features[index] = packed;
+        checks[index] = key ^ packed;
+        return packed;
+    }
+
+    /**
+     * For boards that already keep their pawns as bitboards, such as the search's
+     * @param key the pawn-only Zobrist key, the same as ChessBoard.getPawnKey
+     * @param whitePawns
+     * @param blackPawns
+     * @return White's pawn structure counts minus Black's, packed as described in PawnStructure
+     */
+    public long probe(long key, long whitePawns, long blackPawns) {
+        int index = (int) key & mask;
+        long packed = features[index];
+        if ((checks[index] ^ packed) == key) {
+            return packed;
+        }
+        packed = PawnStructure.features(whitePawns, blackPawns);
+        features[index] = packed;
+        checks[index] = key ^ packed;
+        return packed;
+    }
+
+    /**
+     * Empties every slot
+     */
+    public void clear() {
+        for (int i = 0; i < checks.length; i++) {
+            checks[i] = 0;
+            features[i] = 0;
+        }
+    }
+}
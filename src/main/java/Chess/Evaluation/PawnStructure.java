@@ -0,0 +1,123 @@
+package Chess.Evaluation;
+
+/**
+ * Counts the features of each side's pawn skeleton from bitboards of the pawns, where bit y * 8 + x is set when a pawn
+ * stands on that tile.  White pawns move toward row 0 and Black pawns toward row 7.
+ *
+ * The counts of all four terms are packed into one long, 16 signed bits each, so they can be cached by pawn key and
+ * weighted later for whatever game phase the position is in.
+ */
+public class PawnStructure {
+
+    public static final int CONNECTED = 0;
+    public static final int DOUBLED = 1;
+    public static final int ISOLATED = 2;
+    public static final int PASSED = 3;
+    public static final int TERMS = 4;
+
+    private static final long[] FILES = new long[8];
+    private static final long[] ADJACENT_FILES = new long[8];
+    private static final long[] DIAGONAL_NEIGHBOURS = new long[64];
+    private static final long[] WHITE_FRONT_SPAN = new long[64];
+    private static final long[] BLACK_FRONT_SPAN = new long[64];
+
+    static {
+        for (int x = 0; x < 8; x++) {
+            for (int y = 0; y < 8; y++) {
+                FILES[x] |= 1L << (y * 8 + x);
+            }
+        }
+        for (int x = 0; x < 8; x++) {
+            ADJACENT_FILES[x] = (x > 0 ? FILES[x - 1] : 0) | (x < 7 ? FILES[x + 1] : 0);
+        }
+        for (int square = 0; square < 64; square++) {
+            int x = square % 8;
+            int y = square / 8;
+            for (int dx = -1; dx <= 1; dx += 2) {
+                for (int dy = -1; dy <= 1; dy += 2) {
+                    if (x + dx >= 0 && x + dx < 8 && y + dy >= 0 && y + dy < 8) {
+                        DIAGONAL_NEIGHBOURS[square] |= 1L << ((y + dy) * 8 + x + dx);
+                    }
+                }
+            }
+            long span = FILES[x] | ADJACENT_FILES[x];
+            for (int row = 0; row < 8; row++) {
+                long rowMask = 0xFFL << (row * 8);
+                if (row < y) {
+                    WHITE_FRONT_SPAN[square] |= span & rowMask;
+                } else if (row > y) {
+                    BLACK_FRONT_SPAN[square] |= span & rowMask;
+                }
+            }
+        }
+    }
+
+    private PawnStructure() {
+    }
+
+    /**
+     * @param whitePawns bitboard of White's pawns
+     * @param blackPawns bitboard of Black's pawns
+     * @return White's counts of every term minus Black's, packed
+     */
+    public static long features(long whitePawns, long blackPawns) {
+        long packed = 0;
+        for (int term = 0; term < TERMS; term++) {
+            int difference = count(term, whitePawns, blackPawns, WHITE_FRONT_SPAN)
+                    - count(term, blackPawns, whitePawns, BLACK_FRONT_SPAN);
+            packed |= (difference & 0xFFFFL) << (term * 16);
+        }
+        return packed;
+    }
+
+    /**
+     * @param packed counts returned by {@link #features(long, long)}
+     * @param term CONNECTED, DOUBLED, ISOLATED or PASSED
+     * @return White's count of the term minus Black's
+     */
+    public static int feature(long packed, int term) {
+        return (short) (packed >>> (term * 16));
+    }
+
+    /**
+     * Weighs packed counts for a game phase
+     * @return White's pawn structure score minus Black's, in pawns
+     */
+    public static double score(long packed, EvaluationWeights weights, int phase) {
+        double result = 0;
+        for (int term = 0; term < TERMS; term++) {
+            result += feature(packed, term) * weights.pawnStructure(term, phase);
+        }
+        return result;
+    }
+
+    private static int count(int term, long ours, long theirs, long[] frontSpan) {
+        int count = 0;
+        switch (term) {
+            case DOUBLED:
+                for (int x = 0; x < 8; x++) {
+                    count += Math.max(0, Long.bitCount(ours & FILES[x]) - 1);
+                }
+                return count;
+            case ISOLATED:
+                for (int x = 0; x < 8; x++) {
+                    if ((ours & ADJACENT_FILES[x]) == 0) {
+                        count += Long.bitCount(ours & FILES[x]);
+                    }
+                }
+                return count;
+            default:
+                long pawns = ours;
+                while (pawns != 0) {
+                    int square = Long.numberOfTrailingZeros(pawns);
+                    pawns &= pawns - 1;
+                    if (term == CONNECTED) {
+                        count += Long.bitCount(ours & DIAGONAL_NEIGHBOURS[square]);
+                    } else if ((theirs & frontSpan[square]) == 0) {
+                        count++;
+                    }
+                }
+                return count;
+        }
+    }
+}
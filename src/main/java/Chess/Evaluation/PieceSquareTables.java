@@ -0,0 +1,244 @@
+package Chess.Evaluation;
+
+import Chess.Pieces.ChessPiece;
+import Chess.Pieces.ChessPiece.PieceColor;
+import Chess.Pieces.ChessPiece.PieceType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Positional bonuses for every kind of piece on every tile of the board, kept in hundredths of a pawn.  There is one
+ * table per piece type and game phase, written from White's side of the board (row 0 is the far rank, the same
+ * orientation as ChessBoard.toString).  Black's tables are mirrored copies built once when the tables are created, so
+ * looking up a bonus is a single array index with no branching on color or location.
+ *
+ * The defaults can be overridden by a text file with the same layout as {@link #write(Writer)} produces, this is how
+ * tuned tables get into the engine without touching code.
+ */
+public class PieceSquareTables {
+
+    public static final int MIDDLEGAME = 0;
+    public static final int ENDGAME = 1;
+    public static final String[] PHASE_NAMES = {"middlegame", "endgame"};
+
+    /**
+     * File looked for on the classpath when the tables are first used.
+     */
+    public static final String TABLE_FILE = "PieceSquareTables.txt";
+
+    private static final int[] CENTER_DISTANCE = {0, 5, 10, 15, 15, 10, 5, 0};
+
+    private static final int[] PAWN = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+            300, 300, 300, 300, 300, 300, 300, 300,
+            200, 200, 200, 200, 200, 200, 200, 200,
+            100, 100, 100, 100, 100, 100, 100, 100,
+             50,  50,  50,  50,  50,  50,  50,  50,
+              0,   0,   0,   0,   0,   0,   0,   0,
+              0,   0,   0,   0,   0,   0,   0,   0,
+              0,   0,   0,   0,   0,   0,   0,   0
+    };
+
+    private static volatile PieceSquareTables instance;
+
+    /**
+     * tables[type][color][phase][y * 8 + x]
+     */
+    private final int[][][][] tables = new int[PieceType.values().length][PieceColor.values().length][2][64];
+
+    /**
+     * Builds the default tables: pawns gain value as they advance, knights favor the center of the board and in the
+     * endgame so does the king.
+     */
+    public PieceSquareTables() {
+        int[] center = new int[64];
+        int[] kingEndgame = new int[64];
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                center[y * 8 + x] = CENTER_DISTANCE[x] + CENTER_DISTANCE[y];
+                kingEndgame[y * 8 + x] = 2 * center[y * 8 + x];
+            }
+        }
+        for (int phase = MIDDLEGAME; phase <= ENDGAME; phase++) {
+            setTable(PieceType.Pawn, phase, PAWN);
+            setTable(PieceType.Knight, phase, center);
+        }
+        setTable(PieceType.King, ENDGAME, kingEndgame);
+    }
+
+    /**
+     * @return the tables used by the evaluation, loaded from {@link #TABLE_FILE} on the classpath when it exists
+     */
+    public static PieceSquareTables getInstance() {
+        PieceSquareTables current = instance;
+        return current != null ? current : loadInstance();
+    }
+
+    /**
+     * Loads the tables the first time they are asked for.  Only that first call takes the lock; the evaluation reads
+     * the volatile field after that.
+     */
+    private static synchronized PieceSquareTables loadInstance() {
+        if (instance == null) {
+            PieceSquareTables loaded = new PieceSquareTables();
+            InputStream input = PieceSquareTables.class.getClassLoader().getResourceAsStream(TABLE_FILE);
+            if (input != null) {
+                try {
+                    loaded = load(input);
+                } catch (IOException | IllegalArgumentException e) {
+                    e.printStackTrace();
+                }
+            }
+            instance = loaded;
+        }
+        return instance;
+    }
+
+    /**
+     * Replaces the tables used by the evaluation, mostly for tuning runs.  Cached evaluations are dropped.
+     * @param tables
+     */
+    public static synchronized void setInstance(PieceSquareTables tables) {
+        instance = tables;
+        EvalCache.getShared().clear();
+    }
+
+    /**
+     * @param piece the piece to score
+     * @param phase MIDDLEGAME or ENDGAME
+     * @return the bonus for the piece on its current tile in hundredths of a pawn
+     */
+    public int value(ChessPiece piece, int phase) {
+        return tables[piece.getType().ordinal()][piece.getColor().ordinal()][phase][piece.getLocation().index()];
+    }
+
+    public int value(PieceType type, PieceColor color, int square, int phase) {
+        return tables[type.ordinal()][color.ordinal()][phase][square];
+    }
+
+    /**
+     * @param piece the piece to score
+     * @param gamePhase from 0 to GamePhase.MAX
+     * @return the middlegame and endgame bonuses of the piece blended for the game phase, in pawns
+     */
+    public double taperedValue(ChessPiece piece, int gamePhase) {
+        int[][] phases = tables[piece.getType().ordinal()][piece.getColor().ordinal()];
+        int square = piece.getLocation().index();
+        return GamePhase.taper(phases[MIDDLEGAME][square], phases[ENDGAME][square], gamePhase) / 100.0;
+    }
+
+    /**
+     * @return a copy of the table for White, row 0 first
+     */
+    public int[] getTable(PieceType type, int phase) {
+        return tables[type.ordinal()][PieceColor.White.ordinal()][phase].clone();
+    }
+
+    /**
+     * Sets the table for a piece type and phase from White's side of the board and mirrors it for Black.
+     * @param type
+     * @param phase
+     * @param whiteTable 64 entries, row 0 first
+     */
+    public void setTable(PieceType type, int phase, int[] whiteTable) {
+        if (whiteTable.length != 64) {
+            throw new IllegalArgumentException("A piece-square table needs 64 entries, got " + whiteTable.length);
+        }
+        int[] white = tables[type.ordinal()][PieceColor.White.ordinal()][phase];
+        int[] black = tables[type.ordinal()][PieceColor.Black.ordinal()][phase];
+        for (int square = 0; square < 64; square++) {
+            white[square] = whiteTable[square];
+            black[mirror(square)] = whiteTable[square];
+        }
+    }
+
+    /**
+     * @return the same tile seen from the other side of the board
+     */
+    public static int mirror(int square) {
+        return square ^ 56;
+    }
+
+    /**
+     * Reads tables written by {@link #write(Writer)}.  Any table missing from the file keeps its default.
+     * @param input
+     * @return
+     * @throws IOException
+     */
+    public static PieceSquareTables load(InputStream input) throws IOException {
+        PieceSquareTables result = new PieceSquareTables();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] header = line.split("\\s+");
+                if (header.length != 2) {
+                    throw new IllegalArgumentException("Expected \"<piece> <phase>\" but found: " + line);
+                }
+                PieceType type = PieceType.valueOf(header[0]);
+                int phase = phaseOf(header[1]);
+                int[] table = new int[64];
+                for (int y = 0; y < 8; y++) {
+                    String row = reader.readLine();
+                    if (row == null) {
+                        throw new IllegalArgumentException("Table " + line + " ends after " + y + " rows");
+                    }
+                    String[] values = row.trim().split("\\s+");
+                    if (values.length != 8) {
+                        throw new IllegalArgumentException("Table " + line + " row " + y + " has " + values.length + " entries");
+                    }
+                    for (int x = 0; x < 8; x++) {
+                        table[y * 8 + x] = Integer.parseInt(values[x]);
+                    }
+                }
+                result.setTable(type, phase, table);
+            }
+        } finally {
+            reader.close();
+        }
+        return result;
+    }
+
+    public static PieceSquareTables load(File file) throws IOException {
+        return load(new FileInputStream(file));
+    }
+
+    /**
+     * Writes every table in the format read by {@link #load(InputStream)}
+     * @param writer
+     * @throws IOException
+     */
+    public void write(Writer writer) throws IOException {
+        for (PieceType type : PieceType.values()) {
+            for (int phase = MIDDLEGAME; phase <= ENDGAME; phase++) {
+                writer.write(type.name() + " " + PHASE_NAMES[phase] + "\n");
+                int[] table = tables[type.ordinal()][PieceColor.White.ordinal()][phase];
+                for (int y = 0; y < 8; y++) {
+                    StringBuilder row = new StringBuilder();
+                    for (int x = 0; x < 8; x++) {
+                        if (x > 0) {
+                            row.append(' ');
+                        }
+                        row.append(table[y * 8 + x]);
+                    }
+                    writer.write(row.append('\n').toString());
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private static int phaseOf(String name) {
+        for (int phase = MIDDLEGAME; phase <= ENDGAME; phase++) {
+            if (PHASE_NAMES[phase].equalsIgnoreCase(name)) {
+                return phase;
+            }
+        }
+        throw new IllegalArgumentException("Unknown game phase: " + name);
+    }
+}
@@ -0,0 +1,21 @@
+package Chess.Evaluation;
+
+/**
+ * Plain loop, kept as the reference the other kernels are checked against
+ */
+public class ScalarKernel implements EvaluationKernel {
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,184 @@
+package Chess.Evaluation;
+
+import Chess.ChessBoard;
+import Chess.Location;
+import Chess.Move;
+import Chess.Pieces.ChessPiece;
+import Chess.Pieces.ChessPiece.PieceColor;
+import Chess.Pieces.ChessPiece.PieceType;
+
+/**
+ * Static exchange evaluation: how much material a move wins or loses once both sides have traded on its target tile,
+ * each recapturing with their least valuable piece and stopping when recapturing would lose more, worked out from
+ * attack sets without playing any moves.  Pieces lined up behind each other (a queen behind a rook) join in as the
+ * pieces in front of them leave.  Promotions and en passant are not counted.
+ *
+ * The exchange itself is worked out on bare bitboards, so the search can call it on its own board without allocating;
+ * the methods taking an AttackMap hand it the map's bitboards.
+ */
+public class StaticExchange {
+
+    /**
+     * Longest exchange there can be: every piece on the board taking its turn on one tile
+     */
+    public static final int MAX_EXCHANGE = 33;
+
+    private static final int[] CHEAPEST_FIRST = {
+            PieceType.Pawn.ordinal(), PieceType.Knight.ordinal(), PieceType.Bishop.ordinal(),
+            PieceType.Rook.ordinal(), PieceType.Queen.ordinal(), PieceType.King.ordinal()
+    };
+    private static final int PAWN = PieceType.Pawn.ordinal();
+    private static final int ROOK = PieceType.Rook.ordinal();
+    private static final int KNIGHT = PieceType.Knight.ordinal();
+    private static final int BISHOP = PieceType.Bishop.ordinal();
+    private static final int QUEEN = PieceType.Queen.ordinal();
+    private static final int KING = PieceType.King.ordinal();
+    private static final int WHITE = PieceColor.White.ordinal();
+    private static final int BLACK = PieceColor.Black.ordinal();
+
+    /**
+     * The pieces' materialValue in pawns, by type
+     */
+    private static final int[] PAWNS = new int[PieceType.values().length];
+
+    static {
+        PAWNS[PAWN] = 1;
+        PAWNS[KNIGHT] = 3;
+        PAWNS[BISHOP] = 3;
+        PAWNS[ROOK] = 5;
+        PAWNS[QUEEN] = 9;
+        PAWNS[KING] = 100;
+    }
+
+    private StaticExchange() {
+    }
+
+    /**
+     * @param board
+     * @param move
+     * @return the material the moving side wins in pawns, negative if it loses material
+     */
+    public static double evaluate(ChessBoard board, Move move) {
+        return evaluate(new AttackMap(board), move);
+    }
+
+    public static double evaluate(AttackMap attacks, Move move) {
+        return evaluate(attacks, move.getPiece(), move.getTo());
+    }
+
+    /**
+     * @param attacks attack sets of the board the piece is on
+     * @param piece the piece that moves
+     * @param to the tile it moves to
+     * @return the material the piece's side wins in pawns, negative if it loses material
+     */
+    public static double evaluate(AttackMap attacks, ChessPiece piece, Location to) {
+        return evaluate(attacks.pieceBoards(), attacks.occupancies(), piece.getType().ordinal(),
+                piece.getColor().ordinal(), piece.getLocation().index(), to.index(), PAWNS, new int[MAX_EXCHANGE]);
+    }
+
+    /**
+     * The exchange on bare bitboards
+     * @param pieces tiles holding each type of piece by ordinal, of either color
+     * @param colors tiles holding White's and Black's pieces
+     * @param type type of the piece that moves
+     * @param color color of the piece that moves
+     * @param from tile of the piece that moves
+     * @param to the tile it moves to
+     * @param values what each type of piece is worth, by ordinal
+     * @param gain room to work the exchange out in, MAX_EXCHANGE long
+     * @return the material the moving side wins in the units of values, negative if it loses material
+     */
+    public static int evaluate(long[] pieces, long[] colors, int type, int color, int from, int to, int[] values,
+                               int[] gain) {
+        long target = 1L << to;
+        gain[0] = (colors[color ^ 1] & target) == 0 ? 0 : values[typeAt(pieces, to)];
+
+        long occupied = (colors[WHITE] | colors[BLACK]) & ~(1L << from);
+        long attackers = attackersTo(pieces, colors, to, occupied) & occupied;
+        int attackerValue = values[type];
+        int side = color ^ 1;
+        int depth = 0;
+        while (true) {
+            long own = attackers & colors[side];
+            if (own == 0) {
+                break;
+            }
+            int square = cheapest(pieces, own);
+            int attacker = typeAt(pieces, square);
+            long without = occupied & ~(1L << square);
+            if (attacker == KING && (attackersTo(pieces, colors, to, without) & without & colors[side ^ 1]) != 0) {
+                // the king cannot capture onto a defended tile
+                break;
+            }
+            depth++;
+            gain[depth] = attackerValue - gain[depth - 1];
+            if (Math.max(-gain[depth - 1], gain[depth]) < 0) {
+                // neither side's result can change by going on
+                break;
+            }
+            occupied = without;
+            attackers = attackersTo(pieces, colors, to, occupied) & occupied;
+            attackerValue = values[attacker];
+            side ^= 1;
+        }
+        // each side either makes its capture or stops before it, whichever leaves it better off
+        for (; depth > 0; depth--) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+        }
+        return gain[0];
+    }
+
+    /**
+     * @return whether the move loses material by exchange
+     */
+    public static boolean isLosing(AttackMap attacks, Move move) {
+        return evaluate(attacks, move) < 0;
+    }
+
+    /**
+     * @param occupied the tiles still occupied, which decides what sliding pieces can see
+     * @return the tiles of pieces of either color that attack the target
+     */
+    public static long attackersTo(AttackMap attacks, int target, long occupied) {
+        return attackersTo(attacks.pieceBoards(), attacks.occupancies(), target, occupied);
+    }
+
+    /**
+     * @param pieces tiles holding each type of piece by ordinal, of either color
+     * @param colors tiles holding White's and Black's pieces
+     * @param occupied the tiles still occupied, which decides what sliding pieces can see
+     * @return the tiles of pieces of either color that attack the target
+     */
+    public static long attackersTo(long[] pieces, long[] colors, int target, long occupied) {
+        long queens = pieces[QUEEN];
+        long pawns = pieces[PAWN];
+        return (AttackMap.attacks(PieceType.Rook, PieceColor.White, target, occupied) & (pieces[ROOK] | queens)) |
+                (AttackMap.attacks(PieceType.Bishop, PieceColor.White, target, occupied) &
+                        (pieces[BISHOP] | queens)) |
+                (AttackMap.attacks(PieceType.Knight, PieceColor.White, target, occupied) & pieces[KNIGHT]) |
+                (AttackMap.attacks(PieceType.King, PieceColor.White, target, occupied) & pieces[KING]) |
+                // a white pawn attacks the target from where a black pawn on the target would attack, and vice versa
+                (AttackMap.attacks(PieceType.Pawn, PieceColor.Black, target, occupied) & pawns & colors[WHITE]) |
+                (AttackMap.attacks(PieceType.Pawn, PieceColor.White, target, occupied) & pawns & colors[BLACK]);
+    }
+
+    private static int cheapest(long[] pieces, long candidates) {
+        for (int type : CHEAPEST_FIRST) {
+            long found = candidates & pieces[type];
+            if (found != 0) {
+                return Long.numberOfTrailingZeros(found);
+            }
+        }
+        return Long.numberOfTrailingZeros(candidates);
+    }
+
+    private static int typeAt(long[] pieces, int square) {
+        for (int type = 0; type < pieces.length; type++) {
+            if ((pieces[type] & 1L << square) != 0) {
+                return type;
+            }
+        }
+        return PAWN;
+    }
+}
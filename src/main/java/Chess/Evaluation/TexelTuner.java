@@ -0,0 +1,420 @@
+package Chess.Evaluation;
+
+import Chess.BoardSnapshot;
+import Chess.ChessBoard;
+import Chess.Fen;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Offline tool that tunes the evaluation against positions labelled with the result of the game they came from, by
+ * minimizing the squared difference between each result and the win probability the evaluation predicts (Texel's
+ * method).  Because the evaluation is linear in its parameters (see {@link EvaluationFeatures}), every position is
+ * reduced once to a short list of (parameter, count) pairs held in primitive arrays, and each pass over the data is a
+ * few multiply-adds per position, split across all cores.
+ *
+ * Each line of the positions file starts with the first four fields of a FEN record and holds the result from White's
+ * side as 1-0, 0-1, 1/2-1/2 or 1.0, 0.0, 0.5: in quotes or brackets, as in "fen [0.5]", after an EPD c9 opcode, or
+ * bare after the FEN fields.  A line without a result, such as a plain FEN record, is skipped rather than labelled
+ * from its move counters.
+ *
+ * Usage: TexelTuner positionsFile [outputDirectory] [iterations]
+ */
+public class TexelTuner {
+
+    public static final int DEFAULT_ITERATIONS = 500;
+    public static final double DEFAULT_LEARNING_RATE = 1.0;
+
+    private static final int BATCH_LINES = 1 << 16;
+    private static final double LN_10 = Math.log(10);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private int size;
+    private byte[] results = new byte[1024];
+    private byte[] phases = new byte[1024];
+    private float[] material = new float[1024];
+    private int[] offsets = new int[1025];
+    private short[] parameters = new short[1024 * 32];
+    private short[] counts = new short[1024 * 32];
+    private int skipped;
+
+    private double scale = 1.0;
+    private double learningRate = DEFAULT_LEARNING_RATE;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: TexelTuner positionsFile [outputDirectory] [iterations]");
+            return;
+        }
+        Path output = Paths.get(args.length > 1 ? args[1] : ".");
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ITERATIONS;
+
+        long start = System.nanoTime();
+        TexelTuner tuner = TexelTuner.load(Paths.get(args[0]));
+        System.out.printf("Loaded %d positions (%d skipped) in %.1f s%n",
+                tuner.size(), tuner.getSkipped(), (System.nanoTime() - start) / 1e9);
+
+        double[] parameters = EvaluationFeatures.toParameters(
+                PieceSquareTables.getInstance(), EvaluationWeights.getInstance());
+        tuner.fitScale(parameters);
+        System.out.printf("Scale %.4f, starting error %.6f%n", tuner.getScale(), tuner.error(parameters));
+
+        start = System.nanoTime();
+        double[] tuned = tuner.tune(parameters, iterations, true);
+        System.out.printf("Tuned in %.1f s, final error %.6f%n", (System.nanoTime() - start) / 1e9, tuner.error(tuned));
+
+        Files.createDirectories(output);
+        try (Writer writer = Files.newBufferedWriter(output.resolve(PieceSquareTables.TABLE_FILE), StandardCharsets.UTF_8)) {
+            EvaluationFeatures.toTables(tuned).write(writer);
+        }
+        try (Writer writer = Files.newBufferedWriter(output.resolve(EvaluationWeights.WEIGHTS_FILE), StandardCharsets.UTF_8)) {
+            EvaluationFeatures.toWeights(tuned).write(writer);
+        }
+        System.out.println("Wrote " + output.resolve(PieceSquareTables.TABLE_FILE) + " and "
+                + output.resolve(EvaluationWeights.WEIGHTS_FILE));
+    }
+
+    /**
+     * Reads and reduces a positions file, parsing batches of lines in parallel
+     * @param file
+     * @return
+     * @throws IOException
+     */
+    public static TexelTuner load(Path file) throws IOException {
+        TexelTuner tuner = new TexelTuner();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String[] batch = new String[BATCH_LINES];
+            int lines;
+            do {
+                lines = 0;
+                String line;
+                while (lines < BATCH_LINES && (line = reader.readLine()) != null) {
+                    batch[lines++] = line;
+                }
+                final String[] current = batch;
+                Sample[] samples = IntStream.range(0, lines).parallel()
+                        .mapToObj(i -> Sample.parse(current[i]))
+                        .toArray(Sample[]::new);
+                for (Sample sample : samples) {
+                    tuner.add(sample);
+                }
+            } while (lines == BATCH_LINES);
+        }
+        return tuner;
+    }
+
+    /**
+     * Adds a position to the data set
+     * @param board
+     * @param result from White's side: 1 for a win, 0.5 for a draw and 0 for a loss
+     */
+    public void add(ChessBoard board, double result) {
+        add(Sample.of(board, (byte) Math.round(result * 2)));
+    }
+
+    private void add(Sample sample) {
+        if (sample == null) {
+            skipped++;
+            return;
+        }
+        if (size == results.length) {
+            int capacity = size * 2;
+            results = Arrays.copyOf(results, capacity);
+            phases = Arrays.copyOf(phases, capacity);
+            material = Arrays.copyOf(material, capacity);
+            offsets = Arrays.copyOf(offsets, capacity + 1);
+        }
+        int end = offsets[size] + sample.parameters.length;
+        if (end > parameters.length) {
+            int capacity = Math.max(end, parameters.length * 2);
+            parameters = Arrays.copyOf(parameters, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        System.arraycopy(sample.parameters, 0, parameters, offsets[size], sample.parameters.length);
+        System.arraycopy(sample.counts, 0, counts, offsets[size], sample.counts.length);
+        results[size] = sample.result;
+        phases[size] = sample.phase;
+        material[size] = sample.material;
+        offsets[size + 1] = end;
+        size++;
+    }
+
+    /**
+     * @return the evaluation of a stored position from White's side, in pawns
+     */
+    private double evaluate(double[] weights, int position) {
+        double middlegame = 0;
+        double endgame = 0;
+        for (int i = offsets[position]; i < offsets[position + 1]; i++) {
+            int parameter = parameters[i];
+            double count = counts[i] * EvaluationFeatures.scale(parameter);
+            middlegame += count * weights[parameter];
+            endgame += count * weights[EvaluationFeatures.PER_PHASE + parameter];
+        }
+        int phase = phases[position];
+        return material[position] + (middlegame * phase + endgame * (GamePhase.MAX - phase)) / GamePhase.MAX;
+    }
+
+    private double sigmoid(double score) {
+        return 1 / (1 + Math.pow(10, -scale * score / 4));
+    }
+
+    /**
+     * @param weights a parameter vector as described in EvaluationFeatures
+     * @return mean squared difference between the results and the predicted win probabilities
+     */
+    public double error(double[] weights) {
+        if (size == 0) {
+            return 0;
+        }
+        int chunks = chunks();
+        double total = IntStream.range(0, chunks).parallel().mapToDouble(chunk -> {
+            double sum = 0;
+            for (int i = chunkStart(chunk, chunks); i < chunkStart(chunk + 1, chunks); i++) {
+                double difference = results[i] / 2.0 - sigmoid(evaluate(weights, i));
+                sum += difference * difference;
+            }
+            return sum;
+        }).sum();
+        return total / size;
+    }
+
+    /**
+     * Finds the scale between evaluation and win probability that fits the data best for the given parameters, which
+     * keeps the tuning from simply stretching every weight.
+     * @param weights
+     * @return the new scale
+     */
+    public double fitScale(double[] weights) {
+        double low = 0.05;
+        double high = 5;
+        for (int i = 0; i < 40; i++) {
+            double third = (high - low) / 3;
+            scale = low + third;
+            double lowError = error(weights);
+            scale = high - third;
+            double highError = error(weights);
+            if (lowError < highError) {
+                high -= third;
+            } else {
+                low += third;
+            }
+        }
+        scale = (low + high) / 2;
+        return scale;
+    }
+
+    /**
+     * Gradient of the error for every parameter, each core summing its own share of the positions
+     */
+    private double[] gradient(double[] weights) {
+        int chunks = chunks();
+        double[] result = IntStream.range(0, chunks).parallel().mapToObj(chunk -> {
+            double[] partial = new double[EvaluationFeatures.COUNT];
+            for (int position = chunkStart(chunk, chunks); position < chunkStart(chunk + 1, chunks); position++) {
+                double probability = sigmoid(evaluate(weights, position));
+                double slope = -2 * (results[position] / 2.0 - probability) *
+                        probability * (1 - probability) * LN_10 * scale / 4;
+                double middlegame = slope * phases[position] / GamePhase.MAX;
+                double endgame = slope - middlegame;
+                for (int i = offsets[position]; i < offsets[position + 1]; i++) {
+                    int parameter = parameters[i];
+                    double count = counts[i] * EvaluationFeatures.scale(parameter);
+                    partial[parameter] += count * middlegame;
+                    partial[EvaluationFeatures.PER_PHASE + parameter] += count * endgame;
+                }
+            }
+            return partial;
+        }).reduce(new double[EvaluationFeatures.COUNT], (a, b) -> {
+            double[] sum = new double[a.length];
+            for (int i = 0; i < a.length; i++) {
+                sum[i] = a[i] + b[i];
+            }
+            return sum;
+        });
+        for (int i = 0; i < result.length; i++) {
+            result[i] /= size;
+        }
+        return result;
+    }
+
+    /**
+     * Runs Adam gradient descent from a starting parameter vector.  Table entries move in hundredths of a pawn and
+     * weights in pawns, so the step size of weights is a hundredth of the learning rate.
+     * @param start parameter vector to start from, left unchanged
+     * @param iterations passes over the data
+     * @param verbose print the error every 50 iterations
+     * @return the tuned parameter vector
+     */
+    public double[] tune(double[] start, int iterations, boolean verbose) {
+        double[] weights = start.clone();
+        double[] momentum = new double[weights.length];
+        double[] velocity = new double[weights.length];
+        double beta1 = 0.9;
+        double beta2 = 0.999;
+        for (int iteration = 1; iteration <= iterations && size > 0; iteration++) {
+            double[] gradient = gradient(weights);
+            double correction1 = 1 - Math.pow(beta1, iteration);
+            double correction2 = 1 - Math.pow(beta2, iteration);
+            for (int i = 0; i < weights.length; i++) {
+                momentum[i] = beta1 * momentum[i] + (1 - beta1) * gradient[i];
+                velocity[i] = beta2 * velocity[i] + (1 - beta2) * gradient[i] * gradient[i];
+                double rate = learningRate * 0.01 / EvaluationFeatures.scale(i % EvaluationFeatures.PER_PHASE);
+                weights[i] -= rate * (momentum[i] / correction1) / (Math.sqrt(velocity[i] / correction2) + 1e-12);
+            }
+            if (verbose && iteration % 50 == 0) {
+                System.out.printf("Iteration %d, error %.6f%n", iteration, error(weights));
+            }
+        }
+        return weights;
+    }
+
+    private int chunks() {
+        return Math.max(1, Math.min(size, Runtime.getRuntime().availableProcessors() * 4));
+    }
+
+    private int chunkStart(int chunk, int chunks) {
+        return (int) ((long) size * chunk / chunks);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    public void setScale(double scale) {
+        this.scale = scale;
+    }
+
+    public void setLearningRate(double learningRate) {
+        this.learningRate = learningRate;
+    }
+
+    /**
+     * One labelled position reduced to its non-zero parameter counts
+     */
+    private static class Sample {
+        private byte result;
+        private byte phase;
+        private float material;
+        private short[] parameters;
+        private short[] counts;
+
+        private static Sample of(ChessBoard board, byte result) {
+            int[] dense = new int[EvaluationFeatures.PER_PHASE];
+            Sample sample = new Sample();
+            sample.result = result;
+            sample.phase = (byte) board.getPhase();
+            sample.material = (float) EvaluationFeatures.extract(board, dense);
+            int nonZero = 0;
+            for (int count : dense) {
+                if (count != 0) {
+                    nonZero++;
+                }
+            }
+            sample.parameters = new short[nonZero];
+            sample.counts = new short[nonZero];
+            for (int i = 0, j = 0; i < dense.length; i++) {
+                if (dense[i] != 0) {
+                    sample.parameters[j] = (short) i;
+                    sample.counts[j++] = (short) dense[i];
+                }
+            }
+            return sample;
+        }
+
+        /**
+         * @return the sample, or null when the line is not a labelled position
+         */
+        private static Sample parse(String line) {
+            String[] tokens = WHITESPACE.split(line.trim());
+            if (tokens.length < 2) {
+                return null;
+            }
+            // a FEN record's move counters, and numbers in EPD opcodes, could be taken for a result of 1 or 0, so a
+            // bare result is only read straight after the FEN fields
+            int fieldsEnd = tokens.length >= 6 && isCounter(tokens[4]) && isCounter(tokens[5]) ? 6 : 4;
+            byte result = -1;
+            for (int i = 1; i < tokens.length && result < 0; i++) {
+                String token = tokens[i];
+                if (token.equals("c9") && i + 1 < tokens.length) {
+                    result = resultOf(undecorated(tokens[++i]));
+                } else if (isDecoration(token.charAt(0))) {
+                    result = resultOf(undecorated(token));
+                } else if (i == fieldsEnd && !(fieldsEnd == 4 && isCounter(undecorated(token)))) {
+                    result = resultOf(undecorated(token));
+                }
+            }
+            if (result < 0) {
+                return null;
+            }
+            BoardSnapshot pieces;
+            try {
+                pieces = Fen.placement(tokens[0], 0);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            return of(new ChessBoard(pieces), result);
+        }
+
+        private static boolean isCounter(String token) {
+            for (int i = 0; i < token.length(); i++) {
+                if (token.charAt(i) < '0' || token.charAt(i) > '9') {
+                    return false;
+                }
+            }
+            return !token.isEmpty();
+        }
+
+        private static boolean isDecoration(char c) {
+            return c == '"' || c == '\'' || c == ';' || c == '[' || c == ']';
+        }
+
+        /**
+         * @return the token without the quotes, brackets and semicolons around it
+         */
+        private static String undecorated(String token) {
+            int start = 0;
+            int end = token.length();
+            while (start < end && isDecoration(token.charAt(start))) {
+                start++;
+            }
+            while (end > start && isDecoration(token.charAt(end - 1))) {
+                end--;
+            }
+            return token.substring(start, end);
+        }
+
+        private static byte resultOf(String token) {
+            switch (token) {
+                case "1-0":
+                case "1.0":
+                case "1":
+                    return 2;
+                case "1/2-1/2":
+                case "0.5":
+                    return 1;
+                case "0-1":
+                case "0.0":
+                case "0":
+                    return 0;
+                default:
+                    return -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package Chess;
+
+import Chess.BoardSnapshot.Tile;
+import Chess.Pieces.ChessPiece.PieceColor;
+import Chess.Pieces.ChessPiece.PieceType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes positions in Forsyth-Edwards Notation: piece placement, side to move, castling rights, en passant
+ * tile, halfmove clock and move number.  The last two fields may be left out, as many position collections do.
+ *
+ * The parser walks the characters once, straight from a CharSequence or the bytes of a ByteBuffer, without splitting,
+ * regular expressions or substrings, and builds the board snapshot in one go.  The model has no castling rights or en
+ * passant tile of its own, so they are turned into what the rules look at: castling rights decide whether the kings
+ * and rooks count as moved, and an en passant tile becomes the double pawn step played just before.
+ */
+public final class Fen {
+
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private Fen() {
+    }
+
+    /**
+     * @param fen a FEN record, anything after it is ignored
+     * @return the position as a snapshot for {@link ChessGame#restore(GameSnapshot)}
+     * @throws IllegalArgumentException if the record is malformed
+     */
+    public static GameSnapshot parse(CharSequence fen) {
+        return new Parser(fen).game();
+    }
+
+    /**
+     * Reads one line of ASCII from the buffer's position and moves the position past the end of the line
+     * @param buffer
+     * @return the position as a snapshot
+     * @throws IllegalArgumentException if the line is not a FEN record
+     */
+    public static GameSnapshot parse(ByteBuffer buffer) {
+        int start = buffer.position();
+        int end = start;
+        while (end < buffer.limit() && buffer.get(end) != '\n') {
+            end++;
+        }
+        buffer.position(Math.min(end + 1, buffer.limit()));
+        return parse(new Ascii(buffer, start, end));
+    }
+
+    /**
+     * Reads only the piece placement field
+     * @param text
+     * @param start index of the field's first character
+     * @return the pieces, counted as unmoved apart from pawns off their first row
+     * @throws IllegalArgumentException if the field is malformed
+     */
+    public static BoardSnapshot placement(CharSequence text, int start) {
+        Parser parser = new Parser(text);
+        parser.index = start;
+        parser.placement();
+        return BoardSnapshot.of(parser.tiles);
+    }
+
+    /**
+     * @return the FEN record of the game as it stands
+     */
+    public static String write(GameSnapshot game) {
+        StringBuilder builder = new StringBuilder(90);
+        write(game, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Appends the FEN record of the game, so records can be written in bulk without a String for each
+     * @param game
+     * @param builder
+     */
+    public static void write(GameSnapshot game, StringBuilder builder) {
+        BoardSnapshot board = game.getBoard();
+        for (int y = 0; y < 8; y++) {
+            int empty = 0;
+            for (int x = 0; x < 8; x++) {
+                Tile tile = board.tileAt(y * 8 + x);
+                if (tile == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    builder.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                builder.append(letter(tile));
+            }
+            if (empty > 0) {
+                builder.append((char) ('0' + empty));
+            }
+            if (y < 7) {
+                builder.append('/');
+            }
+        }
+        builder.append(game.getCurrentPlayer() == PieceColor.White ? " w " : " b ");
+
+        int rights = board.castlingRights();
+        if (rights == 0) {
+            builder.append('-');
+        }
+        if ((rights & Zobrist.WHITE_KING_SIDE) != 0) builder.append('K');
+        if ((rights & Zobrist.WHITE_QUEEN_SIDE) != 0) builder.append('Q');
+        if ((rights & Zobrist.BLACK_KING_SIDE) != 0) builder.append('k');
+        if ((rights & Zobrist.BLACK_QUEEN_SIDE) != 0) builder.append('q');
+
+        builder.append(' ');
+        Move previous = game.getPreviousMove();
+        if (previous != null && previous.getPiece().getType() == PieceType.Pawn && !previous.getPiece().hasMoved() &&
+                Math.abs(previous.getPiece().getLocation().y - previous.getTo().y) == 2) {
+            int x = previous.getTo().x;
+            int y = (previous.getPiece().getLocation().y + previous.getTo().y) / 2;
+            builder.append((char) ('a' + x)).append((char) ('8' - y));
+        } else {
+            builder.append('-');
+        }
+
+        PositionHistory history = game.getHistory();
+        builder.append(' ').append(history == null ? 0 : history.getHalfmoveClock());
+        builder.append(' ').append(game.getMoveCount() / 2 + 1);
+    }
+
+    private static char letter(Tile tile) {
+        char letter;
+        switch (tile.getType()) {
+            case Pawn:
+                letter = 'P';
+                break;
+            case Knight:
+                letter = 'N';
+                break;
+            case Bishop:
+                letter = 'B';
+                break;
+            case Rook:
+                letter = 'R';
+                break;
+            case Queen:
+                letter = 'Q';
+                break;
+            default:
+                letter = 'K';
+        }
+        return tile.getColor() == PieceColor.White ? letter : Character.toLowerCase(letter);
+    }
+
+    /**
+     * One pass over a record
+     */
+    private static final class Parser {
+
+        private final CharSequence text;
+        private final Tile[] tiles = new Tile[64];
+        private int index;
+        private long key;
+
+        private Parser(CharSequence text) {
+            this.text = text;
+        }
+
+        private GameSnapshot game() {
+            placement();
+            space();
+            PieceColor side;
+            char c = next();
+            if (c == 'w') {
+                side = PieceColor.White;
+            } else if (c == 'b') {
+                side = PieceColor.Black;
+            } else {
+                throw error("side to move");
+            }
+
+            int rights = 0;
+            if (space() && peek() == '-') {
+                index++;
+            } else {
+                while (index < text.length() && !isSpace(text.charAt(index))) {
+                    switch (next()) {
+                        case 'K':
+                            rights |= Zobrist.WHITE_KING_SIDE;
+                            break;
+                        case 'Q':
+                            rights |= Zobrist.WHITE_QUEEN_SIDE;
+                            break;
+                        case 'k':
+                            rights |= Zobrist.BLACK_KING_SIDE;
+                            break;
+                        case 'q':
+                            rights |= Zobrist.BLACK_QUEEN_SIDE;
+                            break;
+                        default:
+                            throw error("castling rights");
+                    }
+                }
+            }
+            castling(rights);
+
+            int enPassant = -1;
+            if (space()) {
+                c = next();
+                if (c != '-') {
+                    char rank = next();
+                    if (c < 'a' || c > 'h' || (rank != '3' && rank != '6')) {
+                        throw error("en passant tile");
+                    }
+                    enPassant = ('8' - rank) * 8 + (c - 'a');
+                }
+            }
+            int halfmoveClock = space() ? number() : 0;
+            int moveNumber = space() ? number() : 1;
+
+            BoardSnapshot board = BoardSnapshot.of(tiles);
+            int moveCount = Math.max(0, 2 * (moveNumber - 1) + (side == PieceColor.Black ? 1 : 0));
+            key ^= Zobrist.castlingKey(board.castlingRights());
+            if (side == PieceColor.Black) {
+                key ^= Zobrist.sideKey();
+            }
+            PositionHistory history = PositionHistory.start(key, halfmoveClock);
+
+            // the pawn that can be taken en passant has just made a double step, from the far side of the tile
+            Tile pawn = Tile.of(PieceType.Pawn, side == PieceColor.White ? PieceColor.Black : PieceColor.White, true);
+            int step = side == PieceColor.White ? 8 : -8;
+            if (enPassant >= 0 && tiles[enPassant + step] == pawn) {
+                return new GameSnapshot(board, side, moveCount, Tile.of(PieceType.Pawn, pawn.getColor(), false),
+                        enPassant - step, enPassant + step, history);
+            }
+            return new GameSnapshot(board, side, moveCount, null, 0, 0, history);
+        }
+
+        private void placement() {
+            int x = 0;
+            int y = 0;
+            while (true) {
+                if (index >= text.length() || isSpace(text.charAt(index))) {
+                    break;
+                }
+                char c = text.charAt(index);
+                index++;
+                if (c == '/') {
+                    if (x != 8) {
+                        throw error("piece placement");
+                    }
+                    x = 0;
+                    y++;
+                } else if (c >= '1' && c <= '8') {
+                    x += c - '0';
+                } else {
+                    if (x > 7 || y > 7) {
+                        throw error("piece placement");
+                    }
+                    put(c, y * 8 + x++);
+                }
+                if (x > 8 || y > 7) {
+                    throw error("piece placement");
+                }
+            }
+            if (x != 8 || y != 7) {
+                throw error("piece placement");
+            }
+        }
+
+        private void put(char c, int square) {
+            PieceColor color = c < 'a' ? PieceColor.White : PieceColor.Black;
+            PieceType type;
+            switch (c < 'a' ? c : (char) (c - 'a' + 'A')) {
+                case 'P':
+                    type = PieceType.Pawn;
+                    break;
+                case 'N':
+                    type = PieceType.Knight;
+                    break;
+                case 'B':
+                    type = PieceType.Bishop;
+                    break;
+                case 'R':
+                    type = PieceType.Rook;
+                    break;
+                case 'Q':
+                    type = PieceType.Queen;
+                    break;
+                case 'K':
+                    type = PieceType.King;
+                    break;
+                default:
+                    throw error("piece placement");
+            }
+            boolean moved = type == PieceType.Pawn && square / 8 != (color == PieceColor.White ? 6 : 1);
+            tiles[square] = Tile.of(type, color, moved);
+            key ^= Zobrist.pieceKey(color, type, square);
+        }
+
+        /**
+         * Kings and rooks on their first tiles count as moved unless a castling right says otherwise
+         */
+        private void castling(int rights) {
+            castling(60, 63, 56, PieceColor.White, rights & Zobrist.WHITE_KING_SIDE, rights & Zobrist.WHITE_QUEEN_SIDE);
+            castling(4, 7, 0, PieceColor.Black, rights & Zobrist.BLACK_KING_SIDE, rights & Zobrist.BLACK_QUEEN_SIDE);
+        }
+
+        private void castling(int king, int kingRook, int queenRook, PieceColor color, int kingSide, int queenSide) {
+            unmovedIf(king, PieceType.King, color, kingSide != 0 || queenSide != 0);
+            unmovedIf(kingRook, PieceType.Rook, color, kingSide != 0);
+            unmovedIf(queenRook, PieceType.Rook, color, queenSide != 0);
+        }
+
+        private void unmovedIf(int square, PieceType type, PieceColor color, boolean unmoved) {
+            if (tiles[square] != null && tiles[square].getType() == type && tiles[square].getColor() == color) {
+                tiles[square] = Tile.of(type, color, !unmoved);
+            }
+        }
+
+        /**
+         * Skips spaces
+         * @return whether another field follows
+         */
+        private boolean space() {
+            boolean skipped = false;
+            while (index < text.length() && isSpace(text.charAt(index))) {
+                index++;
+                skipped = true;
+            }
+            return skipped && index < text.length();
+        }
+
+        private static boolean isSpace(char c) {
+            return c == ' ' || c == '\t' || c == '\r';
+        }
+
+        private char peek() {
+            return text.charAt(index);
+        }
+
+        private char next() {
+            if (index >= text.length()) {
+                throw error("end of record");
+            }
+            return text.charAt(index++);
+        }
+
+        private int number() {
+            int value = 0;
+            int digits = 0;
+            while (index < text.length() && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+                value = value * 10 + text.charAt(index++) - '0';
+                digits++;
+            }
+            if (digits == 0) {
+                throw error("number");
+            }
+            return value;
+        }
+
+        private IllegalArgumentException error(String field) {
+            return new IllegalArgumentException("Malformed FEN " + field + " at " + index + ": " + text);
+        }
+    }
+
+    /**
+     * The bytes of a buffer read as ASCII characters, without copying them
+     */
+    static final class Ascii implements CharSequence {
+
+        private final ByteBuffer buffer;
+        private final int start;
+        private final int end;
+
+        Ascii(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(start + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new Ascii(buffer, start + from, start + to);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(length());
+            for (int i = 0; i < length(); i++) {
+                builder.append(charAt(i));
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package Chess;
+
+import Chess.Pieces.ChessPiece.PieceColor;
+
+/**
+ * An immutable picture of a game: the board, the player to move, the move count, the last move played, which en
+ * passant depends on, and the position history the draw rules depend on.  Taken in constant time by {@link ChessGame#snapshot()} and turned back into a playable game by
+ * {@link ChessGame#restore(GameSnapshot)}.
+ */
+public final class GameSnapshot {
+
+    private final BoardSnapshot board;
+    private final PieceColor currentPlayer;
+    private final int moveCount;
+    private final BoardSnapshot.Tile previousPiece;
+    private final int previousFrom;
+    private final int previousTo;
+    private final PositionHistory history;
+
+    /**
+     * @param previousPiece the piece that made the last move as it was before moving, or null if there was none
+     * @param previousFrom tile index the last move started from
+     * @param previousTo tile index the last move went to
+     */
+    public GameSnapshot(BoardSnapshot board, PieceColor currentPlayer, int moveCount,
+                        BoardSnapshot.Tile previousPiece, int previousFrom, int previousTo) {
+        this(board, currentPlayer, moveCount, previousPiece, previousFrom, previousTo, null);
+    }
+
+    /**
+     * @param history the positions played before, or null to start the history over from the snapshot
+     */
+    public GameSnapshot(BoardSnapshot board, PieceColor currentPlayer, int moveCount,
+                        BoardSnapshot.Tile previousPiece, int previousFrom, int previousTo, PositionHistory history) {
+        this.board = board;
+        this.currentPlayer = currentPlayer;
+        this.moveCount = moveCount;
+        this.previousPiece = previousPiece;
+        this.previousFrom = previousFrom;
+        this.previousTo = previousTo;
+        this.history = history;
+    }
+
+    public BoardSnapshot getBoard() {
+        return board;
+    }
+
+    public PieceColor getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * @return the positions played up to the snapshot, or null if it has none
+     */
+    public PositionHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * @return the last move played, with a new piece standing where it started, or null if there was none
+     */
+    public Move getPreviousMove() {
+        if (previousPiece == null) {
+            return null;
+        }
+        return new Move(previousPiece.toPiece(Location.of(previousFrom)), Location.of(previousTo));
+    }
+}
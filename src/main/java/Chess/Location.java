@@ -2,35 +2,69 @@ package Chess;
 
 /**
  * Used to store an int/int pair to map to tiles on the chessboard.
+ *
+ * Locations are immutable.  The 64 tiles of the board each have a single shared instance, so asking for a tile with
+ * {@link #of(int, int)} never allocates; only positions off the board, such as move offsets or the step past the
+ * edge in move generation, get new instances.
  */
 
-public class Location implements Cloneable {
-    public int x;
-    public int y;
+public final class Location {
+
+    private static final Location[] TILES = new Location[64];
+
+    static {
+        for (int index = 0; index < 64; index++) {
+            TILES[index] = new Location(index % 8, index / 8);
+        }
+    }
+
+    public final int x;
+    public final int y;
+    private final int index;
+
+    private Location(int x, int y){
+        this.x = x;
+        this.y = y;
+        index = y * 8 + x;
+    }
 
     /**
      * @param x coordinate of the piece
      * @param y coordinate of the piece
+     * @return the shared instance of a tile, or a new Location when the coordinates are off the board
      */
-    public Location(int x, int y){
-        this.x = x;
-        this.y = y;
+    public static Location of(int x, int y) {
+        if (x >= 0 && x < 8 && y >= 0 && y < 8) {
+            return TILES[y * 8 + x];
+        }
+        return new Location(x, y);
     }
 
-    protected Location(Location location) {
-        x = location.x;
-        y = location.y;
+    /**
+     * @param index from 0 to 63, see {@link #index()}
+     * @return the shared instance of the tile
+     */
+    public static Location of(int index) {
+        return TILES[index];
     }
 
-
+    /**
+     * @return the tile as a single number from 0 to 63, counting across each row starting at the top left
+     */
+    public int index() {
+        return index;
+    }
 
     public boolean equals(Location location) {
         return this.x == location.x && this.y == location.y;
     }
 
+    /**
+     * Locations cannot change, so a clone is the same instance
+     */
     @Override
-    public Object clone() throws CloneNotSupportedException {
-        return super.clone();
+    public Object clone() {
+        return this;
     }
 
     @Override
@@ -42,8 +76,13 @@ public class Location implements Cloneable {
         return y == location.y;
     }
 
+    @Override
+    public int hashCode() {
+        return index;
+    }
+
     @Override
     public String toString() {
         return (char)(x + 65) + String.valueOf(8 - y);
     }
-}
\ No newline at end of file
+}
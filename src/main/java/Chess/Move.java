@@ -49,7 +49,6 @@ public class Move implements Cloneable, Comparable {
         try {
             clone = (Move) super.clone();
             clone.piece = (ChessPiece) piece.clone();
-            clone.to = (Location) to.clone();
         } catch (CloneNotSupportedException e) {
             e.printStackTrace();
         }
@@ -10,10 +10,13 @@ import java.util.ArrayList;
  * A bishop is a piece that can move diagonally indefinitely until it hits a piece of it's own color, can capture, or hits the edge of the board.
  */
 public class Bishop extends ChessPiece {
+    private static final Location[] MOVE_MODIFIERS = {
+            Location.of(1, 1), Location.of(1, -1),
+            Location.of(-1, 1), Location.of(-1, -1)
+    };
 
     public static final String LETTER = "B";
 
-
     public Bishop(PieceColor color, Location location, boolean hasMoved){
         super(PieceType.Bishop, color, true, location, hasMoved);
     }
@@ -23,15 +26,8 @@ public class Bishop extends ChessPiece {
     }
 
     @Override
-    public void setImage() {
-        setImage(color, LETTER);
-    }
-
-    @Override
-    public double value(ChessGame game) {
-        ArrayList<Move> moves = validMoves(game);
-        double threatening = game.getPiecesPieceThreatenes(this).size() * 0.90;
-        return 3  + moves.size() / 14.0 + threatening;
+    public double materialValue() {
+        return 3;
     }
 
     @Override
@@ -41,8 +37,7 @@ public class Bishop extends ChessPiece {
 
     @Override
     public Location[] moveModifiers() {
-        return	new Location[]{	new Location(1, 1), new Location(1, -1),
-                new Location(-1, 1), new Location(-1, -1)};
+        return MOVE_MODIFIERS;
     }
 
     @Override
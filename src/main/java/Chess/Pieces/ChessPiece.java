@@ -2,10 +2,11 @@ package Chess.Pieces;
 
 import Chess.ChessBoard;
 import Chess.ChessGame;
+import Chess.Evaluation.AttackMap;
+import Chess.Evaluation.EvaluationWeights;
+import Chess.Evaluation.PieceSquareTables;
 import Chess.Location;
 import Chess.Move;
-import GUI.GameBoard;
-import javafx.scene.image.ImageView;
 import java.util.ArrayList;
 import static Chess.ChessBoard.isInsideBoard;
 
@@ -16,14 +17,12 @@ import static Chess.ChessBoard.isInsideBoard;
 
 public abstract class ChessPiece implements Comparable, Cloneable {
     protected PieceColor color;
+    private PieceType type;
     private char charValue;
     private boolean repeatableMoves;
     protected Location location;
-    protected String picPath = this.getClass().getProtectionDomain().getCodeSource().getLocation().toString();
     protected boolean hasMoved;
 
-    protected ImageView image;
-
     /**
      * Creates an abstract chess piece object.
      *
@@ -32,6 +31,7 @@ public abstract class ChessPiece implements Comparable, Cloneable {
      * @param repeatableMoves whether moveModifiers extend to the edge of the board
      */
     protected ChessPiece(PieceType type, PieceColor color, boolean repeatableMoves, Location location, boolean hasMoved){
+        this.type = type;
         this.color = color;
         this.repeatableMoves = repeatableMoves;
         this.location = location;
@@ -49,17 +49,27 @@ public abstract class ChessPiece implements Comparable, Cloneable {
 
 
 
-    public ImageView getImage() {
-        return image;
+    /**
+     * @return the value of the piece in pawns, including its position, mobility and the pieces it threatens
+     */
+    public double value(ChessGame game) {
+        return value(game, new AttackMap(game.getBoard()));
     }
 
-    protected void setImage(PieceColor color, String letter) {
-        image = new ImageView(picPath.substring(0, picPath.length() - 14) + "/resources/main/" + color.name().toLowerCase() + "_" + letter.toLowerCase() + ".png");
+    /**
+     * Values the piece using attack sets that were already built for the whole board
+     * @param game
+     * @param attacks attack sets of the game's board
+     * @return the value of the piece in pawns
+     */
+    public double value(ChessGame game, AttackMap attacks) {
+        return materialValue() + activityValue(game, attacks);
     }
 
-    public abstract void setImage();
-
-    abstract public double value(ChessGame game);
+    /**
+     * @return what the piece is worth in pawns regardless of where it stands
+     */
+    abstract public double materialValue();
 
     @Override
     public int compareTo(Object o) {
@@ -74,54 +84,78 @@ public abstract class ChessPiece implements Comparable, Cloneable {
         return 0;
     }
 
-    public double favorCenter() {
-        double valueAdded = 0;
-        int x = location.x;
-        int y = location.y;
-        if (x == 1 || x == 6) {
-            valueAdded += 0.05;
-        } else if (x == 2 || x == 5) {
-            valueAdded += 0.1;
-        } else if (x == 3 || x == 4) {
-            valueAdded += 0.15;
-        }
-        if (y == 1 || y == 6) {
-            valueAdded += 0.05;
-        } else if (y == 2 || y == 5) {
-            valueAdded += 0.1;
-        } else if (y == 3 || y == 4) {
-            valueAdded += 0.15;
-        }
-        return valueAdded;
+    /**
+     * @param phase game phase of the board, see GamePhase
+     * @return the bonus for standing on the current tile, looked up in the piece-square tables
+     */
+    public double positionalValue(int phase) {
+        return PieceSquareTables.getInstance().taperedValue(this, phase);
+    }
+
+    /**
+     * Everything a piece is worth beyond its material: its tile, the tiles it attacks and the opponent's pieces it
+     * threatens, each weighted for how far the game has gone toward the endgame.
+     * @param game
+     * @param attacks attack sets of the game's board
+     * @return value in pawns
+     */
+    protected double activityValue(ChessGame game, AttackMap attacks) {
+        int phase = game.getBoard().getPhase();
+        EvaluationWeights weights = EvaluationWeights.getInstance();
+        return positionalValue(phase) +
+                attacks.mobility(this) * weights.mobility(type, phase) +
+                attacks.threats(this) * weights.threat(type, phase);
     }
 
     //im not sure if this needs to be static, but when it wasn't, cloning "this" was not possible, maybe
     public static ArrayList<Move> validatedMoves(ChessGame game, ArrayList<Move> potentialMoves, PieceColor color) {
         ArrayList<Move> validMoves = new ArrayList<>();
         for (Move move : potentialMoves) {
-                ChessGame clonedGame = (ChessGame) game.clone();
-                Move clonedMove = (Move) move.clone();
-                if (clonedGame != null) {
-                    clonedGame.getBoard().move(clonedMove);
-                    if (!clonedGame.isColorInCheck(color)) {
-                        validMoves.add(move);
-                    }
-                }
+            if (isLegal(game, move, color)) {
+                validMoves.add(move);
+            }
         }
         return validMoves;
     }
 
+    /**
+     * Like validatedMoves, but stops at the first move that does not leave the king in check
+     * @return whether any of the moves is valid
+     */
+    public static boolean hasValidatedMove(ChessGame game, ArrayList<Move> potentialMoves, PieceColor color) {
+        for (Move move : potentialMoves) {
+            if (isLegal(game, move, color)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLegal(ChessGame game, Move move, PieceColor color) {
+        ChessGame clonedGame = (ChessGame) game.clone();
+        Move clonedMove = (Move) move.clone();
+        if (clonedGame != null) {
+            clonedGame.getBoard().move(clonedMove);
+            return !clonedGame.isColorInCheck(color);
+        }
+        return false;
+    }
+
     public PieceColor getColor() {
         return color;
     }
 
+    public PieceType getType() {
+        return type;
+    }
+
     public ArrayList<Move> potentialMoves(ChessGame game) {
         ChessBoard board = game.getBoard();
         ArrayList<Move> toLocations = new ArrayList<>();
         for (Location moveOffset : moveModifiers()) {
             Location to = location;
             do {
-                to = new Location(to.x + moveOffset.x, to.y + moveOffset.y);
+                to = Location.of(to.x + moveOffset.x, to.y + moveOffset.y);
                 if (isInsideBoard(to) && (board.getPieceAtLocation(to) == null || board.getPieceAtLocation(to).color() != color)) {
                     toLocations.add(new Move(this, to));
                 }
@@ -140,8 +174,6 @@ public abstract class ChessPiece implements Comparable, Cloneable {
      */
     @Override
     public Object clone() throws CloneNotSupportedException {
-        ChessPiece clone = (ChessPiece)super.clone();
-        clone.location = (Location) location.clone();
         return super.clone();
     }
 
@@ -189,6 +221,13 @@ public abstract class ChessPiece implements Comparable, Cloneable {
 
     abstract public ArrayList<Move> validMoves(ChessGame game);
 
+    /**
+     * @return whether validMoves would find anything, without looking past the first valid move
+     */
+    public boolean hasValidMove(ChessGame game) {
+        return hasValidatedMove(game, potentialMoves(game), color);
+    }
+
 
 
     public Location getLocation() {
@@ -14,6 +14,12 @@ import java.util.ArrayList;
  * a King side castle and O-O-O for a Queen side castle.
  */
 public class King extends ChessPiece{
+    private static final Location[] MOVE_MODIFIERS = {
+            Location.of(1, 0), Location.of(0, 1),
+            Location.of(-1, 0), Location.of(0, -1),
+            Location.of(1, 1), Location.of(1, -1),
+            Location.of(-1, 1), Location.of(-1, -1)
+    };
 
     public static final String LETTER = "K";
 
@@ -26,12 +32,7 @@ public class King extends ChessPiece{
     }
 
     @Override
-    public void setImage() {
-        setImage(color, LETTER);
-    }
-
-    @Override
-    public double value(ChessGame game) {
+    public double materialValue() {
         return 100;
     }
 
@@ -42,10 +43,7 @@ public class King extends ChessPiece{
 
     @Override
     public Location[] moveModifiers() {
-        return new Location[]{	new Location(1, 0), new Location(0, 1),
-                new Location(-1, 0), new Location(0, -1),
-                new Location(1, 1), new Location(1, -1),
-                new Location(-1, 1), new Location(-1, -1)};
+        return MOVE_MODIFIERS;
     }
 
     public static boolean canCastle(ChessPiece piece, ChessGame game) {
@@ -56,18 +54,18 @@ public class King extends ChessPiece{
         return (piece.color == PieceColor.White &&
                 piece instanceof King &&
                 !piece.hasMoved &&
-                game.getBoard().getPieceAtLocation(new Location(7, 7)) != null &&
-                !game.getBoard().getPieceAtLocation(new Location(7, 7)).hasMoved() &&
-                game.getBoard().getPieceAtLocation(new Location(6, 7)) == null && //knight
-                game.getBoard().getPieceAtLocation(new Location(5, 7)) == null//bishop
+                game.getBoard().getPieceAtLocation(Location.of(7, 7)) != null &&
+                !game.getBoard().getPieceAtLocation(Location.of(7, 7)).hasMoved() &&
+                game.getBoard().getPieceAtLocation(Location.of(6, 7)) == null && //knight
+                game.getBoard().getPieceAtLocation(Location.of(5, 7)) == null//bishop
         ) || (
                 piece.color == PieceColor.Black &&
                 piece instanceof King &&
                 !piece.hasMoved &&
-                game.getBoard().getPieceAtLocation(new Location(7, 0)) != null &&
-                !game.getBoard().getPieceAtLocation(new Location(7, 0)).hasMoved() &&
-                game.getBoard().getPieceAtLocation(new Location(6, 0)) == null && //knight
-                game.getBoard().getPieceAtLocation(new Location(5, 0)) == null //bishop
+                game.getBoard().getPieceAtLocation(Location.of(7, 0)) != null &&
+                !game.getBoard().getPieceAtLocation(Location.of(7, 0)).hasMoved() &&
+                game.getBoard().getPieceAtLocation(Location.of(6, 0)) == null && //knight
+                game.getBoard().getPieceAtLocation(Location.of(5, 0)) == null //bishop
                 );
     }
 
@@ -75,20 +73,20 @@ public class King extends ChessPiece{
         return (piece.color == PieceColor.White &&
                 piece instanceof King &&
                 !piece.hasMoved &&
-                game.getBoard().getPieceAtLocation(new Location(0, 7)) != null &&
-                !game.getBoard().getPieceAtLocation(new Location(0, 7)).hasMoved() &&
-                game.getBoard().getPieceAtLocation(new Location(1, 7)) == null && //knight
-                game.getBoard().getPieceAtLocation(new Location(2, 7)) == null && //bishop
-                game.getBoard().getPieceAtLocation(new Location(3, 7)) == null //queen
+                game.getBoard().getPieceAtLocation(Location.of(0, 7)) != null &&
+                !game.getBoard().getPieceAtLocation(Location.of(0, 7)).hasMoved() &&
+                game.getBoard().getPieceAtLocation(Location.of(1, 7)) == null && //knight
+                game.getBoard().getPieceAtLocation(Location.of(2, 7)) == null && //bishop
+                game.getBoard().getPieceAtLocation(Location.of(3, 7)) == null //queen
         ) || (
                 piece.color == PieceColor.Black &&
                 piece instanceof King &&
                 !piece.hasMoved &&
-                game.getBoard().getPieceAtLocation(new Location(0, 0)) != null &&
-                !game.getBoard().getPieceAtLocation(new Location(0, 0)).hasMoved() &&
-                game.getBoard().getPieceAtLocation(new Location(1, 0)) == null && //knight
-                game.getBoard().getPieceAtLocation(new Location(2, 0)) == null && //bishop
-                game.getBoard().getPieceAtLocation(new Location(3, 0)) == null //queen
+                game.getBoard().getPieceAtLocation(Location.of(0, 0)) != null &&
+                !game.getBoard().getPieceAtLocation(Location.of(0, 0)).hasMoved() &&
+                game.getBoard().getPieceAtLocation(Location.of(1, 0)) == null && //knight
+                game.getBoard().getPieceAtLocation(Location.of(2, 0)) == null && //bishop
+                game.getBoard().getPieceAtLocation(Location.of(3, 0)) == null //queen
                 );
     }
 
@@ -96,21 +94,20 @@ public class King extends ChessPiece{
     public ArrayList<Move> potentialMoves(ChessGame game) {
         ArrayList<Move> potentialMoves = new ArrayList<>();
 
-
         if (color == PieceColor.White && canCastleQueenSide(this, game)) {
-            potentialMoves.add(new Move(this, new Location(2, 7)));
+            potentialMoves.add(new Move(this, Location.of(2, 7)));
         }
 
         if (color == PieceColor.White && canCastleKingSide(this, game)) {
-            potentialMoves.add(new Move(this, new Location(6, 7)));
+            potentialMoves.add(new Move(this, Location.of(6, 7)));
         }
 
         if (color == PieceColor.Black && canCastleQueenSide(this, game)) {
-            potentialMoves.add(new Move(this, new Location(2, 0)));
+            potentialMoves.add(new Move(this, Location.of(2, 0)));
         }
 
         if (color == PieceColor.Black && canCastleKingSide(this, game)) {
-            potentialMoves.add(new Move(this, new Location(6, 0)));
+            potentialMoves.add(new Move(this, Location.of(6, 0)));
         }
 
         ArrayList<Move> standardMoves = super.potentialMoves(game);
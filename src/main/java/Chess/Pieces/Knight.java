@@ -12,6 +12,12 @@ import java.util.ArrayList;
  */
 
 public class Knight extends ChessPiece{
+    private static final Location[] MOVE_MODIFIERS = {
+            Location.of(2, 1), Location.of(1, 2),
+            Location.of(2, -1), Location.of(-1, 2),
+            Location.of(-2, 1), Location.of(1, -2),
+            Location.of(-2, -1), Location.of(-1, -2)
+    };
 
     public static final String LETTER = "N";
 
@@ -24,14 +30,8 @@ public class Knight extends ChessPiece{
     }
 
     @Override
-    public void setImage() {
-        setImage(color, LETTER);
-    }
-
-    @Override
-    public double value(ChessGame game) {
-        double threatening = game.getPiecesPieceThreatenes(this).size() * 0.50;
-        return 3 + favorCenter() + threatening;
+    public double materialValue() {
+        return 3;
     }
 
     @Override
@@ -41,14 +41,7 @@ public class Knight extends ChessPiece{
 
     @Override
     public Location[] moveModifiers() {
-        return new Location[]{	new Location(2, 1),
-                new Location(1, 2),
-                new Location(2, -1),
-                new Location(-1, 2),
-                new Location(-2, 1),
-                new Location(1, -2),
-                new Location(-2, -1),
-                new Location(-1, -2)};
+        return MOVE_MODIFIERS;
     }
 
     @Override
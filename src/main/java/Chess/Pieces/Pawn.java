@@ -30,55 +30,8 @@ public class Pawn extends ChessPiece {
     }
 
     @Override
-    public void setImage() {
-        setImage(color, LETTER);
-    }
-
-    @Override
-    public double value(ChessGame game) {
-        double addedValue = location.y;
-        if (color == PieceColor.White) {
-            addedValue = -addedValue;
-        }
-        if (addedValue < 3) {
-            addedValue = 0;
-        }
-        if (addedValue == 3) {
-            addedValue = 0.5;
-        }
-        if (addedValue == 4) {
-            addedValue = 1;
-        }
-        if (addedValue == 5) {
-            addedValue = 2;
-        }
-        if (addedValue == 6) {
-            addedValue = 3;
-        }
-
-        double connectedPawns = 0;
-        ChessPiece p1 = game.getBoard().getPieceAtLocation(new Location(location.x + 1, location.y + 1));
-        ChessPiece p2 = game.getBoard().getPieceAtLocation(new Location(location.x - 1, location.y + 1));
-        ChessPiece p3 = game.getBoard().getPieceAtLocation(new Location(location.x + 1, location.y - 1));
-        ChessPiece p4 = game.getBoard().getPieceAtLocation(new Location(location.x - 1, location.y - 1));
-        if (p1 != null && p1.getColor() == color) {
-            connectedPawns++;
-        }
-        if (p2 != null && p2.getColor() == color) {
-            connectedPawns++;
-        }
-        if (p3 != null && p3.getColor() == color) {
-            connectedPawns++;
-        }
-        if (p4 != null && p4.getColor() == color) {
-            connectedPawns++;
-        }
-
-        connectedPawns *= 0.5;
-
-        double threatening = game.getPiecesPieceThreatenes(this).size() * 0.90;
-
-        return 1 + addedValue + connectedPawns + threatening;
+    public double materialValue() {
+        return 1;
     }
 
     @Override
@@ -100,9 +53,9 @@ public class Pawn extends ChessPiece {
 
         //one space move forward
         if (color == PieceColor.White) {
-            moveTo = new Location(location.x, location.y - 1);
+            moveTo = Location.of(location.x, location.y - 1);
         } else {
-            moveTo = new Location(location.x, location.y + 1);
+            moveTo = Location.of(location.x, location.y + 1);
         }
         ChessPiece moveToPiece = board.getPieceAtLocation(moveTo);
         if (moveToPiece == null) {
@@ -113,9 +66,9 @@ public class Pawn extends ChessPiece {
         if ((color == PieceColor.White && location.y == 6) ||
                 (color == PieceColor.Black && location.y == 1)) {
             if (color == PieceColor.White) {
-                moveTo = new Location(location.x, location.y - 2);
+                moveTo = Location.of(location.x, location.y - 2);
             } else {
-                moveTo = new Location(location.x, location.y + 2);
+                moveTo = Location.of(location.x, location.y + 2);
             }
             if (board.getPieceAtLocation(moveTo) == null && potentialMoves.size() == 1) {
                 potentialMoves.add(new Move(this, moveTo));
@@ -124,10 +77,10 @@ public class Pawn extends ChessPiece {
 
         //capture to right
         if (color == PieceColor.White) {
-            moveTo = new Location(location.x + 1, location.y - 1);
+            moveTo = Location.of(location.x + 1, location.y - 1);
 
         } else {
-            moveTo = new Location(location.x - 1, location.y + 1);
+            moveTo = Location.of(location.x - 1, location.y + 1);
         }
         moveToPiece = board.getPieceAtLocation(moveTo);
         if (moveToPiece != null && moveToPiece.color == this.opponent()) {
@@ -136,9 +89,9 @@ public class Pawn extends ChessPiece {
 
         //capture to left
         if (color == PieceColor.White) {
-            moveTo = new Location(location.x - 1, location.y - 1);
+            moveTo = Location.of(location.x - 1, location.y - 1);
         } else {
-            moveTo = new Location(location.x + 1, location.y + 1);
+            moveTo = Location.of(location.x + 1, location.y + 1);
         }
         moveToPiece = board.getPieceAtLocation(moveTo);
         if (moveToPiece != null && moveToPiece.color == this.opponent()) {
@@ -152,7 +105,7 @@ public class Pawn extends ChessPiece {
                     !previousMove.getPiece().hasMoved() &&
                     Math.abs(previousMove.getPiece().getLocation().y - previousMove.getTo().y) == 2 &&
                     getLocation().y == 3) {
-                potentialMoves.add(new Move(this, new Location(previousMove.getTo().x, location.y - 1)));
+                potentialMoves.add(new Move(this, Location.of(previousMove.getTo().x, location.y - 1)));
             }
         }
 
@@ -163,7 +116,7 @@ public class Pawn extends ChessPiece {
                     !previousMove.getPiece().hasMoved() &&
                     Math.abs(previousMove.getPiece().getLocation().y - previousMove.getTo().y) == 2 &&
                     getLocation().y == 4) {
-                potentialMoves.add(new Move(this, new Location(previousMove.getTo().x, location.y + 1)));
+                potentialMoves.add(new Move(this, Location.of(previousMove.getTo().x, location.y + 1)));
             }
         }
 
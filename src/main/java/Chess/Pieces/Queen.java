@@ -10,6 +10,12 @@ import java.util.ArrayList;
  * The Queen is a piece that can move in any of the 8 directions indefinitely until it hits its own piece, captures, or hits the edge of the board.
  */
 public class Queen extends ChessPiece{
+	private static final Location[] MOVE_MODIFIERS = {
+			Location.of(1, 0), Location.of(0, 1),
+			Location.of(-1, 0), Location.of(0, -1),
+			Location.of(1, 1), Location.of(1, -1),
+			Location.of(-1, 1), Location.of(-1, -1)
+	};
 
 	public static final String LETTER = "Q";
 
@@ -22,14 +28,8 @@ public class Queen extends ChessPiece{
 	}
 
 	@Override
-	public void setImage() {
-		setImage(color, LETTER);
-	}
-
-	@Override
-	public double value(ChessGame game) {
-		double threatening = game.getPiecesPieceThreatenes(this).size() * 0.90;
-		return 9 + validMoves(game).size() / 28.0 + threatening;
+	public double materialValue() {
+		return 9;
 	}
 
 	@Override
@@ -39,10 +39,7 @@ public class Queen extends ChessPiece{
 
 	@Override
 	public Location[] moveModifiers() {
-		return new Location[]{	new Location(1, 0), new Location(0, 1),
-				new Location(-1, 0), new Location(0, -1),
-				new Location(1, 1), new Location(1, -1),
-				new Location(-1, 1), new Location(-1, -1)};
+		return MOVE_MODIFIERS;
 	}
 
 	@Override
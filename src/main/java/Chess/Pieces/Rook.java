@@ -14,6 +14,11 @@ import java.util.ArrayList;
  * a King side castle and O-O-O for a Queen side castle.
  */
 public class Rook extends ChessPiece {
+    private static final Location[] MOVE_MODIFIERS = {
+            Location.of(1, 0), Location.of(0, 1),
+            Location.of(-1, 0), Location.of(0, -1)
+    };
+
     public static final String LETTER = "R";
 
     public Rook(PieceColor color, Location location, boolean hasMoved){
@@ -25,13 +30,7 @@ public class Rook extends ChessPiece {
     }
 
     @Override
-    public void setImage() {
-        setImage(color, LETTER);
-    }
-
-    @Override
-    public double value(ChessGame game) {
-        double threatening = game.getPiecesPieceThreatenes(this).size() * 0.90;
+    public double materialValue() {
         return 5;
     }
 
@@ -42,8 +41,7 @@ public class Rook extends ChessPiece {
 
     @Override
     public Location[] moveModifiers() {
-        return new Location[]{	new Location(1, 0), new Location(0, 1),
-                new Location(-1, 0), new Location(0, -1)};
+        return MOVE_MODIFIERS;
     }
 
     @Override
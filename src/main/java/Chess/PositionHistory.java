@@ -0,0 +1,99 @@
+package Chess;
+
+/**
+ * The positions a game has passed through, newest first, as a stack of Zobrist keys with the halfmove clock: the
+ * number of moves since the last capture or pawn move.
+ *
+ * A position can only repeat one played since the clock was last reset, with the same player to move, so pushing a
+ * position only looks back every second entry within the clock and stops at the first match, whose count it carries
+ * on.  That makes the threefold repetition and fifty move checks constant time, and as entries never change, cloning
+ * or snapshotting a game shares its history instead of copying it.
+ */
+public final class PositionHistory {
+
+    /**
+     * Halfmoves without a capture or pawn move after which a game is drawn
+     */
+    public static final int FIFTY_MOVES = 100;
+
+    private final long key;
+    private final int halfmoveClock;
+    private final int repetitions;
+    private final PositionHistory previous;
+
+    private PositionHistory(long key, int halfmoveClock, int repetitions, PositionHistory previous) {
+        this.key = key;
+        this.halfmoveClock = halfmoveClock;
+        this.repetitions = repetitions;
+        this.previous = previous;
+    }
+
+    /**
+     * @param key the starting position's key, see {@link ChessGame#getPositionKey()}
+     * @return a history holding only the starting position
+     */
+    public static PositionHistory start(long key) {
+        return start(key, 0);
+    }
+
+    /**
+     * @param key the starting position's key
+     * @param halfmoveClock moves since the last capture or pawn move before the starting position, as in a FEN record
+     * @return a history holding only the starting position
+     */
+    public static PositionHistory start(long key, int halfmoveClock) {
+        return new PositionHistory(key, halfmoveClock, 1, null);
+    }
+
+    /**
+     * @param key the position after the move
+     * @param irreversible whether the move was a capture or pawn move, which resets the clock
+     * @return the history with the position added on top, this history is unchanged
+     */
+    public PositionHistory push(long key, boolean irreversible) {
+        if (irreversible) {
+            return new PositionHistory(key, 0, 1, this);
+        }
+        int clock = halfmoveClock + 1;
+        int count = 1;
+        PositionHistory entry = previous;
+        for (int back = 2; back <= clock && entry != null; back += 2) {
+            if (entry.key == key) {
+                count = entry.repetitions + 1;
+                break;
+            }
+            entry = entry.previous == null ? null : entry.previous.previous;
+        }
+        return new PositionHistory(key, clock, count, this);
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    /**
+     * @return how many times the current position has been on the board, counting this time
+     */
+    public int getRepetitions() {
+        return repetitions;
+    }
+
+    /**
+     * @return the history before the last move, or null at the start
+     */
+    public PositionHistory getPrevious() {
+        return previous;
+    }
+
+    public boolean isThreefoldRepetition() {
+        return repetitions >= 3;
+    }
+
+    public boolean isFiftyMoveRule() {
+        return halfmoveClock >= FIFTY_MOVES;
+    }
+}
@@ -0,0 +1,70 @@
+package Chess;
+
+import Chess.Pieces.ChessPiece;
+import Chess.Pieces.ChessPiece.PieceColor;
+import Chess.Pieces.ChessPiece.PieceType;
+
+import java.util.Random;
+
+/**
+ * Random 64 bit keys used to hash chess positions.  A position's key is the xor of the keys of everything in it, so
+ * moving a piece only needs the keys of the tiles it leaves and lands on to update the hash.
+ */
+public class Zobrist {
+
+    public static final long SEED = 0x5EED_C4E5L;
+
+    private static final long[][][] PIECES = new long[PieceColor.values().length][PieceType.values().length][64];
+    private static final long SIDE;
+    private static final long[] CASTLING = new long[16];
+
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+
+    static {
+        Random random = new Random(SEED);
+        for (long[][] colorKeys : PIECES) {
+            for (long[] typeKeys : colorKeys) {
+                for (int square = 0; square < 64; square++) {
+                    typeKeys[square] = random.nextLong();
+                }
+            }
+        }
+        SIDE = random.nextLong();
+        for (int rights = 1; rights < CASTLING.length; rights++) {
+            CASTLING[rights] = random.nextLong();
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * @return the key of a piece on its current tile
+     */
+    public static long pieceKey(ChessPiece piece) {
+        return pieceKey(piece.getColor(), piece.getType(), piece.getLocation().index());
+    }
+
+    public static long pieceKey(PieceColor color, PieceType type, int square) {
+        return PIECES[color.ordinal()][type.ordinal()][square];
+    }
+
+    /**
+     * @return the key xor'ed in when Black is to move
+     */
+    public static long sideKey() {
+        return SIDE;
+    }
+
+    /**
+     * @param rights the castling rights still open, WHITE_KING_SIDE, WHITE_QUEEN_SIDE, BLACK_KING_SIDE and
+     *               BLACK_QUEEN_SIDE or'ed together
+     * @return the key xor'ed in for the rights, 0 when there are none
+     */
+    public static long castlingKey(int rights) {
+        return CASTLING[rights];
+    }
+}
@@ -0,0 +1,308 @@
+package Data;
+
+import Chess.ChessGame;
+import Chess.Move;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the autosave journal on a thread of its own, so the thread playing the game only waits on the disk when a
+ * journal is created or opened.  Callers only put work on a bounded queue; the writer takes everything waiting at once,
+ * applies it to the journal and forces the journal to disk every MoveJournal.SYNC_INTERVAL records, after FLUSH_MILLIS
+ * without forcing it, and when it is closed.  {@link #awaitSynced()} waits until everything queued before it is on
+ * disk, and throws the first failure of anything queued since the last wait, so nothing is taken as saved that was not.
+ *
+ * Only the writer thread touches the journal.  A caller gets held up only when the queue is full, which takes
+ * QUEUE_CAPACITY writes the disk has not kept up with.
+ */
+public class AutoSaveWriter implements Closeable {
+
+    public static final int QUEUE_CAPACITY = 1024;
+    public static final long FLUSH_MILLIS = 500;
+
+    /**
+     * Work for the writer thread, run in the order it was queued
+     */
+    public interface Task {
+        void run() throws IOException;
+    }
+
+    private final File file;
+    private final BlockingQueue<Task> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread thread;
+    private final Task stop = () -> { };
+    private final Thread shutdownHook;
+    private MoveJournal journal;
+
+    /**
+     * The first failure of any work since the last wait, reported to that wait; only the writer thread touches it
+     */
+    private IOException failure;
+
+    /**
+     * Why the last journal could not be created or opened, so the moves that would have gone into it fail too
+     */
+    private IOException unavailable;
+    private long lastSync;
+    private volatile boolean closed;
+
+    /**
+     * Starts the writer thread, which is closed when the program exits if it has not been already
+     * @param file where the journal is kept
+     */
+    public AutoSaveWriter(File file) {
+        this.file = file;
+        thread = new Thread(this::write, "AutoSave writer");
+        thread.setDaemon(true);
+        thread.start();
+        shutdownHook = new Thread(this::close, "AutoSave shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Starts a new journal from the game's current position, closing the one before, and waits for it to be created
+     * @param game copied as it stands
+     * @throws IOException if the journal could not be created, or earlier work failed
+     */
+    public void startJournal(ChessGame game) throws IOException {
+        ChessGame copy = (ChessGame) game.clone();
+        await(() -> {
+            closeJournal();
+            try {
+                journal = MoveJournal.create(file, copy);
+            } catch (IOException e) {
+                unavailable = e;
+                throw e;
+            }
+            unavailable = null;
+        });
+    }
+
+    /**
+     * Carries on with the journal in the file, waiting for it to be opened
+     * @return whether there was a journal to carry on with
+     * @throws IOException if the journal could not be opened, or earlier work failed
+     */
+    public boolean resumeJournal() throws IOException {
+        boolean[] resumed = new boolean[1];
+        await(() -> {
+            closeJournal();
+            try {
+                journal = MoveJournal.open(file);
+            } catch (IOException e) {
+                unavailable = e;
+                throw e;
+            }
+            unavailable = null;
+            resumed[0] = journal != null;
+        });
+        return resumed[0];
+    }
+
+    /**
+     * @param move the move just played, with its piece still standing where it started
+     */
+    public void append(Move move) {
+        int record = MoveJournal.encode(move.getPiece().getLocation().index(), move.getTo().index());
+        submit(() -> {
+            if (journal != null) {
+                journal.append(record);
+            } else if (unavailable != null) {
+                throw new IOException("No journal to autosave the move in", unavailable);
+            }
+        });
+    }
+
+    public void appendUndo() {
+        submit(() -> {
+            if (journal != null) {
+                journal.appendUndo();
+            } else if (unavailable != null) {
+                throw new IOException("No journal to autosave the undo in", unavailable);
+            }
+        });
+    }
+
+    /**
+     * Forces the journal to disk and closes it
+     */
+    public void finishJournal() {
+        submit(() -> {
+            unavailable = null;
+            closeJournal();
+        });
+    }
+
+    /**
+     * Marks the journal as no longer holding a game, closes it and deletes the file
+     */
+    public void discardJournal() {
+        submit(() -> {
+            unavailable = null;
+            if (journal != null) {
+                MoveJournal discarded = journal;
+                journal = null;
+                discarded.discard();
+            }
+            file.delete();
+        });
+    }
+
+    /**
+     * Queues other autosave work to be done in order with the journal's
+     * @param task
+     */
+    public void submit(Task task) {
+        if (closed) {
+            throw new IllegalStateException("The autosave writer is closed");
+        }
+        try {
+            queue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until everything queued so far has been written and the journal is on disk
+     * @throws IOException the first failure of anything queued since the last wait, such as a move that could not be
+     * appended, or if the journal could not be forced to disk
+     */
+    public void awaitSynced() throws IOException {
+        await(this::sync);
+    }
+
+    /**
+     * Writes everything queued, closes the journal and stops the writer thread
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // the program is already exiting and the hook may be running
+            }
+        }
+        try {
+            queue.put(stop);
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues the task and waits for the writer to run it, the latch being counted down even when the task fails
+     * @param task
+     * @throws IOException the first failure of the work queued since the last wait or of the task, which is cleared
+     * once reported
+     */
+    private void await(Task task) throws IOException {
+        CountDownLatch done = new CountDownLatch(1);
+        IOException[] reported = new IOException[1];
+        submit(() -> {
+            try {
+                task.run();
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            } finally {
+                reported[0] = failure;
+                failure = null;
+                done.countDown();
+            }
+        });
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the autosave writer");
+        }
+        if (reported[0] != null) {
+            throw reported[0];
+        }
+    }
+
+    /**
+     * Keeps the failure for the next wait, if it is the first since the last one
+     */
+    private void fail(Exception e) {
+        e.printStackTrace();
+        if (failure == null) {
+            failure = e instanceof IOException ? (IOException) e : new IOException(e);
+        }
+    }
+
+    private void write() {
+        ArrayList<Task> batch = new ArrayList<>();
+        lastSync = System.currentTimeMillis();
+        while (true) {
+            try {
+                Task first = queue.poll(FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch);
+                }
+            } catch (InterruptedException e) {
+                batch.add(stop);
+            }
+            boolean stopping = false;
+            for (Task task : batch) {
+                stopping |= task == stop;
+                try {
+                    task.run();
+                } catch (IOException | RuntimeException e) {
+                    fail(e);
+                }
+            }
+            batch.clear();
+            if (stopping) {
+                closeQuietly();
+                return;
+            }
+            if (journal != null && (journal.getUnsynced() >= MoveJournal.SYNC_INTERVAL ||
+                    journal.getUnsynced() > 0 && System.currentTimeMillis() - lastSync >= FLUSH_MILLIS)) {
+                try {
+                    sync();
+                } catch (RuntimeException e) {
+                    fail(e);
+                }
+            }
+        }
+    }
+
+    private void sync() {
+        if (journal != null) {
+            journal.sync();
+        }
+        lastSync = System.currentTimeMillis();
+    }
+
+    private void closeJournal() throws IOException {
+        if (journal != null) {
+            MoveJournal closing = journal;
+            journal = null;
+            closing.close();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            closeJournal();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,643 @@
+package Data;
+
+import Chess.ChessGame;
+import Chess.Fen;
+import Chess.GameSnapshot;
+import Chess.PositionHistory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * A store of games in a directory that can say which of them reached a position, for an opening explorer or to find
+ * games imported twice.
+ *
+ * Games are imported into segments of three files: the games as compact binary records, the offset of each record,
+ * and an index of every position the games reach, as its Zobrist key with the game and ply, sorted by key.  A record
+ * holds a game's moves a byte each, see {@link MoveIndexCodec}, or as from | to << 6 in two bytes each for the rare
+ * game the codec cannot encode or follows to another position than ChessGame does.  Importing encodes batches of games on all cores, which works out their positions on
+ * the way, and sorts each segment's index by splitting it by the top bits of the key and sorting the parts in
+ * parallel.  A segment is finished once its index holds
+ * SEGMENT_ENTRIES positions, so an import of any size needs a bounded amount of memory.
+ *
+ * Finished segments are memory-mapped and never change, and a lookup is a binary search in each segment's index.  A
+ * segment's index is written last and renamed into place, so a segment an import did not finish is ignored and
+ * cleared the next time the database is opened.
+ *
+ * Usage: GameDatabase directory import pgnFile
+ *        GameDatabase directory find fen
+ */
+public class GameDatabase implements Closeable {
+
+    public static final int MAGIC = 0x43474442;
+    public static final int VERSION = 2;
+    public static final int INDEX_HEADER_SIZE = 16;
+    public static final int ENTRY_SIZE = 16;
+
+    /**
+     * Positions indexed per segment, each taking 16 bytes of heap while it is imported
+     */
+    static final int SEGMENT_ENTRIES = 1 << 22;
+
+    /**
+     * Games replayed in parallel at a time when importing
+     */
+    static final int BATCH = 1024;
+
+    /**
+     * Plies past this are stored but not indexed, the ply has to fit in 16 bits
+     */
+    static final int MAX_INDEXED_PLY = 0xFFFF;
+
+    private static final String GAMES = ".games";
+    private static final String OFFSETS = ".offsets";
+    private static final String INDEX = ".index";
+    private static final String[] RESULTS = {null, "1-0", "0-1", "1/2-1/2", "*"};
+    private static final int FROM_TO = 0;
+    private static final int MOVE_INDEX = 1;
+
+    private final File directory;
+    private final ArrayList<Segment> segments = new ArrayList<>();
+    private int games;
+
+    private GameDatabase(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens the database in a directory, creating it if need be
+     * @param directory
+     * @return the database
+     * @throws IOException
+     */
+    public static GameDatabase open(File directory) throws IOException {
+        Files.createDirectories(directory.toPath());
+        GameDatabase database = new GameDatabase(directory);
+        for (int number = 0; file(directory, number, INDEX).exists(); number++) {
+            Segment segment = Segment.open(directory, number, database.games);
+            database.segments.add(segment);
+            database.games += segment.games;
+        }
+        int unfinished = database.segments.size();
+        Files.deleteIfExists(file(directory, unfinished, GAMES).toPath());
+        Files.deleteIfExists(file(directory, unfinished, OFFSETS).toPath());
+        Files.deleteIfExists(file(directory, unfinished, INDEX + ".tmp").toPath());
+        return database;
+    }
+
+    private static File file(File directory, int segment, String suffix) {
+        return new File(directory, String.format("segment-%05d%s", segment, suffix));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || !(args[1].equals("import") || args[1].equals("find"))) {
+            System.out.println("Usage: GameDatabase directory import pgnFile");
+            System.out.println("       GameDatabase directory find fen");
+            return;
+        }
+        try (GameDatabase database = open(new File(args[0]))) {
+            if (args[1].equals("import")) {
+                try (PgnReader reader = PgnReader.open(new File(args[2]))) {
+                    int imported = database.importGames(reader);
+                    System.out.printf("Imported %d games in %.1f s, %.0f games/s, %d in the database%n", imported,
+                            reader.getSeconds(), imported / reader.getSeconds(), database.getGameCount());
+                }
+            } else {
+                String fen = String.join(" ", Arrays.asList(args).subList(2, args.length));
+                long start = System.nanoTime();
+                int[] found = database.findGames(ChessGame.fromFen(fen).getPositionKey());
+                System.out.printf("%d games in %.2f ms%n", found.length, (System.nanoTime() - start) / 1e6);
+                for (int i = 0; i < found.length && i < 20; i++) {
+                    System.out.println(found[i] + ": " + database.getGame(found[i]));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds games to the database, games whose moves stop short with the moves they have
+     * @param source
+     * @return how many games were imported
+     * @throws IOException
+     */
+    public int importGames(Iterator<PgnGame> source) throws IOException {
+        int imported = 0;
+        SegmentWriter writer = null;
+        PgnGame[] batch = new PgnGame[BATCH];
+        try {
+            while (source.hasNext()) {
+                int size = 0;
+                while (size < BATCH && source.hasNext()) {
+                    batch[size++] = source.next();
+                }
+                Encoded[] encoded = IntStream.range(0, size).parallel()
+                        .mapToObj(i -> new Encoded(batch[i]))
+                        .toArray(Encoded[]::new);
+                for (int i = 0; i < size; i++) {
+                    if (writer == null) {
+                        writer = new SegmentWriter(directory, segments.size(), games);
+                    }
+                    writer.add(batch[i], encoded[i]);
+                    imported++;
+                    if (writer.entries >= SEGMENT_ENTRIES) {
+                        finish(writer);
+                        writer = null;
+                    }
+                }
+                Arrays.fill(batch, null);
+            }
+            if (writer != null) {
+                finish(writer);
+                writer = null;
+            }
+        } finally {
+            if (writer != null) {
+                writer.abandon();
+            }
+        }
+        return imported;
+    }
+
+    private void finish(SegmentWriter writer) throws IOException {
+        writer.finish();
+        Segment segment = Segment.open(directory, writer.number, games);
+        segments.add(segment);
+        games += segment.games;
+    }
+
+    /**
+     * @return the number of games in the database; games are numbered from 0 in the order they were imported
+     */
+    public int getGameCount() {
+        return games;
+    }
+
+    /**
+     * @param id
+     * @return the game as it was imported
+     */
+    public PgnGame getGame(int id) {
+        for (Segment segment : segments) {
+            if (id >= segment.firstGame && id < segment.firstGame + segment.games) {
+                return segment.read(id - segment.firstGame);
+            }
+        }
+        throw new IllegalArgumentException("No game " + id + " in " + directory);
+    }
+
+    /**
+     * @param positionKey see {@link ChessGame#getPositionKey()}
+     * @return every time a game reached the position, by game and then ply
+     */
+    public List<Occurrence> find(long positionKey) {
+        ArrayList<Occurrence> found = new ArrayList<>();
+        for (Segment segment : segments) {
+            for (int entry = segment.lowerBound(positionKey);
+                 entry < segment.entries && segment.key(entry) == positionKey; entry++) {
+                long ref = segment.ref(entry);
+                found.add(new Occurrence((int) (ref >>> 16), (int) (ref & 0xFFFF)));
+            }
+        }
+        return found;
+    }
+
+    public List<Occurrence> find(ChessGame game) {
+        return find(game.getPositionKey());
+    }
+
+    /**
+     * @param positionKey
+     * @return the games that reached the position, each once and in order
+     */
+    public int[] findGames(long positionKey) {
+        List<Occurrence> found = find(positionKey);
+        int[] ids = new int[found.size()];
+        int size = 0;
+        for (Occurrence occurrence : found) {
+            if (size == 0 || ids[size - 1] != occurrence.gameId) {
+                ids[size++] = occurrence.gameId;
+            }
+        }
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Looks for a stored game with the same start and moves, through the games that reached its last position at the
+     * same ply
+     * @param game
+     * @return the first such game, or -1 if there is none
+     */
+    public int findDuplicate(PgnGame game) {
+        long[] keys = game.getPositionKeys();
+        int plies = game.getPlies();
+        for (Occurrence occurrence : find(keys[plies])) {
+            if (occurrence.ply != plies || plies > MAX_INDEXED_PLY) {
+                continue;
+            }
+            PgnGame stored = getGame(occurrence.gameId);
+            if (stored.getPlies() == plies && Arrays.equals(stored.moves(), game.moves()) &&
+                    Fen.write(stored.getStart()).equals(Fen.write(game.getStart()))) {
+                return occurrence.gameId;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finished segments hold nothing but mappings, which are let go of with the database
+     */
+    @Override
+    public void close() {
+        segments.clear();
+    }
+
+    /**
+     * A game's moves a byte each, or null if the codec cannot encode them, and the keys of its positions
+     */
+    private static final class Encoded {
+
+        private final byte[] moves;
+        private final long[] keys;
+
+        Encoded(PgnGame game) {
+            long[] positionKeys = new long[game.getPlies() + 1];
+            byte[] encoded;
+            try {
+                encoded = MoveIndexCodec.forCurrentThread().encode(game.getStart(), game.moves(), game.getPlies(),
+                        positionKeys);
+                PositionHistory end = game.getEnd() == null ? null : game.getEnd().getHistory();
+                if (end != null && end.getKey() != positionKeys[game.getPlies()]) {
+                    // ChessGame took the moves somewhere the search's rules do not lead
+                    throw new IllegalArgumentException("The encoded moves end in another position");
+                }
+            } catch (IllegalArgumentException e) {
+                encoded = null;
+                positionKeys = game.getPositionKeys();
+            }
+            moves = encoded;
+            keys = positionKeys;
+        }
+    }
+
+    /**
+     * A game reaching a position
+     */
+    public static final class Occurrence {
+
+        private final int gameId;
+        private final int ply;
+
+        Occurrence(int gameId, int ply) {
+            this.gameId = gameId;
+            this.ply = ply;
+        }
+
+        public int getGameId() {
+            return gameId;
+        }
+
+        /**
+         * @return moves played in the game before the position, 0 for its start
+         */
+        public int getPly() {
+            return ply;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Occurrence that = (Occurrence) o;
+            return gameId == that.gameId && ply == that.ply;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * gameId + ply;
+        }
+
+        @Override
+        public String toString() {
+            return "game " + gameId + " ply " + ply;
+        }
+    }
+
+    /**
+     * A finished segment, with its three files mapped
+     */
+    private static final class Segment {
+
+        private final int firstGame;
+        private final int games;
+        private final int entries;
+        private final MappedByteBuffer records;
+        private final MappedByteBuffer offsets;
+        private final MappedByteBuffer index;
+
+        private Segment(int firstGame, MappedByteBuffer records, MappedByteBuffer offsets, MappedByteBuffer index) {
+            this.firstGame = firstGame;
+            this.records = records;
+            this.offsets = offsets;
+            this.index = index;
+            games = offsets.capacity() / 8;
+            entries = (int) index.getLong(8);
+        }
+
+        static Segment open(File directory, int number, int firstGame) throws IOException {
+            MappedByteBuffer index = map(file(directory, number, INDEX));
+            if (index.capacity() < INDEX_HEADER_SIZE || index.getInt(0) != MAGIC || index.getInt(4) != VERSION ||
+                    index.capacity() != INDEX_HEADER_SIZE + index.getLong(8) * ENTRY_SIZE) {
+                throw new IOException("Damaged index " + file(directory, number, INDEX));
+            }
+            return new Segment(firstGame, map(file(directory, number, GAMES)), map(file(directory, number, OFFSETS)),
+                    index);
+        }
+
+        private static MappedByteBuffer map(File file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+
+        long key(int entry) {
+            return index.getLong(INDEX_HEADER_SIZE + entry * ENTRY_SIZE);
+        }
+
+        long ref(int entry) {
+            return index.getLong(INDEX_HEADER_SIZE + entry * ENTRY_SIZE + 8);
+        }
+
+        /**
+         * @return the first entry whose key is not below the key
+         */
+        int lowerBound(long key) {
+            int low = 0;
+            int high = entries;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (key(middle) < key) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        PgnGame read(int game) {
+            ByteBuffer record = records.duplicate();
+            record.position((int) offsets.getLong(game * 8));
+            String fen = readUtf(record);
+            GameSnapshot start = Fen.parse(fen.isEmpty() ? Fen.START : fen);
+            String result = RESULTS[record.get()];
+            int tagCount = record.getShort() & 0xFFFF;
+            LinkedHashMap<String, String> tags = new LinkedHashMap<>();
+            for (int i = 0; i < tagCount; i++) {
+                String name = readUtf(record);
+                tags.put(name, readUtf(record));
+            }
+            int plies = record.getInt();
+            int[] moves;
+            if (record.get() == MOVE_INDEX) {
+                byte[] encoded = new byte[plies];
+                record.get(encoded);
+                moves = MoveIndexCodec.forCurrentThread().decode(start, encoded, 0, plies);
+            } else {
+                moves = new int[plies];
+                for (int ply = 0; ply < plies; ply++) {
+                    moves[ply] = record.getShort() & 0xFFFF;
+                }
+            }
+            return new PgnGame(tags, start, PgnGame.replay(start, moves), moves, result, null);
+        }
+
+        /**
+         * Reads a string as DataOutputStream.writeUTF wrote it, which is plain UTF-8 for anything but NUL and
+         * characters outside the basic plane
+         */
+        private static String readUtf(ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * A segment being imported: records go straight to its games file, positions are kept to be sorted at the end
+     */
+    private static final class SegmentWriter {
+
+        private final File directory;
+        private final int number;
+        private final int firstGame;
+        private final DataOutputStream out;
+        private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(1024);
+        private final DataOutputStream record = new DataOutputStream(recordBytes);
+        private long offset;
+        private long[] offsets = new long[1024];
+        private int count;
+        private long[] keys = new long[1 << 16];
+        private long[] refs = new long[1 << 16];
+        private int entries;
+
+        SegmentWriter(File directory, int number, int firstGame) throws IOException {
+            this.directory = directory;
+            this.number = number;
+            this.firstGame = firstGame;
+            out = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(file(directory, number, GAMES)), 1 << 16));
+        }
+
+        void add(PgnGame game, Encoded encoded) throws IOException {
+            recordBytes.reset();
+            String fen = Fen.write(game.getStart());
+            record.writeUTF(fen.equals(Fen.START) ? "" : fen);
+            record.writeByte(Arrays.asList(RESULTS).indexOf(game.getResult()));
+            record.writeShort(game.getTags().size());
+            for (Map.Entry<String, String> tag : game.getTags().entrySet()) {
+                record.writeUTF(tag.getKey());
+                record.writeUTF(tag.getValue());
+            }
+            record.writeInt(game.getPlies());
+            if (encoded.moves != null) {
+                record.writeByte(MOVE_INDEX);
+                record.write(encoded.moves);
+            } else {
+                record.writeByte(FROM_TO);
+                for (int ply = 0; ply < game.getPlies(); ply++) {
+                    record.writeShort(game.getMove(ply));
+                }
+            }
+            recordBytes.writeTo(out);
+
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count] = offset;
+            offset += recordBytes.size();
+
+            long[] positionKeys = encoded.keys;
+            int indexed = Math.min(positionKeys.length, MAX_INDEXED_PLY + 1);
+            if (entries + indexed > keys.length) {
+                int capacity = Math.max(keys.length * 2, entries + indexed);
+                keys = Arrays.copyOf(keys, capacity);
+                refs = Arrays.copyOf(refs, capacity);
+            }
+            for (int ply = 0; ply < indexed; ply++) {
+                keys[entries] = positionKeys[ply];
+                refs[entries] = (long) (firstGame + count) << 16 | ply;
+                entries++;
+            }
+            count++;
+        }
+
+        void finish() throws IOException {
+            out.close();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+            try (FileChannel channel = FileChannel.open(file(directory, number, OFFSETS).toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (int game = 0; game < count; game++) {
+                    if (!buffer.hasRemaining()) {
+                        drain(channel, buffer);
+                    }
+                    buffer.putLong(offsets[game]);
+                }
+                drain(channel, buffer);
+                channel.force(false);
+            }
+
+            long[][] sorted = sort(keys, refs, entries);
+            File temporary = file(directory, number, INDEX + ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                buffer.putInt(MAGIC).putInt(VERSION).putLong(entries);
+                for (int entry = 0; entry < entries; entry++) {
+                    if (buffer.remaining() < ENTRY_SIZE) {
+                        drain(channel, buffer);
+                    }
+                    buffer.putLong(sorted[0][entry]).putLong(sorted[1][entry]);
+                }
+                drain(channel, buffer);
+                channel.force(false);
+            }
+            Files.move(temporary.toPath(), file(directory, number, INDEX).toPath(), StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        void abandon() throws IOException {
+            out.close();
+            Files.deleteIfExists(file(directory, number, GAMES).toPath());
+            Files.deleteIfExists(file(directory, number, OFFSETS).toPath());
+            Files.deleteIfExists(file(directory, number, INDEX + ".tmp").toPath());
+        }
+    }
+
+    /**
+     * Sorts the entries by key, and by game and ply for the same key.  Zobrist keys are spread evenly, so the entries
+     * are first split into 256 runs by the top eight bits of the key, which are then sorted in parallel.
+     * @return the sorted keys and refs
+     */
+    static long[][] sort(long[] keys, long[] refs, int size) {
+        int[] starts = new int[257];
+        for (int i = 0; i < size; i++) {
+            starts[bucket(keys[i]) + 1]++;
+        }
+        for (int bucket = 0; bucket < 256; bucket++) {
+            starts[bucket + 1] += starts[bucket];
+        }
+        long[] sortedKeys = new long[size];
+        long[] sortedRefs = new long[size];
+        int[] next = Arrays.copyOf(starts, 256);
+        for (int i = 0; i < size; i++) {
+            int to = next[bucket(keys[i])]++;
+            sortedKeys[to] = keys[i];
+            sortedRefs[to] = refs[i];
+        }
+        IntStream.range(0, 256).parallel()
+                .forEach(bucket -> sort(sortedKeys, sortedRefs, starts[bucket], starts[bucket + 1]));
+        return new long[][]{sortedKeys, sortedRefs};
+    }
+
+    /**
+     * @return the top eight bits of the key, in the same order as signed keys
+     */
+    private static int bucket(long key) {
+        return (int) (key >> 56) + 128;
+    }
+
+    /**
+     * Quicksort of the entries from from to just before to, finishing small runs with an insertion sort
+     */
+    private static void sort(long[] keys, long[] refs, int from, int to) {
+        while (to - from > 16) {
+            int middle = (from + to) >>> 1;
+            long pivotKey = keys[middle];
+            long pivotRef = refs[middle];
+            int i = from;
+            int j = to - 1;
+            while (i <= j) {
+                while (less(keys[i], refs[i], pivotKey, pivotRef)) {
+                    i++;
+                }
+                while (less(pivotKey, pivotRef, keys[j], refs[j])) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(keys, refs, i++, j--);
+                }
+            }
+            // recurse into the smaller side, loop on the larger
+            if (j + 1 - from < to - i) {
+                sort(keys, refs, from, j + 1);
+                from = i;
+            } else {
+                sort(keys, refs, i, to);
+                to = j + 1;
+            }
+        }
+        for (int i = from + 1; i < to; i++) {
+            for (int j = i; j > from && less(keys[j], refs[j], keys[j - 1], refs[j - 1]); j--) {
+                swap(keys, refs, j, j - 1);
+            }
+        }
+    }
+
+    private static boolean less(long key, long ref, long otherKey, long otherRef) {
+        return key < otherKey || (key == otherKey && ref < otherRef);
+    }
+
+    private static void swap(long[] keys, long[] refs, int i, int j) {
+        long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        long ref = refs[i];
+        refs[i] = refs[j];
+        refs[j] = ref;
+    }
+}
@@ -1,12 +1,12 @@
 package Data;
 
-import Chess.ChessBoard;
+import Chess.BoardText;
 import Chess.ChessGame;
-import Chess.Location;
-import Chess.Pieces.*;
 
-import java.io.*;
-import java.util.ArrayList;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 
 import static Data.FileConstants.FILE_LOCATOR;
 
@@ -16,105 +16,46 @@ import static Data.FileConstants.FILE_LOCATOR;
  */
 public class Load {
     public static final FileLocator FILE_LOCATOR = new FileLocator();
-    public static final String WHITE_PIECE_REGEX = "[a-z]";
-    public static final String PIECE_MOVED_REGEX = "[1]";
 
+    /**
+     * Picks up the game in progress from the autosave journal and carries on journaling it
+     * @return the game, or null if there is no game in progress
+     */
+    public static ChessGame loadAutoSave() {
+        MoveJournal.Contents contents = Save.readJournal();
+        if (contents == null || !Save.resumeJournal()) {
+            return null;
+        }
+        return contents.toGame();
+    }
 
+    /**
+     * Reads the last complete board in a save file.  A board is only taken once its two player line has been read, so
+     * a block cut short by a crash while writing is ignored and the board before it is loaded instead.
+     * @param fileStr
+     * @param game
+     * @return a new game from the last complete board in the file
+     */
     public static ChessGame Load(String fileStr, ChessGame game) {
         File loadFile = new File(FILE_LOCATOR.toString() +"/resources/main/" + fileStr + ".txt");
-        ArrayList<ChessPiece> pieces = new ArrayList<>();
-        BufferedReader input = null;
-        ChessPiece.PieceColor currentPlayer = ChessPiece.PieceColor.White;
-        boolean isTwoPlayer = true;
-
+        BoardText.Decoder decoder = null;
         try {
-            /* FileInputStream to read streams */
-            input = new BufferedReader(new FileReader(loadFile));
-            String line;
-            String[] lineArray;
-            int y = 0;
-            while ((line = input.readLine()) != null) {
-                if(y == 0) {
-                    pieces = new ArrayList<>();
-                }
-
-                if(y == 8) {
-                    if(line.equals(ChessPiece.PieceColor.White.name())){
-                        currentPlayer = ChessPiece.PieceColor.White;
-                    } else {
-                        currentPlayer = ChessPiece.PieceColor.Black;
-                    }
-                } else if(y == 9) {
-                    isTwoPlayer = Boolean.valueOf(line);
-                } else if(y == 10) {
-                    //blank on purpose
-                } else {
-                    lineArray = line.split("\\]");
-                    int x = 0;
-                    for (String tile : lineArray) {
-                        Location location = new Location(x, y);
-
-                        ChessPiece.PieceColor color = ChessPiece.PieceColor.Black;
-                        if(tile.substring(1, 2).matches(WHITE_PIECE_REGEX)) {
-                            color = ChessPiece.PieceColor.White;
-                        }
-
-                        boolean hasMoved = false;
-                        if(tile.substring(2, 3).matches(PIECE_MOVED_REGEX)) {
-                            hasMoved = true;
-                        }
-
-                        String letter = tile.substring(1, 2).toUpperCase();
-
-                        ChessPiece piece = null;
-                        switch (letter) {
-                            case Pawn.LETTER:
-                                piece = new Pawn(color, location);
-                                break;
-                            case Knight.LETTER:
-                                piece = new Knight(color, location);
-                                break;
-                            case Bishop.LETTER:
-                                piece = new Bishop(color, location);
-                                break;
-                            case Queen.LETTER:
-                                piece = new Queen(color, location);
-                                break;
-                            case King.LETTER:
-                                piece = new King(color, location);
-                                break;
-                            case Rook.LETTER:
-                                piece = new Rook(color, location);
-                                break;
-                        }
-                        if (piece != null) {
-                            piece.setHasMoved(hasMoved);
-                            pieces.add(piece);
-                        }
-                        x++;
-                    }
-                }
-                y = (y + 1) % 11;
+            decoder = new BoardText.Decoder(ByteBuffer.wrap(Files.readAllBytes(loadFile.toPath())));
+            while (decoder.next()) {
+                //keep going to the last complete board
             }
         } catch (IOException e) {
             e.printStackTrace();
         } finally {
-            if (input != null) {
-                try {
-                    input.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-            }
             try {
                 Save.save(fileStr, "AutoSave");
             } catch (IOException e) {
                 e.printStackTrace();
             }
         }
-        ChessBoard chessBoard = new ChessBoard(pieces);
-        game = new ChessGame(chessBoard, isTwoPlayer);
-        game.setCurrentPlayer(currentPlayer);
-        return game;
+        if (decoder == null) {
+            decoder = new BoardText.Decoder("");
+        }
+        return decoder.toGame();
     }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package Data;
+
+import Chess.AI.AlphaBetaSearcher;
+import Chess.AI.SearchBoard;
+import Chess.ChessBoard;
+import Chess.ChessGame;
+import Chess.GameSnapshot;
+
+/**
+ * Stores a game's moves in a byte each: the move's place in the list of legal moves of its position, in the fixed
+ * order of {@link SearchBoard#generateLegal(int[])}.  No position has more than 218 legal moves, so one byte is
+ * always enough, against two for a move as from | to << 6 and hundreds for a board per move.  Decoding replays the
+ * game on a SearchBoard, which works out the legal moves of a position without allocating anything.
+ *
+ * A codec keeps its board and move list between games, so each thread uses its own, see {@link #forCurrentThread()}.
+ * The moves must be legal under the rules the search plays by, see SearchBoard.
+ */
+public class MoveIndexCodec {
+
+    private static final ThreadLocal<MoveIndexCodec> CODECS = ThreadLocal.withInitial(MoveIndexCodec::new);
+
+    private final SearchBoard board = new SearchBoard();
+    private final int[] list = new int[AlphaBetaSearcher.MAX_MOVES];
+
+    /**
+     * @return the codec belonging to the calling thread
+     */
+    public static MoveIndexCodec forCurrentThread() {
+        return CODECS.get();
+    }
+
+    /**
+     * @param start the position before the first move
+     * @param moves the moves as from | to << 6
+     * @param plies how many of the moves to encode
+     * @param keys if not null, gets the position key before the first move and after each move, see
+     *             {@link ChessGame#getPositionKey()}
+     * @return a byte per move
+     * @throws IllegalArgumentException if a move is not legal in its position
+     */
+    public byte[] encode(GameSnapshot start, int[] moves, int plies, long[] keys) {
+        load(start);
+        byte[] encoded = new byte[plies];
+        if (keys != null) {
+            keys[0] = board.getKey();
+        }
+        for (int ply = 0; ply < plies; ply++) {
+            int count = board.generateLegal(list);
+            int index = 0;
+            while (index < count && (list[index] & 0xFFF) != moves[ply]) {
+                index++;
+            }
+            if (index == count) {
+                throw new IllegalArgumentException("Move " + moves[ply] + " at ply " + ply + " is not legal");
+            }
+            encoded[ply] = (byte) index;
+            board.play(list[index]);
+            if (keys != null) {
+                keys[ply + 1] = board.getKey();
+            }
+        }
+        return encoded;
+    }
+
+    /**
+     * @param start the position before the first move
+     * @param encoded
+     * @param offset where the first move's byte is
+     * @param plies how many moves to decode
+     * @return the moves as from | to << 6
+     * @throws IllegalArgumentException if a byte is past the end of its position's move list
+     */
+    public int[] decode(GameSnapshot start, byte[] encoded, int offset, int plies) {
+        load(start);
+        int[] moves = new int[plies];
+        for (int ply = 0; ply < plies; ply++) {
+            int count = board.generateLegal(list);
+            int index = encoded[offset + ply] & 0xFF;
+            if (index >= count) {
+                throw new IllegalArgumentException("Move index " + index + " at ply " + ply + " of " + count);
+            }
+            moves[ply] = list[index] & 0xFFF;
+            board.play(list[index]);
+        }
+        return moves;
+    }
+
+    private void load(GameSnapshot start) {
+        ChessGame game = new ChessGame(new ChessBoard(start.getBoard()), true);
+        game.restore(start);
+        board.load(game);
+    }
+}
@@ -0,0 +1,388 @@
+package Data;
+
+import Chess.BoardSnapshot;
+import Chess.ChessBoard;
+import Chess.ChessGame;
+import Chess.GameSnapshot;
+import Chess.Location;
+import Chess.Move;
+import Chess.Pieces.ChessPiece.PieceColor;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only binary record of a game, kept only so a game survives the program closing; undo and redo work from
+ * the game's own history and just append here.  The file is a header with the starting position, then one fixed size
+ * record per ply.  A move is stored as the tile it starts from and the tile it goes to, which is all ChessGame needs
+ * to replay it as pawns always promote to a queen, and an undo is stored as a record of its own, so nothing already
+ * written ever changes.
+ *
+ * The file is memory-mapped, so appending a record is a few stores into memory.  Once stored, a record survives the
+ * program dying, as the operating system owns the pages; {@link #sync()} forces them to disk so it also survives the
+ * machine going down, and it is up to the caller how often to pay for that.
+ *
+ * Each record carries its number and a CRC32 of the header's checksum, its number and its move.  Reading stops at the
+ * first record that does not check out, so a record half written when the machine went down, the zeroes past the end
+ * of the journal and records left over from an older journal in the same file are all ignored, and opening a journal
+ * to append to it carries on from the last good record.
+ */
+public class MoveJournal implements Closeable {
+
+    public static final int MAGIC = 0x434A4E4C;
+    public static final int VERSION = 2;
+    public static final int HEADER_SIZE = 4 + 1 + 1 + 1 + 1 + 4 + 64 + 4;
+    public static final int RECORD_SIZE = 8;
+    public static final int SYNC_INTERVAL = 16;
+
+    /**
+     * How many records the mapping grows by when it is full
+     */
+    static final int RECORDS_PER_CHUNK = 4096;
+
+    /**
+     * A move never starts and ends on the same tile, so tile 0 to tile 0 marks an undo
+     */
+    static final int UNDO = 0;
+
+    private final FileChannel channel;
+    private final int headerChecksum;
+    private final CRC32 crc = new CRC32();
+    private MappedByteBuffer map;
+    private int records;
+    private int unsynced;
+
+    private MoveJournal(FileChannel channel, int headerChecksum, int records) throws IOException {
+        this.channel = channel;
+        this.headerChecksum = headerChecksum;
+        this.records = records;
+        map(Math.max(channel.size(), offset(records + RECORDS_PER_CHUNK)));
+    }
+
+    private void map(long size) throws IOException {
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private static long offset(int record) {
+        return HEADER_SIZE + (long) record * RECORD_SIZE;
+    }
+
+    /**
+     * Starts a new journal, replacing whatever the file held
+     * @param file
+     * @param game the position the journal starts from
+     * @return the open journal
+     * @throws IOException
+     */
+    public static MoveJournal create(File file, ChessGame game) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.put((byte) VERSION);
+        header.put((byte) game.getCurrentPlayer().ordinal());
+        header.put((byte) (game.getIsTwoPlayer() ? 1 : 0));
+        header.put((byte) 0);
+        header.putInt(game.getMoveCount());
+        BoardSnapshot board = game.getBoard().snapshot();
+        for (int square = 0; square < 64; square++) {
+            BoardSnapshot.Tile tile = board.tileAt(square);
+            header.put((byte) (tile == null ? 0 : tile.code()));
+        }
+        int checksum = headerChecksum(header);
+        header.putInt(checksum);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(false);
+        return new MoveJournal(channel, checksum, 0);
+    }
+
+    /**
+     * Opens an existing journal to carry on appending to it, after the last record that checks out
+     * @param file
+     * @return the open journal, or null if the file does not hold a journal
+     * @throws IOException
+     */
+    public static MoveJournal open(File file) throws IOException {
+        if (!file.exists() || file.length() < HEADER_SIZE) {
+            return null;
+        }
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        Contents contents = scan(map);
+        if (contents == null) {
+            channel.close();
+            return null;
+        }
+        MoveJournal journal = new MoveJournal(channel, contents.headerChecksum, contents.records);
+        journal.clearFrom(contents.records);
+        return journal;
+    }
+
+    /**
+     * Zeroes everything after the good records, so nothing left behind can be mistaken for a record later
+     */
+    private void clearFrom(int record) {
+        for (int position = (int) offset(record); position < map.capacity(); position++) {
+            map.put(position, (byte) 0);
+        }
+    }
+
+    private static int headerChecksum(ByteBuffer header) {
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < HEADER_SIZE - 4; i++) {
+            crc.update(header.get(i));
+        }
+        return (int) crc.getValue();
+    }
+
+    private static int recordChecksum(CRC32 crc, int headerChecksum, int record, int move) {
+        crc.reset();
+        update(crc, headerChecksum);
+        update(crc, record);
+        update(crc, move);
+        return (int) crc.getValue();
+    }
+
+    private static void update(CRC32 crc, int value) {
+        crc.update(value >>> 24);
+        crc.update(value >>> 16);
+        crc.update(value >>> 8);
+        crc.update(value);
+    }
+
+    /**
+     * Records a move played since the last record
+     * @param move the move, with its piece still standing where it started, as ChessGame.getPreviousMove gives it
+     * @throws IOException
+     */
+    public void append(Move move) throws IOException {
+        write(encode(move.getPiece().getLocation().index(), move.getTo().index()));
+    }
+
+    /**
+     * @param move from | to << 6, as {@link #encode(int, int)} gives it
+     * @throws IOException
+     */
+    void append(int move) throws IOException {
+        write(move);
+    }
+
+    /**
+     * Records that the last move was taken back
+     * @throws IOException
+     */
+    public void appendUndo() throws IOException {
+        write(UNDO);
+    }
+
+    static int encode(int from, int to) {
+        return from | to << 6;
+    }
+
+    private void write(int move) throws IOException {
+        long end = offset(records + 1);
+        if (end > map.capacity()) {
+            map(offset(records + RECORDS_PER_CHUNK));
+        }
+        int position = (int) offset(records);
+        map.putShort(position, (short) move);
+        map.putShort(position + 2, (short) records);
+        map.putInt(position + 4, recordChecksum(crc, headerChecksum, records, move));
+        records++;
+        unsynced++;
+    }
+
+    /**
+     * @return records appended since the journal was last forced to disk
+     */
+    public int getUnsynced() {
+        return unsynced;
+    }
+
+    /**
+     * Forces every record appended so far to disk
+     */
+    public void sync() {
+        map.force();
+        unsynced = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Marks the journal as no longer holding a game and closes it.  The mapping may keep the file from being deleted
+     * on some systems until it is garbage collected, so the file is made unreadable as a journal first.
+     * @throws IOException
+     */
+    public void discard() throws IOException {
+        map.putInt(0, 0);
+        close();
+    }
+
+    /**
+     * @param file
+     * @return what the journal holds up to the last record that checks out, or null if the file is missing, empty,
+     * not a journal or its header is damaged
+     * @throws IOException
+     */
+    public static Contents read(File file) throws IOException {
+        if (!file.exists() || file.length() < HEADER_SIZE) {
+            return null;
+        }
+        return scan(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+    }
+
+    private static Contents scan(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.get(4) != VERSION) {
+            return null;
+        }
+        int headerChecksum = buffer.getInt(HEADER_SIZE - 4);
+        if (headerChecksum(buffer) != headerChecksum) {
+            return null;
+        }
+        int player = buffer.get(5);
+        boolean isTwoPlayer = buffer.get(6) != 0;
+        int moveCount = buffer.getInt(8);
+        BoardSnapshot board = BoardSnapshot.EMPTY;
+        for (int square = 0; square < 64; square++) {
+            int code = buffer.get(12 + square);
+            if (code < 0 || code > BoardSnapshot.Tile.CODES) {
+                return null;
+            }
+            board = board.with(square, BoardSnapshot.Tile.ofCode(code));
+        }
+        if (player < 0 || player >= PieceColor.values().length) {
+            return null;
+        }
+        PieceColor currentPlayer = PieceColor.values()[player];
+        Contents contents = new Contents(new GameSnapshot(board, currentPlayer, moveCount, null, 0, 0), isTwoPlayer,
+                headerChecksum);
+        CRC32 crc = new CRC32();
+        for (int record = 0; offset(record + 1) <= buffer.capacity(); record++) {
+            int position = (int) offset(record);
+            int move = buffer.getShort(position) & 0xFFFF;
+            if ((buffer.getShort(position + 2) & 0xFFFF) != (record & 0xFFFF) ||
+                    buffer.getInt(position + 4) != recordChecksum(crc, headerChecksum, record, move)) {
+                break;
+            }
+            contents.add(move);
+        }
+        return contents;
+    }
+
+    /**
+     * The starting position of a journal and the moves it records, with undone moves taken out of the line and kept
+     * for redoing until a different move is played
+     */
+    public static class Contents {
+
+        private final GameSnapshot start;
+        private final boolean isTwoPlayer;
+        private final int headerChecksum;
+        private final ArrayList<Integer> line = new ArrayList<>();
+        private final ArrayList<Integer> undone = new ArrayList<>();
+        private int records;
+
+        Contents(GameSnapshot start, boolean isTwoPlayer, int headerChecksum) {
+            this.start = start;
+            this.isTwoPlayer = isTwoPlayer;
+            this.headerChecksum = headerChecksum;
+        }
+
+        void add(int record) {
+            records++;
+            if (record == UNDO) {
+                if (!line.isEmpty()) {
+                    undone.add(line.remove(line.size() - 1));
+                }
+                return;
+            }
+            if (!undone.isEmpty() && undone.get(undone.size() - 1) == record) {
+                undone.remove(undone.size() - 1);
+            } else {
+                undone.clear();
+            }
+            line.add(record);
+        }
+
+        /**
+         * @return how many records checked out, undos included
+         */
+        public int getRecords() {
+            return records;
+        }
+
+        public GameSnapshot getStart() {
+            return start;
+        }
+
+        /**
+         * @return the moves played from the start and not taken back, as from | to << 6
+         */
+        public ArrayList<Integer> getLine() {
+            return line;
+        }
+
+        /**
+         * @return the moves taken back that can be played again, the next one last
+         */
+        public ArrayList<Integer> getUndone() {
+            return undone;
+        }
+
+        /**
+         * @return the game after every move in the line, with the undone moves ready to redo
+         */
+        public ChessGame toGame() {
+            ChessGame game = toGame(line.size());
+            int redone = 0;
+            for (int i = undone.size() - 1; i >= 0 && play(game, undone.get(i)); i--) {
+                redone++;
+            }
+            for (int i = 0; i < redone; i++) {
+                game.undo();
+            }
+            return game;
+        }
+
+        /**
+         * @param plies how many moves of the line to play
+         * @return the game after the first plies of the line, counting each as a move
+         */
+        public ChessGame toGame(int plies) {
+            ChessGame game = new ChessGame(new ChessBoard(start.getBoard()), isTwoPlayer);
+            game.setCurrentPlayer(start.getCurrentPlayer());
+            game.setMoveCount(start.getMoveCount());
+            for (int i = 0; i < plies && i < line.size(); i++) {
+                play(game, line.get(i));
+            }
+            return game;
+        }
+
+        private static boolean play(ChessGame game, int move) {
+            if (game.playMove(Location.of(move & 63), Location.of(move >>> 6 & 63))) {
+                game.incMoveCount();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package Data;
+
+import Chess.ChessBoard;
+import Chess.ChessGame;
+import Chess.GameSnapshot;
+import Chess.Location;
+import Chess.Move;
+import Chess.Pieces.ChessPiece;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * One game read from a PGN file: its tag pairs, the position it starts from, its moves and its result.  Moves are kept
+ * as from | to << 6, the same as in the move journal, which is all ChessGame needs to replay them.
+ */
+public class PgnGame {
+
+    private final Map<String, String> tags;
+    private final GameSnapshot start;
+    private final GameSnapshot end;
+    private final int[] moves;
+    private final String result;
+    private final String error;
+
+    PgnGame(Map<String, String> tags, GameSnapshot start, GameSnapshot end, int[] moves, String result, String error) {
+        this.tags = Collections.unmodifiableMap(tags);
+        this.start = start;
+        this.end = end;
+        this.moves = moves;
+        this.result = result;
+        this.error = error;
+    }
+
+    /**
+     * @return the tag pairs in the order they were read
+     */
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * @param name
+     * @return the tag's value, or null if the game does not have it
+     */
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    /**
+     * @return the position before the first move, from the FEN tag if there is one
+     */
+    public GameSnapshot getStart() {
+        return start;
+    }
+
+    /**
+     * @return the position after the last move read
+     */
+    public GameSnapshot getEnd() {
+        return end;
+    }
+
+    public int getPlies() {
+        return moves.length;
+    }
+
+    /**
+     * @param ply
+     * @return the move as from | to << 6
+     */
+    public int getMove(int ply) {
+        return moves[ply];
+    }
+
+    /**
+     * @return the game termination marker: 1-0, 0-1, 1/2-1/2 or *, or null if the game ended without one
+     */
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * @return why the moves stop short, or null if every move was read
+     */
+    public String getError() {
+        return error;
+    }
+
+    public boolean hasError() {
+        return error != null;
+    }
+
+    /**
+     * @return the game after every move
+     */
+    public ChessGame toGame() {
+        return toGame(moves.length);
+    }
+
+    /**
+     * @param plies how many moves to play
+     * @return a two player game after the first plies moves, counting each as a move
+     */
+    public ChessGame toGame(int plies) {
+        ChessGame game = new ChessGame(new ChessBoard(start.getBoard()), true);
+        game.restore(start);
+        for (int i = 0; i < plies && i < moves.length; i++) {
+            if (game.playMove(Location.of(moves[i] & 63), Location.of(moves[i] >>> 6 & 63))) {
+                game.incMoveCount();
+            }
+        }
+        return game;
+    }
+
+    /**
+     * The moves were checked when the game was read, so they are played without checking them again
+     * @return the position key, see {@link ChessGame#getPositionKey()}, before the first move and after each move
+     */
+    public long[] getPositionKeys() {
+        long[] keys = new long[moves.length + 1];
+        ChessGame game = new ChessGame(new ChessBoard(start.getBoard()), true);
+        game.restore(start);
+        keys[0] = game.getPositionKey();
+        for (int i = 0; i < moves.length; i++) {
+            playValid(game, moves[i]);
+            keys[i + 1] = game.getPositionKey();
+        }
+        return keys;
+    }
+
+    /**
+     * @return the game after every move, playing moves that were checked when the game was read
+     */
+    static GameSnapshot replay(GameSnapshot start, int[] moves) {
+        ChessGame game = new ChessGame(new ChessBoard(start.getBoard()), true);
+        game.restore(start);
+        for (int move : moves) {
+            playValid(game, move);
+        }
+        return game.snapshot();
+    }
+
+    private static void playValid(ChessGame game, int move) {
+        ChessPiece piece = game.getBoard().getPieceAtLocation(Location.of(move & 63));
+        game.playValidMove(new Move(piece, Location.of(move >>> 6 & 63)));
+        game.incMoveCount();
+    }
+
+    int[] moves() {
+        return moves;
+    }
+
+    @Override
+    public String toString() {
+        return tags.get("White") + " - " + tags.get("Black") + " " + result + " (" + moves.length + " plies)";
+    }
+}
@@ -0,0 +1,524 @@
+package Data;
+
+import Chess.ChessGame;
+import Chess.GameSnapshot;
+import Chess.Location;
+import Chess.Move;
+import Chess.Pieces.ChessPiece;
+import Chess.Pieces.ChessPiece.PieceColor;
+import Chess.Pieces.ChessPiece.PieceType;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the games of a PGN file one at a time, so files far larger than the heap can be read: the file goes through a
+ * single fixed buffer and only the game being read is ever held in memory.  Tags and tokens are read straight from the
+ * buffer's bytes, and comments, variations and annotation glyphs are skipped over without being kept.
+ *
+ * Each move in standard algebraic notation is played on a ChessGame, matched against the valid moves of the pieces it
+ * could stand for, so a game comes with every position in it and a move that is illegal or ambiguous in its position
+ * is caught.  A game the model cannot follow, because of such a move, an underpromotion (pawns here always become
+ * queens) or a bad FEN tag, is still returned with the moves up to that point and {@link PgnGame#getError()} saying
+ * why, and the reader carries on with the next game.
+ *
+ * Files ending in .gz, as {@link PgnWriter} can write them, are uncompressed as they are read.
+ *
+ * Usage: PgnReader pgnFile
+ */
+public class PgnReader implements Iterator<PgnGame>, Closeable {
+
+    public static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Longest tag value or token kept, anything longer is cut off
+     */
+    static final int MAX_TOKEN = 1024;
+
+    private static final int NONE = -2;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte[] token = new byte[MAX_TOKEN];
+    private int tokenLength;
+    private int pushedBack = NONE;
+    private boolean endOfInput;
+    private int[] moves = new int[256];
+    private int plies;
+    private int promotion;
+    private PgnGame next;
+
+    private final long started = System.nanoTime();
+    private long bytesRead;
+    private int games;
+    private int errors;
+
+    public PgnReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        buffer.flip();
+    }
+
+    /**
+     * @param file
+     * @return a reader over the file, uncompressing it on the fly if its name ends in .gz
+     * @throws IOException
+     */
+    public static PgnReader open(File file) throws IOException {
+        if (file.getName().endsWith(".gz")) {
+            return new PgnReader(Channels.newChannel(new GZIPInputStream(new FileInputStream(file), BUFFER_SIZE)));
+        }
+        return new PgnReader(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: PgnReader pgnFile");
+            return;
+        }
+        try (PgnReader reader = open(new File(args[0]))) {
+            while (reader.hasNext()) {
+                reader.next();
+                if (reader.getGames() % 100000 == 0) {
+                    System.out.printf("%d games, %.0f games/s%n", reader.getGames(), reader.getGamesPerSecond());
+                }
+            }
+            System.out.printf("Read %d games (%d with errors) and %d bytes in %.1f s, %.0f games/s%n",
+                    reader.getGames(), reader.getErrors(), reader.getBytesRead(), reader.getSeconds(),
+                    reader.getGamesPerSecond());
+        }
+    }
+
+    /**
+     * @return a sequential stream of the remaining games, closing the reader when the stream is closed
+     */
+    public Stream<PgnGame> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = readGame();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public PgnGame next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        PgnGame game = next;
+        next = null;
+        return game;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * @return games read so far
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * @return games read so far whose moves stop short, see {@link PgnGame#getError()}
+     */
+    public int getErrors() {
+        return errors;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * @return seconds since the reader was opened
+     */
+    public double getSeconds() {
+        return (System.nanoTime() - started) / 1e9;
+    }
+
+    public double getGamesPerSecond() {
+        double seconds = getSeconds();
+        return seconds > 0 ? games / seconds : 0;
+    }
+
+    private PgnGame readGame() throws IOException {
+        LinkedHashMap<String, String> tags = new LinkedHashMap<>();
+        int c = skipSpace();
+        while (c == '[') {
+            readTag(tags);
+            c = skipSpace();
+        }
+        if (c == -1 && tags.isEmpty()) {
+            return null;
+        }
+
+        String error = null;
+        ChessGame game;
+        String fen = tags.get("FEN");
+        try {
+            game = fen == null ? new ChessGame(true) : ChessGame.fromFen(fen);
+        } catch (IllegalArgumentException e) {
+            game = new ChessGame(true);
+            error = e.getMessage();
+        }
+        GameSnapshot start = game.snapshot();
+        plies = 0;
+
+        String result = null;
+        while (c != -1) {
+            if (c == '[') {
+                // the next game's tags, this one ended without a result
+                pushedBack = c;
+                break;
+            } else if (c == '{') {
+                skipPast('}');
+            } else if (c == ';' || c == '%') {
+                skipPast('\n');
+            } else if (c == '(') {
+                skipVariation();
+            } else if (c != ')' && c != '}' && c != ']') {
+                readToken(c);
+                result = result();
+                if (result != null) {
+                    break;
+                }
+                if (error == null && c != '$') {
+                    error = play(game);
+                }
+            }
+            c = skipSpace();
+        }
+
+        games++;
+        if (error != null) {
+            errors++;
+        }
+        return new PgnGame(tags, start, game.snapshot(), Arrays.copyOf(moves, plies), result, error);
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        if (!buffer.hasRemaining()) {
+            if (endOfInput) {
+                return -1;
+            }
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+            buffer.flip();
+            if (read < 0) {
+                endOfInput = true;
+                return -1;
+            }
+            bytesRead += read;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    private static boolean isSpace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f' || c == 0xEF || c == 0xBB || c == 0xBF;
+    }
+
+    /**
+     * @return the first byte that is not white space (or part of a UTF-8 byte order mark), or -1 at the end
+     */
+    private int skipSpace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (isSpace(c));
+        return c;
+    }
+
+    private void skipPast(int end) throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != end && c != -1);
+    }
+
+    /**
+     * Skips a variation, with any variations and comments inside it
+     */
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        while (depth > 0) {
+            int c = read();
+            if (c == -1) {
+                return;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '{') {
+                skipPast('}');
+            }
+        }
+    }
+
+    /**
+     * Reads [Name "value"] after the opening bracket, keeping backslash escapes inside the value
+     */
+    private void readTag(LinkedHashMap<String, String> tags) throws IOException {
+        int c = skipSpace();
+        tokenLength = 0;
+        while (c != -1 && c != '"' && c != ']' && !isSpace(c)) {
+            keep(c);
+            c = read();
+        }
+        String name = text();
+        while (isSpace(c)) {
+            c = read();
+        }
+        tokenLength = 0;
+        if (c == '"') {
+            c = read();
+            while (c != -1 && c != '"' && c != '\n') {
+                if (c == '\\') {
+                    c = read();
+                }
+                keep(c);
+                c = read();
+            }
+        }
+        if (c != ']' && c != '\n') {
+            while (c != -1 && c != ']' && c != '\n') {
+                c = read();
+            }
+        }
+        if (!name.isEmpty()) {
+            tags.put(name, text());
+        }
+    }
+
+    private void readToken(int c) throws IOException {
+        tokenLength = 0;
+        while (c != -1 && !isSpace(c) && c != '{' && c != '}' && c != '(' && c != ')' && c != '[' && c != ']' &&
+                c != ';') {
+            keep(c);
+            c = read();
+        }
+        if (c != -1 && !isSpace(c)) {
+            pushedBack = c;
+        }
+    }
+
+    private void keep(int c) {
+        if (tokenLength < MAX_TOKEN) {
+            token[tokenLength++] = (byte) c;
+        }
+    }
+
+    private String text() {
+        return new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+    }
+
+    private boolean tokenIs(String text) {
+        if (tokenLength != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < tokenLength; i++) {
+            if (token[i] != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the token if it is a game termination marker, otherwise null
+     */
+    private String result() {
+        if (tokenIs("1-0")) return "1-0";
+        if (tokenIs("0-1")) return "0-1";
+        if (tokenIs("1/2-1/2")) return "1/2-1/2";
+        if (tokenIs("*")) return "*";
+        return null;
+    }
+
+    /**
+     * Plays the move in the token, after any move number in front of it
+     * @return why the move could not be played, or null
+     */
+    private String play(ChessGame game) {
+        int start = 0;
+        int end = tokenLength;
+        if (!isCastling(start, end)) {
+            while (start < end && token[start] >= '0' && token[start] <= '9') {
+                start++;
+            }
+            if (start > 0 && start < end && token[start] != '.') {
+                return "Unexpected " + text() + " at ply " + (plies + 1);
+            }
+        }
+        while (start < end && token[start] == '.') {
+            start++;
+        }
+        while (end > start && (token[end - 1] == '+' || token[end - 1] == '#' || token[end - 1] == '!' ||
+                token[end - 1] == '?')) {
+            end--;
+        }
+        if (start == end) {
+            return null;
+        }
+
+        Move move = resolve(game, start, end);
+        if (move == null) {
+            return "Illegal or ambiguous move " + text() + " at ply " + (plies + 1);
+        }
+        if (promotion != 0 && promotion != 'Q') {
+            return "Underpromotion " + text() + " at ply " + (plies + 1) + ", pawns always promote to a queen";
+        }
+        if (plies == moves.length) {
+            moves = Arrays.copyOf(moves, plies * 2);
+        }
+        moves[plies++] = MoveJournal.encode(move.getPiece().getLocation().index(), move.getTo().index());
+        game.playValidMove(move);
+        game.incMoveCount();
+        return null;
+    }
+
+    private boolean isCastling(int start, int end) {
+        return end - start >= 3 && (token[start] == 'O' || token[start] == '0') && token[start + 1] == '-';
+    }
+
+    /**
+     * Finds the move a move in standard algebraic notation stands for
+     * @return the move, or null if no valid move or more than one fits
+     */
+    private Move resolve(ChessGame game, int start, int end) {
+        promotion = 0;
+        PieceColor color = game.getCurrentPlayer();
+        int y = color == PieceColor.White ? 7 : 0;
+        if (isCastling(start, end)) {
+            int x = end - start >= 5 ? 2 : 6;
+            return find(game, PieceType.King, 4, y, Location.of(x, y));
+        }
+
+        PieceType type = pieceType(token[start]);
+        if (type == null) {
+            type = PieceType.Pawn;
+        } else {
+            start++;
+        }
+        if (end - start > 2 && token[end - 2] == '=') {
+            promotion = token[end - 1];
+            end -= 2;
+        } else if (type == PieceType.Pawn && end - start > 2 && pieceType(token[end - 1]) != null) {
+            promotion = token[end - 1];
+            end--;
+        }
+        if (end - start < 2) {
+            return null;
+        }
+        int toX = token[end - 2] - 'a';
+        int toY = '8' - token[end - 1];
+        if (toX < 0 || toX > 7 || toY < 0 || toY > 7) {
+            return null;
+        }
+
+        int fromX = -1;
+        int fromY = -1;
+        for (int i = start; i < end - 2; i++) {
+            int c = token[i];
+            if (c >= 'a' && c <= 'h') {
+                fromX = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                fromY = '8' - c;
+            } else if (c != 'x' && c != ':' && c != '-') {
+                return null;
+            }
+        }
+        return find(game, type, fromX, fromY, Location.of(toX, toY));
+    }
+
+    private static PieceType pieceType(int letter) {
+        switch (letter) {
+            case 'N':
+                return PieceType.Knight;
+            case 'B':
+                return PieceType.Bishop;
+            case 'R':
+                return PieceType.Rook;
+            case 'Q':
+                return PieceType.Queen;
+            case 'K':
+                return PieceType.King;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Looks through the moves of the pieces that fit and keeps the valid ones.  Only moves that fit are validated,
+     * which is usually a single one, instead of every move in the position.
+     * @param fromX the file the piece starts on, or -1 if any
+     * @param fromY the row the piece starts on, or -1 if any
+     * @return the only valid move that fits, or null
+     */
+    private static Move find(ChessGame game, PieceType type, int fromX, int fromY, Location to) {
+        PieceColor color = game.getCurrentPlayer();
+        ArrayList<Move> fits = new ArrayList<>(2);
+        for (ChessPiece piece : game.getBoard().getAllPiecesLocationForColor(color)) {
+            Location from = piece.getLocation();
+            if (piece.getType() != type || (fromX >= 0 && from.x != fromX) || (fromY >= 0 && from.y != fromY)) {
+                continue;
+            }
+            // a pawn moves straight ahead unless it takes, one file across, and a capture always names the file
+            int across = Math.abs(to.x - from.x);
+            if (type == PieceType.Pawn && (across > 1 || (across == 1 && fromX < 0))) {
+                continue;
+            }
+            for (Move move : piece.potentialMoves(game)) {
+                if (move.getTo().equals(to)) {
+                    fits.add(move);
+                }
+            }
+        }
+        ArrayList<Move> valid = ChessPiece.validatedMoves(game, fits, color);
+        return valid.size() == 1 ? valid.get(0) : null;
+    }
+}
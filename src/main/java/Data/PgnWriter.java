@@ -0,0 +1,390 @@
+package Data;
+
+import Chess.AI.AlphaBetaSearcher;
+import Chess.ChessBoard;
+import Chess.ChessGame;
+import Chess.Fen;
+import Chess.GameSnapshot;
+import Chess.Location;
+import Chess.Move;
+import Chess.Pieces.ChessPiece;
+import Chess.Pieces.ChessPiece.PieceColor;
+import Chess.Pieces.ChessPiece.PieceType;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes games to a PGN file as they are played or read, one game at a time, so any number of games can be exported
+ * without holding them in memory.  Each game's movetext is put together in a reused buffer while its moves come in and
+ * goes to the file in one write when the game ends, through a large output buffer and, optionally, gzip.
+ *
+ * Moves are given as from | to << 6, as the move journal and PgnGame keep them, and written in standard algebraic
+ * notation, each optionally followed by the engine's evaluation as a [%eval] comment.
+ */
+public class PgnWriter implements Closeable, Flushable {
+
+    public static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Passed as the evaluation of a move that has none
+     */
+    public static final int NO_EVAL = Integer.MIN_VALUE;
+
+    /**
+     * The tags every game gets, in this order and with "?" when a game does not have them
+     */
+    public static final String[] SEVEN_TAG_ROSTER = {"Event", "Site", "Date", "Round", "White", "Black", "Result"};
+
+    private static final int LINE_LENGTH = 79;
+
+    private final Writer out;
+    private final StringBuilder movetext = new StringBuilder(4096);
+    private final StringBuilder token = new StringBuilder(32);
+    private Map<String, String> tags;
+    private ChessGame position;
+    private GameSnapshot start;
+    private int lineStart;
+    private boolean numberBlackMove;
+    private int games;
+
+    public PgnWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * @param file
+     * @return a writer to the file, compressed with gzip if the file name ends in .gz
+     * @throws IOException
+     */
+    public static PgnWriter open(File file) throws IOException {
+        return open(file, file.getName().endsWith(".gz"));
+    }
+
+    /**
+     * @param file
+     * @param gzip whether to compress the file
+     * @return a writer to the file, replacing whatever it held
+     * @throws IOException
+     */
+    public static PgnWriter open(File file, boolean gzip) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        return new PgnWriter(gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : new BufferedOutputStream(out, BUFFER_SIZE));
+    }
+
+    /**
+     * Starts a game whose moves will be given one at a time
+     * @param tags the game's tags; Result is replaced by the result the game ends with, FEN and SetUp are added when
+     *             the game does not start from the usual position
+     * @param start the position before the first move, or null for the usual starting position
+     */
+    public void startGame(Map<String, String> tags, GameSnapshot start) {
+        this.tags = tags == null ? Collections.<String, String>emptyMap() : tags;
+        position = start == null ? new ChessGame(true) : new ChessGame(new ChessBoard(start.getBoard()), true);
+        if (start != null) {
+            position.restore(start);
+        }
+        this.start = start;
+        movetext.setLength(0);
+        lineStart = 0;
+        numberBlackMove = true;
+    }
+
+    /**
+     * @param move from | to << 6
+     * @throws IllegalArgumentException if the move is not valid in the game's position
+     */
+    public void move(int move) {
+        move(move, NO_EVAL);
+    }
+
+    /**
+     * @param move from | to << 6
+     * @param eval the engine's score after the move in centipawns from White's side, as +-(MATE - plies) when it
+     *             sees a mate, or NO_EVAL
+     * @throws IllegalArgumentException if the move is not valid in the game's position
+     */
+    public void move(int move, int eval) {
+        Location from = Location.of(move & 63);
+        Location to = Location.of(move >>> 6 & 63);
+        PieceColor color = position.getCurrentPlayer();
+        ChessPiece piece = position.getBoard().getPieceAtLocation(from);
+        if (piece == null || piece.getColor() != color || !isValid(position, piece, to)) {
+            throw new IllegalArgumentException("Invalid move from " + from + " to " + to + " at " + position.toFen());
+        }
+
+        token.setLength(0);
+        if (color == PieceColor.White || numberBlackMove) {
+            token.append(position.getMoveCount() / 2 + 1).append(color == PieceColor.White ? "." : "...");
+            append(token);
+            token.setLength(0);
+        }
+        Move played = new Move(piece, to);
+        appendSan(position, played, token);
+        position.playValidMove(played);
+        position.incMoveCount();
+        appendCheck(position, token);
+        append(token);
+        numberBlackMove = false;
+
+        if (eval != NO_EVAL) {
+            token.setLength(0);
+            token.append("{[%eval ");
+            appendEval(eval, token);
+            token.append("]}");
+            append(token);
+            numberBlackMove = true;
+        }
+    }
+
+    /**
+     * Finishes the game and writes it out
+     * @param result 1-0, 0-1, 1/2-1/2 or *, null counts as *
+     * @throws IOException
+     */
+    public void endGame(String result) throws IOException {
+        if (result == null) {
+            result = "*";
+        }
+        for (String name : SEVEN_TAG_ROSTER) {
+            String value = name.equals("Result") ? result : tags.get(name);
+            writeTag(name, value == null ? (name.equals("Date") ? "????.??.??" : "?") : value);
+        }
+        String fen = start == null ? Fen.START : Fen.write(start);
+        boolean setUp = !fen.equals(Fen.START);
+        if (setUp) {
+            writeTag("SetUp", "1");
+            writeTag("FEN", fen);
+        }
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            String name = tag.getKey();
+            if (!isRosterTag(name) && !(setUp && (name.equals("SetUp") || name.equals("FEN")))) {
+                writeTag(name, tag.getValue());
+            }
+        }
+        out.write('\n');
+        token.setLength(0);
+        token.append(result);
+        append(token);
+        movetext.append("\n\n");
+        out.append(movetext);
+        games++;
+    }
+
+    /**
+     * @param game a game as the reader returns it, written with the result it was read with
+     * @throws IOException
+     */
+    public void write(PgnGame game) throws IOException {
+        write(game, null);
+    }
+
+    /**
+     * @param game
+     * @param evals an evaluation for each move, as for {@link #move(int, int)}, or null
+     * @throws IOException
+     */
+    public void write(PgnGame game, int[] evals) throws IOException {
+        startGame(game.getTags(), game.getStart());
+        for (int ply = 0; ply < game.getPlies(); ply++) {
+            move(game.getMove(ply), evals == null || ply >= evals.length ? NO_EVAL : evals[ply]);
+        }
+        endGame(game.getResult());
+    }
+
+    /**
+     * @return games written so far
+     */
+    public int getGames() {
+        return games;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * @param game the position the move is played in, which is left as it is
+     * @param move a valid move in the position
+     * @return the move in standard algebraic notation
+     */
+    public static String san(ChessGame game, Move move) {
+        StringBuilder builder = new StringBuilder(8);
+        appendSan(game, move, builder);
+        ChessGame after = (ChessGame) game.clone();
+        after.playValidMove(new Move(after.getBoard().getPieceAtLocation(move.getPiece().getLocation()), move.getTo()));
+        appendCheck(after, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Appends a move without the check or mate sign, which needs the position after the move
+     */
+    private static void appendSan(ChessGame game, Move move, StringBuilder builder) {
+        ChessPiece piece = move.getPiece();
+        Location from = piece.getLocation();
+        Location to = move.getTo();
+        PieceType type = piece.getType();
+        if (type == PieceType.King && Math.abs(to.x - from.x) == 2) {
+            builder.append(to.x > from.x ? "O-O" : "O-O-O");
+            return;
+        }
+        boolean capture = game.getBoard().getPieceAtLocation(to) != null;
+        if (type == PieceType.Pawn) {
+            // a pawn changing file always takes, en passant onto an empty tile
+            if (to.x != from.x) {
+                builder.append(file(from));
+                capture = true;
+            }
+        } else {
+            builder.append(piece.getLetter());
+            appendDisambiguation(game, piece, to, builder);
+        }
+        if (capture) {
+            builder.append('x');
+        }
+        builder.append(file(to)).append(rank(to));
+        if (type == PieceType.Pawn && to.y == (piece.getColor() == PieceColor.White ? 0 : 7)) {
+            builder.append("=Q");
+        }
+    }
+
+    /**
+     * Adds the file, the rank or both of the tile a piece starts on when another piece of its kind can go to the same
+     * tile
+     */
+    private static void appendDisambiguation(ChessGame game, ChessPiece piece, Location to, StringBuilder builder) {
+        Location from = piece.getLocation();
+        boolean other = false;
+        boolean sameFile = false;
+        boolean sameRank = false;
+        for (ChessPiece rival : game.getBoard().getAllPiecesLocationForColor(piece.getColor())) {
+            if (rival != piece && rival.getType() == piece.getType() && isValid(game, rival, to)) {
+                other = true;
+                sameFile |= rival.getLocation().x == from.x;
+                sameRank |= rival.getLocation().y == from.y;
+            }
+        }
+        if (!other) {
+            return;
+        }
+        if (!sameFile) {
+            builder.append(file(from));
+        } else if (!sameRank) {
+            builder.append(rank(from));
+        } else {
+            builder.append(file(from)).append(rank(from));
+        }
+    }
+
+    private static void appendCheck(ChessGame after, StringBuilder builder) {
+        PieceColor color = after.getCurrentPlayer();
+        if (after.isColorInCheck(color)) {
+            builder.append(after.hasAnyLegalMove(color) ? '+' : '#');
+        }
+    }
+
+    /**
+     * Writes the score in pawns with two decimals, or as #moves (negative when Black mates) for a mate
+     */
+    private static void appendEval(int eval, StringBuilder builder) {
+        int plies = AlphaBetaSearcher.MATE - Math.abs(eval);
+        if (plies <= AlphaBetaSearcher.MAX_PLY) {
+            builder.append('#');
+            if (eval < 0) {
+                builder.append('-');
+            }
+            builder.append((plies + 1) / 2);
+            return;
+        }
+        if (eval < 0) {
+            builder.append('-');
+            eval = -eval;
+        }
+        builder.append(eval / 100).append('.');
+        int hundredths = eval % 100;
+        if (hundredths < 10) {
+            builder.append('0');
+        }
+        builder.append(hundredths);
+    }
+
+    /**
+     * Only looks at the moves of the one piece, and only validates the one that goes to the tile
+     */
+    private static boolean isValid(ChessGame game, ChessPiece piece, Location to) {
+        for (Move move : piece.potentialMoves(game)) {
+            if (move.getTo().equals(to)) {
+                ArrayList<Move> moves = new ArrayList<>(1);
+                moves.add(move);
+                return !ChessPiece.validatedMoves(game, moves, piece.getColor()).isEmpty();
+            }
+        }
+        return false;
+    }
+
+    private static char file(Location location) {
+        return (char) ('a' + location.x);
+    }
+
+    private static char rank(Location location) {
+        return (char) ('8' - location.y);
+    }
+
+    private static boolean isRosterTag(String name) {
+        for (String roster : SEVEN_TAG_ROSTER) {
+            if (roster.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeTag(String name, String value) throws IOException {
+        out.write('[');
+        out.write(name);
+        out.write(" \"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.write('\\');
+            }
+            out.write(c);
+        }
+        out.write("\"]\n");
+    }
+
+    /**
+     * Adds a token to the movetext, starting a new line when it would not fit
+     */
+    private void append(CharSequence text) {
+        if (movetext.length() > lineStart) {
+            if (movetext.length() - lineStart + 1 + text.length() > LINE_LENGTH) {
+                movetext.append('\n');
+                lineStart = movetext.length();
+            } else {
+                movetext.append(' ');
+            }
+        }
+        movetext.append(text);
+    }
+}
@@ -1,5 +1,6 @@
 package Data;
 
+import Chess.BoardText;
 import Chess.ChessGame;
 
 import java.io.*;
@@ -10,29 +11,145 @@ import static Data.FileConstants.FILE_LOCATOR;
  * Save system for replaying and retaining moves.
  */
 public class Save {
+
+    private static AutoSaveWriter writer;
+    private static boolean journaling;
+
     /**
-     * Clears out the current autosave to allow for a new game to write to the autosave file
+     * @return the file the game in progress is journaled to
      */
-    public static void clearAutoSave(){
-        BufferedWriter writer;
-        File autoSaveFile = new File(FILE_LOCATOR.toString() + "/resources/main/AutoSave.txt");
+    public static File journalFile() {
+        return new File(FILE_LOCATOR.toString() + "/resources/main/AutoSave.journal");
+    }
+
+    /**
+     * @return the thread autosaves are written on, started the first time it is needed
+     */
+    private static synchronized AutoSaveWriter writer() {
+        if (writer == null) {
+            writer = new AutoSaveWriter(journalFile());
+        }
+        return writer;
+    }
+
+    /**
+     * @return whether a journal is open for the game in progress
+     */
+    public static boolean isJournaling() {
+        return journaling;
+    }
+
+    /**
+     * Starts a new autosave journal from the game's current position, closing the one before.  The journal is created
+     * on the autosave thread, and moves are only journaled once it has been.
+     * @param game
+     */
+    public static void startJournal(ChessGame game) {
+        try {
+            writer().startJournal(game);
+            journaling = true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            journaling = false;
+        }
+    }
+
+    /**
+     * Carries on with the journal left by an earlier run
+     * @return whether there was a journal to carry on with
+     */
+    public static boolean resumeJournal() {
+        try {
+            journaling = writer().resumeJournal();
+        } catch (IOException e) {
+            e.printStackTrace();
+            journaling = false;
+        }
+        return journaling;
+    }
+
+    /**
+     * Autosaves the move just played by appending it to the journal, a few bytes instead of the whole board.  The move
+     * is handed to the autosave thread, which forces the journal to disk every MoveJournal.SYNC_INTERVAL records, when
+     * it has had nothing to write for AutoSaveWriter.FLUSH_MILLIS and when it is closed.
+     * @param game
+     */
+    public static void journalMove(ChessGame game) {
+        if (!journaling || game.getPreviousMove() == null) {
+            return;
+        }
+        writer().append(game.getPreviousMove());
+    }
+
+    /**
+     * Records that moves were taken back
+     * @param plies
+     */
+    public static void journalUndo(int plies) {
+        if (!journaling) {
+            return;
+        }
+        for (int i = 0; i < plies; i++) {
+            writer().appendUndo();
+        }
+    }
+
+    /**
+     * Waits until every autosave handed to the autosave thread is on disk
+     * @throws IOException if the autosave thread failed to write or force the journal
+     */
+    public static void awaitAutoSave() throws IOException {
+        writer().awaitSynced();
+    }
+
+    /**
+     * @return the journal of the game in progress as it is on disk once the autosaves waiting to be written are,
+     * or null if there is none
+     */
+    public static MoveJournal.Contents readJournal() {
         try {
+            awaitAutoSave();
+            return MoveJournal.read(journalFile());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Forces the journal to disk and closes it
+     */
+    public static void closeJournal() {
+        if (journaling) {
+            writer().finishJournal();
+            journaling = false;
+        }
+    }
+
+    /**
+     * Clears out the current autosave to allow for a new game to write to the autosave file.  The files are cleared on
+     * the autosave thread, after everything queued before.
+     */
+    public static void clearAutoSave(){
+        journaling = false;
+        writer().discardJournal();
+        writer().submit(() -> {
+            File autoSaveFile = new File(FILE_LOCATOR.toString() + "/resources/main/AutoSave.txt");
             if(!autoSaveFile.exists()){
                 autoSaveFile.createNewFile();
             } else {
-                writer = new BufferedWriter(new
+                BufferedWriter out = new BufferedWriter(new
                         FileWriter(FILE_LOCATOR.toString() + "/resources/main/AutoSave.txt"));
-                writer.append("");
-                writer.flush();
-                writer.close();
+                out.append("");
+                out.flush();
+                out.close();
             }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        });
     }
 
     /**
-     * Autosaves the current save to the board
+     * Appends the whole board to AutoSave.txt, the text file that {@link #save(String, String)} copies.  Moves played
+     * in a game are autosaved with journalMove, which records a move in two bytes instead.
      *
      * @param game
      * @throws IOException
@@ -42,13 +159,32 @@ public class Save {
                 new FileWriter(FILE_LOCATOR.toString() + "/resources/main/AutoSave.txt",
                         true));
 
-        autoSaveFile.append(game.toString());
+        BoardText.write(game, autoSaveFile);
         autoSaveFile.newLine();
         autoSaveFile.flush();
         autoSaveFile.close();
     }
 
 
+    /**
+     * Writes the game as it stands to a save file that Load can read, once the autosaves waiting to be written are on
+     * disk
+     *
+     * @param game
+     * @param toStr
+     * @throws IOException
+     */
+    public static void saveGame(ChessGame game, String toStr) throws IOException {
+        awaitAutoSave();
+        BufferedWriter saveFile = new BufferedWriter(
+                new FileWriter(FILE_LOCATOR.toString() + "/resources/main/" + toStr + ".txt"));
+
+        BoardText.write(game, saveFile);
+        saveFile.newLine();
+        saveFile.flush();
+        saveFile.close();
+    }
+
     /**
      *  Save takes the fromStr file and copies it into the toStr file
      *
@@ -33,7 +33,6 @@ import java.util.ArrayList;
 import static GUI.GameBoard.GameType.OnePlayer;
 import static GUI.GameBoard.GameType.PuzzleMode;
 import static GUI.GameBoard.GameType.TwoPlayer;
-import static Data.FileConstants.FILE_LOCATOR;
 
 
 /**
@@ -55,7 +54,7 @@ public class GameBoard extends Application {
     @Override
     public void start(Stage primaryStage) throws Exception {
         for (ChessPiece chessPiece : game.getBoard().getBoardArrayList()) {
-            chessPiece.setImage();
+            PieceImages.image(chessPiece.getColor(), chessPiece.getLetter());
         }
     }
 
@@ -87,11 +86,10 @@ public class GameBoard extends Application {
         //set pieces
         ArrayList<ChessPiece> chessPieces = game.getBoard().getBoardArrayList();
         for (ChessPiece chessPiece : chessPieces) {
-            chessPiece.setImage();
-            ImageView tmpView = chessPiece.getImage();
+            ImageView tmpView = PieceImages.view(chessPiece);
             tmpView.setFitHeight(80);
             tmpView.setFitWidth(80);
-            grid.add(chessPiece.getImage(), chessPiece.getLocation().x, chessPiece.getLocation().y);
+            grid.add(tmpView, chessPiece.getLocation().x, chessPiece.getLocation().y);
         }
 
         HBox hBox = new HBox();
@@ -139,20 +137,20 @@ public class GameBoard extends Application {
                     }
                 }else{
                 try {
-                    Location from = new Location(firstClickX,firstClickY);
-                    Location to = new Location(secondClickX,secondClickY);
+                    Location from = Location.of(firstClickX,firstClickY);
+                    Location to = Location.of(secondClickX,secondClickY);
                     //reset first click
                     firstClickX = -1;
                     firstClickY = -1;
                     //possibly place puzzle if stamtent here
                     if (gameType == PuzzleMode){
-                        if (from.equals(new Location(1,1)) && to.equals(new Location(1,5)) ){
+                        if (from.equals(Location.of(1,1)) && to.equals(Location.of(1,5)) ){
                             game.playMove(from,to);
-                            game.playMove(new Location(3,3), new Location(3,4));
+                            game.playMove(Location.of(3,3), Location.of(3,4));
                            // repaint();
                             setBoard(stage);
                         }
-                        else if (from.equals(new Location(1,5)) && to.equals(new Location(3,5))){
+                        else if (from.equals(Location.of(1,5)) && to.equals(Location.of(3,5))){
                             game.playMove(from,to);
                             setBoard(stage);
                             displayAlert("Alert Message", "Solved");
@@ -164,31 +162,35 @@ public class GameBoard extends Application {
                             setBoard(stage);
                         }
                     }else{
+                    if (!Save.isJournaling()) {
+                        Save.startJournal(game);
+                    }
                     if (game.playMove(from, to)) {
                         System.out.println(game.getBoard().toString());
-                        Save.autoSave(game);
+                        Save.journalMove(game);
                         game.incMoveCount();
-                        Replay.clearRedo();
                         repaint();
-                        boolean isEndOfGame = game.getAllValidMoves(game.getCurrentPlayer()).size() == 0;
-                        if (gameType == OnePlayer && !isEndOfGame) {
+                        ChessGame.GameState state = game.getState();
+                        if (gameType == OnePlayer && state == ChessGame.GameState.PLAY) {
                             MiniMaxAI miniMaxAI = new MiniMaxAI(game);
                             Move aiMove = miniMaxAI.getNextMove();
                             game.playMove(aiMove);
-                            Save.autoSave(game);
+                            Save.journalMove(game);
                             game.incMoveCount();
-                            Replay.clearRedo();
                             repaint();
-                        } else if (gameType == TwoPlayer && isEndOfGame) {
-                            JOptionPane.showMessageDialog(null, game.getState().toString());
-                            Save.clearAutoSave();
-                            System.out.println(game.getState().toString());
+                            state = game.getState();
                         }
                         //add in puzzle mode
                         else if(gameType == PuzzleMode){
 
                         }
-                        if (game.getState() == ChessGame.GameState.PLAY) {
+                        //checkmate, stalemate, or a draw by repetition or the fifty move rule
+                        if (state != ChessGame.GameState.PLAY) {
+                            JOptionPane.showMessageDialog(null, state.toString());
+                            Save.clearAutoSave();
+                            System.out.println(state.toString());
+                        }
+                        if (state == ChessGame.GameState.PLAY) {
                             setBoard(stage);
                         } else {
                             Menu menu = new Menu();
@@ -223,13 +225,14 @@ public class GameBoard extends Application {
         });
         saveBtn.setOnAction(e -> {
             try {
-                Save.save("AutoSave","save");
+                Save.saveGame(game, "save");
             } catch (IOException e1) {
                 e1.printStackTrace();
             }
         });
         loadBtn.setOnAction(e -> {
             game = Load.Load("save", game);
+            Save.startJournal(game);
             try {
                 setBoard(stage);
             } catch (Exception e1) {
@@ -238,16 +241,9 @@ public class GameBoard extends Application {
         });
 
         undoBtn.setOnAction((ActionEvent e) -> {
-
-            if(game.getMoveCount() >= 2) {
-                game.setMoveCount(game.getMoveCount() - 2);
-                game = Replay.undoMove(game.getMoveCount(), game);
-            }
-            if(game.getMoveCount() < 2) {
-                boolean players = game.getIsTwoPlayer();
-                game = new ChessGame(players);
-                game.setMoveCount(0);
-                Save.clearAutoSave();
+            //take back the last move of each player
+            for (int ply = 0; ply < 2 && game.undo(); ply++) {
+                Save.journalUndo(1);
             }
             try {
                 setBoard(stage);
@@ -257,19 +253,10 @@ public class GameBoard extends Application {
         });
 
         redoBtn.setOnAction((ActionEvent e) -> {
-            File redoFile = new File(FILE_LOCATOR.toString() + "/resources/main/redo.txt");
-
+            for (int ply = 0; ply < 2 && game.redo(); ply++) {
+                Save.journalMove(game);
+            }
             try {
-                InputStream inputRedo = new FileInputStream(redoFile);
-                String resultStr = "";
-                int bytesRead;
-                while((bytesRead = inputRedo.read(new byte[1024])) > 0) {
-                    resultStr = resultStr + bytesRead;
-                }
-
-                if(!resultStr.equals("")) {
-                    game = Replay.redoMove(game.getMoveCount(),game);
-                }
                 setBoard(stage);
             } catch (Exception e1) {
                 e1.printStackTrace();
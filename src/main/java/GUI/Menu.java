@@ -84,6 +84,7 @@ public class Menu extends Application {
 //            stats.incGames();
 //            stats.storeData();
             ChessGame game = new ChessGame(true);
+            Save.startJournal(game);
             GameBoard gamebrd = new GameBoard(game);
             try {
                 gamebrd.start(null);
@@ -99,6 +100,7 @@ public class Menu extends Application {
 //            stats.incCPU();
 //            stats.storeData();
             ChessGame game = new ChessGame(false);
+            Save.startJournal(game);
             GameBoard gamebrd = new GameBoard(game);
             try {
                 gamebrd.start(null);
@@ -106,7 +108,6 @@ public class Menu extends Application {
                 gamebrd.setBoard(stage);
 
                 //gamebrd.setBoard(stage);
-                Save.clearAutoSave();
             } catch (Exception e1) {
                 e1.printStackTrace();
             }
@@ -115,18 +116,9 @@ public class Menu extends Application {
 
 
         loadBtn.setOnAction((ActionEvent e) -> {
-            File autoSaveFile = new File(FILE_LOCATOR.toString() + "/resources/main/AutoSave.txt");
             try {
-                InputStream inputAutosave = new FileInputStream(autoSaveFile);
-                String resultStr = "";
-                int bytesRead;
-                while((bytesRead = inputAutosave.read(new byte[1024])) > 0) {
-                    resultStr = resultStr + bytesRead;
-                }
-
-                if(!resultStr.equals("")) {
-                    ChessGame game = new ChessGame();
-                    game = Load.Load("AutoSave", game);
+                ChessGame game = Load.loadAutoSave();
+                if(game != null) {
                     GameBoard gamebrd = new GameBoard(game);
 
                     //Sets up chess game, initial player is white, prints board to console
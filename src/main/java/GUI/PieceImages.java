@@ -0,0 +1,50 @@
+package GUI;
+
+import Chess.Pieces.ChessPiece;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.util.HashMap;
+
+/**
+ * Loads each piece picture once and hands out views of it.  The engine's pieces know nothing about how they are drawn,
+ * so this is the only place the pictures live.
+ */
+public class PieceImages {
+
+    private static final HashMap<String, Image> IMAGES = new HashMap<>();
+    private static String imageDirectory;
+
+    private PieceImages() {
+    }
+
+    /**
+     * @return a new view of the piece's picture, which can be placed in the scene
+     */
+    public static ImageView view(ChessPiece piece) {
+        return new ImageView(image(piece.getColor(), piece.getLetter()));
+    }
+
+    /**
+     * @param color
+     * @param letter the piece's letter, eg. "N" for a Knight
+     * @return the picture, loaded the first time it is asked for
+     */
+    public static synchronized Image image(ChessPiece.PieceColor color, String letter) {
+        String name = color.name().toLowerCase() + "_" + letter.toLowerCase();
+        Image image = IMAGES.get(name);
+        if (image == null) {
+            image = new Image(imageDirectory() + name + ".png");
+            IMAGES.put(name, image);
+        }
+        return image;
+    }
+
+    private static String imageDirectory() {
+        if (imageDirectory == null) {
+            String codeSource = PieceImages.class.getProtectionDomain().getCodeSource().getLocation().toString();
+            imageDirectory = codeSource.substring(0, codeSource.length() - 14) + "/resources/main/";
+        }
+        return imageDirectory;
+    }
+}
@@ -0,0 +1,136 @@
+package Chess.AI;
+
+import Chess.ChessBoard;
+import Chess.ChessGame;
+import Chess.Evaluation.EvalCache;
+import Chess.Evaluation.PawnHashTable;
+import Chess.Location;
+import Chess.Move;
+import Chess.Pieces.*;
+import Chess.Pieces.ChessPiece.PieceColor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+public class AlphaBetaSearcherTest {
+
+    private static ChessGame game(PieceColor toMove, ChessPiece... pieces) {
+        ArrayList<ChessPiece> list = new ArrayList<>();
+        for (ChessPiece piece : pieces) {
+            list.add(piece);
+        }
+        ChessGame game = new ChessGame(new ChessBoard(list));
+        game.setCurrentPlayer(toMove);
+        return game;
+    }
+
+    @Test
+    public void findsMateInOne() throws Exception {
+        // back rank mate: the rook goes to the top row
+        ChessGame game = game(PieceColor.White,
+                new King(PieceColor.White, Location.of(6, 7)),
+                new Rook(PieceColor.White, Location.of(0, 7)),
+                new King(PieceColor.Black, Location.of(6, 0)),
+                new Pawn(PieceColor.Black, Location.of(5, 1)),
+                new Pawn(PieceColor.Black, Location.of(6, 1)),
+                new Pawn(PieceColor.Black, Location.of(7, 1)));
+        AlphaBetaSearcher searcher = new AlphaBetaSearcher();
+        Move move = searcher.bestMove(game, 3);
+        Assert.assertEquals(move.getTo(), Location.of(0, 0));
+        Assert.assertEquals(searcher.getScore(), AlphaBetaSearcher.MATE - 1);
+        game.playMove(move);
+        Assert.assertEquals(game.getState(), ChessGame.GameState.CHECKMATE);
+    }
+
+    @Test
+    public void takesHangingQueen() throws Exception {
+        ChessGame game = game(PieceColor.Black,
+                new King(PieceColor.White, Location.of(4, 7)),
+                new Queen(PieceColor.White, Location.of(3, 4)),
+                new King(PieceColor.Black, Location.of(4, 0)),
+                new Knight(PieceColor.Black, Location.of(2, 2)));
+        Move move = new AlphaBetaSearcher().bestMove(game, 2);
+        Assert.assertEquals(move.getPiece().getLocation(), Location.of(2, 2));
+        Assert.assertEquals(move.getTo(), Location.of(3, 4));
+    }
+
+    @Test
+    public void capturesEnPassantWhenItIsTheOnlyMove() throws Exception {
+        ChessGame game = ChessGame.fromFen("k7/2Q5/8/8/3p4/3P4/4P3/4K3 w - - 0 1");
+        Assert.assertTrue(game.playMove(Location.of(4, 6), Location.of(4, 4)));
+        Assert.assertEquals(game.getState(), ChessGame.GameState.PLAY);
+        Assert.assertEquals(game.getAllValidMoves(game.getCurrentPlayer()).size(), 1);
+        Move move = new MiniMaxAI(game).getNextMove();
+        Assert.assertEquals(move.getPiece().getLocation(), Location.of(3, 4));
+        Assert.assertEquals(move.getTo(), Location.of(4, 5));
+    }
+
+    @Test
+    public void castlesOutOfCheck() throws Exception {
+        // the king's only way out of the knight's check is to castle through f1, which the bishop attacks, as
+        // ChessGame allows
+        ChessGame game = ChessGame.fromFen("k7/8/8/8/8/3n3b/3PRP2/3QK2R w K - 0 1");
+        Assert.assertEquals(game.getAllValidMoves(game.getCurrentPlayer()).size(), 1);
+        Move move = new AlphaBetaSearcher().bestMove(game, 2);
+        Assert.assertEquals(move.getPiece().getLocation(), Location.of(4, 7));
+        Assert.assertEquals(move.getTo(), Location.of(6, 7));
+    }
+
+    @Test
+    public void playsAValidMoveWithoutSearching() throws Exception {
+        ChessGame game = new ChessGame();
+        Move move = new AlphaBetaSearcher().bestMove(game, 0);
+        Assert.assertTrue(game.getAllValidMoves(PieceColor.White).contains(move));
+    }
+
+    @Test
+    public void searchDoesNotAllocate() throws Exception {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assert.assertTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        long thread = Thread.currentThread().getId();
+
+        ChessGame game = new ChessGame();
+        game.playMove(Location.of(4, 6), Location.of(4, 4));
+        game.playMove(Location.of(3, 1), Location.of(3, 3));
+        AlphaBetaSearcher searcher = AlphaBetaSearcher.forCurrentThread();
+        searcher.getBoard().load(game);
+
+        // reading the counter may allocate a little itself, measure that first
+        long start = threads.getThreadAllocatedBytes(thread);
+        long overhead = threads.getThreadAllocatedBytes(thread) - start;
+
+        // the first searches load classes and compile the search, whatever ran before this test, so search until the
+        // same search allocates the same again
+        long previous = -1;
+        long allocated = allocatedBy(threads, thread, searcher);
+        for (int i = 0; i < 20 && allocated != previous; i++) {
+            previous = allocated;
+            allocated = allocatedBy(threads, thread, searcher);
+        }
+        Assert.assertTrue(searcher.getNodes() > 1000);
+        Assert.assertEquals(overhead, allocated);
+
+        // a position the warm-up never saw, evaluated from empty caches
+        game.playMove(Location.of(6, 7), Location.of(5, 5));
+        game.playMove(Location.of(1, 0), Location.of(2, 2));
+        searcher.getBoard().load(game);
+        allocated = allocatedBy(threads, thread, searcher);
+        Assert.assertTrue(EvalCache.getShared().getProbes() > EvalCache.getShared().getHits());
+        Assert.assertEquals(overhead, allocated);
+    }
+
+    /**
+     * Searches with the shared evaluation caches emptied first, so leaves are evaluated in full and not looked up
+     */
+    private static long allocatedBy(com.sun.management.ThreadMXBean threads, long thread,
+                                    AlphaBetaSearcher searcher) {
+        EvalCache.getShared().clear();
+        PawnHashTable.getShared().clear();
+        long start = threads.getThreadAllocatedBytes(thread);
+        searcher.search(4);
+        return threads.getThreadAllocatedBytes(thread) - start;
+    }
+}
@@ -27,30 +27,30 @@ public class RandomAITest {
         RandomAI seedAI = new RandomAI(new ChessGame(), 12345);
 
         ArrayList<ChessPiece> pieces = new ArrayList<>();
-        pieces.add(new Bishop(ChessPiece.PieceColor.White, new Location(1,1)));
-        pieces.add(new Pawn(ChessPiece.PieceColor.Black, new Location(0,2)));
-        pieces.add(new Pawn(ChessPiece.PieceColor.Black, new Location(1,2)));
-        pieces.add(new Pawn(ChessPiece.PieceColor.White, new Location(2,2)));
-        pieces.add(new Pawn(ChessPiece.PieceColor.White, new Location(2,1)));
-        pieces.add(new King(ChessPiece.PieceColor.Black, new Location(5, 5)));
-        pieces.add(new King(ChessPiece.PieceColor.White, new Location(7, 7)));
-        pieces.add(new Bishop(ChessPiece.PieceColor.Black, new Location(3,1)));
+        pieces.add(new Bishop(ChessPiece.PieceColor.White, Location.of(1,1)));
+        pieces.add(new Pawn(ChessPiece.PieceColor.Black, Location.of(0,2)));
+        pieces.add(new Pawn(ChessPiece.PieceColor.Black, Location.of(1,2)));
+        pieces.add(new Pawn(ChessPiece.PieceColor.White, Location.of(2,2)));
+        pieces.add(new Pawn(ChessPiece.PieceColor.White, Location.of(2,1)));
+        pieces.add(new King(ChessPiece.PieceColor.Black, Location.of(5, 5)));
+        pieces.add(new King(ChessPiece.PieceColor.White, Location.of(7, 7)));
+        pieces.add(new Bishop(ChessPiece.PieceColor.Black, Location.of(3,1)));
         board = new ChessBoard(pieces);
         normalGame = new ChessGame();
         randomAI = new RandomAI(normalGame);
 
         pieces.clear();
-        pieces.add(new Rook(ChessPiece.PieceColor.Black, new Location(1,2)));
-        pieces.add(new Rook(ChessPiece.PieceColor.Black, new Location(2,1)));
-        pieces.add(new King(ChessPiece.PieceColor.White, new Location(0, 0)));
-        pieces.add(new King(ChessPiece.PieceColor.Black, new Location(7, 7)));
+        pieces.add(new Rook(ChessPiece.PieceColor.Black, Location.of(1,2)));
+        pieces.add(new Rook(ChessPiece.PieceColor.Black, Location.of(2,1)));
+        pieces.add(new King(ChessPiece.PieceColor.White, Location.of(0, 0)));
+        pieces.add(new King(ChessPiece.PieceColor.Black, Location.of(7, 7)));
         stalemateGame = new ChessGame(new ChessBoard(pieces));
 
         pieces.clear();
-        pieces.add(new Rook(ChessPiece.PieceColor.Black, new Location(2,0)));
-        pieces.add(new Rook(ChessPiece.PieceColor.Black, new Location(2,1)));
-        pieces.add(new King(ChessPiece.PieceColor.White, new Location(0, 0)));
-        pieces.add(new King(ChessPiece.PieceColor.Black, new Location(7, 7)));
+        pieces.add(new Rook(ChessPiece.PieceColor.Black, Location.of(2,0)));
+        pieces.add(new Rook(ChessPiece.PieceColor.Black, Location.of(2,1)));
+        pieces.add(new King(ChessPiece.PieceColor.White, Location.of(0, 0)));
+        pieces.add(new King(ChessPiece.PieceColor.Black, Location.of(7, 7)));
         checkmateGame = new ChessGame(new ChessBoard(pieces));
 
     }
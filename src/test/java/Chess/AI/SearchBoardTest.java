@@ -0,0 +1,320 @@
+package Chess.AI;
+
+import Chess.ChessGame;
+import Chess.Evaluation.ClassicalEvaluator;
+import Chess.Evaluation.EvalCache;
+import Chess.Evaluation.NnueEvaluator;
+import Chess.Evaluation.NnueNetwork;
+import Chess.Evaluation.StaticExchange;
+import Chess.Location;
+import Chess.Move;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+public class SearchBoardTest {
+
+    private static int legalMoves(SearchBoard board, int[] moves) {
+        int count = board.generate(moves, 0, false);
+        int legal = 0;
+        for (int i = 0; i < count; i++) {
+            board.make(moves[i]);
+            if (!board.isInCheck(board.getSideToMove() ^ 1)) {
+                moves[legal++] = moves[i];
+            }
+            board.unmake(moves[i]);
+        }
+        return legal;
+    }
+
+    @Test
+    public void startingPosition() throws Exception {
+        SearchBoard board = new SearchBoard();
+        board.load(new ChessGame());
+        Assert.assertEquals(legalMoves(board, new int[AlphaBetaSearcher.MAX_MOVES]), 20);
+        Assert.assertEquals(board.evaluate(), 0);
+        Assert.assertEquals(board.generate(new int[AlphaBetaSearcher.MAX_MOVES], 0, true), 0);
+    }
+
+    @Test
+    public void makeAndUnmake() throws Exception {
+        SearchBoard board = new SearchBoard();
+        ChessGame game = new ChessGame();
+        game.playMove(Location.of(4, 6), Location.of(4, 4));
+        game.playMove(Location.of(3, 1), Location.of(3, 3));
+        board.load(game);
+        int[] moves = new int[AlphaBetaSearcher.MAX_MOVES];
+        int count = board.generate(moves, 0, false);
+        int evaluation = board.evaluate();
+        for (int i = 0; i < count; i++) {
+            board.make(moves[i]);
+            Assert.assertEquals(board.getSideToMove(), SearchBoard.BLACK);
+            board.unmake(moves[i]);
+            Assert.assertEquals(board.evaluate(), evaluation);
+            Assert.assertEquals(board.generate(new int[AlphaBetaSearcher.MAX_MOVES], 0, false), count);
+        }
+        Assert.assertEquals(board.generate(moves, 0, true), 1);
+        Assert.assertEquals(SearchBoard.to(moves[0]), Location.of(3, 3).index());
+    }
+
+    @Test
+    public void movesAreValidInTheGame() throws Exception {
+        Random random = new Random(5);
+        ChessGame game = new ChessGame();
+        SearchBoard board = new SearchBoard();
+        int[] moves = new int[AlphaBetaSearcher.MAX_MOVES];
+        for (int turn = 0; turn < 60; turn++) {
+            ArrayList<Move> validMoves = game.getAllValidMoves(game.getCurrentPlayer());
+            if (validMoves.isEmpty()) {
+                break;
+            }
+            board.load(game);
+            int legal = legalMoves(board, moves);
+            for (int i = 0; i < legal; i++) {
+                boolean found = false;
+                for (Move move : validMoves) {
+                    found |= move.getPiece().getLocation().index() == SearchBoard.from(moves[i]) &&
+                            move.getTo().index() == SearchBoard.to(moves[i]);
+                }
+                Assert.assertTrue(found);
+            }
+            game.playMove(validMoves.get(random.nextInt(validMoves.size())));
+        }
+    }
+
+    @Test
+    public void keysMatchGame() throws Exception {
+        SearchBoard board = new SearchBoard();
+        ChessGame game = new ChessGame();
+        game.playMove(Location.of(6, 7), Location.of(5, 5));
+        board.load(game);
+        Assert.assertEquals(board.getKey(), game.getPositionKey());
+        int[] moves = new int[AlphaBetaSearcher.MAX_MOVES];
+        int count = legalMoves(board, moves);
+        for (int i = 0; i < count; i++) {
+            ChessGame clone = (ChessGame) game.clone();
+            clone.playMove(Location.of(SearchBoard.from(moves[i])), Location.of(SearchBoard.to(moves[i])));
+            board.make(moves[i]);
+            Assert.assertEquals(board.getKey(), clone.getPositionKey());
+            Assert.assertEquals(board.getHalfmoveClock(), clone.getHistory().getHalfmoveClock());
+            board.unmake(moves[i]);
+            Assert.assertEquals(board.getKey(), game.getPositionKey());
+        }
+    }
+
+    @Test
+    public void repetitionIsDraw() throws Exception {
+        SearchBoard board = new SearchBoard();
+        ChessGame game = new ChessGame();
+        game.playMove(Location.of(6, 7), Location.of(5, 5));
+        game.playMove(Location.of(6, 0), Location.of(5, 2));
+        game.playMove(Location.of(5, 5), Location.of(6, 7));
+        board.load(game);
+        Assert.assertFalse(board.isDraw());
+        int back = SearchBoard.move(Location.of(5, 2).index(), Location.of(6, 0).index(), SearchBoard.NORMAL);
+        board.make(back);
+        Assert.assertTrue(board.isDraw());
+        board.unmake(back);
+        int pawn = SearchBoard.move(Location.of(4, 1).index(), Location.of(4, 3).index(), SearchBoard.NORMAL);
+        board.make(pawn);
+        Assert.assertFalse(board.isDraw());
+        Assert.assertEquals(board.getHalfmoveClock(), 0);
+    }
+
+    @Test
+    public void enPassantIsGeneratedAfterADoubleStep() throws Exception {
+        SearchBoard board = new SearchBoard();
+        ChessGame game = ChessGame.fromFen("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1");
+        board.load(game);
+        int[] moves = new int[AlphaBetaSearcher.MAX_MOVES];
+        int count = board.generateLegal(moves);
+        Assert.assertEquals(legalMoves(board, new int[AlphaBetaSearcher.MAX_MOVES]), count);
+        int enPassant = moves[count - 1];
+        Assert.assertEquals(SearchBoard.flag(enPassant), SearchBoard.EN_PASSANT);
+        Assert.assertEquals(SearchBoard.to(enPassant), Location.of(3, 2).index());
+        Assert.assertEquals(board.generate(moves, 0, true), 1);
+        Assert.assertEquals(board.generateLegal(moves), count);
+
+        long key = board.getKey();
+        int evaluation = board.evaluate();
+        board.make(enPassant);
+        Assert.assertEquals(board.typeAt(Location.of(3, 3).index()), -1);
+        Assert.assertEquals(board.getKey(), ChessGame.fromFen("4k3/8/3P4/8/8/8/8/4K3 b - - 0 1").getPositionKey());
+        board.unmake(enPassant);
+        Assert.assertEquals(board.getKey(), key);
+        Assert.assertEquals(board.evaluate(), evaluation);
+        Assert.assertEquals(board.generateLegal(moves), count);
+
+        // only straight after the double step
+        board.load(ChessGame.fromFen("4k3/8/8/3pP3/8/8/8/4K3 w - - 0 1"));
+        Assert.assertEquals(board.generateLegal(moves), count - 1);
+    }
+
+    @Test
+    public void enPassantRepliesAreSeenInTheSearch() throws Exception {
+        SearchBoard board = new SearchBoard();
+        board.load(ChessGame.fromFen("4k3/8/8/8/3p4/8/4P3/4K3 w - - 0 1"));
+        int[] moves = new int[AlphaBetaSearcher.MAX_MOVES];
+        int doubleStep = SearchBoard.move(Location.of(4, 6).index(), Location.of(4, 4).index(), SearchBoard.NORMAL);
+        board.make(doubleStep);
+        int count = board.generate(moves, 0, false);
+        Assert.assertEquals(SearchBoard.flag(moves[count - 1]), SearchBoard.EN_PASSANT);
+        Assert.assertEquals(SearchBoard.to(moves[count - 1]), Location.of(4, 5).index());
+        int reply = moves[count - 1];
+        board.make(reply);
+        Assert.assertEquals(board.generate(moves, 0, true), 0);
+        board.unmake(reply);
+        board.unmake(doubleStep);
+        Assert.assertEquals(board.generate(moves, 0, true), 0);
+    }
+
+    @Test
+    public void enPassantThatExposesTheKingIsNotLegal() throws Exception {
+        SearchBoard board = new SearchBoard();
+        board.load(ChessGame.fromFen("8/8/8/K2pP2r/8/8/8/7k w - d6 0 1"));
+        int[] moves = new int[AlphaBetaSearcher.MAX_MOVES];
+        int count = board.generateLegal(moves);
+        for (int i = 0; i < count; i++) {
+            Assert.assertNotEquals(SearchBoard.flag(moves[i]), SearchBoard.EN_PASSANT);
+        }
+    }
+
+    @Test
+    public void castlesOutOfAndThroughCheckAsTheGameDoes() throws Exception {
+        // in check from the rook on e8 and the bishop on g3, then passing f1 and d1, which the rooks on f8 and d8 attack
+        castlesAsTheGameDoes("k3r3/8/8/8/8/6b1/8/R3K2R w KQ - 0 1");
+        castlesAsTheGameDoes("k2r1r2/8/8/8/8/8/8/R3K2R w KQ - 0 1");
+    }
+
+    private static void castlesAsTheGameDoes(String fen) {
+        ChessGame game = ChessGame.fromFen(fen);
+        SearchBoard board = new SearchBoard();
+        board.load(game);
+        int[] moves = new int[AlphaBetaSearcher.MAX_MOVES];
+        int count = board.generateLegal(moves);
+        int castles = 0;
+        for (int i = 0; i < count; i++) {
+            int flag = SearchBoard.flag(moves[i]);
+            if (flag == SearchBoard.CASTLE_KING_SIDE || flag == SearchBoard.CASTLE_QUEEN_SIDE) {
+                castles++;
+                Assert.assertTrue(game.playMove(Location.of(SearchBoard.from(moves[i])),
+                        Location.of(SearchBoard.to(moves[i]))));
+                game.undo();
+            }
+        }
+        Assert.assertEquals(castles, 2);
+        Assert.assertEquals(count, game.getAllValidMoves(game.getCurrentPlayer()).size());
+    }
+
+    @Test
+    public void playsGamesLongerThanTheSearch() throws Exception {
+        SearchBoard board = new SearchBoard();
+        ChessGame game = new ChessGame();
+        board.load(game);
+        int[] knights = {
+                SearchBoard.move(Location.of(6, 7).index(), Location.of(5, 5).index(), SearchBoard.NORMAL),
+                SearchBoard.move(Location.of(6, 0).index(), Location.of(5, 2).index(), SearchBoard.NORMAL),
+                SearchBoard.move(Location.of(5, 5).index(), Location.of(6, 7).index(), SearchBoard.NORMAL),
+                SearchBoard.move(Location.of(5, 2).index(), Location.of(6, 0).index(), SearchBoard.NORMAL)};
+        for (int ply = 0; ply < 4 * AlphaBetaSearcher.MAX_PLY; ply++) {
+            board.play(knights[ply % 4]);
+        }
+        Assert.assertEquals(board.getKey(), game.getPositionKey());
+        Assert.assertTrue(board.isDraw());
+        Assert.assertEquals(board.getHalfmoveClock(), 4 * AlphaBetaSearcher.MAX_PLY);
+        board.play(SearchBoard.move(Location.of(4, 6).index(), Location.of(4, 4).index(), SearchBoard.NORMAL));
+        Assert.assertEquals(board.getHalfmoveClock(), 0);
+        Assert.assertFalse(board.isDraw());
+    }
+
+    private static NnueNetwork network(int hidden, long seed) {
+        Random random = new Random(seed);
+        short[] inputWeights = new short[NnueNetwork.INPUTS * hidden];
+        short[] hiddenBias = new short[hidden];
+        short[] outputWeights = new short[2 * hidden];
+        for (int i = 0; i < inputWeights.length; i++) {
+            inputWeights[i] = (short) (random.nextInt(41) - 20);
+        }
+        for (int i = 0; i < hidden; i++) {
+            hiddenBias[i] = (short) random.nextInt(64);
+        }
+        for (int i = 0; i < outputWeights.length; i++) {
+            outputWeights[i] = (short) (random.nextInt(129) - 64);
+        }
+        return new NnueNetwork(hidden, inputWeights, hiddenBias, outputWeights, random.nextInt(1000));
+    }
+
+    private static void playRandomMove(ChessGame game, Random random) {
+        ArrayList<Move> moves = game.getAllValidMoves(game.getCurrentPlayer());
+        game.playMove(moves.get(random.nextInt(moves.size())));
+        game.incMoveCount();
+    }
+
+    @Test
+    public void classicalEvaluationMatchesTheGame() throws Exception {
+        Random random = new Random(11);
+        ChessGame game = new ChessGame();
+        SearchBoard board = new SearchBoard();
+        for (int ply = 0; ply < 40 && game.getState() == ChessGame.GameState.PLAY; ply++) {
+            board.load(game);
+            Assert.assertFalse(board.isNnue());
+            EvalCache.getShared().clear();
+            int evaluation = board.evaluate();
+            EvalCache.getShared().clear();
+            Assert.assertEquals(evaluation, (int) Math.round(100 * ClassicalEvaluator.getInstance().evaluate(game)));
+            // the second time comes from the cache both ways
+            Assert.assertEquals(board.evaluate(), evaluation);
+            playRandomMove(game, random);
+        }
+    }
+
+    @Test
+    public void nnueEvaluationIsKeptThroughMoves() throws Exception {
+        NnueNetwork network = network(8, 3);
+        Random random = new Random(12);
+        ChessGame game = new ChessGame();
+        game.setEvaluator(new NnueEvaluator(network));
+        SearchBoard board = new SearchBoard();
+        int[] moves = new int[AlphaBetaSearcher.MAX_MOVES];
+        for (int ply = 0; ply < 30 && game.getState() == ChessGame.GameState.PLAY; ply++) {
+            board.load(game);
+            Assert.assertTrue(board.isNnue());
+            int evaluation = board.evaluate();
+            Assert.assertEquals(evaluation, (int) Math.round(100 * game.differenceInAdvantage()));
+            int count = board.generate(moves, 0, false);
+            for (int i = 0; i < count; i++) {
+                board.make(moves[i]);
+                board.unmake(moves[i]);
+            }
+            Assert.assertEquals(board.evaluate(), evaluation);
+            playRandomMove(game, random);
+        }
+        game.setEvaluator(ClassicalEvaluator.getInstance());
+        board.load(game);
+        Assert.assertFalse(board.isNnue());
+    }
+
+    @Test
+    public void staticExchangeMatchesTheGame() throws Exception {
+        Random random = new Random(13);
+        ChessGame game = new ChessGame();
+        SearchBoard board = new SearchBoard();
+        int captures = 0;
+        for (int ply = 0; ply < 60 && game.getState() == ChessGame.GameState.PLAY; ply++) {
+            board.load(game);
+            for (Move move : game.getAllValidMoves(game.getCurrentPlayer())) {
+                int from = move.getPiece().getLocation().index();
+                int to = move.getTo().index();
+                if (board.typeAt(to) >= 0) {
+                    captures++;
+                }
+                Assert.assertEquals(board.staticExchange(SearchBoard.move(from, to, SearchBoard.NORMAL)),
+                        Math.round(100 * StaticExchange.evaluate(game.getBoard(), move)));
+            }
+            playRandomMove(game, random);
+        }
+        Assert.assertTrue(captures > 0);
+    }
+}
@@ -0,0 +1,64 @@
+package Chess;
+
+import Chess.Pieces.ChessPiece;
+import Chess.Pieces.ChessPiece.PieceColor;
+import Chess.Pieces.ChessPiece.PieceType;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BoardSnapshotTest {
+
+    @Test
+    public void followsBoard() throws Exception {
+        ChessGame game = new ChessGame();
+        BoardSnapshot start = game.getBoard().snapshot();
+        Assert.assertEquals(start.size(), 32);
+        Assert.assertSame(start.tileAt(Location.of(4, 7)), BoardSnapshot.Tile.of(PieceType.King, PieceColor.White, false));
+
+        game.playMove(Location.of(4, 6), Location.of(4, 4));
+        BoardSnapshot after = game.getBoard().snapshot();
+        // the old snapshot is untouched
+        Assert.assertNotNull(start.tileAt(Location.of(4, 6)));
+        Assert.assertNull(start.tileAt(Location.of(4, 4)));
+        Assert.assertNull(after.tileAt(Location.of(4, 6)));
+        Assert.assertSame(after.tileAt(Location.of(4, 4)), BoardSnapshot.Tile.of(PieceType.Pawn, PieceColor.White, true));
+
+        // only the two rows the pawn touched were copied
+        for (int y = 0; y < 8; y++) {
+            if (y == 4 || y == 6) {
+                Assert.assertNotSame(after.row(y), start.row(y));
+            } else {
+                Assert.assertSame(after.row(y), start.row(y));
+            }
+        }
+    }
+
+    @Test
+    public void move() throws Exception {
+        BoardSnapshot start = new ChessBoard().snapshot();
+        BoardSnapshot after = start.move(Location.of(1, 7).index(), Location.of(2, 5).index());
+        Assert.assertEquals(after.size(), 32);
+        Assert.assertNull(after.tileAt(Location.of(1, 7)));
+        Assert.assertTrue(after.tileAt(Location.of(2, 5)).hasMoved());
+        Assert.assertSame(start.with(0, start.tileAt(0)), start);
+
+        BoardSnapshot capture = after.move(Location.of(2, 5).index(), Location.of(3, 1).index());
+        Assert.assertEquals(capture.size(), 31);
+        Assert.assertEquals(capture.tileAt(Location.of(3, 1)).getType(), PieceType.Knight);
+    }
+
+    @Test
+    public void toBoard() throws Exception {
+        ChessBoard board = new ChessBoard();
+        BoardSnapshot snapshot = board.snapshot();
+        ChessBoard copy = snapshot.toBoard();
+        Assert.assertEquals(copy.getZobristKey(), board.getZobristKey());
+        Assert.assertEquals(copy.snapshot(), snapshot);
+        Assert.assertEquals(copy.snapshot().hashCode(), snapshot.hashCode());
+        for (ChessPiece piece : copy.getBoardArrayList()) {
+            Assert.assertNotSame(piece, board.getPieceAtLocation(piece.getLocation()));
+            Assert.assertEquals(piece.getType(), board.getPieceAtLocation(piece.getLocation()).getType());
+        }
+        Assert.assertNotEquals(BoardSnapshot.EMPTY, snapshot);
+    }
+}
@@ -0,0 +1,103 @@
+package Chess;
+
+import Chess.Pieces.ChessPiece;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class BoardTextTest {
+
+    private static final String START = "[R0][N0][B0][Q0][K0][B0][N0][R0]\n" +
+            "[P0][P0][P0][P0][P0][P0][P0][P0]\n" +
+            "[  ][  ][  ][  ][  ][  ][  ][  ]\n" +
+            "[  ][  ][  ][  ][  ][  ][  ][  ]\n" +
+            "[  ][  ][  ][  ][  ][  ][  ][  ]\n" +
+            "[  ][  ][  ][  ][  ][  ][  ][  ]\n" +
+            "[p0][p0][p0][p0][p0][p0][p0][p0]\n" +
+            "[r0][n0][b0][q0][k0][b0][n0][r0]\n";
+
+    @Test
+    public void writesTheStartingBoard() throws Exception {
+        ChessBoard board = new ChessBoard();
+        Assert.assertEquals(BoardText.toString(board.snapshot()), START);
+        Assert.assertEquals(START.length(), BoardText.BOARD_LENGTH);
+
+        ByteBuffer buffer = ByteBuffer.allocate(BoardText.BOARD_LENGTH);
+        BoardText.write(board.snapshot(), buffer);
+        Assert.assertFalse(buffer.hasRemaining());
+        Assert.assertEquals(new String(buffer.array(), StandardCharsets.US_ASCII), START);
+    }
+
+    @Test
+    public void writingLeavesThePiecesAlone() throws Exception {
+        ChessGame game = new ChessGame();
+        game.playMove(Location.of(4, 6), Location.of(4, 4));
+        Object[] before = game.getBoard().getBoardArrayList().toArray();
+        String text = game.getBoard().toString();
+        Assert.assertArrayEquals(game.getBoard().getBoardArrayList().toArray(), before);
+        Assert.assertTrue(text.startsWith(START.substring(0, 4 * BoardText.ROW_LENGTH)));
+        Assert.assertTrue(text.contains("[  ][  ][  ][  ][p1][  ][  ][  ]\n"));
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        ChessGame game = new ChessGame(false);
+        game.playMove(Location.of(4, 6), Location.of(4, 4));
+        game.playMove(Location.of(3, 1), Location.of(3, 3));
+        StringWriter out = new StringWriter();
+        BoardText.write(game, out);
+        Assert.assertEquals(out.toString(), game.toString());
+        Assert.assertTrue(out.toString().endsWith("White\nfalse\n"));
+
+        BoardText.Decoder decoder = new BoardText.Decoder(out.toString());
+        Assert.assertTrue(decoder.next());
+        Assert.assertEquals(decoder.getBoard(), game.getBoard().snapshot());
+        Assert.assertEquals(decoder.getCurrentPlayer(), ChessPiece.PieceColor.White);
+        Assert.assertFalse(decoder.isTwoPlayer());
+        Assert.assertFalse(decoder.next());
+        Assert.assertEquals(decoder.toGame().toString(), game.toString());
+    }
+
+    @Test
+    public void keepsTheLastWholeGame() throws Exception {
+        ChessGame first = new ChessGame();
+        first.playMove(Location.of(6, 7), Location.of(5, 5));
+        first.setCurrentPlayer(ChessPiece.PieceColor.Black);
+        String file = new ChessGame() + "\n" + first + "\n" + START.substring(0, 3 * BoardText.ROW_LENGTH + 10);
+        BoardText.Decoder decoder = new BoardText.Decoder(ByteBuffer.wrap(file.getBytes(StandardCharsets.US_ASCII)));
+        Assert.assertTrue(decoder.next());
+        Assert.assertTrue(decoder.next());
+        Assert.assertFalse(decoder.next());
+        Assert.assertFalse(decoder.next());
+        Assert.assertEquals(decoder.getBoard(), first.getBoard().snapshot());
+        Assert.assertEquals(decoder.getCurrentPlayer(), ChessPiece.PieceColor.Black);
+        Assert.assertTrue(decoder.isTwoPlayer());
+    }
+
+    @Test
+    public void readsOlderFiles() throws Exception {
+        String windows = START.replace("\n", "\r\n") + "Black\r\nTRUE\r\n\r\n";
+        BoardText.Decoder decoder = new BoardText.Decoder(windows);
+        Assert.assertTrue(decoder.next());
+        Assert.assertEquals(decoder.getBoard(), new ChessBoard().snapshot());
+        Assert.assertEquals(decoder.getCurrentPlayer(), ChessPiece.PieceColor.Black);
+        Assert.assertTrue(decoder.isTwoPlayer());
+
+        decoder = new BoardText.Decoder(START.replace("[R0][N0]", "[X0][N0]") + "White\ntrue");
+        Assert.assertTrue(decoder.next());
+        Assert.assertNull(decoder.getBoard().tileAt(0));
+        Assert.assertEquals(decoder.getBoard().size(), 31);
+    }
+
+    @Test
+    public void nothingToRead() throws Exception {
+        BoardText.Decoder decoder = new BoardText.Decoder("");
+        Assert.assertFalse(decoder.next());
+        Assert.assertEquals(decoder.getBoard(), BoardSnapshot.EMPTY);
+        Assert.assertEquals(decoder.getCurrentPlayer(), ChessPiece.PieceColor.White);
+        Assert.assertTrue(decoder.isTwoPlayer());
+    }
+}
@@ -15,13 +15,13 @@ public class ChessBoardTest {
     private ChessBoard board;
     private Bishop testBishop1;
     private Bishop testBishop2;
-    private Location bishopOneLocation = new Location(3,3);
-    private Location bishopTwoLocation = new Location(3,1);
+    private Location bishopOneLocation = Location.of(3,3);
+    private Location bishopTwoLocation = Location.of(3,1);
 
     private ChessGame initialGame = new ChessGame();
 
-    private ChessPiece blackKingPiece = new King(ChessPiece.PieceColor.Black, new Location(5, 5));
-    private ChessPiece whiteKingPiece = new King(ChessPiece.PieceColor.White, new Location(7, 7));
+    private ChessPiece blackKingPiece = new King(ChessPiece.PieceColor.Black, Location.of(5, 5));
+    private ChessPiece whiteKingPiece = new King(ChessPiece.PieceColor.White, Location.of(7, 7));
 
     @Before
     public void setUp() throws Exception {
@@ -29,11 +29,11 @@ public class ChessBoardTest {
         testBishop2 = new Bishop(ChessPiece.PieceColor.Black, bishopTwoLocation);
         ArrayList<ChessPiece> pieces = new ArrayList<>();
         pieces.add(testBishop1);
-        pieces.add(new Pawn(ChessPiece.PieceColor.Black, new Location(0, 2)));
-        pieces.add(new Pawn(ChessPiece.PieceColor.Black, new Location(1, 2)));
-        pieces.add(new Pawn(ChessPiece.PieceColor.White, new Location(2, 2)));
-        pieces.add(new Pawn(ChessPiece.PieceColor.White, new Location(2, 2)));
-        pieces.add(new Rook(ChessPiece.PieceColor.White, new Location(5, 6)));
+        pieces.add(new Pawn(ChessPiece.PieceColor.Black, Location.of(0, 2)));
+        pieces.add(new Pawn(ChessPiece.PieceColor.Black, Location.of(1, 2)));
+        pieces.add(new Pawn(ChessPiece.PieceColor.White, Location.of(2, 2)));
+        pieces.add(new Pawn(ChessPiece.PieceColor.White, Location.of(2, 2)));
+        pieces.add(new Rook(ChessPiece.PieceColor.White, Location.of(5, 6)));
         pieces.add(blackKingPiece);
         pieces.add(whiteKingPiece);
         pieces.add(testBishop2);
@@ -48,21 +48,21 @@ public class ChessBoardTest {
     public void getPieceAtCoord() throws Exception {
         Assert.assertEquals(board.getPieceAtLocation(bishopOneLocation), testBishop1);
         Assert.assertEquals(board.getPieceAtLocation(bishopTwoLocation), testBishop2);
-        Assert.assertNull(board.getPieceAtLocation(new Location(-1, -1)));
-        Assert.assertNull(board.getPieceAtLocation(new Location(0, 0)));
+        Assert.assertNull(board.getPieceAtLocation(Location.of(-1, -1)));
+        Assert.assertNull(board.getPieceAtLocation(Location.of(0, 0)));
     }
 
     @Test
     public void isInsideBoardOneLocation() throws Exception {
         //single location
-        Assert.assertTrue(board.isInsideBoard(new Location(1, 1)));
-        Assert.assertFalse(board.isInsideBoard(new Location(-1, -1)));
+        Assert.assertTrue(board.isInsideBoard(Location.of(1, 1)));
+        Assert.assertFalse(board.isInsideBoard(Location.of(-1, -1)));
     }
 
     @Test
     public void isInsideBoardTwoLocations() throws Exception {
         //two locations
-        Assert.assertTrue(board.isInsideBoard(new Location(1,1), new Location(0, 0)));
+        Assert.assertTrue(board.isInsideBoard(Location.of(1,1), Location.of(0, 0)));
     }
 
     @Test
@@ -80,7 +80,7 @@ public class ChessBoardTest {
         ChessBoard clone = (ChessBoard) board.clone();
 
         board.move(new Move(testBishop1,
-                new Location(testBishop1.getLocation().x + 1, testBishop1.getLocation().y + 1)));
+                Location.of(testBishop1.getLocation().x + 1, testBishop1.getLocation().y + 1)));
 
         Assert.assertNotEquals(clone, board);
     }
@@ -101,12 +101,12 @@ public class ChessBoardTest {
         Assert.assertEquals(board.getKingPiece(ChessPiece.PieceColor.White), whiteKingPiece);
         Assert.assertEquals(board.getKingPiece(ChessPiece.PieceColor.Black), blackKingPiece);
         Assert.assertEquals(initialGame.getBoard().getKingPiece(ChessPiece.PieceColor.White).getLocation(),
-                new Location(4, 7));
+                Location.of(4, 7));
         Assert.assertEquals(initialGame.getBoard().getKingPiece(ChessPiece.PieceColor.Black).getLocation(),
-                new Location(4, 0));
+                Location.of(4, 0));
 
         ChessBoard tempBoard = new ChessBoard();
-        tempBoard.removePiece(new Location(4, 7));
+        tempBoard.removePiece(Location.of(4, 7));
 
         Assert.assertNull(tempBoard.getKingPiece(ChessPiece.PieceColor.White));
     }
@@ -133,4 +133,22 @@ public class ChessBoardTest {
         Assert.assertEquals(initialGame.getBoard().toString(), startBoardString);
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void zobristKeysFollowMoves() throws Exception {
+        ChessGame game = new ChessGame();
+        long startKey = game.getBoard().getZobristKey();
+        long startPawnKey = game.getBoard().getPawnKey();
+
+        game.playMove(Location.of(6, 7), Location.of(5, 5));
+        Assert.assertNotEquals(game.getBoard().getZobristKey(), startKey);
+        Assert.assertEquals(game.getBoard().getPawnKey(), startPawnKey);
+
+        game.playMove(Location.of(4, 1), Location.of(4, 3));
+        Assert.assertNotEquals(game.getBoard().getPawnKey(), startPawnKey);
+
+        ChessBoard rebuilt = new ChessBoard(game.getBoard().getBoardArrayList());
+        Assert.assertEquals(game.getBoard().getZobristKey(), rebuilt.getZobristKey());
+        Assert.assertEquals(game.getBoard().getPawnKey(), rebuilt.getPawnKey());
+    }
+}
@@ -22,16 +22,16 @@ public class ChessGameTest {
     public void setUp() throws Exception {
         game = new ChessGame();
         ArrayList<ChessPiece> stalematePieces = new ArrayList<>();
-        stalematePieces.add(new King(ChessPiece.PieceColor.White,new Location(0, 0)));
-        stalematePieces.add(new King(ChessPiece.PieceColor.Black,new Location(7, 7)));
-        stalematePieces.add(new Rook(ChessPiece.PieceColor.Black,new Location(5, 1)));
-        stalematePieces.add(new Rook(ChessPiece.PieceColor.Black,new Location(1, 5)));
+        stalematePieces.add(new King(ChessPiece.PieceColor.White,Location.of(0, 0)));
+        stalematePieces.add(new King(ChessPiece.PieceColor.Black,Location.of(7, 7)));
+        stalematePieces.add(new Rook(ChessPiece.PieceColor.Black,Location.of(5, 1)));
+        stalematePieces.add(new Rook(ChessPiece.PieceColor.Black,Location.of(1, 5)));
         stalemate = new ChessGame(new ChessBoard(stalematePieces));
         ArrayList<ChessPiece> checkMatePieces = new ArrayList<>();
-        checkMatePieces.add(new King(ChessPiece.PieceColor.White,new Location(0, 0)));
-        checkMatePieces.add(new King(ChessPiece.PieceColor.Black,new Location(7, 7)));
-        checkMatePieces.add(new Rook(ChessPiece.PieceColor.Black,new Location(0, 5)));
-        checkMatePieces.add(new Rook(ChessPiece.PieceColor.Black,new Location(1, 5)));
+        checkMatePieces.add(new King(ChessPiece.PieceColor.White,Location.of(0, 0)));
+        checkMatePieces.add(new King(ChessPiece.PieceColor.Black,Location.of(7, 7)));
+        checkMatePieces.add(new Rook(ChessPiece.PieceColor.Black,Location.of(0, 5)));
+        checkMatePieces.add(new Rook(ChessPiece.PieceColor.Black,Location.of(1, 5)));
         checkMate = new ChessGame(new ChessBoard(checkMatePieces));
         ChessGame test = new ChessGame(null);
     }
@@ -77,7 +77,7 @@ public class ChessGameTest {
     @Test
     public void getCurrentPlayer() throws Exception {
         Assert.assertEquals(game.getCurrentPlayer(), ChessPiece.PieceColor.White);
-        game.playMove(new Location(0, 6), new Location(0, 5));
+        game.playMove(Location.of(0, 6), Location.of(0, 5));
         Assert.assertEquals(game.getCurrentPlayer(), ChessPiece.PieceColor.Black);
     }
 
@@ -100,11 +100,11 @@ public class ChessGameTest {
     @Test
     public void playMove() throws Exception {
         ChessGame clone = (ChessGame) game.clone();
-        Assert.assertTrue(game.playMove(new Location(0, 6), new Location(0, 5)));
+        Assert.assertTrue(game.playMove(Location.of(0, 6), Location.of(0, 5)));
         Assert.assertNotEquals(game, clone);
-        Assert.assertFalse(game.playMove(new Location(0, 0), new Location(-1, -1)));
-        game.playMove(new Location(0, 6), new Location(0, 5));
-        Assert.assertTrue(game.playMove(new Location(0, 1), new Location(0, 2)));
+        Assert.assertFalse(game.playMove(Location.of(0, 0), Location.of(-1, -1)));
+        game.playMove(Location.of(0, 6), Location.of(0, 5));
+        Assert.assertTrue(game.playMove(Location.of(0, 1), Location.of(0, 2)));
     }
 
     @Test
@@ -115,6 +115,127 @@ public class ChessGameTest {
         Assert.assertEquals(stalemate.getState(), ChessGame.GameState.STALEMATE);
     }
 
+    @Test
+    public void hasAnyLegalMove() throws Exception {
+        Assert.assertTrue(game.hasAnyLegalMove(ChessPiece.PieceColor.White));
+        Assert.assertTrue(game.hasAnyLegalMove(ChessPiece.PieceColor.Black));
+        Assert.assertFalse(checkMate.hasAnyLegalMove(ChessPiece.PieceColor.White));
+        Assert.assertFalse(stalemate.hasAnyLegalMove(ChessPiece.PieceColor.White));
+        Assert.assertTrue(stalemate.hasAnyLegalMove(ChessPiece.PieceColor.Black));
+    }
+
+    @Test
+    public void stateFollowsPosition() throws Exception {
+        ArrayList<ChessPiece> pieces = new ArrayList<>();
+        pieces.add(new King(ChessPiece.PieceColor.White, Location.of(0, 0)));
+        pieces.add(new King(ChessPiece.PieceColor.Black, Location.of(7, 7)));
+        pieces.add(new Rook(ChessPiece.PieceColor.Black, Location.of(0, 5)));
+        pieces.add(new Rook(ChessPiece.PieceColor.Black, Location.of(2, 6)));
+        ChessGame mateInOne = new ChessGame(new ChessBoard(pieces));
+        mateInOne.setCurrentPlayer(ChessPiece.PieceColor.Black);
+        Assert.assertEquals(mateInOne.getState(), ChessGame.GameState.PLAY);
+        Assert.assertEquals(mateInOne.getState(), ChessGame.GameState.PLAY);
+        Assert.assertTrue(mateInOne.playMove(Location.of(2, 6), Location.of(1, 6)));
+        Assert.assertEquals(mateInOne.getState(), ChessGame.GameState.CHECKMATE);
+
+        Assert.assertEquals(checkMate.getState(), ChessGame.GameState.CHECKMATE);
+        ChessGame clone = (ChessGame) checkMate.clone();
+        clone.getBoard().removePiece(Location.of(0, 5));
+        Assert.assertEquals(clone.getState(), ChessGame.GameState.PLAY);
+        Assert.assertEquals(checkMate.getState(), ChessGame.GameState.CHECKMATE);
+    }
+
+    @Test
+    public void undoAndRedo() throws Exception {
+        String start = game.toString();
+        Assert.assertFalse(game.undo());
+        game.playMove(Location.of(4, 6), Location.of(4, 4));
+        game.incMoveCount();
+        String afterFirst = game.toString();
+        game.playMove(Location.of(3, 1), Location.of(3, 3));
+        game.incMoveCount();
+        game.playMove(Location.of(4, 4), Location.of(3, 3));
+        game.incMoveCount();
+        String end = game.toString();
+        Assert.assertEquals(game.getUndoCount(), 3);
+
+        Assert.assertTrue(game.undo());
+        Assert.assertTrue(game.undo());
+        Assert.assertEquals(game.toString(), afterFirst);
+        Assert.assertEquals(game.getMoveCount(), 1);
+        Assert.assertEquals(game.getRedoCount(), 2);
+        Assert.assertTrue(game.undo());
+        Assert.assertEquals(game.toString(), start);
+        Assert.assertFalse(game.undo());
+
+        Assert.assertTrue(game.redo());
+        Assert.assertTrue(game.redo());
+        Assert.assertTrue(game.redo());
+        Assert.assertFalse(game.redo());
+        Assert.assertEquals(game.toString(), end);
+        Assert.assertEquals(game.getMoveCount(), 3);
+        Assert.assertEquals(game.getBoard().getPieceAtLocation(Location.of(3, 3)).getColor(),
+                ChessPiece.PieceColor.White);
+
+        game.undo();
+        Assert.assertTrue(game.playMove(Location.of(2, 6), Location.of(2, 5)));
+        Assert.assertEquals(game.getRedoCount(), 0);
+        Assert.assertFalse(game.redo());
+    }
+
+    @Test
+    public void undoRestoresHistory() throws Exception {
+        game.playMove(Location.of(6, 7), Location.of(5, 5));
+        game.playMove(Location.of(6, 0), Location.of(5, 2));
+        PositionHistory history = game.getHistory();
+        game.playMove(Location.of(5, 5), Location.of(6, 7));
+        game.undo();
+        Assert.assertSame(game.getHistory(), history);
+        Assert.assertEquals(game.getCurrentPlayer(), ChessPiece.PieceColor.White);
+    }
+
+    @Test
+    public void threefoldRepetition() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals(game.getState(), ChessGame.GameState.PLAY);
+            game.playMove(Location.of(6, 7), Location.of(5, 5));
+            game.playMove(Location.of(6, 0), Location.of(5, 2));
+            game.playMove(Location.of(5, 5), Location.of(6, 7));
+            game.playMove(Location.of(5, 2), Location.of(6, 0));
+        }
+        Assert.assertEquals(game.getHistory().getRepetitions(), 3);
+        Assert.assertEquals(game.getHistory().getHalfmoveClock(), 8);
+        Assert.assertEquals(game.getState(), ChessGame.GameState.THREEFOLD_REPETITION);
+
+        game.playMove(Location.of(4, 6), Location.of(4, 4));
+        Assert.assertEquals(game.getHistory().getHalfmoveClock(), 0);
+        Assert.assertEquals(game.getState(), ChessGame.GameState.PLAY);
+    }
+
+    @Test
+    public void castlingRightsInPositionKey() throws Exception {
+        game.playMove(Location.of(4, 6), Location.of(4, 4));
+        game.playMove(Location.of(4, 1), Location.of(4, 3));
+        long before = game.getPositionKey();
+        game.playMove(Location.of(4, 7), Location.of(4, 6));
+        game.playMove(Location.of(4, 0), Location.of(4, 1));
+        game.playMove(Location.of(4, 6), Location.of(4, 7));
+        game.playMove(Location.of(4, 1), Location.of(4, 0));
+        Assert.assertEquals(game.getZobristKey(), before ^ Zobrist.castlingKey(15));
+        Assert.assertNotEquals(game.getPositionKey(), before);
+        Assert.assertEquals(game.getHistory().getRepetitions(), 1);
+    }
+
+    @Test
+    public void historySharedBySnapshot() throws Exception {
+        game.playMove(Location.of(6, 7), Location.of(5, 5));
+        GameSnapshot snapshot = game.snapshot();
+        game.playMove(Location.of(6, 0), Location.of(5, 2));
+        game.restore(snapshot);
+        Assert.assertSame(game.getHistory(), snapshot.getHistory());
+        Assert.assertEquals(game.getHistory().getKey(), game.getPositionKey());
+    }
+
     @Test
     public void testToString() throws Exception {
         String startGameString = "[R0][N0][B0][Q0][K0][B0][N0][R0]\n" +
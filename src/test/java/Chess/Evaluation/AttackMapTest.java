@@ -0,0 +1,64 @@
+package Chess.Evaluation;
+
+import Chess.ChessBoard;
+import Chess.ChessGame;
+import Chess.Location;
+import Chess.Pieces.*;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+public class AttackMapTest {
+
+    private AttackMap startingMap;
+
+    @Before
+    public void setUp() throws Exception {
+        startingMap = new AttackMap(new ChessBoard());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        startingMap = null;
+    }
+
+    @Test
+    public void mobilityMatchesValidMoves() throws Exception {
+        ChessGame game = new ChessGame();
+        for (ChessPiece piece : game.getBoard().getBoardArrayList()) {
+            if (piece instanceof Knight || piece instanceof Bishop || piece instanceof Rook || piece instanceof Queen) {
+                Assert.assertEquals(startingMap.mobility(piece), piece.validMoves(game).size());
+            }
+        }
+    }
+
+    @Test
+    public void attacksPerSide() throws Exception {
+        // White attacks all of rows 5 and 6 and everything on row 7 except the rook corners
+        Assert.assertEquals(startingMap.attacks(ChessPiece.PieceColor.White), 0x7EFFFF0000000000L);
+        Assert.assertTrue(startingMap.isAttacked(2 * 8 + 3, ChessPiece.PieceColor.Black));
+        Assert.assertFalse(startingMap.isAttacked(3 * 8 + 3, ChessPiece.PieceColor.Black));
+        Assert.assertNull(startingMap.pieceAt(4 * 8 + 4));
+        Assert.assertEquals(startingMap.pieces(ChessPiece.PieceType.Pawn), 0x00FF00000000FF00L);
+        Assert.assertEquals(startingMap.pieces(ChessPiece.PieceType.King), (1L << 4) | (1L << 60));
+    }
+
+    @Test
+    public void threats() throws Exception {
+        Rook rook = new Rook(ChessPiece.PieceColor.White, Location.of(0, 4));
+        ArrayList<ChessPiece> pieces = new ArrayList<>();
+        pieces.add(rook);
+        pieces.add(new Pawn(ChessPiece.PieceColor.Black, Location.of(0, 1)));
+        pieces.add(new Knight(ChessPiece.PieceColor.Black, Location.of(5, 4)));
+        pieces.add(new Bishop(ChessPiece.PieceColor.White, Location.of(0, 6)));
+        AttackMap map = new AttackMap(new ChessBoard(pieces));
+
+        Assert.assertEquals(map.threats(rook), 2);
+        // three up, one down, five right
+        Assert.assertEquals(map.mobility(rook), 9);
+        Assert.assertEquals(map.threats(new Pawn(ChessPiece.PieceColor.White, Location.of(6, 5))), 1);
+    }
+}
@@ -0,0 +1,43 @@
+package Chess.Evaluation;
+
+import Chess.ChessBoard;
+import Chess.ChessGame;
+import Chess.Location;
+import Chess.Pieces.ChessPiece;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+public class BatchEvaluatorTest {
+
+    @Test
+    public void matchesEvaluation() throws Exception {
+        ArrayList<ChessBoard> boards = new ArrayList<>();
+        ArrayList<Double> expected = new ArrayList<>();
+        ChessGame game = new ChessGame();
+        Location[][] moves = {
+                {Location.of(4, 6), Location.of(4, 4)},
+                {Location.of(3, 1), Location.of(3, 3)},
+                {Location.of(4, 4), Location.of(3, 3)},
+                {Location.of(3, 0), Location.of(3, 3)},
+                {Location.of(6, 7), Location.of(5, 5)},
+        };
+        for (Location[] move : moves) {
+            game.playMove(move[0], move[1]);
+            ChessGame copy = (ChessGame) game.clone();
+            boards.add(copy.getBoard());
+            double score = copy.differenceInAdvantage();
+            expected.add(copy.getCurrentPlayer() == ChessPiece.PieceColor.White ? score : -score);
+        }
+
+        for (EvaluationKernel kernel : new EvaluationKernel[]{new ScalarKernel(), new UnrolledKernel()}) {
+            BatchEvaluator evaluator = new BatchEvaluator(
+                    PieceSquareTables.getInstance(), EvaluationWeights.getInstance(), kernel);
+            double[] scores = evaluator.evaluate(boards);
+            for (int i = 0; i < scores.length; i++) {
+                Assert.assertEquals(scores[i], expected.get(i), 1e-4);
+            }
+        }
+    }
+}
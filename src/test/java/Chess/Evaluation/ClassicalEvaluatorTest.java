@@ -0,0 +1,29 @@
+package Chess.Evaluation;
+
+import Chess.ChessGame;
+import Chess.Location;
+import Chess.Pieces.ChessPiece;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ClassicalEvaluatorTest {
+
+    @Test
+    public void evaluate() throws Exception {
+        ChessGame game = new ChessGame();
+        Assert.assertSame(game.getEvaluator(), ClassicalEvaluator.getInstance());
+        Assert.assertEquals(ClassicalEvaluator.getInstance().evaluate(game), 0, 1e-9);
+
+        game.playMove(Location.of(4, 6), Location.of(4, 4));
+        game.playMove(Location.of(3, 1), Location.of(3, 3));
+        game.playMove(Location.of(4, 4), Location.of(3, 3));
+        double material = 0;
+        for (ChessPiece piece : game.getBoard().getBoardArrayList()) {
+            material += piece.getColor() == game.getCurrentPlayer() ? piece.materialValue() : -piece.materialValue();
+        }
+        // Black to move and a pawn down
+        Assert.assertEquals(material, -1, 0);
+        Assert.assertEquals(ClassicalEvaluator.getInstance().evaluate(game), game.differenceInAdvantage(), 0);
+        Assert.assertTrue(game.differenceInAdvantage() < 0);
+    }
+}
@@ -0,0 +1,56 @@
+package Chess.Evaluation;
+
+import Chess.ChessGame;
+import Chess.Location;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EvalCacheTest {
+
+    private EvalCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new EvalCache(16);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cache = null;
+    }
+
+    @Test
+    public void probeAndStore() throws Exception {
+        Assert.assertTrue(Double.isNaN(cache.probe(42)));
+        cache.store(42, 1.25);
+        Assert.assertEquals(cache.probe(42), 1.25, 0);
+        // same slot, different key
+        Assert.assertTrue(Double.isNaN(cache.probe(42 + 16)));
+        cache.store(42 + 16, -3);
+        Assert.assertTrue(Double.isNaN(cache.probe(42)));
+        Assert.assertEquals(cache.getProbes(), 4);
+        Assert.assertEquals(cache.getHits(), 1);
+        Assert.assertEquals(cache.getHitRatio(), 0.25, 0);
+    }
+
+    @Test
+    public void clear() throws Exception {
+        cache.store(7, 2);
+        cache.clear();
+        Assert.assertEquals(cache.getHitRatio(), 0, 0);
+        Assert.assertTrue(Double.isNaN(cache.probe(7)));
+    }
+
+    @Test
+    public void differenceInAdvantageUsesSharedCache() throws Exception {
+        ChessGame game = new ChessGame();
+        game.playMove(Location.of(4, 6), Location.of(4, 4));
+        double first = game.differenceInAdvantage();
+        long hits = EvalCache.getShared().getHits();
+        Assert.assertEquals(game.differenceInAdvantage(), first, 0);
+        Assert.assertEquals(EvalCache.getShared().getHits(), hits + 1);
+        Assert.assertEquals(EvalCache.getShared().probe(game.getZobristKey()), first, 0);
+    }
+}
@@ -0,0 +1,39 @@
+package Chess.Evaluation;
+
+import Chess.ChessGame;
+import Chess.Location;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EvaluationFeaturesTest {
+
+    private static double linear(ChessGame game) {
+        int[] counts = new int[EvaluationFeatures.PER_PHASE];
+        double material = EvaluationFeatures.extract(game.getBoard(), counts);
+        double[] parameters = EvaluationFeatures.toParameters(
+                PieceSquareTables.getInstance(), EvaluationWeights.getInstance());
+        return EvaluationFeatures.evaluate(parameters, counts, material, game.getBoard().getPhase());
+    }
+
+    @Test
+    public void matchesEvaluation() throws Exception {
+        ChessGame game = new ChessGame();
+        Assert.assertEquals(linear(game), game.differenceInAdvantage(), 1e-9);
+
+        game.playMove(Location.of(4, 6), Location.of(4, 4));
+        game.playMove(Location.of(3, 1), Location.of(3, 3));
+        game.playMove(Location.of(4, 4), Location.of(3, 3));
+        game.playMove(Location.of(3, 0), Location.of(3, 3));
+        Assert.assertEquals(linear(game), game.differenceInAdvantage(), 1e-9);
+    }
+
+    @Test
+    public void parametersRoundTrip() throws Exception {
+        PieceSquareTables tables = new PieceSquareTables();
+        EvaluationWeights weights = new EvaluationWeights();
+        double[] parameters = EvaluationFeatures.toParameters(tables, weights);
+        Assert.assertEquals(parameters.length, EvaluationFeatures.COUNT);
+        Assert.assertArrayEquals(EvaluationFeatures.toParameters(
+                EvaluationFeatures.toTables(parameters), EvaluationFeatures.toWeights(parameters)), parameters, 0);
+    }
+}
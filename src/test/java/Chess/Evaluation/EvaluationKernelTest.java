@@ -0,0 +1,36 @@
+package Chess.Evaluation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class EvaluationKernelTest {
+
+    @Test
+    public void kernelsAgree() throws Exception {
+        Random random = new Random(7);
+        float[] a = new float[403];
+        float[] b = new float[403];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = random.nextInt(9) - 4;
+            b[i] = random.nextFloat();
+        }
+        EvaluationKernel scalar = new ScalarKernel();
+        EvaluationKernel unrolled = new UnrolledKernel();
+        for (int length : new int[]{0, 1, 7, 8, 9, 400}) {
+            Assert.assertEquals(unrolled.dot(a, 3, b, 1, length), scalar.dot(a, 3, b, 1, length), 1e-3);
+        }
+        Assert.assertEquals(scalar.dot(new float[]{1, 2, 3}, 0, new float[]{4, 5, 6}, 0, 3), 32, 0);
+    }
+
+    @Test
+    public void forName() throws Exception {
+        Assert.assertEquals(EvaluationKernel.forName("scalar").name(), "scalar");
+        Assert.assertEquals(EvaluationKernel.forName("unrolled").name(), "unrolled");
+        Assert.assertEquals(EvaluationKernel.forName(null).name(), "unrolled");
+        Assert.assertEquals(EvaluationKernel.forName(ScalarKernel.class.getName()).name(), "scalar");
+        Assert.assertNull(EvaluationKernel.forName("no.such.Kernel"));
+        Assert.assertNotNull(EvaluationKernel.getInstance());
+    }
+}
@@ -0,0 +1,41 @@
+package Chess.Evaluation;
+
+import Chess.Pieces.ChessPiece;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+public class EvaluationWeightsTest {
+
+    @Test
+    public void tapered() throws Exception {
+        EvaluationWeights weights = new EvaluationWeights();
+        weights.setThreat(ChessPiece.PieceType.Rook, 0.2, 0.6);
+        Assert.assertEquals(weights.threat(ChessPiece.PieceType.Rook, GamePhase.MAX), 0.2, 0);
+        Assert.assertEquals(weights.threat(ChessPiece.PieceType.Rook, 0), 0.6, 0);
+        Assert.assertEquals(weights.threat(ChessPiece.PieceType.Rook, GamePhase.MAX / 2), 0.4, 1e-9);
+    }
+
+    @Test
+    public void writeAndLoad() throws Exception {
+        EvaluationWeights weights = new EvaluationWeights();
+        weights.setMobility(ChessPiece.PieceType.Rook, 0.01, 0.03);
+        weights.setPawnStructure(PawnStructure.PASSED, 0.5, 1.5);
+        StringWriter writer = new StringWriter();
+        weights.write(writer);
+
+        EvaluationWeights loaded = EvaluationWeights.load(
+                new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals(loaded.mobility(ChessPiece.PieceType.Rook, 0), 0.03, 0);
+        Assert.assertEquals(loaded.pawnStructure(PawnStructure.PASSED, GamePhase.MAX), 0.5, 0);
+        Assert.assertEquals(loaded.threat(ChessPiece.PieceType.Knight, GamePhase.MAX), 0.5, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void loadRejectsUnknownTerm() throws Exception {
+        EvaluationWeights.load(new ByteArrayInputStream("speed.Knight 1 2\n".getBytes(StandardCharsets.UTF_8)));
+    }
+}
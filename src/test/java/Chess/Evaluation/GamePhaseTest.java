@@ -0,0 +1,53 @@
+package Chess.Evaluation;
+
+import Chess.ChessBoard;
+import Chess.ChessGame;
+import Chess.Location;
+import Chess.Pieces.ChessPiece;
+import Chess.Pieces.King;
+import Chess.Pieces.Pawn;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+public class GamePhaseTest {
+
+    @Test
+    public void taper() throws Exception {
+        Assert.assertEquals(GamePhase.taper(1, 3, GamePhase.MAX), 1, 0);
+        Assert.assertEquals(GamePhase.taper(1, 3, 0), 3, 0);
+        Assert.assertEquals(GamePhase.taper(1, 3, GamePhase.MAX / 2), 2, 0);
+    }
+
+    @Test
+    public void boardPhase() throws Exception {
+        Assert.assertEquals(new ChessBoard().getPhase(), GamePhase.MAX);
+
+        ArrayList<ChessPiece> pieces = new ArrayList<>();
+        pieces.add(new King(ChessPiece.PieceColor.White, Location.of(7, 6)));
+        pieces.add(new King(ChessPiece.PieceColor.Black, Location.of(7, 1)));
+        pieces.add(new Pawn(ChessPiece.PieceColor.White, Location.of(0, 1)));
+        ChessGame game = new ChessGame(new ChessBoard(pieces));
+        Assert.assertEquals(game.getBoard().getPhase(), 0);
+
+        // promotion adds a queen
+        game.playMove(Location.of(0, 1), Location.of(0, 0));
+        Assert.assertEquals(game.getBoard().getPhase(), GamePhase.weight(ChessPiece.PieceType.Queen));
+    }
+
+    @Test
+    public void capturesLowerPhase() throws Exception {
+        ChessGame game = new ChessGame();
+        game.playMove(Location.of(4, 6), Location.of(4, 4));
+        game.playMove(Location.of(6, 0), Location.of(5, 2));
+        game.playMove(Location.of(3, 6), Location.of(3, 4));
+        game.playMove(Location.of(5, 2), Location.of(4, 4));
+        Assert.assertEquals(game.getBoard().getPhase(), GamePhase.MAX);
+        game.playMove(Location.of(3, 7), Location.of(6, 4));
+        game.playMove(Location.of(4, 4), Location.of(6, 5));
+        Assert.assertEquals(game.getBoard().getPhase(), GamePhase.MAX);
+        game.playMove(Location.of(6, 4), Location.of(6, 5));
+        Assert.assertEquals(game.getBoard().getPhase(), GamePhase.MAX - GamePhase.weight(ChessPiece.PieceType.Knight));
+    }
+}
@@ -0,0 +1,26 @@
+package Chess.Evaluation;
+
+import Chess.ChessGame;
+import Chess.Location;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NnueAccumulatorTest {
+
+    @Test
+    public void followsMoves() throws Exception {
+        NnueNetwork network = NnueNetworkTest.randomNetwork(8, 3);
+        ChessGame game = new ChessGame();
+        game.getBoard().setAccumulator(network.newAccumulator(game.getBoard()));
+
+        game.playMove(Location.of(4, 6), Location.of(4, 4));
+        game.playMove(Location.of(3, 1), Location.of(3, 3));
+        ChessGame copy = (ChessGame) game.clone();
+        game.playMove(Location.of(4, 4), Location.of(3, 3));
+
+        Assert.assertTrue(game.getBoard().getAccumulator().sameValues(network.newAccumulator(game.getBoard())));
+        Assert.assertTrue(copy.getBoard().getAccumulator().sameValues(network.newAccumulator(copy.getBoard())));
+        Assert.assertNotSame(copy.getBoard().getAccumulator(), game.getBoard().getAccumulator());
+        Assert.assertFalse(copy.getBoard().getAccumulator().sameValues(game.getBoard().getAccumulator()));
+    }
+}
@@ -0,0 +1,29 @@
+package Chess.Evaluation;
+
+import Chess.ChessGame;
+import Chess.Location;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NnueEvaluatorTest {
+
+    @Test
+    public void evaluate() throws Exception {
+        NnueNetwork network = NnueNetworkTest.randomNetwork(8, 4);
+        ChessGame game = new ChessGame();
+        game.setEvaluator(new NnueEvaluator(network));
+        Assert.assertNull(game.getBoard().getAccumulator());
+
+        game.playMove(Location.of(6, 7), Location.of(5, 5));
+        double score = game.differenceInAdvantage();
+        Assert.assertNotNull(game.getBoard().getAccumulator());
+        Assert.assertEquals(score, network.evaluate(network.newAccumulator(game.getBoard()),
+                game.getCurrentPlayer()) / 100.0, 0);
+
+        ChessGame copy = (ChessGame) game.clone();
+        Assert.assertSame(copy.getEvaluator(), game.getEvaluator());
+        copy.playMove(Location.of(6, 0), Location.of(5, 2));
+        Assert.assertEquals(copy.differenceInAdvantage(), network.evaluate(network.newAccumulator(copy.getBoard()),
+                copy.getCurrentPlayer()) / 100.0, 0);
+    }
+}
@@ -0,0 +1,69 @@
+package Chess.Evaluation;
+
+import Chess.ChessBoard;
+import Chess.Pieces.ChessPiece.PieceColor;
+import Chess.Pieces.ChessPiece.PieceType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+public class NnueNetworkTest {
+
+    /**
+     * @return a network with small random weights
+     */
+    static NnueNetwork randomNetwork(int hidden, long seed) {
+        Random random = new Random(seed);
+        short[] inputWeights = new short[NnueNetwork.INPUTS * hidden];
+        short[] hiddenBias = new short[hidden];
+        short[] outputWeights = new short[2 * hidden];
+        for (int i = 0; i < inputWeights.length; i++) {
+            inputWeights[i] = (short) (random.nextInt(41) - 20);
+        }
+        for (int i = 0; i < hidden; i++) {
+            hiddenBias[i] = (short) random.nextInt(64);
+        }
+        for (int i = 0; i < outputWeights.length; i++) {
+            outputWeights[i] = (short) (random.nextInt(129) - 64);
+        }
+        return new NnueNetwork(hidden, inputWeights, hiddenBias, outputWeights, random.nextInt(1000));
+    }
+
+    @Test
+    public void input() throws Exception {
+        Assert.assertEquals(NnueNetwork.input(PieceColor.White, PieceColor.White, PieceType.Pawn, 52), 52);
+        // a black pawn seen by Black is its own pawn on the mirrored tile
+        Assert.assertEquals(NnueNetwork.input(PieceColor.Black, PieceColor.Black, PieceType.Pawn, 12), 52);
+        Assert.assertEquals(NnueNetwork.input(PieceColor.White, PieceColor.Black, PieceType.King, 4),
+                (6 + PieceType.King.ordinal()) * 64 + 4);
+    }
+
+    @Test
+    public void writeAndLoad() throws Exception {
+        NnueNetwork network = randomNetwork(16, 1);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        network.write(output);
+        Assert.assertEquals(output.size(), 12 + 2 * (NnueNetwork.INPUTS * 16 + 3 * 16));
+        NnueNetwork loaded = NnueNetwork.load(new ByteArrayInputStream(output.toByteArray()));
+
+        ChessBoard board = new ChessBoard();
+        Assert.assertEquals(loaded.evaluate(loaded.newAccumulator(board), PieceColor.White),
+                network.evaluate(network.newAccumulator(board), PieceColor.White));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOtherFiles() throws Exception {
+        NnueNetwork.load(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+    }
+
+    @Test
+    public void startingPositionIsEven() throws Exception {
+        NnueNetwork network = randomNetwork(16, 2);
+        NnueAccumulator accumulator = network.newAccumulator(new ChessBoard());
+        Assert.assertEquals(network.evaluate(accumulator, PieceColor.White),
+                network.evaluate(accumulator, PieceColor.Black));
+    }
+}
@@ -0,0 +1,58 @@
+package Chess.Evaluation;
+
+import Chess.ChessBoard;
+import Chess.ChessGame;
+import Chess.Location;
+import Chess.Pieces.ChessPiece;
+import Chess.Pieces.King;
+import Chess.Pieces.Pawn;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+public class PawnHashTableTest {
+
+    private PawnHashTable table;
+
+    @Before
+    public void setUp() throws Exception {
+        table = new PawnHashTable(64);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        table = null;
+    }
+
+    @Test
+    public void whiteAdvantage() throws Exception {
+        Assert.assertEquals(table.whiteAdvantage(new ChessBoard()), 0, 0);
+
+        ArrayList<ChessPiece> pieces = new ArrayList<>();
+        pieces.add(new King(ChessPiece.PieceColor.White, Location.of(4, 7)));
+        pieces.add(new King(ChessPiece.PieceColor.Black, Location.of(4, 0)));
+        pieces.add(new Pawn(ChessPiece.PieceColor.White, Location.of(0, 3)));
+        ChessBoard board = new ChessBoard(pieces);
+        EvaluationWeights weights = EvaluationWeights.getInstance();
+        double expected = weights.pawnStructure(PawnStructure.ISOLATED, 0) + weights.pawnStructure(PawnStructure.PASSED, 0);
+        Assert.assertEquals(table.whiteAdvantage(board), expected, 1e-9);
+        Assert.assertEquals(table.probe(board), table.probe(board));
+        Assert.assertEquals(PawnStructure.feature(table.probe(board), PawnStructure.PASSED), 1);
+    }
+
+    @Test
+    public void followsPawnMoves() throws Exception {
+        ChessGame game = new ChessGame();
+        game.playMove(Location.of(4, 6), Location.of(4, 4));
+        game.playMove(Location.of(3, 1), Location.of(3, 3));
+        long before = table.probe(game.getBoard());
+        game.playMove(Location.of(4, 4), Location.of(3, 3));
+        Assert.assertNotEquals(table.probe(game.getBoard()), before);
+
+        table.clear();
+        Assert.assertEquals(table.probe(game.getBoard()), new PawnHashTable(64).probe(game.getBoard()));
+    }
+}
@@ -0,0 +1,52 @@
+package Chess.Evaluation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PawnStructureTest {
+
+    private static long pawns(int... squares) {
+        long result = 0;
+        for (int square : squares) {
+            result |= 1L << square;
+        }
+        return result;
+    }
+
+    @Test
+    public void startingPawnsAreEven() throws Exception {
+        long white = 0xFFL << 48;
+        long black = 0xFFL << 8;
+        Assert.assertEquals(PawnStructure.features(white, black), 0);
+    }
+
+    @Test
+    public void connected() throws Exception {
+        // White pawns on b2 and c3 defend each other, Black has pawns in front of both
+        long white = pawns(6 * 8 + 1, 5 * 8 + 2);
+        long black = pawns(1 * 8 + 1, 1 * 8 + 2);
+        long features = PawnStructure.features(white, black);
+        Assert.assertEquals(PawnStructure.feature(features, PawnStructure.CONNECTED), 2);
+        Assert.assertEquals(PawnStructure.feature(features, PawnStructure.PASSED), 0);
+    }
+
+    @Test
+    public void doubledIsolatedAndPassed() throws Exception {
+        // two black pawns alone on the a file with nothing in front of them
+        long features = PawnStructure.features(0, pawns(1 * 8, 2 * 8));
+        Assert.assertEquals(PawnStructure.feature(features, PawnStructure.CONNECTED), 0);
+        Assert.assertEquals(PawnStructure.feature(features, PawnStructure.DOUBLED), -1);
+        Assert.assertEquals(PawnStructure.feature(features, PawnStructure.ISOLATED), -2);
+        Assert.assertEquals(PawnStructure.feature(features, PawnStructure.PASSED), -2);
+    }
+
+    @Test
+    public void score() throws Exception {
+        EvaluationWeights weights = new EvaluationWeights();
+        long features = PawnStructure.features(0, pawns(1 * 8, 2 * 8));
+        double endgame = -(weights.pawnStructure(PawnStructure.DOUBLED, 0) +
+                2 * weights.pawnStructure(PawnStructure.ISOLATED, 0) +
+                2 * weights.pawnStructure(PawnStructure.PASSED, 0));
+        Assert.assertEquals(PawnStructure.score(features, weights, 0), endgame, 1e-9);
+    }
+}
@@ -0,0 +1,67 @@
+package Chess.Evaluation;
+
+import Chess.Location;
+import Chess.Pieces.ChessPiece;
+import Chess.Pieces.Knight;
+import Chess.Pieces.Pawn;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+public class PieceSquareTablesTest {
+
+    private PieceSquareTables tables;
+
+    @Before
+    public void setUp() throws Exception {
+        tables = new PieceSquareTables();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        tables = null;
+    }
+
+    @Test
+    public void knightFavorsCenter() throws Exception {
+        Assert.assertEquals(tables.value(new Knight(ChessPiece.PieceColor.White, Location.of(0, 0)), PieceSquareTables.MIDDLEGAME), 0);
+        Assert.assertEquals(tables.value(new Knight(ChessPiece.PieceColor.Black, Location.of(1, 1)), PieceSquareTables.MIDDLEGAME), 10);
+        Assert.assertEquals(tables.value(new Knight(ChessPiece.PieceColor.White, Location.of(3, 4)), PieceSquareTables.MIDDLEGAME), 30);
+    }
+
+    @Test
+    public void mirroredForColor() throws Exception {
+        Pawn white = new Pawn(ChessPiece.PieceColor.White, Location.of(2, 2));
+        Pawn black = new Pawn(ChessPiece.PieceColor.Black, Location.of(2, 5));
+        Assert.assertEquals(tables.value(white, PieceSquareTables.MIDDLEGAME), 200);
+        Assert.assertEquals(tables.value(black, PieceSquareTables.MIDDLEGAME), 200);
+        Assert.assertEquals(tables.value(new Pawn(ChessPiece.PieceColor.Black, Location.of(2, 1)), PieceSquareTables.MIDDLEGAME), 0);
+    }
+
+    @Test
+    public void writeAndLoad() throws Exception {
+        int[] rookTable = new int[64];
+        rookTable[8] = 25;
+        tables.setTable(ChessPiece.PieceType.Rook, PieceSquareTables.ENDGAME, rookTable);
+
+        StringWriter writer = new StringWriter();
+        tables.write(writer);
+        PieceSquareTables loaded = PieceSquareTables.load(
+                new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.UTF_8)));
+
+        Assert.assertArrayEquals(loaded.getTable(ChessPiece.PieceType.Rook, PieceSquareTables.ENDGAME), rookTable);
+        Assert.assertEquals(loaded.value(ChessPiece.PieceType.Rook, ChessPiece.PieceColor.Black, 48, PieceSquareTables.ENDGAME), 25);
+        Assert.assertArrayEquals(loaded.getTable(ChessPiece.PieceType.Knight, PieceSquareTables.MIDDLEGAME),
+                tables.getTable(ChessPiece.PieceType.Knight, PieceSquareTables.MIDDLEGAME));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void loadRejectsShortTable() throws Exception {
+        PieceSquareTables.load(new ByteArrayInputStream("Pawn middlegame\n0 0 0\n".getBytes(StandardCharsets.UTF_8)));
+    }
+}
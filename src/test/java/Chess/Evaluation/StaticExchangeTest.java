@@ -0,0 +1,63 @@
+package Chess.Evaluation;
+
+import Chess.ChessBoard;
+import Chess.Location;
+import Chess.Move;
+import Chess.Pieces.*;
+import Chess.Pieces.ChessPiece.PieceColor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+public class StaticExchangeTest {
+
+    private static double see(ChessPiece mover, Location to, ChessPiece... others) {
+        ArrayList<ChessPiece> pieces = new ArrayList<>();
+        pieces.add(mover);
+        for (ChessPiece piece : others) {
+            pieces.add(piece);
+        }
+        return StaticExchange.evaluate(new ChessBoard(pieces), new Move(mover, to));
+    }
+
+    @Test
+    public void undefendedCapture() throws Exception {
+        Assert.assertEquals(see(new Rook(PieceColor.White, Location.of(0, 7)), Location.of(0, 2),
+                new Pawn(PieceColor.Black, Location.of(0, 2))), 1, 0);
+        Assert.assertEquals(see(new Rook(PieceColor.White, Location.of(0, 7)), Location.of(0, 3)), 0, 0);
+    }
+
+    @Test
+    public void defendedCapture() throws Exception {
+        Assert.assertEquals(see(new Queen(PieceColor.White, Location.of(3, 7)), Location.of(3, 2),
+                new Pawn(PieceColor.Black, Location.of(3, 2)),
+                new Pawn(PieceColor.Black, Location.of(2, 1))), -8, 0);
+        Assert.assertEquals(see(new Pawn(PieceColor.White, Location.of(3, 5)), Location.of(4, 4),
+                new Knight(PieceColor.Black, Location.of(4, 4)),
+                new Pawn(PieceColor.Black, Location.of(5, 3))), 2, 0);
+    }
+
+    @Test
+    public void xRay() throws Exception {
+        Assert.assertEquals(see(new Rook(PieceColor.White, Location.of(0, 6)), Location.of(0, 2),
+                new Pawn(PieceColor.Black, Location.of(0, 2)),
+                new Knight(PieceColor.Black, Location.of(1, 0))), -4, 0);
+        // the queen behind the rook wins back the knight
+        Assert.assertEquals(see(new Rook(PieceColor.White, Location.of(0, 6)), Location.of(0, 2),
+                new Pawn(PieceColor.Black, Location.of(0, 2)),
+                new Knight(PieceColor.Black, Location.of(1, 0)),
+                new Queen(PieceColor.White, Location.of(0, 7))), -1, 0);
+    }
+
+    @Test
+    public void kingOnlyRecapturesUndefended() throws Exception {
+        Assert.assertEquals(see(new Queen(PieceColor.Black, Location.of(3, 0)), Location.of(3, 6),
+                new Pawn(PieceColor.White, Location.of(3, 6)),
+                new King(PieceColor.White, Location.of(4, 7))), -8, 0);
+        Assert.assertEquals(see(new Queen(PieceColor.Black, Location.of(3, 0)), Location.of(3, 6),
+                new Pawn(PieceColor.White, Location.of(3, 6)),
+                new King(PieceColor.White, Location.of(4, 7)),
+                new Bishop(PieceColor.Black, Location.of(0, 3))), 1, 0);
+    }
+}
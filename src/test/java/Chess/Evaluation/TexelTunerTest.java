@@ -0,0 +1,89 @@
+package Chess.Evaluation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class TexelTunerTest {
+
+    private static final String[] POSITIONS = {
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - [0.5]",
+            "4k3/8/8/8/8/8/PPP5/4K3 w - - \"1-0\";",
+            "4k3/ppp5/8/8/8/8/8/4K3 b - - 0-1",
+            "4k3/8/8/3Q4/8/8/8/4K3 w - - 1.0",
+            "4k3/8/8/8/3q4/8/8/4K3 w - - 0.0",
+            "not a position",
+            "4k3/8/8/8/8/8/8/4K3 w - - 1/2-1/2"
+    };
+
+    private Path positionsFile() throws Exception {
+        return positionsFile(POSITIONS);
+    }
+
+    private Path positionsFile(String... positions) throws Exception {
+        Path file = Files.createTempFile("positions", ".epd");
+        file.toFile().deleteOnExit();
+        Files.write(file, Arrays.asList(positions), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    public void load() throws Exception {
+        TexelTuner tuner = TexelTuner.load(positionsFile());
+        Assert.assertEquals(tuner.size(), POSITIONS.length - 1);
+        Assert.assertEquals(tuner.getSkipped(), 1);
+    }
+
+    @Test
+    public void plainFenIsNotLabelledFromItsMoveCounters() throws Exception {
+        TexelTuner tuner = TexelTuner.load(positionsFile(
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "4k3/8/8/8/8/8/PPP5/4K3 w - - 1 0",
+                "4k3/8/8/8/8/8/PPP5/4K3 w - - hmvc 0; fmvn 1;"));
+        Assert.assertEquals(tuner.size(), 0);
+        Assert.assertEquals(tuner.getSkipped(), 3);
+    }
+
+    @Test
+    public void readsResultsAfterTheFenFields() throws Exception {
+        TexelTuner tuner = TexelTuner.load(positionsFile(
+                "4k3/8/8/8/8/8/PPP5/4K3 w - - 0 1 1-0",
+                "4k3/8/8/8/8/8/PPP5/4K3 w - - 0 1 1",
+                "4k3/8/8/8/8/8/PPP5/4K3 w - - hmvc 0; fmvn 1; c9 \"1-0\";",
+                "4k3/8/8/8/8/8/PPP5/4K3 w - - 3 40 [1.0]"));
+        Assert.assertEquals(tuner.size(), 4);
+        Assert.assertEquals(tuner.getSkipped(), 0);
+    }
+
+    @Test
+    public void tuningLowersError() throws Exception {
+        TexelTuner tuner = TexelTuner.load(positionsFile());
+        double[] parameters = EvaluationFeatures.toParameters(new PieceSquareTables(), new EvaluationWeights());
+        tuner.fitScale(parameters);
+        double[] start = parameters.clone();
+        double before = tuner.error(parameters);
+        double[] tuned = tuner.tune(parameters, 50, false);
+        Assert.assertTrue(tuner.error(tuned) < before);
+        Assert.assertArrayEquals(parameters, start, 0);
+    }
+
+    @Test
+    public void writesEvaluationFiles() throws Exception {
+        File output = Files.createTempDirectory("tuned").toFile();
+        TexelTuner.main(new String[]{positionsFile().toString(), output.getPath(), "10"});
+        File tables = new File(output, PieceSquareTables.TABLE_FILE);
+        File weights = new File(output, EvaluationWeights.WEIGHTS_FILE);
+        Assert.assertTrue(tables.exists());
+        Assert.assertTrue(weights.exists());
+        Assert.assertNotNull(PieceSquareTables.load(tables));
+        Assert.assertNotNull(EvaluationWeights.load(weights));
+        tables.delete();
+        weights.delete();
+        output.delete();
+    }
+}
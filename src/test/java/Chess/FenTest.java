@@ -0,0 +1,94 @@
+package Chess;
+
+import Chess.Pieces.ChessPiece;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class FenTest {
+
+    @Test
+    public void startingPosition() throws Exception {
+        GameSnapshot start = Fen.parse(Fen.START);
+        Assert.assertEquals(start.getBoard(), new ChessBoard().snapshot());
+        Assert.assertEquals(start.getCurrentPlayer(), ChessPiece.PieceColor.White);
+        Assert.assertEquals(start.getBoard().castlingRights(), 15);
+        Assert.assertNull(start.getPreviousMove());
+        Assert.assertEquals(Fen.write(start), Fen.START);
+        Assert.assertEquals(start.getHistory().getKey(), new ChessGame().getPositionKey());
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        String[] records = {
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+                "4k3/8/8/8/3Pp3/8/8/4K3 b - d3 12 40",
+                "r3k3/8/8/8/8/8/8/4K2R w Kq - 7 20"
+        };
+        for (String record : records) {
+            Assert.assertEquals(Fen.write(Fen.parse(record)), record);
+            Assert.assertEquals(ChessGame.fromFen(record).toFen(), record);
+        }
+    }
+
+    @Test
+    public void shortRecords() throws Exception {
+        GameSnapshot snapshot = Fen.parse("8/8/8/8/8/8/8/K6k b -");
+        Assert.assertEquals(snapshot.getCurrentPlayer(), ChessPiece.PieceColor.Black);
+        Assert.assertEquals(snapshot.getBoard().size(), 2);
+        Assert.assertEquals(snapshot.getHistory().getHalfmoveClock(), 0);
+        Assert.assertEquals(Fen.placement("8/8/8/8/8/8/8/K6k", 0).size(), 2);
+    }
+
+    @Test
+    public void enPassant() throws Exception {
+        ChessGame game = ChessGame.fromFen("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3");
+        Assert.assertTrue(game.playMove(Location.of(4, 3), Location.of(5, 2)));
+        Assert.assertNull(game.getBoard().getPieceAtLocation(Location.of(5, 3)));
+
+        game = ChessGame.fromFen("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq - 0 3");
+        Assert.assertFalse(game.playMove(Location.of(4, 3), Location.of(5, 2)));
+    }
+
+    @Test
+    public void castlingRights() throws Exception {
+        ChessGame game = ChessGame.fromFen("r3k2r/8/8/8/8/8/8/R3K2R w Qk - 0 1");
+        Assert.assertTrue(game.getBoard().getPieceAtLocation(Location.of(7, 7)).hasMoved());
+        Assert.assertFalse(game.getBoard().getPieceAtLocation(Location.of(0, 7)).hasMoved());
+        Assert.assertFalse(game.playMove(Location.of(4, 7), Location.of(6, 7)));
+        Assert.assertTrue(game.playMove(Location.of(4, 7), Location.of(2, 7)));
+        Assert.assertEquals(game.toFen(), "r3k2r/8/8/8/8/8/8/2KR3R b k - 1 1");
+    }
+
+    @Test
+    public void fromBuffer() throws Exception {
+        ByteBuffer buffer = ByteBuffer.wrap((Fen.START + "\r\n8/8/8/8/8/8/8/K6k b - - 3 9\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        Assert.assertEquals(Fen.write(Fen.parse(buffer)), Fen.START);
+        GameSnapshot second = Fen.parse(buffer);
+        Assert.assertEquals(second.getMoveCount(), 17);
+        Assert.assertEquals(second.getHistory().getHalfmoveClock(), 3);
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void malformed() throws Exception {
+        String[] records = {"", "8/8/8 w - - 0 1", "rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNX w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkz - 0 1"};
+        for (String record : records) {
+            try {
+                Fen.parse(record);
+                Assert.fail(record);
+            } catch (IllegalArgumentException e) {
+                Assert.assertTrue(e.getMessage().startsWith("Malformed FEN"));
+            }
+        }
+    }
+}
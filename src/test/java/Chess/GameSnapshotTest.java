@@ -0,0 +1,37 @@
+package Chess;
+
+import Chess.Pieces.ChessPiece.PieceColor;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GameSnapshotTest {
+
+    @Test
+    public void restore() throws Exception {
+        ChessGame game = new ChessGame();
+        GameSnapshot start = game.snapshot();
+        Assert.assertNull(start.getPreviousMove());
+
+        game.playMove(Location.of(4, 6), Location.of(4, 4));
+        game.playMove(Location.of(0, 1), Location.of(0, 2));
+        game.playMove(Location.of(4, 4), Location.of(4, 3));
+        game.playMove(Location.of(3, 1), Location.of(3, 3));
+        GameSnapshot beforeEnPassant = game.snapshot();
+        Assert.assertEquals(beforeEnPassant.getCurrentPlayer(), PieceColor.White);
+        Assert.assertEquals(beforeEnPassant.getPreviousMove().getPiece().getLocation(), Location.of(3, 1));
+
+        Assert.assertTrue(game.playMove(Location.of(4, 3), Location.of(3, 2)));
+        Assert.assertNull(game.getBoard().getPieceAtLocation(Location.of(3, 3)));
+
+        // back to before the capture, where en passant is still possible
+        game.restore(beforeEnPassant);
+        Assert.assertNotNull(game.getBoard().getPieceAtLocation(Location.of(3, 3)));
+        Assert.assertEquals(game.getBoard().snapshot(), beforeEnPassant.getBoard());
+        Assert.assertTrue(game.playMove(Location.of(4, 3), Location.of(3, 2)));
+        Assert.assertNull(game.getBoard().getPieceAtLocation(Location.of(3, 3)));
+
+        game.restore(start);
+        Assert.assertEquals(game.getCurrentPlayer(), PieceColor.White);
+        Assert.assertEquals(game.getZobristKey(), new ChessGame().getZobristKey());
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.HashSet;
+
 /**
  * Created by Elizabeth on 2/28/2017.
  */
@@ -16,9 +18,9 @@ public class LocationTest {
 
     @Before
     public void setUp() throws Exception {
-        location1 = new Location(1,0);
-        location2 = new Location(1,0);
-        location3 = new Location(0,1);
+        location1 = Location.of(1,0);
+        location2 = Location.of(1,0);
+        location3 = Location.of(0,1);
     }
 
     @After
@@ -32,12 +34,15 @@ public class LocationTest {
     @Test
     public void Constructor() throws Exception {
 
-        Location copy = new Location(location1);
-        Assert.assertEquals(copy, location1);
-
-        Location equal1 = new Location(1, 0);
-        Location equal2 = new Location(1, 0);
+        Location equal1 = Location.of(1, 0);
+        Location equal2 = Location.of(1, 0);
         Assert.assertEquals(equal1, equal2);
+        Assert.assertSame(equal1, equal2);
+        Assert.assertSame(Location.of(location1.index()), location1);
+
+        Location offBoard = Location.of(-1, 2);
+        Assert.assertEquals(offBoard, Location.of(-1, 2));
+        Assert.assertEquals(offBoard.x, -1);
 
     }
 
@@ -50,7 +55,7 @@ public class LocationTest {
     @Test
     public void testClone() throws Exception {
         clone = (Location)location1.clone();
-        Assert.assertNotSame(location1, clone);
+        Assert.assertSame(location1, clone);
 
         Assert.assertEquals(clone, location1);
         Assert.assertNotEquals(clone, location3);
@@ -64,6 +69,17 @@ public class LocationTest {
         Assert.assertNotEquals(location1, location3);
     }
 
+    @Test
+    public void hashCodeAndIndex() throws Exception {
+        Assert.assertEquals(location1.hashCode(), location2.hashCode());
+        Assert.assertEquals(location1.index(), 1);
+        Assert.assertEquals(location3.index(), 8);
+        HashSet<Location> set = new HashSet<>();
+        set.add(location1);
+        Assert.assertTrue(set.contains(Location.of(1, 0)));
+        Assert.assertFalse(set.contains(location3));
+    }
+
     @Test
     public void testToString() throws Exception {
         Assert.assertEquals(location1.toString(), "B8");
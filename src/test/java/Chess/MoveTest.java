@@ -22,14 +22,14 @@ public class MoveTest {
 
     @Before
     public void setUp() throws Exception {
-        testPiece1 = new Bishop(ChessPiece.PieceColor.White, new Location(1,1));
-        testPiece2 = new Bishop(ChessPiece.PieceColor.White, new Location(2,2));
-        testLocation1 = new Location(1,1);
-        testLocation2 = new Location(2,2);
+        testPiece1 = new Bishop(ChessPiece.PieceColor.White, Location.of(1,1));
+        testPiece2 = new Bishop(ChessPiece.PieceColor.White, Location.of(2,2));
+        testLocation1 = Location.of(1,1);
+        testLocation2 = Location.of(2,2);
         move = new Move(testPiece1,testLocation1);
         move2 = new Move(testPiece1,testLocation1);
         move3 = new Move(testPiece2,testLocation2);
-        //testLocation2 = new Location(2,);
+        //testLocation2 = Location.of(2,);
     }
 
     @After
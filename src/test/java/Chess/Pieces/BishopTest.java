@@ -24,16 +24,16 @@ public class BishopTest {
 
     @Before
     public void setUp() throws Exception {
-        testBishop1 = new Bishop(ChessPiece.PieceColor.White, new Location(1,1));
-        testBishop2 = new Bishop(ChessPiece.PieceColor.Black, new Location(3,1));
+        testBishop1 = new Bishop(ChessPiece.PieceColor.White, Location.of(1,1));
+        testBishop2 = new Bishop(ChessPiece.PieceColor.Black, Location.of(3,1));
         ArrayList<ChessPiece> pieces = new ArrayList<>();
         pieces.add(testBishop1);
-        pieces.add(new Pawn(ChessPiece.PieceColor.Black, new Location(0,2)));
-        pieces.add(new Pawn(ChessPiece.PieceColor.Black, new Location(1,2)));
-        pieces.add(new Pawn(ChessPiece.PieceColor.White, new Location(2,2)));
-        pieces.add(new Pawn(ChessPiece.PieceColor.White, new Location(2,2)));
-        pieces.add(new King(ChessPiece.PieceColor.Black, new Location(5, 5)));
-        pieces.add(new King(ChessPiece.PieceColor.White, new Location(7, 7)));
+        pieces.add(new Pawn(ChessPiece.PieceColor.Black, Location.of(0,2)));
+        pieces.add(new Pawn(ChessPiece.PieceColor.Black, Location.of(1,2)));
+        pieces.add(new Pawn(ChessPiece.PieceColor.White, Location.of(2,2)));
+        pieces.add(new Pawn(ChessPiece.PieceColor.White, Location.of(2,2)));
+        pieces.add(new King(ChessPiece.PieceColor.Black, Location.of(5, 5)));
+        pieces.add(new King(ChessPiece.PieceColor.White, Location.of(7, 7)));
         pieces.add(testBishop2);
 
         board = new ChessBoard(pieces);
@@ -48,15 +48,15 @@ public class BishopTest {
 
     @Test
     public void constructors() throws Exception {
-        Bishop bishop1 = new Bishop(ChessPiece.PieceColor.White, new Location(0, 0));
+        Bishop bishop1 = new Bishop(ChessPiece.PieceColor.White, Location.of(0, 0));
         Assert.assertNotNull(bishop1);
-        Bishop bishop2 = new Bishop(ChessPiece.PieceColor.White, new Location(0, 0), true);
+        Bishop bishop2 = new Bishop(ChessPiece.PieceColor.White, Location.of(0, 0), true);
         Assert.assertNotNull(bishop2);
     }
 
     @Test
     public void value() throws Exception {
-        Assert.assertEquals(testBishop1.value(new ChessGame()), 3.5, 0);
+        Assert.assertEquals(testBishop1.value(new ChessGame()), 5.3, 0);
         Assert.assertEquals(testBishop2.value(new ChessGame()), 3.5, 0);
     }
 
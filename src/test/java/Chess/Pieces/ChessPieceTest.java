@@ -17,12 +17,12 @@ import java.util.Collections;
 public class ChessPieceTest {
 
     private ChessGame game;
-    private Bishop testBishop1 = new Bishop(ChessPiece.PieceColor.White, new Location(1,1));
-    private Bishop testBishop2 = new Bishop(ChessPiece.PieceColor.White, new Location(1,1));
-    private Pawn pawn1 = new Pawn(ChessPiece.PieceColor.Black, new Location(0,2));
-    private Pawn pawn2 = new Pawn(ChessPiece.PieceColor.White, new Location(2,2));
-    private King king1 = new King(ChessPiece.PieceColor.Black, new Location(5, 5));
-    private King king2 = new King(ChessPiece.PieceColor.White, new Location(7, 7));
+    private Bishop testBishop1 = new Bishop(ChessPiece.PieceColor.White, Location.of(1,1));
+    private Bishop testBishop2 = new Bishop(ChessPiece.PieceColor.White, Location.of(1,1));
+    private Pawn pawn1 = new Pawn(ChessPiece.PieceColor.Black, Location.of(0,2));
+    private Pawn pawn2 = new Pawn(ChessPiece.PieceColor.White, Location.of(2,2));
+    private King king1 = new King(ChessPiece.PieceColor.Black, Location.of(5, 5));
+    private King king2 = new King(ChessPiece.PieceColor.White, Location.of(7, 7));
 
     private ArrayList<ChessPiece> pieces = new ArrayList<>();
 
@@ -45,7 +45,7 @@ public class ChessPieceTest {
 
     @Test
     public void setHasMoved() throws Exception {
-        Bishop bishop = new Bishop(ChessPiece.PieceColor.White, new Location(0, 0));
+        Bishop bishop = new Bishop(ChessPiece.PieceColor.White, Location.of(0, 0));
         bishop.setHasMoved(true);
 
         Assert.assertTrue(bishop.hasMoved());
@@ -62,22 +62,22 @@ public class ChessPieceTest {
         Bishop bishop = null;
         Assert.assertEquals(testBishop1.equals(bishop), false);
 
-        bishop = new Bishop(ChessPiece.PieceColor.White, new Location(1, 1));
-        Rook rook = new Rook(ChessPiece.PieceColor.White, new Location(1, 1));
+        bishop = new Bishop(ChessPiece.PieceColor.White, Location.of(1, 1));
+        Rook rook = new Rook(ChessPiece.PieceColor.White, Location.of(1, 1));
         Assert.assertEquals(bishop.equals((ChessPiece)rook), false);
 
-        Pawn pawn = new Pawn(ChessPiece.PieceColor.White, new Location(1, 1));
+        Pawn pawn = new Pawn(ChessPiece.PieceColor.White, Location.of(1, 1));
         Assert.assertEquals(bishop.equals((ChessPiece)pawn), false);
 
-        Bishop blackBishop = new Bishop(ChessPiece.PieceColor.Black, new Location(1, 1));
+        Bishop blackBishop = new Bishop(ChessPiece.PieceColor.Black, Location.of(1, 1));
         Assert.assertEquals(bishop.equals(blackBishop), false);
 
-        Bishop locationBishop = new Bishop(ChessPiece.PieceColor.Black, new Location(2, 2));
+        Bishop locationBishop = new Bishop(ChessPiece.PieceColor.Black, Location.of(2, 2));
         Assert.assertEquals(bishop.equals(locationBishop), false);
 
         Assert.assertEquals(bishop.equals(bishop), true);
 
-        Bishop bishop2 = new Bishop(ChessPiece.PieceColor.White, new Location(1, 1));
+        Bishop bishop2 = new Bishop(ChessPiece.PieceColor.White, Location.of(1, 1));
         Assert.assertEquals(bishop.equals(bishop2), true);
     }
 
@@ -104,7 +104,7 @@ public class ChessPieceTest {
 
         Assert.assertEquals(clone, testBishop1);
 
-        clone = new Bishop(ChessPiece.PieceColor.Black, new Location(3, 1));
+        clone = new Bishop(ChessPiece.PieceColor.Black, Location.of(3, 1));
         Assert.assertNotSame(clone, testBishop1);
         Assert.assertNotEquals(clone, testBishop1);
 
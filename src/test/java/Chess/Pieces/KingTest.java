@@ -13,7 +13,7 @@ import org.junit.Test;
  */
 public class KingTest {
 
-    private King king = new King(ChessPiece.PieceColor.Black, new Location(4,4));
+    private King king = new King(ChessPiece.PieceColor.Black, Location.of(4,4));
 
     @Before
     public void setUp() throws Exception {
@@ -27,9 +27,9 @@ public class KingTest {
 
     @Test
     public void constructors() throws Exception {
-        King king1 = new King(ChessPiece.PieceColor.Black, new Location(0, 0));
+        King king1 = new King(ChessPiece.PieceColor.Black, Location.of(0, 0));
         Assert.assertNotNull(king1);
-        King king2 = new King(ChessPiece.PieceColor.Black, new Location(1, 1), true);
+        King king2 = new King(ChessPiece.PieceColor.Black, Location.of(1, 1), true);
         Assert.assertNotNull(king2);
     }
 
@@ -13,7 +13,7 @@ import org.junit.Test;
  */
 public class KnightTest {
 
-    private Knight knight = new Knight(ChessPiece.PieceColor.Black, new Location(1,1));
+    private Knight knight = new Knight(ChessPiece.PieceColor.Black, Location.of(1,1));
 
     @Before
     public void setUp() throws Exception {
@@ -27,9 +27,9 @@ public class KnightTest {
 
     @Test
     public void constructors() throws Exception {
-        Knight knight1 = new Knight(ChessPiece.PieceColor.Black, new Location(0, 0));
+        Knight knight1 = new Knight(ChessPiece.PieceColor.Black, Location.of(0, 0));
         Assert.assertNotNull(knight1);
-        Knight knight2 = new Knight(ChessPiece.PieceColor.Black, new Location(1, 1), true);
+        Knight knight2 = new Knight(ChessPiece.PieceColor.Black, Location.of(1, 1), true);
         Assert.assertNotNull(knight2);
     }
 
@@ -13,7 +13,7 @@ import org.junit.Test;
  */
 public class QueenTest {
 
-    private Queen queen = new Queen(ChessPiece.PieceColor.Black, new Location(1,1));
+    private Queen queen = new Queen(ChessPiece.PieceColor.Black, Location.of(1,1));
 
     @Before
     public void setUp() throws Exception {
@@ -27,7 +27,7 @@ public class QueenTest {
 
     @Test
     public void value() throws Exception {
-        Assert.assertEquals(queen.value(new ChessGame()), 9.392857142857142, 0);
+        Assert.assertEquals(queen.value(new ChessGame()), 11.192857142857143, 0);
     }
 
     @Test
@@ -14,7 +14,7 @@ import org.junit.Test;
  */
 public class RookTest {
 
-    private Rook rook = new Rook(ChessPiece.PieceColor.Black, new Location(4,4));
+    private Rook rook = new Rook(ChessPiece.PieceColor.Black, Location.of(4,4));
 
     @Before
     public void setUp() throws Exception {
@@ -28,9 +28,9 @@ public class RookTest {
 
     @Test
     public void constructors() throws Exception {
-        Rook rook1 = new Rook(ChessPiece.PieceColor.Black, new Location(0, 0));
+        Rook rook1 = new Rook(ChessPiece.PieceColor.Black, Location.of(0, 0));
         Assert.assertNotNull(rook1);
-        Rook rook2 = new Rook(ChessPiece.PieceColor.Black, new Location(1, 1), true);
+        Rook rook2 = new Rook(ChessPiece.PieceColor.Black, Location.of(1, 1), true);
         Assert.assertNotNull(rook2);
     }
 
@@ -0,0 +1,52 @@
+package Chess;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PositionHistoryTest {
+
+    @Test
+    public void repetitions() throws Exception {
+        PositionHistory history = PositionHistory.start(1);
+        history = history.push(2, false).push(3, false).push(4, false).push(1, false);
+        Assert.assertEquals(history.getRepetitions(), 2);
+        Assert.assertFalse(history.isThreefoldRepetition());
+        history = history.push(2, false).push(3, false).push(4, false).push(1, false);
+        Assert.assertEquals(history.getRepetitions(), 3);
+        Assert.assertTrue(history.isThreefoldRepetition());
+        Assert.assertEquals(history.getHalfmoveClock(), 8);
+        Assert.assertEquals(history.getPrevious().getKey(), 4);
+    }
+
+    @Test
+    public void onlySameSideToMove() throws Exception {
+        PositionHistory history = PositionHistory.start(1).push(2, false).push(1, false);
+        Assert.assertEquals(history.getRepetitions(), 2);
+        history = PositionHistory.start(1).push(2, false).push(3, false).push(1, false);
+        Assert.assertEquals(history.getRepetitions(), 1);
+    }
+
+    @Test
+    public void irreversibleMoveResetsClock() throws Exception {
+        PositionHistory history = PositionHistory.start(1).push(2, false).push(3, true);
+        Assert.assertEquals(history.getHalfmoveClock(), 0);
+        history = history.push(2, false).push(1, false);
+        Assert.assertEquals(history.getRepetitions(), 1);
+        Assert.assertEquals(history.getHalfmoveClock(), 2);
+    }
+
+    @Test
+    public void fiftyMoveRule() throws Exception {
+        PositionHistory history = PositionHistory.start(0);
+        for (int i = 1; i < PositionHistory.FIFTY_MOVES; i++) {
+            history = history.push(i, false);
+        }
+        Assert.assertFalse(history.isFiftyMoveRule());
+        history = history.push(PositionHistory.FIFTY_MOVES, false);
+        Assert.assertTrue(history.isFiftyMoveRule());
+        PositionHistory unchanged = history;
+        history.push(0, true);
+        Assert.assertSame(history, unchanged);
+        Assert.assertTrue(history.isFiftyMoveRule());
+    }
+}
@@ -0,0 +1,165 @@
+package Data;
+
+import Chess.ChessGame;
+import Chess.Location;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class TestAutoSaveWriter {
+    File file;
+    ChessGame game;
+    AutoSaveWriter writer;
+
+    @Before
+    public void setup() throws Exception {
+        file = File.createTempFile("autosave", ".journal");
+        game = new ChessGame(false);
+        writer = new AutoSaveWriter(file);
+    }
+
+    @After
+    public void cleanup() {
+        writer.close();
+        file.delete();
+    }
+
+    private void play(int fromX, int fromY, int toX, int toY) {
+        assertTrue(game.playMove(Location.of(fromX, fromY), Location.of(toX, toY)));
+        game.incMoveCount();
+        writer.append(game.getPreviousMove());
+    }
+
+    @Test
+    public void writesInOrder() throws Exception {
+        writer.startJournal(game);
+        play(4, 6, 4, 4);
+        play(3, 1, 3, 3);
+        assertTrue(game.undo());
+        writer.appendUndo();
+        play(2, 1, 2, 3);
+        writer.awaitSynced();
+
+        MoveJournal.Contents contents = MoveJournal.read(file);
+        assertEquals(4, contents.getRecords());
+        assertEquals(game.getBoard().toString(), contents.toGame().getBoard().toString());
+        assertEquals(0, contents.getUndone().size());
+    }
+
+    @Test
+    public void startCopiesTheGame() throws Exception {
+        writer.startJournal(game);
+        play(4, 6, 4, 4);
+        writer.awaitSynced();
+        assertEquals(new ChessGame().getBoard().toString(),
+                MoveJournal.read(file).toGame(0).getBoard().toString());
+    }
+
+    @Test
+    public void moreWritesThanTheQueueHolds() throws Exception {
+        writer.startJournal(game);
+        play(4, 6, 4, 4);
+        for (int i = 0; i < 2 * AutoSaveWriter.QUEUE_CAPACITY; i++) {
+            writer.appendUndo();
+            writer.append(game.getPreviousMove());
+        }
+        writer.close();
+        MoveJournal.Contents contents = MoveJournal.read(file);
+        assertEquals(4 * AutoSaveWriter.QUEUE_CAPACITY + 1, contents.getRecords());
+        assertEquals(1, contents.getLine().size());
+    }
+
+    @Test
+    public void resumes() throws Exception {
+        assertFalse(writer.resumeJournal());
+        writer.startJournal(game);
+        play(4, 6, 4, 4);
+        writer.finishJournal();
+        assertTrue(writer.resumeJournal());
+        play(3, 1, 3, 3);
+        writer.awaitSynced();
+        assertEquals(2, MoveJournal.read(file).getLine().size());
+    }
+
+    @Test
+    public void discards() throws Exception {
+        writer.startJournal(game);
+        play(4, 6, 4, 4);
+        writer.discardJournal();
+        play(3, 1, 3, 3);
+        writer.awaitSynced();
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void keepsWritingAfterAFailedTask() throws Exception {
+        writer.startJournal(game);
+        writer.submit(() -> {
+            throw new IOException("disk full");
+        });
+        play(4, 6, 4, 4);
+        try {
+            writer.awaitSynced();
+            fail("The failed task should be reported");
+        } catch (IOException e) {
+            assertEquals("disk full", e.getMessage());
+        }
+        // reported once
+        writer.awaitSynced();
+        assertEquals(1, MoveJournal.read(file).getRecords());
+    }
+
+    @Test(timeout = 10000)
+    public void failedAppendIsReportedByTheNextWait() throws Exception {
+        File directory = new File(file.getPath() + ".dir");
+        assertTrue(directory.mkdir());
+        AutoSaveWriter failing = new AutoSaveWriter(directory);
+        try {
+            try {
+                failing.startJournal(game);
+                fail("Creating a journal in place of a directory should fail");
+            } catch (IOException e) {
+                // the moves played after it cannot be journaled either
+            }
+            assertTrue(game.playMove(Location.of(4, 6), Location.of(4, 4)));
+            failing.append(game.getPreviousMove());
+            try {
+                failing.awaitSynced();
+                fail("The failed append should be reported");
+            } catch (IOException e) {
+                assertNotNull(e.getCause());
+            }
+        } finally {
+            failing.close();
+            directory.delete();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void failedResumeIsReportedToTheCaller() throws Exception {
+        File directory = new File(file.getPath() + ".dir");
+        assertTrue(directory.mkdir());
+        AutoSaveWriter failing = new AutoSaveWriter(directory);
+        try {
+            failing.resumeJournal();
+            fail("Opening a directory as a journal should fail");
+        } catch (IOException e) {
+            // the writer keeps going after the failure
+            failing.awaitSynced();
+        } finally {
+            failing.close();
+            directory.delete();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closed() {
+        writer.close();
+        writer.appendUndo();
+    }
+}
@@ -0,0 +1,142 @@
+package Data;
+
+import Chess.ChessGame;
+import Chess.Fen;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestGameDatabase {
+    File directory;
+
+    static final String GAMES = TestPgnReader.SCHOLARS_MATE +
+            "[White \"b\"]\n\n1. e4 c5 2. Nf3 d6 1/2-1/2\n\n" +
+            "[White \"c\"]\n\n1. d4 d5 2. c4 e6 3. Nc3 0-1\n\n" +
+            "[White \"d\"]\n[FEN \"8/P6k/8/8/8/8/8/K7 w - - 0 1\"]\n\n1. a8=Q Kg6 *\n\n";
+
+    @Before
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("games").toFile();
+    }
+
+    @After
+    public void cleanup() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    private static PgnReader reader(String pgn) {
+        return new PgnReader(Channels.newChannel(new ByteArrayInputStream(pgn.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static long key(String fen) {
+        return ChessGame.fromFen(fen).getPositionKey();
+    }
+
+    @Test
+    public void findsGamesByPosition() throws Exception {
+        GameDatabase database = GameDatabase.open(directory);
+        assertEquals(4, database.importGames(reader(GAMES)));
+        assertEquals(4, database.getGameCount());
+
+        assertArrayEquals(new int[]{0, 1, 2}, database.findGames(key(Fen.START)));
+        long afterE4 = key("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1");
+        assertArrayEquals(new int[]{0, 1}, database.findGames(afterE4));
+        assertEquals(Arrays.asList(new GameDatabase.Occurrence(0, 1), new GameDatabase.Occurrence(1, 1)),
+                database.find(afterE4));
+        assertEquals(0, database.findGames(key("8/8/8/8/8/8/8/K6k w - - 0 1")).length);
+
+        ChessGame mate = database.getGame(0).toGame();
+        assertEquals(Arrays.asList(new GameDatabase.Occurrence(0, 7)), database.find(mate));
+    }
+
+    @Test
+    public void storesGamesAsImported() throws Exception {
+        GameDatabase database = GameDatabase.open(directory);
+        database.importGames(reader(GAMES));
+        PgnReader reader = reader(GAMES);
+        for (int id = 0; reader.hasNext(); id++) {
+            PgnGame expected = reader.next();
+            PgnGame stored = database.getGame(id);
+            assertEquals(expected.getTags(), stored.getTags());
+            assertEquals(expected.getResult(), stored.getResult());
+            assertEquals(Fen.write(expected.getStart()), Fen.write(stored.getStart()));
+            assertEquals(Fen.write(expected.getEnd()), Fen.write(stored.getEnd()));
+            assertEquals(expected.getPlies(), stored.getPlies());
+        }
+        try {
+            database.getGame(4);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void segmentsSurviveReopening() throws Exception {
+        GameDatabase database = GameDatabase.open(directory);
+        database.importGames(reader(GAMES));
+        database.importGames(reader(TestPgnReader.SCHOLARS_MATE));
+        database.close();
+        // what an import that did not finish leaves behind
+        Files.write(new File(directory, "segment-00002.games").toPath(), new byte[]{1, 2, 3});
+
+        database = GameDatabase.open(directory);
+        assertEquals(5, database.getGameCount());
+        assertFalse(new File(directory, "segment-00002.games").exists());
+        assertArrayEquals(new int[]{0, 1, 2, 4}, database.findGames(key(Fen.START)));
+        assertEquals("Anderssen", database.getGame(4).getTag("White"));
+
+        PgnGame game = reader(TestPgnReader.SCHOLARS_MATE).next();
+        assertEquals(0, database.findDuplicate(game));
+        assertEquals(-1, database.findDuplicate(reader("1. e4 e5 2. Bc4 Nc6 3. Qh5 Nf6 *").next()));
+    }
+
+    @Test
+    public void storesGamesTheCodecCannotEncode() throws Exception {
+        GameDatabase database = GameDatabase.open(directory);
+        // ChessGame takes the pawn on c5 as if the bishop had captured it en passant, which the codec does not follow
+        String takesTwice = "1. e4 c5 2. Bb5 d5 3. Bc6+ *";
+        database.importGames(reader(takesTwice + "\n\n" + GAMES));
+        PgnGame expected = reader(takesTwice).next();
+        assertEquals(Fen.write(expected.getEnd()), Fen.write(database.getGame(0).getEnd()));
+        assertArrayEquals(new int[]{0}, database.findGames(expected.getPositionKeys()[expected.getPlies()]));
+        assertEquals("Anderssen", database.getGame(1).getTag("White"));
+    }
+
+    @Test
+    public void sortsByKeyThenRef() {
+        Random random = new Random(7);
+        int size = 20000;
+        long[] keys = new long[size];
+        long[] refs = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i % 5 == 0 ? keys[random.nextInt(i + 1)] : random.nextLong();
+            refs[i] = random.nextInt(1000);
+        }
+        long[][] sorted = GameDatabase.sort(keys, refs, size);
+        for (int i = 1; i < size; i++) {
+            assertTrue(sorted[0][i - 1] < sorted[0][i] ||
+                    (sorted[0][i - 1] == sorted[0][i] && sorted[1][i - 1] <= sorted[1][i]));
+        }
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += keys[i] * 31 + refs[i] - sorted[0][i] * 31 - sorted[1][i];
+        }
+        assertEquals(0, sum);
+    }
+}
@@ -24,39 +24,39 @@ public class TestLoad {
     public void setup() throws Exception {
         ArrayList<ChessPiece> pieces = new ArrayList<>();
         // Pawns
-        pieces.add(new Pawn(ChessPiece.PieceColor.White, new Location(0,4)));
+        pieces.add(new Pawn(ChessPiece.PieceColor.White, Location.of(0,4)));
         for(int i = 0; i < 8; i++){
-            pieces.add(new Pawn(ChessPiece.PieceColor.Black, new Location(i, 1)));
+            pieces.add(new Pawn(ChessPiece.PieceColor.Black, Location.of(i, 1)));
             if(i != 0) {
-                pieces.add(new Pawn(ChessPiece.PieceColor.White, new Location(i, 6)));
+                pieces.add(new Pawn(ChessPiece.PieceColor.White, Location.of(i, 6)));
             }
         }
 
         // Rooks
-        pieces.add(new Rook(ChessPiece.PieceColor.Black, new Location(0, 0)));
-        pieces.add(new Rook(ChessPiece.PieceColor.Black, new Location(7, 0)));
-        pieces.add(new Rook(ChessPiece.PieceColor.White, new Location(0, 7)));
-        pieces.add(new Rook(ChessPiece.PieceColor.White, new Location(7, 7)));
+        pieces.add(new Rook(ChessPiece.PieceColor.Black, Location.of(0, 0)));
+        pieces.add(new Rook(ChessPiece.PieceColor.Black, Location.of(7, 0)));
+        pieces.add(new Rook(ChessPiece.PieceColor.White, Location.of(0, 7)));
+        pieces.add(new Rook(ChessPiece.PieceColor.White, Location.of(7, 7)));
 
         // Knight
-        pieces.add(new Knight(ChessPiece.PieceColor.Black, new Location(1, 0)));
-        pieces.add(new Knight(ChessPiece.PieceColor.Black, new Location(6, 0)));
-        pieces.add(new Knight(ChessPiece.PieceColor.White, new Location(1, 7)));
-        pieces.add(new Knight(ChessPiece.PieceColor.White, new Location(6, 7)));
+        pieces.add(new Knight(ChessPiece.PieceColor.Black, Location.of(1, 0)));
+        pieces.add(new Knight(ChessPiece.PieceColor.Black, Location.of(6, 0)));
+        pieces.add(new Knight(ChessPiece.PieceColor.White, Location.of(1, 7)));
+        pieces.add(new Knight(ChessPiece.PieceColor.White, Location.of(6, 7)));
 
         // Bishop
-        pieces.add(new Bishop(ChessPiece.PieceColor.Black, new Location(2, 0)));
-        pieces.add(new Bishop(ChessPiece.PieceColor.Black, new Location(5, 0)));
-        pieces.add(new Bishop(ChessPiece.PieceColor.White, new Location(5, 7)));
-        pieces.add(new Bishop(ChessPiece.PieceColor.White, new Location(2, 7)));
+        pieces.add(new Bishop(ChessPiece.PieceColor.Black, Location.of(2, 0)));
+        pieces.add(new Bishop(ChessPiece.PieceColor.Black, Location.of(5, 0)));
+        pieces.add(new Bishop(ChessPiece.PieceColor.White, Location.of(5, 7)));
+        pieces.add(new Bishop(ChessPiece.PieceColor.White, Location.of(2, 7)));
 
         // Queens
-        pieces.add(new Queen(ChessPiece.PieceColor.Black, new Location(3, 0)));
-        pieces.add(new Queen(ChessPiece.PieceColor.White, new Location(3, 7)));
+        pieces.add(new Queen(ChessPiece.PieceColor.Black, Location.of(3, 0)));
+        pieces.add(new Queen(ChessPiece.PieceColor.White, Location.of(3, 7)));
 
         // Kings
-        pieces.add(new King(ChessPiece.PieceColor.Black, new Location(4, 0)));
-        pieces.add(new King(ChessPiece.PieceColor.White, new Location(4, 7)));
+        pieces.add(new King(ChessPiece.PieceColor.Black, Location.of(4, 0)));
+        pieces.add(new King(ChessPiece.PieceColor.White, Location.of(4, 7)));
         expected = new ChessGame(new ChessBoard(pieces));
         expected.setCurrentPlayer(ChessPiece.PieceColor.Black);
     }
@@ -0,0 +1,99 @@
+package Data;
+
+import Chess.Fen;
+import Chess.GameSnapshot;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TestMoveIndexCodec {
+
+    private static PgnGame read(String pgn) {
+        PgnGame game = new PgnReader(Channels.newChannel(
+                new ByteArrayInputStream(pgn.getBytes(StandardCharsets.UTF_8)))).next();
+        assertNull(game.getError());
+        return game;
+    }
+
+    private static int[] moves(PgnGame game) {
+        int[] moves = new int[game.getPlies()];
+        for (int ply = 0; ply < moves.length; ply++) {
+            moves[ply] = game.getMove(ply);
+        }
+        return moves;
+    }
+
+    private static void assertRoundTrip(PgnGame game) {
+        MoveIndexCodec codec = MoveIndexCodec.forCurrentThread();
+        long[] keys = new long[game.getPlies() + 1];
+        byte[] encoded = codec.encode(game.getStart(), moves(game), game.getPlies(), keys);
+        assertEquals(game.getPlies(), encoded.length);
+        assertArrayEquals(moves(game), codec.decode(game.getStart(), encoded, 0, encoded.length));
+        assertArrayEquals(game.getPositionKeys(), keys);
+    }
+
+    @Test
+    public void roundTrip() {
+        assertRoundTrip(read(TestPgnReader.SCHOLARS_MATE));
+        assertRoundTrip(read("1. Nf3 Nf6 2. g3 g6 3. Bg2 Bg7 4. O-O O-O 5. Nc3 d6 6. d3 Nbd7 7. Re1 Nb6 8. Nd2 Nfd7 " +
+                "9. e4 c5 10. e5 c4 11. exd6 cxd3 12. Rxe7 dxc2 13. Qxc2 *"));
+        assertRoundTrip(read("[FEN \"8/P6k/8/8/8/8/8/K7 w - - 0 1\"]\n\n1. a8=Q Kg6 *"));
+    }
+
+    @Test
+    public void enPassant() {
+        assertRoundTrip(read("1. e4 a6 2. e5 d5 3. exd6 *"));
+        assertRoundTrip(read("[FEN \"4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1\"]\n\n1. exd6 Kd7 *"));
+    }
+
+    @Test
+    public void longGames() {
+        StringBuilder pgn = new StringBuilder();
+        for (int move = 1; move <= 80; move++) {
+            pgn.append(move).append(move % 2 == 1 ? ". Nf3 Nf6 " : ". Ng1 Ng8 ");
+        }
+        PgnGame game = read(pgn.append("*").toString());
+        assertEquals(160, game.getPlies());
+        assertRoundTrip(game);
+    }
+
+    @Test
+    public void everyIndexIsADifferentMove() {
+        GameSnapshot start = Fen.parse(Fen.START);
+        Set<Integer> moves = new HashSet<>();
+        for (int index = 0; index < 20; index++) {
+            moves.add(MoveIndexCodec.forCurrentThread().decode(start, new byte[]{(byte) index}, 0, 1)[0]);
+        }
+        assertEquals(20, moves.size());
+    }
+
+    @Test
+    public void castlingThroughCheckIsEncoded() {
+        PgnGame game = read("1. e4 b6 2. Nf3 Ba6 3. Bb5 Bxb5 4. O-O *");
+        MoveIndexCodec codec = MoveIndexCodec.forCurrentThread();
+        byte[] encoded = codec.encode(game.getStart(), moves(game), game.getPlies(), null);
+        assertArrayEquals(moves(game), codec.decode(game.getStart(), encoded, 0, game.getPlies()));
+    }
+
+    @Test
+    public void enPassantIsEncoded() {
+        PgnGame game = read("1. e4 a6 2. e5 d5 3. exd6 *");
+        MoveIndexCodec codec = MoveIndexCodec.forCurrentThread();
+        long[] keys = new long[game.getPlies() + 1];
+        byte[] encoded = codec.encode(game.getStart(), moves(game), game.getPlies(), keys);
+        assertArrayEquals(moves(game), codec.decode(game.getStart(), encoded, 0, game.getPlies()));
+        assertArrayEquals(game.getPositionKeys(), keys);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void indexPastTheMoveList() {
+        GameSnapshot start = Fen.parse(Fen.START);
+        MoveIndexCodec.forCurrentThread().decode(start, new byte[]{20}, 0, 1);
+    }
+}
@@ -0,0 +1,165 @@
+package Data;
+
+import Chess.ChessGame;
+import Chess.Location;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.*;
+
+public class TestMoveJournal {
+    File file;
+    ChessGame game;
+
+    @Before
+    public void setup() throws Exception {
+        file = File.createTempFile("journal", ".journal");
+        game = new ChessGame(false);
+    }
+
+    @After
+    public void cleanup() {
+        file.delete();
+    }
+
+    private void play(MoveJournal journal, int fromX, int fromY, int toX, int toY) throws Exception {
+        assertTrue(game.playMove(Location.of(fromX, fromY), Location.of(toX, toY)));
+        game.incMoveCount();
+        journal.append(game.getPreviousMove());
+    }
+
+    @Test
+    public void replaysMoves() throws Exception {
+        MoveJournal journal = MoveJournal.create(file, game);
+        play(journal, 4, 6, 4, 4);
+        play(journal, 3, 1, 3, 3);
+        play(journal, 4, 4, 3, 3);
+        journal.close();
+
+        MoveJournal.Contents contents = MoveJournal.read(file);
+        assertEquals(3, contents.getRecords());
+        ChessGame result = contents.toGame();
+        assertEquals(game.getBoard().toString(), result.getBoard().toString());
+        assertEquals(game.getCurrentPlayer(), result.getCurrentPlayer());
+        assertEquals(3, result.getMoveCount());
+        assertFalse(result.getIsTwoPlayer());
+        assertEquals(new ChessGame().getBoard().toString(), contents.toGame(0).getBoard().toString());
+    }
+
+    @Test
+    public void undoAndRedo() throws Exception {
+        MoveJournal journal = MoveJournal.create(file, game);
+        play(journal, 4, 6, 4, 4);
+        play(journal, 3, 1, 3, 3);
+        journal.appendUndo();
+        journal.appendUndo();
+        MoveJournal.Contents contents = MoveJournal.read(file);
+        assertEquals(0, contents.getLine().size());
+        assertEquals(2, contents.getUndone().size());
+
+        game = contents.toGame();
+        play(journal, 4, 6, 4, 4);
+        contents = MoveJournal.read(file);
+        assertEquals(1, contents.getLine().size());
+        assertEquals(1, contents.getUndone().size());
+
+        play(journal, 2, 1, 2, 2);
+        journal.appendUndo();
+        journal.close();
+        contents = MoveJournal.read(file);
+        ChessGame result = contents.toGame();
+        assertEquals(1, result.getRedoCount());
+        assertTrue(result.redo());
+        assertEquals(game.getBoard().toString(), result.getBoard().toString());
+        assertEquals(2, result.getMoveCount());
+
+        game = result;
+        journal = MoveJournal.open(file);
+        journal.append(game.getPreviousMove());
+        play(journal, 3, 6, 3, 4);
+        journal.close();
+        contents = MoveJournal.read(file);
+        assertEquals(3, contents.getLine().size());
+        assertEquals(0, contents.getUndone().size());
+    }
+
+    @Test
+    public void recoversFromCutRecord() throws Exception {
+        MoveJournal journal = MoveJournal.create(file, game);
+        play(journal, 4, 6, 4, 4);
+        play(journal, 3, 1, 3, 3);
+        journal.close();
+        ChessGame afterFirst = MoveJournal.read(file).toGame(1);
+        RandomAccessFile raw = new RandomAccessFile(file, "rw");
+        raw.seek(MoveJournal.HEADER_SIZE + MoveJournal.RECORD_SIZE + 4);
+        raw.write(0x5A);
+        raw.close();
+
+        MoveJournal.Contents contents = MoveJournal.read(file);
+        assertEquals(1, contents.getRecords());
+        game = contents.toGame();
+        assertEquals(afterFirst.getBoard().toString(), game.getBoard().toString());
+
+        journal = MoveJournal.open(file);
+        play(journal, 2, 1, 2, 3);
+        journal.close();
+        contents = MoveJournal.read(file);
+        assertEquals(2, contents.getRecords());
+        assertEquals(game.getBoard().toString(), contents.toGame().getBoard().toString());
+    }
+
+    @Test
+    public void ignoresRecordsOfOtherJournal() throws Exception {
+        MoveJournal journal = MoveJournal.create(file, game);
+        play(journal, 4, 6, 4, 4);
+        journal.close();
+        byte[] record = new byte[MoveJournal.RECORD_SIZE];
+        RandomAccessFile raw = new RandomAccessFile(file, "r");
+        raw.seek(MoveJournal.HEADER_SIZE);
+        raw.readFully(record);
+        raw.close();
+
+        game = new ChessGame();
+        game.playMove(Location.of(6, 7), Location.of(5, 5));
+        MoveJournal.create(file, game).close();
+        raw = new RandomAccessFile(file, "rw");
+        raw.seek(MoveJournal.HEADER_SIZE);
+        raw.write(record);
+        raw.close();
+        assertEquals(0, MoveJournal.read(file).getRecords());
+    }
+
+    @Test
+    public void growsPastOneChunk() throws Exception {
+        MoveJournal journal = MoveJournal.create(file, game);
+        play(journal, 4, 6, 4, 4);
+        for (int i = 0; i < MoveJournal.RECORDS_PER_CHUNK; i++) {
+            journal.appendUndo();
+            journal.append(game.getPreviousMove());
+        }
+        journal.close();
+        MoveJournal.Contents contents = MoveJournal.read(file);
+        assertEquals(2 * MoveJournal.RECORDS_PER_CHUNK + 1, contents.getRecords());
+        assertEquals(1, contents.getLine().size());
+        assertEquals(0, contents.getUndone().size());
+    }
+
+    @Test
+    public void discard() throws Exception {
+        MoveJournal journal = MoveJournal.create(file, game);
+        play(journal, 4, 6, 4, 4);
+        journal.discard();
+        assertNull(MoveJournal.read(file));
+        assertNull(MoveJournal.open(file));
+    }
+
+    @Test
+    public void notAJournal() throws Exception {
+        assertNull(MoveJournal.read(file));
+        assertNull(MoveJournal.open(file));
+    }
+}
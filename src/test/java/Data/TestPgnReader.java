@@ -0,0 +1,146 @@
+package Data;
+
+import Chess.ChessGame;
+import Chess.Fen;
+import Chess.Location;
+import Chess.Pieces.ChessPiece.PieceType;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class TestPgnReader {
+
+    static final String SCHOLARS_MATE = "[Event \"Casual \\\"game\\\"\"]\n" +
+            "[White \"Anderssen\"]\n" +
+            "[Black \"Dufresne\"]\n" +
+            "[Result \"1-0\"]\n" +
+            "\n" +
+            "1. e4 e5 2. Bc4 {develops; with (a threat)} Nc6 3. Qh5 $1 Nf6?? (3... g6 4. Qf3 (4. Qe2) Nf6) ; mistake\n" +
+            "4. Qxf7# 1-0\n\n";
+
+    private static PgnReader reader(String pgn) {
+        return new PgnReader(Channels.newChannel(new ByteArrayInputStream(pgn.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static PgnGame only(String pgn) {
+        PgnReader reader = reader(pgn);
+        assertTrue(reader.hasNext());
+        PgnGame game = reader.next();
+        assertFalse(reader.hasNext());
+        return game;
+    }
+
+    @Test
+    public void readsTagsAndMoves() {
+        PgnGame game = only(SCHOLARS_MATE);
+        assertEquals("Casual \"game\"", game.getTag("Event"));
+        assertEquals("Anderssen", game.getTag("White"));
+        assertEquals("[Event, White, Black, Result]", game.getTags().keySet().toString());
+        assertEquals("1-0", game.getResult());
+        assertNull(game.getError());
+        assertEquals(7, game.getPlies());
+        assertEquals(MoveJournal.encode(Location.of(4, 6).index(), Location.of(4, 4).index()), game.getMove(0));
+
+        ChessGame end = game.toGame();
+        assertEquals(ChessGame.GameState.CHECKMATE, end.getState());
+        assertEquals("r1bqkb1r/pppp1Qpp/2n2n2/4p3/2B1P3/8/PPPP1PPP/RNB1K1NR b KQkq - 0 4", end.toFen());
+        assertEquals(end.toFen(), Fen.write(game.getEnd()));
+        assertEquals(new ChessGame().toFen(), game.toGame(0).toFen());
+    }
+
+    @Test
+    public void castlingAndDisambiguation() {
+        PgnGame game = only("1. Nf3 Nf6 2. g3 g6 3. Bg2 Bg7 4. O-O 0-0 5. Nc3 d6 6. d3 Nbd7 7. Re1 Nb6 8. Nd2 Nfd7 *");
+        assertNull(game.getError());
+        assertEquals("*", game.getResult());
+        assertEquals(16, game.getPlies());
+        ChessGame end = game.toGame();
+        assertEquals(PieceType.King, end.getBoard().getPieceAtLocation(Location.of(6, 7)).getType());
+        assertEquals(PieceType.Rook, end.getBoard().getPieceAtLocation(Location.of(5, 0)).getType());
+        assertEquals(PieceType.Knight, end.getBoard().getPieceAtLocation(Location.of(3, 1)).getType());
+        assertNull(end.getBoard().getPieceAtLocation(Location.of(5, 2)));
+    }
+
+    @Test
+    public void enPassant() {
+        PgnGame game = only("1. e4 a6 2. e5 d5 3. exd6 *");
+        assertNull(game.getError());
+        ChessGame end = game.toGame();
+        assertEquals(PieceType.Pawn, end.getBoard().getPieceAtLocation(Location.of(3, 2)).getType());
+        assertNull(end.getBoard().getPieceAtLocation(Location.of(3, 3)));
+    }
+
+    @Test
+    public void promotionFromFenTag() {
+        PgnGame game = only("[SetUp \"1\"]\n[FEN \"8/P6k/8/8/8/8/8/K7 w - - 0 1\"]\n\n1. a8=Q Kg6 *");
+        assertNull(game.getError());
+        assertEquals("8/P6k/8/8/8/8/8/K7 w - - 0 1", Fen.write(game.getStart()));
+        assertEquals(PieceType.Queen, game.toGame().getBoard().getPieceAtLocation(Location.of(0, 0)).getType());
+
+        PgnGame under = only("[FEN \"8/P6k/8/8/8/8/8/K7 w - - 0 1\"]\n\n1. a8=N Kg6 *");
+        assertNotNull(under.getError());
+        assertEquals(0, under.getPlies());
+    }
+
+    @Test
+    public void carriesOnAfterABadGame() {
+        PgnReader reader = reader("[White \"a\"]\n\n1. e4 e5 2. Ke3 Nc6 0-1\n\n" +
+                "[White \"b\"]\n\n1. Nc3 Nc6 2. N3e4\n\n" +
+                "[White \"c\"]\n\n1. d4\n\n" + SCHOLARS_MATE);
+        PgnGame illegal = reader.next();
+        assertEquals("a", illegal.getTag("White"));
+        assertTrue(illegal.hasError());
+        assertEquals(2, illegal.getPlies());
+        assertEquals("0-1", illegal.getResult());
+
+        PgnGame unterminated = reader.next();
+        assertEquals("b", unterminated.getTag("White"));
+        assertNull(unterminated.getError());
+        assertEquals(3, unterminated.getPlies());
+        assertNull(unterminated.getResult());
+
+        assertEquals("c", reader.next().getTag("White"));
+        assertEquals("Anderssen", reader.next().getTag("White"));
+        assertFalse(reader.hasNext());
+        assertEquals(4, reader.getGames());
+        assertEquals(1, reader.getErrors());
+    }
+
+    @Test
+    public void rejectsAmbiguousMove() {
+        PgnGame game = only("1. d4 a6 2. Nf3 a5 3. Nd2 *");
+        assertTrue(game.hasError());
+        assertEquals(4, game.getPlies());
+    }
+
+    @Test
+    public void streamsAFileAcrossManyBuffers() throws Exception {
+        File file = File.createTempFile("games", ".pgn");
+        try {
+            StringBuilder pgn = new StringBuilder();
+            int games = 0;
+            while (pgn.length() < 3 * PgnReader.BUFFER_SIZE) {
+                pgn.append(SCHOLARS_MATE);
+                games++;
+            }
+            Files.write(file.toPath(), pgn.toString().getBytes(StandardCharsets.UTF_8));
+
+            PgnReader reader = PgnReader.open(file);
+            try (Stream<PgnGame> stream = reader.stream()) {
+                assertEquals(games, stream.filter(game -> game.getPlies() == 7 && !game.hasError()).count());
+            }
+            assertEquals(games, reader.getGames());
+            assertEquals(file.length(), reader.getBytesRead());
+            assertTrue(reader.getGamesPerSecond() > 0);
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package Data;
+
+import Chess.AI.AlphaBetaSearcher;
+import Chess.ChessGame;
+import Chess.Fen;
+import Chess.Location;
+import Chess.Move;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class TestPgnWriter {
+
+    private static PgnGame read(String pgn) {
+        PgnReader reader = new PgnReader(Channels.newChannel(
+                new ByteArrayInputStream(pgn.getBytes(StandardCharsets.UTF_8))));
+        PgnGame game = reader.next();
+        assertNull(game.getError());
+        return game;
+    }
+
+    private static String write(PgnGame game, int[] evals) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PgnWriter writer = new PgnWriter(bytes);
+        writer.write(game, evals);
+        writer.close();
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String movetext(String pgn) {
+        return pgn.substring(pgn.indexOf("\n\n") + 2).trim();
+    }
+
+    @Test
+    public void writesTagsAndSan() throws Exception {
+        String pgn = write(read(TestPgnReader.SCHOLARS_MATE), null);
+        assertTrue(pgn.startsWith("[Event \"Casual \\\"game\\\"\"]\n[Site \"?\"]\n[Date \"????.??.??\"]\n" +
+                "[Round \"?\"]\n[White \"Anderssen\"]\n[Black \"Dufresne\"]\n[Result \"1-0\"]\n\n"));
+        assertEquals("1. e4 e5 2. Bc4 Nc6 3. Qh5 Nf6 4. Qxf7# 1-0", movetext(pgn));
+    }
+
+    @Test
+    public void castlingDisambiguationAndEnPassant() throws Exception {
+        String moves = "1. Nf3 Nf6 2. g3 g6 3. Bg2 Bg7 4. O-O O-O 5. Nc3 d6 6. d3 Nbd7 7. Re1 Nb6 8. Nd2 Nfd7 " +
+                "9. e4 c5 10. e5 c4 11. exd6 cxd3 12. Rxe7 dxc2 13. Qxc2 *";
+        String pgn = write(read(moves), null);
+        assertEquals("1. e4 a6 2. e5 d5 3. exd6 *", movetext(write(read("1. e4 a6 2. e5 d5 3. exd6 *"), null)));
+        String text = movetext(pgn);
+        assertEquals(moves, text.replace('\n', ' '));
+        for (String line : text.split("\n")) {
+            assertTrue(line.length() <= 79);
+        }
+    }
+
+    @Test
+    public void rankAndSquareDisambiguation() throws Exception {
+        assertEquals("1. R1a2 *", movetext(write(read("[FEN \"7k/8/8/8/8/R7/8/R6K w - - 0 1\"]\n\n1. R1a2 *"), null)));
+        assertEquals("1. Qe1e5 *", movetext(write(read("[FEN \"4Q3/8/7k/8/8/8/8/Q3Q2K w - - 0 1\"]\n\n1. Qe1e5 *"),
+                null)));
+    }
+
+    @Test
+    public void setUpPositionAndPromotion() throws Exception {
+        PgnGame game = read("[FEN \"8/P6k/8/8/8/8/8/K7 w - - 0 1\"]\n\n1. a8=Q Kg6 *");
+        String pgn = write(game, null);
+        assertTrue(pgn.contains("[SetUp \"1\"]\n[FEN \"8/P6k/8/8/8/8/8/K7 w - - 0 1\"]\n"));
+        assertEquals("1. a8=Q Kg6 *", movetext(pgn));
+
+        PgnGame black = read("[FEN \"8/8/8/8/8/1k6/p6K/8 b - - 0 12\"]\n\n12... a1=Q 13. Kg3 *");
+        assertEquals("12... a1=Q 13. Kg3 *", movetext(write(black, null)));
+    }
+
+    @Test
+    public void evalComments() throws Exception {
+        PgnGame game = read("1. e4 e5 2. Qh5 Nc6 3. Bc4 Nf6 4. Qxf7# 1-0");
+        int[] evals = {35, -5, 0, 120, AlphaBetaSearcher.MATE - 3, -(AlphaBetaSearcher.MATE - 1), 1};
+        assertEquals("1. e4 {[%eval 0.35]} 1... e5 {[%eval -0.05]} 2. Qh5 {[%eval 0.00]} 2... Nc6\n" +
+                "{[%eval 1.20]} 3. Bc4 {[%eval #2]} 3... Nf6 {[%eval #-1]} 4. Qxf7#\n{[%eval 0.01]} 1-0",
+                movetext(write(game, evals)));
+
+        PgnGame back = read(write(game, evals));
+        assertEquals(game.getPlies(), back.getPlies());
+    }
+
+    @Test
+    public void movesOneAtATime() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PgnWriter writer = new PgnWriter(bytes);
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("White", "engine");
+        tags.put("Result", "0-1");
+        tags.put("PlyCount", "2");
+        writer.startGame(tags, null);
+        writer.move(MoveJournal.encode(Location.of(6, 6).index(), Location.of(6, 4).index()));
+        writer.move(MoveJournal.encode(Location.of(4, 1).index(), Location.of(4, 3).index()));
+        try {
+            writer.move(MoveJournal.encode(Location.of(4, 3).index(), Location.of(4, 4).index()));
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        writer.endGame("*");
+        writer.close();
+        String pgn = new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(pgn.contains("[White \"engine\"]\n[Black \"?\"]\n[Result \"*\"]\n[PlyCount \"2\"]\n\n"));
+        assertEquals("1. g4 e5 *", movetext(pgn));
+        assertEquals(1, writer.getGames());
+    }
+
+    @Test
+    public void sanLeavesTheGameAlone() {
+        ChessGame game = ChessGame.fromFen("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        Move castle = new Move(game.getBoard().getPieceAtLocation(Location.of(4, 7)), Location.of(2, 7));
+        assertEquals("O-O-O", PgnWriter.san(game, castle));
+        Move check = new Move(game.getBoard().getPieceAtLocation(Location.of(0, 7)), Location.of(0, 0));
+        assertEquals("Rxa8+", PgnWriter.san(game, check));
+        assertEquals("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1", game.toFen());
+    }
+
+    @Test
+    public void gzipRoundTrip() throws Exception {
+        File file = File.createTempFile("games", ".pgn.gz");
+        try {
+            PgnGame game = read(TestPgnReader.SCHOLARS_MATE);
+            try (PgnWriter writer = PgnWriter.open(file)) {
+                for (int i = 0; i < 500; i++) {
+                    writer.write(game);
+                }
+            }
+            int games = 0;
+            try (PgnReader reader = PgnReader.open(file)) {
+                while (reader.hasNext()) {
+                    PgnGame back = reader.next();
+                    assertNull(back.getError());
+                    assertEquals("1-0", back.getResult());
+                    assertEquals(Fen.write(game.getEnd()), Fen.write(back.getEnd()));
+                    games++;
+                }
+                assertTrue(reader.getBytesRead() > file.length());
+            }
+            assertEquals(500, games);
+        } finally {
+            file.delete();
+        }
+    }
+}